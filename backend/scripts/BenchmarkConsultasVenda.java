@@ -0,0 +1,213 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de comandos SQL por venda, para comparar a aplicação com e sem o cache de segundo
+ * nível do Hibernate.
+ *
+ * <p>Roda com o próprio JDK, sem compilação nem dependências:
+ * <pre>
+ * java scripts/BenchmarkConsultasVenda.java --url http://localhost:8080/api --vendas 200
+ * </pre>
+ * Cria um cliente e {@code --produtos} produtos de teste e registra {@code --vendas} vendas de
+ * {@code --itens} itens, uma por vez, como no caixa: cada {@code POST /vendas} é seguido do
+ * {@code PUT /vendas/{id}/finalizar} da mesma venda, de modo que as baixas de estoque de uma
+ * finalização afetam o cache visto pela criação seguinte. Antes e depois de cada requisição lê
+ * de {@code GET /dashboard/cache} os comandos SQL preparados pelo Hibernate e os acertos e
+ * falhas do cache de segundo nível, e soma a diferença à operação. São informados comandos por
+ * venda, taxa de acerto e tempo médio da criação, da finalização e da venda completa. A
+ * aplicação deve estar sem outro tráfego (os contadores são globais).
+ *
+ * <p>Para comparar, rode uma vez com a aplicação no modo padrão e outra com o cache desligado:
+ * <pre>
+ * java -jar target/hortifruti-backend-1.0.0.jar --spring.jpa.properties.hibernate.cache.use_second_level_cache=false --spring.jpa.properties.hibernate.cache.use_query_cache=false
+ * </pre>
+ * As vendas, o cliente e os produtos de teste ficam no banco (nomes "Benchmark consultas ...").
+ *
+ * <p>Opções: {@code --email} e {@code --senha} (padrão: o admin semeado).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class BenchmarkConsultasVenda {
+
+    private static final Pattern ID = Pattern.compile("^\\{\"id\"\\s*:\\s*(\\d+)");
+
+    /**
+     * Executa o benchmark.
+     *
+     * @param args Opções de linha de comando
+     * @throws Exception Se o login ou alguma requisição falhar
+     */
+    public static void main(String[] args) throws Exception {
+        String url = opcao(args, "--url", "http://localhost:8080/api");
+        int vendas = Integer.parseInt(opcao(args, "--vendas", "200"));
+        int itens = Integer.parseInt(opcao(args, "--itens", "3"));
+        int produtos = Math.max(itens, Integer.parseInt(opcao(args, "--produtos", "20")));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String token = login(cliente, url, opcao(args, "--email", "admin@hortiflow.com"),
+                opcao(args, "--senha", "admin123"));
+
+        long marca = System.currentTimeMillis();
+        String clienteId = id(enviar(cliente, token, "POST", url + "/clientes", String.format(Locale.ROOT,
+                "{\"nome\":\"Benchmark consultas %d\",\"cpf\":\"%011d\",\"estado\":\"SP\",\"telefone\":\"11900000000\"}",
+                marca, marca % 100_000_000_000L)));
+        List<String> produtoIds = new ArrayList<>();
+        for (int i = 0; i < produtos; i++) {
+            produtoIds.add(id(enviar(cliente, token, "POST", url + "/produtos", String.format(Locale.ROOT,
+                    "{\"nome\":\"Benchmark consultas %d-%d\",\"preco\":%d.50,\"embalagem\":\"UN\","
+                            + "\"estoqueInicial\":1000000,\"entradas\":0,\"saidas\":0}", marca, i, 1 + i % 9))));
+        }
+
+        System.out.printf(Locale.ROOT, "%-10s %8s %12s %10s %12s%n",
+                "operação", "vendas", "comandos/vd", "acerto L2", "ms/venda");
+
+        // Aquece o cache com uma venda completa, fora da medição
+        finalizar(cliente, token, url, criar(cliente, token, url, clienteId, produtoIds, 0, itens));
+        // A própria leitura das estatísticas (autenticação) entra na diferença: mede-se para descontar
+        long[] leitura = new long[4];
+        medir(cliente, token, url, leitura, () -> { });
+
+        long[] criacao = new long[4];
+        long[] finalizacao = new long[4];
+        for (int v = 0; v < vendas; v++) {
+            int venda = v + 1;
+            String[] vendaId = new String[1];
+            medir(cliente, token, url, criacao,
+                    () -> vendaId[0] = criar(cliente, token, url, clienteId, produtoIds, venda, itens));
+            medir(cliente, token, url, finalizacao, () -> finalizar(cliente, token, url, vendaId[0]));
+        }
+        for (int i = 0; i < 3; i++) {
+            criacao[i] -= leitura[i] * vendas;
+            finalizacao[i] -= leitura[i] * vendas;
+        }
+        imprimir("criar", vendas, criacao);
+        imprimir("finalizar", vendas, finalizacao);
+        long[] total = new long[4];
+        for (int i = 0; i < total.length; i++) {
+            total[i] = criacao[i] + finalizacao[i];
+        }
+        imprimir("venda", vendas, total);
+    }
+
+    private static String criar(HttpClient cliente, String token, String url, String clienteId,
+                                List<String> produtoIds, int venda, int itens) throws Exception {
+        StringBuilder corpo = new StringBuilder("{\"cliente\":{\"id\":").append(clienteId)
+                .append("},\"formaPagamento\":\"DINHEIRO\",\"desconto\":0,\"itens\":[");
+        for (int i = 0; i < itens; i++) {
+            corpo.append(i > 0 ? "," : "").append("{\"produto\":{\"id\":")
+                    .append(produtoIds.get((venda * itens + i) % produtoIds.size())).append("},\"quantidade\":1}");
+        }
+        return id(enviar(cliente, token, "POST", url + "/vendas", corpo.append("]}").toString()));
+    }
+
+    private static void finalizar(HttpClient cliente, String token, String url, String vendaId) throws Exception {
+        enviar(cliente, token, "PUT", url + "/vendas/" + vendaId + "/finalizar?formaPagamento=DINHEIRO", null);
+    }
+
+    /**
+     * Executa uma requisição e soma ao acumulado {comandos, acertos L2, falhas L2, nanos} a
+     * diferença das estatísticas antes e depois dela.
+     */
+    private static void medir(HttpClient cliente, String token, String url, long[] acumulado, Requisicao requisicao)
+            throws Exception {
+        long[] antes = estatisticas(enviar(cliente, token, "GET", url + "/dashboard/cache", null));
+        long inicio = System.nanoTime();
+        requisicao.executar();
+        long nanos = System.nanoTime() - inicio;
+        long[] depois = estatisticas(enviar(cliente, token, "GET", url + "/dashboard/cache", null));
+        for (int i = 0; i < 3; i++) {
+            acumulado[i] += depois[i] - antes[i];
+        }
+        acumulado[3] += nanos;
+    }
+
+    private static long[] estatisticas(String json) {
+        String segundoNivel = campo(json, "\"segundoNivel\"\\s*:\\s*\\{([^}]*)\\}");
+        return new long[] {
+                Long.parseLong(campo(json, "\"comandosSql\"\\s*:\\s*(\\d+)")),
+                Long.parseLong(campo(segundoNivel, "\"acertos\"\\s*:\\s*(\\d+)")),
+                Long.parseLong(campo(segundoNivel, "\"falhas\"\\s*:\\s*(\\d+)"))
+        };
+    }
+
+    private static void imprimir(String operacao, int vendas, long[] medido) {
+        long acertos = medido[1];
+        long falhas = medido[2];
+        System.out.printf(Locale.ROOT, "%-10s %8d %12.2f %9.1f%% %12.2f%n", operacao, vendas,
+                (double) medido[0] / vendas, acertos + falhas > 0 ? 100.0 * acertos / (acertos + falhas) : 0.0,
+                medido[3] / 1e6 / vendas);
+    }
+
+    /** Requisição medida. */
+    private interface Requisicao {
+        void executar() throws Exception;
+    }
+
+    private static String campo(String json, String regex) {
+        Matcher matcher = Pattern.compile(regex).matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Campo não encontrado (" + regex + ") em: " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static String id(String json) {
+        Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Resposta sem id: " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static String enviar(HttpClient cliente, String token, String metodo, String url, String corpo)
+            throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60));
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json");
+        }
+        requisicao.method(metodo, corpo != null
+                ? HttpRequest.BodyPublishers.ofString(corpo) : HttpRequest.BodyPublishers.noBody());
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 300) {
+            throw new IllegalStateException(metodo + " " + url + " falhou (" + resposta.statusCode() + "): "
+                    + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    private static String login(HttpClient cliente, String url, String email, String senha) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"password\":\"" + senha + "\"}";
+        HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(resposta.body());
+        if (resposta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login falhou (" + resposta.statusCode() + "): " + resposta.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String opcao(String[] args, String nome, String padrao) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(nome)) {
+                return args[i + 1];
+            }
+        }
+        return padrao;
+    }
+}
@@ -0,0 +1,236 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de vazão das saídas de estoque de um único produto muito disputado, com 1, 2, 4 e 8
+ * shards de estoque.
+ *
+ * <p>Roda com o próprio JDK, sem compilação nem dependências:
+ * <pre>
+ * java scripts/BenchmarkShards.java --url http://localhost:8080/api --concorrencia 32 --duracao 15
+ * </pre>
+ * Cria um produto de teste e, para cada quantidade de shards de {@code --shards} (1 = sem shards,
+ * todas as saídas na linha do produto), ativa os shards ({@code PUT /produtos/{id}/shards}) e
+ * dispara saídas de {@code --quantidade} em {@code POST /produtos/{id}/movimentacao}, que passam
+ * por {@code EstoqueShardService.consumir}. Cada um dos {@code --concorrencia} clientes repete a
+ * saída assim que recebe a resposta, primeiro por {@code --aquecimento} segundos sem medir e
+ * depois por {@code --duracao} segundos medindo. São informadas saídas por segundo, erros,
+ * respostas 503 e os percentis de latência. No fim, confere o estoque do produto com as saídas
+ * aceitas e remove o produto.
+ *
+ * <p>Opções: {@code --email} e {@code --senha} (padrão: o admin semeado), {@code --estoque}
+ * (estoque inicial do produto; com valores baixos o benchmark inclui os rebalanceamentos).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class BenchmarkShards {
+
+    /**
+     * Executa o benchmark.
+     *
+     * @param args Opções de linha de comando
+     * @throws Exception Se o login ou as requisições de preparação falharem
+     */
+    public static void main(String[] args) throws Exception {
+        String url = opcao(args, "--url", "http://localhost:8080/api");
+        int concorrencia = Integer.parseInt(opcao(args, "--concorrencia", "32"));
+        int duracao = Integer.parseInt(opcao(args, "--duracao", "15"));
+        int aquecimento = Integer.parseInt(opcao(args, "--aquecimento", "5"));
+        String[] shards = opcao(args, "--shards", "1,2,4,8").split(",");
+        double quantidade = Double.parseDouble(opcao(args, "--quantidade", "1"));
+        double estoque = Double.parseDouble(opcao(args, "--estoque", "1000000000"));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String token = login(cliente, url, opcao(args, "--email", "admin@hortiflow.com"),
+                opcao(args, "--senha", "admin123"));
+
+        String produto = enviar(cliente, token, "POST", url + "/produtos", String.format(Locale.ROOT,
+                "{\"nome\":\"Benchmark shards %d\",\"preco\":1,\"embalagem\":\"UN\",\"estoqueInicial\":%.3f,"
+                        + "\"entradas\":0,\"saidas\":0}", System.currentTimeMillis(), estoque));
+        Matcher id = Pattern.compile("\"id\"\\s*:\\s*(\\d+)").matcher(produto);
+        if (!id.find()) {
+            throw new IllegalStateException("Produto de teste não criado: " + produto);
+        }
+        String base = url + "/produtos/" + id.group(1);
+        HttpRequest saida = HttpRequest.newBuilder(URI.create(base + "/movimentacao"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        String.format(Locale.ROOT, "{\"tipo\":\"SAIDA\",\"quantidade\":%.3f}", quantidade)))
+                .build();
+
+        AtomicLong aceitas = new AtomicLong();
+        try {
+            System.out.printf(Locale.ROOT, "%-7s %10s %8s %8s %9s %9s %9s %9s%n",
+                    "shards", "saidas/s", "erros", "503", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (String valor : shards) {
+                int n = Integer.parseInt(valor.trim());
+                if (n <= 1) {
+                    enviar(cliente, token, "DELETE", base + "/shards", null);
+                } else {
+                    enviar(cliente, token, "PUT", base + "/shards?quantidade=" + n, null);
+                }
+                executar(cliente, saida, concorrencia, aquecimento, aceitas);
+                Resultado resultado = executar(cliente, saida, concorrencia, duracao, aceitas);
+                resultado.imprimir(n, duracao);
+            }
+
+            enviar(cliente, token, "DELETE", base + "/shards", null);
+            Matcher atual = Pattern.compile("\"estoqueAtual\"\\s*:\\s*([0-9.Ee+-]+)")
+                    .matcher(enviar(cliente, token, "GET", base, null));
+            String estoqueFinal = atual.find() ? atual.group(1) : "?";
+            double esperado = estoque - aceitas.get() * quantidade;
+            if (!estoqueFinal.equals("?") && Math.abs(Double.parseDouble(estoqueFinal) - esperado) < 0.001) {
+                System.out.printf(Locale.ROOT, "Estoque confere: %d saidas aceitas%n", aceitas.get());
+            } else {
+                System.out.printf(Locale.ROOT, "Estoque diverge: esperado %.3f, produto %s%n", esperado, estoqueFinal);
+            }
+        } finally {
+            enviar(cliente, token, "DELETE", base, null);
+        }
+        System.exit(0);
+    }
+
+    private static Resultado executar(HttpClient cliente, HttpRequest requisicao, int concorrencia, int segundos,
+                                      AtomicLong aceitas) throws InterruptedException {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        Resultado[] parciais = new Resultado[concorrencia];
+        CountDownLatch concluidos = new CountDownLatch(concorrencia);
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            int indice = i;
+            clientes.execute(() -> {
+                Resultado parcial = new Resultado();
+                while (System.nanoTime() < fim) {
+                    long inicio = System.nanoTime();
+                    try {
+                        int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        parcial.registrar(status, System.nanoTime() - inicio);
+                        if (status >= 200 && status < 300) {
+                            aceitas.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        parcial.registrar(-1, System.nanoTime() - inicio);
+                    }
+                }
+                parciais[indice] = parcial;
+                concluidos.countDown();
+            });
+        }
+        concluidos.await();
+        clientes.shutdown();
+        Resultado total = new Resultado();
+        for (Resultado parcial : parciais) {
+            total.somar(parcial);
+        }
+        return total;
+    }
+
+    private static String enviar(HttpClient cliente, String token, String metodo, String url, String corpo)
+            throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60));
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json");
+        }
+        requisicao.method(metodo, corpo != null
+                ? HttpRequest.BodyPublishers.ofString(corpo) : HttpRequest.BodyPublishers.noBody());
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        // DELETE de algo que não existe (ex.: shards de um produto sem shards) não é erro aqui
+        boolean ausente = metodo.equals("DELETE") && resposta.statusCode() == 404;
+        if (resposta.statusCode() >= 300 && !ausente) {
+            throw new IllegalStateException(metodo + " " + url + " falhou (" + resposta.statusCode() + "): "
+                    + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    private static String login(HttpClient cliente, String url, String email, String senha) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"password\":\"" + senha + "\"}";
+        HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(resposta.body());
+        if (resposta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login falhou (" + resposta.statusCode() + "): " + resposta.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String opcao(String[] args, String nome, String padrao) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(nome)) {
+                return args[i + 1];
+            }
+        }
+        return padrao;
+    }
+
+    /**
+     * Latências e contagens de uma execução.
+     */
+    private static final class Resultado {
+        private long[] latencias = new long[1024];
+        private int total;
+        private int erros;
+        private int recusadas;
+
+        void registrar(int status, long nanos) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = nanos;
+            if (status == 503) {
+                recusadas++;
+            } else if (status < 200 || status >= 300) {
+                erros++;
+            }
+        }
+
+        void somar(Resultado outro) {
+            long[] juntas = Arrays.copyOf(latencias, total + outro.total);
+            System.arraycopy(outro.latencias, 0, juntas, total, outro.total);
+            latencias = juntas;
+            total += outro.total;
+            erros += outro.erros;
+            recusadas += outro.recusadas;
+        }
+
+        void imprimir(int shards, int segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, total);
+            Arrays.sort(ordenadas);
+            System.out.printf(Locale.ROOT, "%-7d %10.1f %8d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    shards, (double) (total - erros - recusadas) / segundos, erros, recusadas,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99),
+                    percentil(ordenadas, 1.0));
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, indice))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de vazão e latência de cauda de {@code GET /vendas} e {@code GET /produtos}, para
+ * comparar o modo de threads de plataforma com o de threads virtuais (perfil {@code virtual}).
+ *
+ * <p>Roda com o próprio JDK, sem compilação nem dependências:
+ * <pre>
+ * java scripts/BenchmarkThreads.java --url http://localhost:8080/api --concorrencia 200 --duracao 30
+ * </pre>
+ * Cada um dos {@code --concorrencia} clientes repete a requisição assim que recebe a resposta
+ * (carga fechada), primeiro por {@code --aquecimento} segundos sem medir e depois por
+ * {@code --duracao} segundos medindo. São informados requisições por segundo, erros, respostas
+ * 503 (descartadas pelos limites) e os percentis de latência.
+ *
+ * <p>Opções: {@code --email} e {@code --senha} (padrão: o admin semeado), {@code --endpoints}
+ * (padrão: {@code /vendas,/produtos}).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class BenchmarkThreads {
+
+    /**
+     * Executa o benchmark.
+     *
+     * @param args Opções de linha de comando
+     * @throws Exception Se o login ou as requisições falharem
+     */
+    public static void main(String[] args) throws Exception {
+        String url = opcao(args, "--url", "http://localhost:8080/api");
+        int concorrencia = Integer.parseInt(opcao(args, "--concorrencia", "100"));
+        int duracao = Integer.parseInt(opcao(args, "--duracao", "30"));
+        int aquecimento = Integer.parseInt(opcao(args, "--aquecimento", "10"));
+        String[] endpoints = opcao(args, "--endpoints", "/vendas,/produtos").split(",");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String token = login(cliente, url, opcao(args, "--email", "admin@hortiflow.com"),
+                opcao(args, "--senha", "admin123"));
+
+        System.out.printf(Locale.ROOT, "%-12s %10s %8s %8s %9s %9s %9s %9s%n",
+                "endpoint", "req/s", "erros", "503", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (String endpoint : endpoints) {
+            HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url + endpoint.trim()))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            executar(cliente, requisicao, concorrencia, aquecimento);
+            Resultado resultado = executar(cliente, requisicao, concorrencia, duracao);
+            resultado.imprimir(endpoint.trim(), duracao);
+        }
+        System.exit(0);
+    }
+
+    private static Resultado executar(HttpClient cliente, HttpRequest requisicao, int concorrencia, int segundos)
+            throws InterruptedException {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        Resultado[] parciais = new Resultado[concorrencia];
+        CountDownLatch concluidos = new CountDownLatch(concorrencia);
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            int indice = i;
+            clientes.execute(() -> {
+                Resultado parcial = new Resultado();
+                while (System.nanoTime() < fim) {
+                    long inicio = System.nanoTime();
+                    try {
+                        int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        parcial.registrar(status, System.nanoTime() - inicio);
+                    } catch (Exception e) {
+                        parcial.registrar(-1, System.nanoTime() - inicio);
+                    }
+                }
+                parciais[indice] = parcial;
+                concluidos.countDown();
+            });
+        }
+        concluidos.await();
+        clientes.shutdown();
+        Resultado total = new Resultado();
+        for (Resultado parcial : parciais) {
+            total.somar(parcial);
+        }
+        return total;
+    }
+
+    private static String login(HttpClient cliente, String url, String email, String senha) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"password\":\"" + senha + "\"}";
+        HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(resposta.body());
+        if (resposta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login falhou (" + resposta.statusCode() + "): " + resposta.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String opcao(String[] args, String nome, String padrao) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(nome)) {
+                return args[i + 1];
+            }
+        }
+        return padrao;
+    }
+
+    /**
+     * Latências e contagens de uma execução.
+     */
+    private static final class Resultado {
+        private long[] latencias = new long[1024];
+        private int total;
+        private int erros;
+        private int recusadas;
+
+        void registrar(int status, long nanos) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = nanos;
+            if (status == 503) {
+                recusadas++;
+            } else if (status < 200 || status >= 300) {
+                erros++;
+            }
+        }
+
+        void somar(Resultado outro) {
+            long[] juntas = Arrays.copyOf(latencias, total + outro.total);
+            System.arraycopy(outro.latencias, 0, juntas, total, outro.total);
+            latencias = juntas;
+            total += outro.total;
+            erros += outro.erros;
+            recusadas += outro.recusadas;
+        }
+
+        void imprimir(String endpoint, int segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, total);
+            Arrays.sort(ordenadas);
+            System.out.printf(Locale.ROOT, "%-12s %10.1f %8d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, (double) total / segundos, erros, recusadas,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99),
+                    percentil(ordenadas, 1.0));
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, indice))] / 1e6;
+        }
+    }
+}
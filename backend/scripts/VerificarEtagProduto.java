@@ -0,0 +1,145 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifica o ETag de {@code GET /produtos/{id}} diante de movimentações de estoque.
+ *
+ * <p>Roda com o próprio JDK, sem compilação nem dependências:
+ * <pre>
+ * java scripts/VerificarEtagProduto.java --url http://localhost:8080/api
+ * </pre>
+ * Cria um produto de teste ("Verificação ETag ...") e confere, em ordem:
+ * <ol>
+ *   <li>revalidar com o ETag lido responde 304;</li>
+ *   <li>depois de uma SAIDA ({@code POST /produtos/{id}/movimentacao}), a revalidação com o ETag
+ *       antigo responde 200 com outro ETag e o estoque já baixado;</li>
+ *   <li>um {@code PUT} com If-Match igual ao novo ETag é aceito (If-Match compara só a versão) e
+ *       devolve o ETag da versão seguinte.</li>
+ * </ol>
+ * Termina com código 1 na primeira verificação que falhar.
+ *
+ * <p>Opções: {@code --email} e {@code --senha} (padrão: o admin semeado).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class VerificarEtagProduto {
+
+    private static final Pattern ID = Pattern.compile("^\\{\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern ESTOQUE = Pattern.compile("\"estoqueAtual\"\\s*:\\s*([0-9.]+)");
+
+    /**
+     * Executa as verificações.
+     *
+     * @param args Opções de linha de comando
+     * @throws Exception Se o login ou alguma requisição falhar
+     */
+    public static void main(String[] args) throws Exception {
+        String url = opcao(args, "--url", "http://localhost:8080/api");
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String token = login(cliente, url, opcao(args, "--email", "admin@hortiflow.com"),
+                opcao(args, "--senha", "admin123"));
+
+        String nome = "Verificação ETag " + System.currentTimeMillis();
+        String criado = enviar(cliente, token, "POST", url + "/produtos", null, String.format(Locale.ROOT,
+                "{\"nome\":\"%s\",\"preco\":2.50,\"embalagem\":\"UN\",\"estoqueInicial\":100,"
+                        + "\"entradas\":0,\"saidas\":0}", nome)).body();
+        String produto = url + "/produtos/" + campo(ID, criado);
+
+        HttpResponse<String> leitura = enviar(cliente, token, "GET", produto, null, null);
+        String etag = leitura.headers().firstValue("ETag").orElseThrow();
+        verificar("GET devolve ETag", leitura.statusCode() == 200, etag);
+
+        HttpResponse<String> revalidacao = enviar(cliente, token, "GET", produto, etag, null);
+        verificar("sem alteração, If-None-Match responde 304", revalidacao.statusCode() == 304,
+                "status " + revalidacao.statusCode());
+
+        enviar(cliente, token, "POST", produto + "/movimentacao", null, "{\"tipo\":\"SAIDA\",\"quantidade\":3}");
+        revalidacao = enviar(cliente, token, "GET", produto, etag, null);
+        String novoEtag = revalidacao.headers().firstValue("ETag").orElse("");
+        verificar("depois da SAIDA, If-None-Match antigo responde 200", revalidacao.statusCode() == 200,
+                "status " + revalidacao.statusCode());
+        verificar("depois da SAIDA, o ETag muda", !novoEtag.equals(etag), etag + " -> " + novoEtag);
+        verificar("depois da SAIDA, o corpo traz o estoque baixado",
+                Double.parseDouble(campo(ESTOQUE, revalidacao.body())) == 97.0, revalidacao.body());
+
+        HttpResponse<String> atualizacao = enviar(cliente, token, "PUT", produto, null,
+                String.format(Locale.ROOT, "{\"nome\":\"%s\",\"preco\":3.00,\"embalagem\":\"UN\","
+                        + "\"estoqueInicial\":100}", nome),
+                "If-Match", novoEtag);
+        verificar("PUT com If-Match do novo ETag é aceito", atualizacao.statusCode() == 200,
+                "status " + atualizacao.statusCode() + ": " + atualizacao.body());
+        String etagAtualizado = atualizacao.headers().firstValue("ETag").orElse("");
+        verificar("o PUT devolve o ETag da nova versão", etagAtualizado.startsWith("\"1-"), etagAtualizado);
+    }
+
+    private static void verificar(String descricao, boolean ok, String detalhe) {
+        System.out.printf(Locale.ROOT, "%-4s %s (%s)%n", ok ? "ok" : "FALHA", descricao, detalhe);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static String campo(Pattern padrao, String json) {
+        Matcher matcher = padrao.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Campo não encontrado (" + padrao + ") em: " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpResponse<String> enviar(HttpClient cliente, String token, String metodo, String url,
+                                               String ifNoneMatch, String corpo, String... cabecalhos)
+            throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60));
+        if (ifNoneMatch != null) {
+            requisicao.header("If-None-Match", ifNoneMatch);
+        }
+        for (int i = 0; i < cabecalhos.length - 1; i += 2) {
+            requisicao.header(cabecalhos[i], cabecalhos[i + 1]);
+        }
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json");
+        }
+        requisicao.method(metodo, corpo != null
+                ? HttpRequest.BodyPublishers.ofString(corpo) : HttpRequest.BodyPublishers.noBody());
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 400 && !metodo.equals("PUT")) {
+            throw new IllegalStateException(metodo + " " + url + " falhou (" + resposta.statusCode() + "): "
+                    + resposta.body());
+        }
+        return resposta;
+    }
+
+    private static String login(HttpClient cliente, String url, String email, String senha) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"password\":\"" + senha + "\"}";
+        HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(resposta.body());
+        if (resposta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login falhou (" + resposta.statusCode() + "): " + resposta.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String opcao(String[] args, String nome, String padrao) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(nome)) {
+                return args[i + 1];
+            }
+        }
+        return padrao;
+    }
+}
@@ -0,0 +1,6 @@
+#!/bin/bash
+# Cria o usuário de replicação e libera a conexão de replicação da réplica
+set -e
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+    -c "CREATE ROLE replicador WITH REPLICATION LOGIN PASSWORD 'replicador'"
+echo "host replication replicador all scram-sha-256" >> "$PGDATA/pg_hba.conf"
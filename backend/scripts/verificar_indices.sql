@@ -0,0 +1,237 @@
+-- Verifica se as consultas dos repositórios usam índice.
+--
+-- Gera uma massa de dados grande (50 mil produtos, 20 mil clientes, 300 mil vendas com
+-- 900 mil itens, 100 mil refresh tokens e 300 mil movimentações), atualiza as estatísticas
+-- e roda EXPLAIN de cada consulta de VendaRepository e ProdutoRepository (e das consultas
+-- de itens, tokens, movimentações e sincronização indexadas nas migrações). Falha se algum
+-- plano ler sequencialmente uma dessas tabelas (ou uma partição mensal de vendas e itens) com
+-- mais de 10 mil linhas; as partições pequenas ou vazias dos meses sem vendas podem ser lidas
+-- inteiras. Tudo roda em uma transação desfeita no final: o banco não é alterado, mas precisa
+-- ter todas as migrações aplicadas (inicie a aplicação uma vez).
+--
+-- As consultas são o SQL que o Hibernate gera (capturado com logging.level.org.hibernate.SQL=DEBUG),
+-- com os mesmos parâmetros: cada uma é preparada (PREPARE) e verificada com o plano específico
+-- dos parâmetros e com o plano genérico, que o PostgreSQL pode passar a usar depois de cinco
+-- execuções do mesmo comando preparado pelo driver JDBC. Ao alterar uma consulta de repositório,
+-- atualize-a aqui.
+--
+-- Uso:
+--   psql -v ON_ERROR_STOP=1 -h localhost -U postgres -d hortiflow -f scripts/verificar_indices.sql
+--
+-- Ficam de fora as consultas que leem a tabela inteira (findAll, findAllSortedByNome,
+-- findAllOrderByNome, findAllOrderByDataVendaDesc, findComEstoqueBaixo, countVendasFinalizadas
+-- e sumValorVendasFinalizadas): para elas a leitura sequencial é o plano mais barato.
+BEGIN;
+
+INSERT INTO produtos (nome, preco, embalagem, estoque_inicial, entradas, saidas)
+SELECT 'Verificação ' || i, 1 + i % 50, 'UN', 1000, 0, 0
+FROM generate_series(1, 50000) i;
+
+INSERT INTO clientes (nome, cpf, estado, telefone)
+SELECT 'Cliente Verificação ' || i, 'V' || lpad(i::text, 11, '0'), 'SP', '1199' || lpad(i::text, 7, '0')
+FROM generate_series(1, 20000) i;
+
+INSERT INTO enderecos (cliente_id, rua, numero, bairro, cidade, estado, cep, principal)
+SELECT c.id, 'Rua ' || c.id, '1', 'Bairro ' || c.id % 40, 'Cidade ' || c.id % 8, 'SP', '01000-000', true
+FROM clientes c
+WHERE c.cpf LIKE 'V%';
+
+-- Uma venda a cada 3 minutos (cerca de 21 meses); 5% pendentes e 3% canceladas
+SELECT vendas_criar_particao(m::date)
+FROM generate_series(date '2024-01-01', date '2025-09-01', interval '1 month') m;
+
+INSERT INTO vendas (cliente_id, endereco_id, data_venda, valor_total, desconto, valor_final,
+                    status, forma_pagamento, numero_venda)
+SELECT c.id, e.id, timestamp '2024-01-01' + i * interval '3 minutes', 30, 0, 30,
+       CASE WHEN i % 20 = 0 THEN 'PENDENTE' WHEN i % 33 = 0 THEN 'CANCELADA' ELSE 'FINALIZADA' END,
+       'DINHEIRO', 'VERIF-' || i
+FROM generate_series(1, 300000) i
+JOIN clientes c ON c.cpf = 'V' || lpad((1 + i % 20000)::text, 11, '0')
+JOIN enderecos e ON e.cliente_id = c.id;
+
+INSERT INTO itens_venda (venda_id, data_venda, produto_id, quantidade, preco_unitario, subtotal, total_item)
+SELECT v.id, v.data_venda, p0.id + (v.id * 7 + k) % 50000, 1, 10, 10, 10
+FROM vendas v
+CROSS JOIN generate_series(1, 3) k
+CROSS JOIN (SELECT min(id) AS id FROM produtos WHERE nome LIKE 'Verificação %') p0
+WHERE v.numero_venda LIKE 'VERIF-%';
+
+INSERT INTO users (id, name, email, password_hash, user_role, is_active, created_at, updated_at)
+SELECT md5('verif-usuario-' || i)::uuid, 'Usuário ' || i, 'verif' || i || '@hortiflow.local', 'x',
+       'USER', true, now(), now()
+FROM generate_series(1, 1000) i;
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, revoked_at, created_at)
+SELECT md5('verif-token-' || i)::uuid, md5('verif-usuario-' || (1 + i % 1000))::uuid, md5('hash-' || i),
+       now() + interval '7 days', CASE WHEN i % 10 <> 0 THEN now() END, now()
+FROM generate_series(1, 100000) i;
+
+INSERT INTO movimentacoes_estoque (produto_id, tipo, quantidade, data)
+SELECT p0.id + i % 50000, 'SAIDA', 1, timestamp '2024-01-01' + i * interval '3 minutes'
+FROM generate_series(1, 300000) i
+CROSS JOIN (SELECT min(id) AS id FROM produtos WHERE nome LIKE 'Verificação %') p0;
+
+ANALYZE produtos;
+ANALYZE clientes;
+ANALYZE enderecos;
+ANALYZE vendas;
+ANALYZE itens_venda;
+ANALYZE users;
+ANALYZE refresh_tokens;
+ANALYZE movimentacoes_estoque;
+
+DO $$
+DECLARE
+    produto  BIGINT;
+    cliente  BIGINT;
+    venda    BIGINT;
+    ultima   BIGINT;
+    xid      BIGINT;
+    seq      BIGINT;
+    usuario  UUID := md5('verif-usuario-42')::uuid;
+    consulta RECORD;
+    modo     TEXT;
+    plano    TEXT;
+    linha    TEXT;
+    falhas   INTEGER := 0;
+    antes    INTEGER;
+    tabela   TEXT;
+    inteiras TEXT;
+BEGIN
+    SELECT min(id) + 4242 INTO produto FROM produtos WHERE nome LIKE 'Verificação %';
+    SELECT min(id) + 42 INTO cliente FROM clientes WHERE cpf LIKE 'V%';
+    SELECT id INTO venda FROM vendas WHERE numero_venda = 'VERIF-150000';
+    SELECT max(id) + 1 INTO ultima FROM vendas;
+    SELECT xid_alteracao, seq_alteracao INTO xid, seq FROM produtos
+    ORDER BY xid_alteracao DESC, seq_alteracao DESC OFFSET 500 LIMIT 1;
+
+    -- (nome, tipos dos parâmetros, SQL gerado pelo Hibernate, argumentos)
+    FOR consulta IN
+        SELECT * FROM (VALUES
+            -- VendaRepository
+            ('findById', 'bigint',
+             'select v1_0.* from vendas v1_0 where v1_0.id=$1', format('%s', venda)),
+            ('findByNumeroVenda', 'varchar',
+             'select v1_0.* from vendas v1_0 where v1_0.numero_venda=$1', quote_literal('VERIF-123456')),
+            ('findByNumeroVendaAndDataVendaBetween', 'varchar, timestamp, timestamp',
+             'select v1_0.* from vendas v1_0 where v1_0.numero_venda=$1 and v1_0.data_venda between $2 and $3',
+             quote_literal('VERIF-123456') || ', ' || quote_literal('2024-09-14')
+             || ', ' || quote_literal('2024-09-14 23:59:59.999999')),
+            ('findByClienteIdOrderByDataVendaDesc', 'bigint',
+             'select v1_0.* from vendas v1_0 left join clientes c1_0 on c1_0.id=v1_0.cliente_id
+              where c1_0.id=$1 order by v1_0.data_venda desc', format('%s', cliente)),
+            ('findByStatusOrderByDataVendaDesc', 'varchar',
+             'select v1_0.* from vendas v1_0 where v1_0.status=$1 order by v1_0.data_venda desc',
+             quote_literal('CANCELADA')),
+            ('findByDataVendaBetweenOrderByDataVendaDesc', 'timestamp, timestamp',
+             'select v1_0.* from vendas v1_0 where v1_0.data_venda between $1 and $2 order by v1_0.data_venda desc',
+             quote_literal('2024-06-01') || ', ' || quote_literal('2024-06-02')),
+            ('findByDataVendaBetweenAndStatus', 'timestamp, timestamp, varchar',
+             'select v1_0.* from vendas v1_0 where v1_0.data_venda>=$1 and v1_0.data_venda<=$2 and v1_0.status=$3',
+             quote_literal('2024-06-01') || ', ' || quote_literal('2024-06-08') || ', ' || quote_literal('FINALIZADA')),
+            ('findByIdWithItensProdutoCliente', 'bigint',
+             'select v1_0.*, i1_0.*, p1_0.*, c1_0.* from vendas v1_0
+              left join itens_venda i1_0 on v1_0.id=i1_0.venda_id left join produtos p1_0 on p1_0.id=i1_0.produto_id
+              left join clientes c1_0 on c1_0.id=v1_0.cliente_id where v1_0.id=$1', format('%s', venda)),
+            -- EntregaService monta o manifesto com as vendas finalizadas do dia
+            ('findEntregasComEnderecoECliente', 'varchar, timestamp, timestamp',
+             'select v1_0.*, ee1_0.*, c1_0.* from vendas v1_0 join enderecos ee1_0 on ee1_0.id=v1_0.endereco_id
+              join clientes c1_0 on c1_0.id=v1_0.cliente_id
+              where v1_0.status=$1 and v1_0.data_venda>=$2 and v1_0.data_venda<$3',
+             quote_literal('FINALIZADA') || ', ' || quote_literal('2024-06-01') || ', ' || quote_literal('2024-06-02')),
+            ('findIdsLoteAntes (sem filtros)', 'bigint, varchar, varchar, bigint, bigint, integer',
+             'select v1_0.id,v1_0.data_venda from vendas v1_0 where v1_0.id<$1 and ($2 is null or v1_0.status=$3)
+              and ($4 is null or v1_0.cliente_id=$5) order by v1_0.id desc fetch first $6 rows only',
+             format('%s, NULL, NULL, NULL, NULL, 500', ultima)),
+            ('findIdsLoteAntes (status e cliente)', 'bigint, varchar, varchar, bigint, bigint, integer',
+             'select v1_0.id,v1_0.data_venda from vendas v1_0 where v1_0.id<$1 and ($2 is null or v1_0.status=$3)
+              and ($4 is null or v1_0.cliente_id=$5) order by v1_0.id desc fetch first $6 rows only',
+             format('%s, %L, %L, %s, %s, 500', ultima, 'FINALIZADA', 'FINALIZADA', cliente, cliente)),
+            ('findByIdInComItens', '',
+             format('select distinct v1_0.*, i1_0.*, p1_0.*, c1_0.*, ee1_0.* from vendas v1_0
+                     left join itens_venda i1_0 on v1_0.id=i1_0.venda_id left join produtos p1_0 on p1_0.id=i1_0.produto_id
+                     left join clientes c1_0 on c1_0.id=v1_0.cliente_id left join enderecos ee1_0 on ee1_0.id=v1_0.endereco_id
+                     where v1_0.id in (%s) and v1_0.data_venda between %L and %L order by v1_0.id desc',
+                    (SELECT string_agg(g::text, ', ') FROM generate_series(venda, venda + 499) g),
+                    (SELECT min(data_venda) FROM vendas WHERE id BETWEEN venda AND venda + 499),
+                    (SELECT max(data_venda) FROM vendas WHERE id BETWEEN venda AND venda + 499)), ''),
+            -- ProdutoRepository
+            ('findById (produto)', 'bigint',
+             'select p1_0.*, (SELECT COALESCE(SUM(s.saidas), 0) FROM produto_estoque_shards s WHERE s.produto_id = p1_0.id)
+              from produtos p1_0 where p1_0.id=$1', format('%s', produto)),
+            ('findEstoqueParaAtualizacao', 'bigint',
+             'SELECT COALESCE(estoque_inicial, 0) + COALESCE(entradas, 0) - COALESCE(saidas, 0) FROM produtos WHERE id = $1 FOR UPDATE',
+             format('%s', produto)),
+            ('findIdsExistentes', 'bigint, bigint, bigint',
+             'select p1_0.id from produtos p1_0 where p1_0.id in ($1,$2,$3)',
+             format('%s, %s, %s', produto, produto + 1, produto + 2)),
+            ('incrementarEntrada', 'float8, bigint',
+             'UPDATE produtos SET entradas = entradas + $1 WHERE id = $2', format('1, %s', produto)),
+            ('incrementarSaidaSeDisponivel', 'float8, bigint',
+             'UPDATE produtos SET saidas = COALESCE(saidas, 0) + $1 WHERE id = $2
+              AND COALESCE(estoque_inicial, 0) + COALESCE(entradas, 0) - COALESCE(saidas, 0) >= $1',
+             format('1, %s', produto)),
+            ('findAlteradosDesde', 'bigint, bigint, bigint, integer',
+             'select p1_0.* from produtos p1_0 where p1_0.xid_alteracao>=$1 and p1_0.xid_alteracao<$2
+              and (p1_0.xid_alteracao>$1 or p1_0.seq_alteracao>$3)
+              order by p1_0.xid_alteracao,p1_0.seq_alteracao fetch first $4 rows only',
+             format('%s, txid_snapshot_xmin(txid_current_snapshot()), %s, 501', xid, seq)),
+            ('findLoteApos', 'bigint, integer',
+             'select p1_0.* from produtos p1_0 where p1_0.id>$1 order by p1_0.id fetch first $2 rows only',
+             format('%s, 500', produto)),
+            -- Itens, refresh tokens e movimentações
+            ('itens_venda por produto', 'bigint',
+             'SELECT * FROM itens_venda WHERE produto_id = $1', format('%s', produto)),
+            ('findValidByHash', 'varchar',
+             'SELECT * FROM refresh_tokens WHERE token_hash = $1 AND revoked_at IS NULL AND expires_at > now()',
+             quote_literal(md5('hash-4242'))),
+            ('revokeAllForUser', 'uuid',
+             'UPDATE refresh_tokens SET revoked_at = now() WHERE user_id = $1 AND revoked_at IS NULL',
+             quote_literal(usuario)),
+            ('movimentacoes por produto', 'bigint',
+             'SELECT * FROM movimentacoes_estoque WHERE produto_id = $1 ORDER BY data', format('%s', produto))
+        ) AS c(nome, tipos, sql, argumentos)
+    LOOP
+        antes := falhas;
+        -- O manifesto junta algumas centenas de vendas do dia a clientes e endereços: enquanto essas
+        -- tabelas são pequenas, um hash join que as lê inteiras custa menos que uma busca no índice
+        -- por venda, e o planejador passa às buscas sozinho quando elas crescem
+        inteiras := CASE consulta.nome
+            WHEN 'findEntregasComEnderecoECliente' THEN '^(clientes|enderecos)$'
+            ELSE '^$'
+        END;
+        IF consulta.tipos = '' THEN
+            plano := 'EXPLAIN ' || consulta.sql;
+        ELSE
+            EXECUTE format('PREPARE verificacao(%s) AS %s', consulta.tipos, consulta.sql);
+            plano := format('EXPLAIN EXECUTE verificacao(%s)', consulta.argumentos);
+        END IF;
+        FOREACH modo IN ARRAY ARRAY['force_custom_plan', 'force_generic_plan'] LOOP
+            PERFORM set_config('plan_cache_mode', modo, true);
+            FOR linha IN EXECUTE plano LOOP
+                tabela := substring(linha FROM 'Seq Scan on (\w+)');
+                IF tabela ~ '^(vendas|itens_venda|produtos|clientes|enderecos|refresh_tokens|movimentacoes_estoque)(_\d{4}_\d{2})?$'
+                   AND tabela !~ inteiras
+                   AND (SELECT reltuples FROM pg_class WHERE oid = to_regclass(tabela)) > 10000 THEN
+                    RAISE WARNING '% (%): leitura sequencial (%)', consulta.nome, modo, btrim(linha);
+                    falhas := falhas + 1;
+                END IF;
+            END LOOP;
+        END LOOP;
+        IF consulta.tipos <> '' THEN
+            DEALLOCATE verificacao;
+        END IF;
+        IF falhas = antes THEN
+            RAISE NOTICE 'ok: %', consulta.nome;
+        END IF;
+    END LOOP;
+    PERFORM set_config('plan_cache_mode', 'auto', true);
+
+    IF falhas > 0 THEN
+        RAISE EXCEPTION '% leitura(s) sequencial(is) nos planos acima', falhas;
+    END IF;
+    RAISE NOTICE 'Todas as consultas usam índice';
+END
+$$;
+
+ROLLBACK;
@@ -0,0 +1,184 @@
+package com.hortifruti.busca;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mantém um {@link IndiceTexto} atualizado a partir de uma fonte de dados (copy-on-write).
+ *
+ * <p>Leitores obtêm sempre o estado corrente sem bloqueio. Cada alteração registra o ID
+ * do documento como pendente; a thread que conseguir o lock aplica todos os pendentes de
+ * uma vez e publica um novo estado. IDs que a fonte não devolve mais são removidos do índice.
+ *
+ * <p>O estado é um índice base, montado com toda a fonte, e uma sobreposição pequena com os
+ * documentos alterados desde então. Uma alteração reconstrói só a sobreposição; os IDs
+ * alterados ou removidos deixam de ser considerados na base, e as buscas intercalam os
+ * resultados dos dois índices. Quando a sobreposição passa de cerca de √N documentos (no
+ * mínimo {@value #SOBREPOSICAO_MINIMA}), ela é consolidada na base, de modo que uma alteração
+ * custa em média O(√N) documentos reindexados em vez de O(N).
+ *
+ * @param <T> Tipo do item devolvido nos resultados
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class IndiceAtualizavel<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceAtualizavel.class);
+
+    /** Tamanho da sobreposição abaixo do qual ela nunca é consolidada */
+    static final int SOBREPOSICAO_MINIMA = 256;
+
+    private final String nome;
+    private final Supplier<Collection<IndiceTexto.Documento<T>>> carregarTodos;
+    private final Function<Collection<Long>, Collection<IndiceTexto.Documento<T>>> carregarPorIds;
+
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private volatile Estado<T> estado = new Estado<>(IndiceTexto.vazio(), Map.of(), Set.of());
+
+    /**
+     * Cria o índice, inicialmente vazio.
+     *
+     * @param nome Nome usado nos logs (ex.: "produtos")
+     * @param carregarTodos Carrega todos os documentos da fonte
+     * @param carregarPorIds Carrega os documentos existentes entre os IDs informados
+     */
+    public IndiceAtualizavel(String nome,
+                             Supplier<Collection<IndiceTexto.Documento<T>>> carregarTodos,
+                             Function<Collection<Long>, Collection<IndiceTexto.Documento<T>>> carregarPorIds) {
+        this.nome = nome;
+        this.carregarTodos = carregarTodos;
+        this.carregarPorIds = carregarPorIds;
+    }
+
+    /**
+     * Busca no estado corrente os documentos que casam com todas as palavras da consulta.
+     *
+     * @param consulta Texto digitado (acentos e maiúsculas são ignorados)
+     * @param limite Número máximo de resultados
+     * @return Resultados em ordem decrescente de relevância
+     * @see IndiceTexto#buscar(String, int)
+     */
+    public List<IndiceTexto.Resultado<T>> buscar(String consulta, int limite) {
+        Estado<T> atual = estado;
+        if (atual.alterados.isEmpty()) {
+            return atual.base.buscar(consulta, limite);
+        }
+        // Pede à base resultados a mais para compensar os que a sobreposição substitui
+        List<IndiceTexto.Resultado<T>> resultados = new ArrayList<>();
+        for (IndiceTexto.Resultado<T> resultado : atual.base.buscar(consulta, limite + atual.alterados.size())) {
+            if (!atual.alterados.contains(resultado.getId())) {
+                resultados.add(resultado);
+            }
+        }
+        resultados.addAll(atual.sobreposicao.buscar(consulta, limite));
+        resultados.sort(IndiceTexto.Resultado::compararRelevancia);
+        return resultados.size() > limite ? resultados.subList(0, limite) : resultados;
+    }
+
+    /**
+     * Monta o índice com todos os documentos da fonte.
+     */
+    public void carregar() {
+        reconstrucao.lock();
+        try {
+            pendentes.clear();
+            estado = new Estado<>(IndiceTexto.construir(carregarTodos.get()), Map.of(), Set.of());
+            logger.info("Índice de busca de {} carregado com {} documentos", nome, estado.base.tamanho());
+        } finally {
+            reconstrucao.unlock();
+        }
+        aplicarPendentes();
+    }
+
+    /**
+     * Registra que um documento foi incluído, alterado ou removido na fonte e atualiza o índice.
+     * Se outra thread já estiver atualizando, ela aplicará também esta alteração.
+     *
+     * @param id ID do documento
+     */
+    public void alterado(Long id) {
+        pendentes.add(id);
+        aplicarPendentes();
+    }
+
+    /**
+     * Registra um lote de documentos alterados na fonte e atualiza o índice uma única vez.
+     *
+     * @param ids IDs dos documentos
+     */
+    public void alterados(Collection<Long> ids) {
+        pendentes.addAll(ids);
+        aplicarPendentes();
+    }
+
+    private void aplicarPendentes() {
+        // A verificação após liberar o lock cobre IDs registrados entre a última leitura e a liberação
+        while (!pendentes.isEmpty() && reconstrucao.tryLock()) {
+            try {
+                while (!pendentes.isEmpty()) {
+                    Set<Long> ids = new HashSet<>(pendentes);
+                    pendentes.removeAll(ids);
+                    try {
+                        estado = aplicar(estado, carregarPorIds.apply(ids), ids);
+                    } catch (RuntimeException e) {
+                        pendentes.addAll(ids);
+                        logger.error("Erro ao atualizar o índice de busca de {}", nome, e);
+                        return;
+                    }
+                }
+            } finally {
+                reconstrucao.unlock();
+            }
+        }
+    }
+
+    private Estado<T> aplicar(Estado<T> atual, Collection<IndiceTexto.Documento<T>> incluir, Set<Long> ids) {
+        Map<Long, IndiceTexto.Documento<T>> documentos = new LinkedHashMap<>(atual.documentos);
+        documentos.keySet().removeAll(ids);
+        for (IndiceTexto.Documento<T> documento : incluir) {
+            documentos.put(documento.getId(), documento);
+        }
+        Set<Long> alterados = new HashSet<>(atual.alterados);
+        alterados.addAll(ids);
+
+        if (alterados.size() > Math.max(SOBREPOSICAO_MINIMA, (int) Math.sqrt(atual.base.tamanho()))) {
+            IndiceTexto<T> base = atual.base.alterar(documentos.values(), alterados);
+            logger.debug("Índice de busca de {} consolidado com {} documentos", nome, base.tamanho());
+            return new Estado<>(base, Map.of(), Set.of());
+        }
+        return new Estado<>(atual.base, documentos, alterados);
+    }
+
+    /**
+     * Estado imutável publicado para os leitores: a base, os documentos alterados desde a
+     * montagem da base (já indexados na sobreposição) e os IDs alterados ou removidos, que a
+     * base não deve mais devolver.
+     */
+    private static final class Estado<T> {
+        final IndiceTexto<T> base;
+        final IndiceTexto<T> sobreposicao;
+        final Map<Long, IndiceTexto.Documento<T>> documentos;
+        final Set<Long> alterados;
+
+        Estado(IndiceTexto<T> base, Map<Long, IndiceTexto.Documento<T>> documentos, Set<Long> alterados) {
+            this.base = base;
+            this.documentos = Map.copyOf(documentos);
+            this.alterados = Set.copyOf(alterados);
+            this.sobreposicao = documentos.isEmpty() ? IndiceTexto.vazio() : IndiceTexto.construir(documentos.values());
+        }
+    }
+}
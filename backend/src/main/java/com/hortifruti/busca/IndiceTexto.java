@@ -0,0 +1,528 @@
+package com.hortifruti.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de texto imutável, em memória, para busca por prefixo e aproximada.
+ *
+ * <p>Cada documento tem um texto principal (ex.: nome) e um secundário (ex.: embalagem),
+ * normalizados por {@link NormalizadorTexto}. O índice guarda:
+ * <ul>
+ *   <li>o vocabulário ordenado, onde a busca por prefixo é uma busca binária seguida
+ *       de uma varredura contígua (equivalente a descer uma trie);</li>
+ *   <li>os trigramas de cada palavra do vocabulário, usados para tolerar erros de
+ *       digitação (similaridade de Dice entre os trigramas) quando o prefixo sozinho
+ *       não preenche a página.</li>
+ * </ul>
+ *
+ * <p>Cada palavra da consulta precisa casar com alguma palavra do documento. A pontuação
+ * privilegia palavra exata, depois prefixo e por fim similaridade; casamentos no texto
+ * secundário valem menos, e documentos cujo texto principal começa pela consulta recebem
+ * um bônus. Empates são resolvidos pelo texto principal mais curto e depois em ordem
+ * alfabética: os documentos já ficam armazenados nessa ordem, então o desempate é a
+ * própria posição e a seleção dos melhores resultados trabalha só com tipos primitivos.
+ *
+ * <p>Como a instância nunca muda, leituras concorrentes não precisam de sincronização;
+ * {@link #alterar(Collection, Collection)} devolve um novo índice.
+ *
+ * @param <T> Tipo do item devolvido nos resultados
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class IndiceTexto<T> {
+
+    private static final float PONTOS_EXATO = 3.0f;
+    private static final float PONTOS_PREFIXO = 2.0f;
+    private static final float PONTOS_APROXIMADO = 1.5f;
+    private static final float BONUS_INICIO = 1.0f;
+    private static final float PESO_SECUNDARIO = 0.6f;
+    private static final float SIMILARIDADE_MINIMA = 0.5f;
+    private static final int TAMANHO_MINIMO_APROXIMADO = 3;
+
+    private static final IndiceTexto<?> VAZIO = new IndiceTexto<>(List.of());
+
+    /** Documentos ordenados pelo texto principal normalizado (tamanho, depois alfabética) */
+    private final List<Documento<T>> documentos;
+    private final String[] principais;
+    private final String[] vocabulario;
+    /** Ocorrências de cada palavra do vocabulário: (documento << 1) | campo */
+    private final int[][] ocorrencias;
+    private final Map<String, int[]> termosPorTrigrama;
+    private final int[] trigramasPorTermo;
+    /** Áreas de trabalho reaproveitadas entre consultas */
+    private final ConcurrentLinkedQueue<Pontuacao> livres = new ConcurrentLinkedQueue<>();
+
+    private IndiceTexto(Collection<Documento<T>> origem) {
+        int total = origem.size();
+        String[] normalizados = new String[total];
+        List<Documento<T>> lista = new ArrayList<>(origem);
+        for (int i = 0; i < total; i++) {
+            normalizados[i] = NormalizadorTexto.normalizar(lista.get(i).getPrincipal());
+        }
+        Integer[] ordem = IntStream.range(0, total).boxed().toArray(Integer[]::new);
+        Arrays.sort(ordem, Comparator.<Integer>comparingInt(i -> normalizados[i].length())
+                .thenComparing(i -> normalizados[i]));
+
+        List<Documento<T>> ordenados = new ArrayList<>(total);
+        this.principais = new String[total];
+        Map<String, List<Integer>> porTermo = new HashMap<>();
+        for (int doc = 0; doc < total; doc++) {
+            Documento<T> documento = lista.get(ordem[doc]);
+            ordenados.add(documento);
+            principais[doc] = normalizados[ordem[doc]];
+            indexar(porTermo, principais[doc].isEmpty() ? new String[0] : principais[doc].split(" "), doc, 0);
+            indexar(porTermo, NormalizadorTexto.tokens(documento.getSecundario()), doc, 1);
+        }
+        this.documentos = List.copyOf(ordenados);
+
+        this.vocabulario = porTermo.keySet().toArray(new String[0]);
+        Arrays.sort(vocabulario);
+        this.ocorrencias = new int[vocabulario.length][];
+        this.trigramasPorTermo = new int[vocabulario.length];
+
+        Map<String, List<Integer>> porTrigrama = new HashMap<>();
+        for (int v = 0; v < vocabulario.length; v++) {
+            ocorrencias[v] = porTermo.get(vocabulario[v]).stream().mapToInt(Integer::intValue).toArray();
+            String[] trigramas = trigramas(vocabulario[v]);
+            trigramasPorTermo[v] = trigramas.length;
+            for (String trigrama : trigramas) {
+                porTrigrama.computeIfAbsent(trigrama, t -> new ArrayList<>()).add(v);
+            }
+        }
+        this.termosPorTrigrama = new HashMap<>(porTrigrama.size() * 2);
+        porTrigrama.forEach((trigrama, termos) ->
+                termosPorTrigrama.put(trigrama, termos.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Retorna um índice sem documentos.
+     *
+     * @param <T> Tipo do item
+     * @return Índice vazio
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IndiceTexto<T> vazio() {
+        return (IndiceTexto<T>) VAZIO;
+    }
+
+    /**
+     * Constrói um índice com os documentos informados. Documentos com o mesmo ID são
+     * deduplicados, prevalecendo o último.
+     *
+     * @param documentos Documentos a indexar
+     * @param <T> Tipo do item
+     * @return Novo índice
+     */
+    public static <T> IndiceTexto<T> construir(Collection<Documento<T>> documentos) {
+        Map<Long, Documento<T>> porId = new LinkedHashMap<>();
+        for (Documento<T> documento : documentos) {
+            porId.put(documento.getId(), documento);
+        }
+        return new IndiceTexto<>(porId.values());
+    }
+
+    /**
+     * Retorna um novo índice com um lote de alterações aplicado de uma só vez.
+     *
+     * @param incluir Documentos a incluir ou substituir (pelo ID)
+     * @param remover IDs dos documentos a remover
+     * @return Novo índice
+     */
+    public IndiceTexto<T> alterar(Collection<Documento<T>> incluir, Collection<Long> remover) {
+        Map<Long, Documento<T>> porId = new LinkedHashMap<>();
+        for (Documento<T> documento : documentos) {
+            porId.put(documento.getId(), documento);
+        }
+        for (Long id : remover) {
+            porId.remove(id);
+        }
+        for (Documento<T> documento : incluir) {
+            porId.put(documento.getId(), documento);
+        }
+        return new IndiceTexto<>(porId.values());
+    }
+
+    /**
+     * Obtém o número de documentos indexados.
+     *
+     * @return Número de documentos
+     */
+    public int tamanho() {
+        return documentos.size();
+    }
+
+    /**
+     * Busca os documentos que casam com todas as palavras da consulta.
+     *
+     * @param consulta Texto digitado (acentos e maiúsculas são ignorados)
+     * @param limite Número máximo de resultados
+     * @return Resultados em ordem decrescente de relevância
+     */
+    public List<Resultado<T>> buscar(String consulta, int limite) {
+        String[] termos = NormalizadorTexto.tokens(consulta);
+        if (termos.length == 0 || documentos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        Pontuacao pontuacao = livres.poll();
+        if (pontuacao == null) {
+            pontuacao = new Pontuacao(documentos.size(), vocabulario.length);
+        }
+        try {
+            return buscar(termos, limite, pontuacao);
+        } finally {
+            livres.offer(pontuacao);
+        }
+    }
+
+    private List<Resultado<T>> buscar(String[] termos, int limite, Pontuacao pontuacao) {
+        pontuacao.iniciarConsulta(termos.length);
+        for (String termo : termos) {
+            pontuacao.iniciarTermo();
+            pontuarPrefixo(termo, pontuacao);
+            if (termo.length() >= TAMANHO_MINIMO_APROXIMADO && pontuacao.tocados < limite) {
+                pontuarAproximado(termo, pontuacao);
+            }
+            pontuacao.encerrarTermo();
+        }
+
+        String consultaNormalizada = String.join(" ", termos);
+        Melhores melhores = new Melhores(limite);
+        for (int i = 0; i < pontuacao.candidatos; i++) {
+            int doc = pontuacao.listaCandidatos[i];
+            if (!pontuacao.casouTodos(doc)) {
+                continue;
+            }
+            float pontos = pontuacao.acumulado[doc];
+            if (principais[doc].startsWith(consultaNormalizada)) {
+                pontos += BONUS_INICIO;
+            }
+            melhores.oferecer(doc, pontos);
+        }
+
+        int[] ordem = melhores.ordenados();
+        List<Resultado<T>> resultado = new ArrayList<>(ordem.length);
+        for (int posicao : ordem) {
+            int doc = melhores.docs[posicao];
+            resultado.add(new Resultado<>(documentos.get(doc).getId(), principais[doc],
+                    documentos.get(doc).getItem(), melhores.pontos[posicao]));
+        }
+        return resultado;
+    }
+
+    private void pontuarPrefixo(String termo, Pontuacao pontuacao) {
+        int inicio = Arrays.binarySearch(vocabulario, termo);
+        if (inicio < 0) {
+            inicio = -inicio - 1;
+        }
+        for (int v = inicio; v < vocabulario.length && vocabulario[v].startsWith(termo); v++) {
+            float pontos = vocabulario[v].length() == termo.length()
+                    ? PONTOS_EXATO
+                    : PONTOS_PREFIXO + (float) termo.length() / vocabulario[v].length();
+            creditar(v, pontos, pontuacao);
+        }
+    }
+
+    private void pontuarAproximado(String termo, Pontuacao pontuacao) {
+        String[] trigramas = trigramas(termo);
+        int[] comuns = pontuacao.comuns;
+        int[] tocados = pontuacao.termosTocados;
+        int quantidade = 0;
+        for (String trigrama : trigramas) {
+            int[] termos = termosPorTrigrama.get(trigrama);
+            if (termos == null) {
+                continue;
+            }
+            for (int v : termos) {
+                if (comuns[v]++ == 0) {
+                    tocados[quantidade++] = v;
+                }
+            }
+        }
+        for (int i = 0; i < quantidade; i++) {
+            int v = tocados[i];
+            float similaridade = 2.0f * comuns[v] / (trigramas.length + trigramasPorTermo[v]);
+            comuns[v] = 0;
+            if (similaridade >= SIMILARIDADE_MINIMA) {
+                creditar(v, PONTOS_APROXIMADO * similaridade, pontuacao);
+            }
+        }
+    }
+
+    private void creditar(int termo, float pontos, Pontuacao pontuacao) {
+        for (int ocorrencia : ocorrencias[termo]) {
+            pontuacao.registrar(ocorrencia >>> 1, (ocorrencia & 1) == 0 ? pontos : pontos * PESO_SECUNDARIO);
+        }
+    }
+
+    private static void indexar(Map<String, List<Integer>> porTermo, String[] termos, int doc, int campo) {
+        int ocorrencia = (doc << 1) | campo;
+        for (String termo : termos) {
+            List<Integer> lista = porTermo.computeIfAbsent(termo, t -> new ArrayList<>(2));
+            if (lista.isEmpty() || lista.get(lista.size() - 1) != ocorrencia) {
+                lista.add(ocorrencia);
+            }
+        }
+    }
+
+    private static String[] trigramas(String termo) {
+        String delimitado = "$" + termo + "$";
+        return IntStream.rangeClosed(0, delimitado.length() - 3)
+                .mapToObj(i -> delimitado.substring(i, i + 3))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Acumuladores de uma consulta, indexados pela posição do documento.
+     *
+     * <p>Em vez de zerar os vetores a cada consulta, cada termo recebe uma marca crescente:
+     * {@code marca[doc]} indica o último termo que tocou o documento e
+     * {@code sequencia[doc]} o último termo de uma sequência ininterrupta de casamentos
+     * desde o primeiro. Valores de consultas anteriores são sempre menores que as
+     * marcas da consulta atual.
+     */
+    private static final class Pontuacao {
+        final float[] acumulado;
+        final float[] parcial;
+        final int[] marca;
+        final int[] sequencia;
+        final int[] listaCandidatos;
+        final int[] tocadosTermo;
+        final int[] comuns;
+        final int[] termosTocados;
+        int candidatos;
+        int tocados;
+        int primeiroTermo;
+        int termoAtual;
+        int ultimoTermo;
+
+        Pontuacao(int documentos, int termos) {
+            acumulado = new float[documentos];
+            parcial = new float[documentos];
+            marca = new int[documentos];
+            sequencia = new int[documentos];
+            listaCandidatos = new int[documentos];
+            tocadosTermo = new int[documentos];
+            comuns = new int[termos];
+            termosTocados = new int[termos];
+        }
+
+        void iniciarConsulta(int termos) {
+            if (termoAtual > Integer.MAX_VALUE - termos - 1) {
+                Arrays.fill(marca, 0);
+                Arrays.fill(sequencia, 0);
+                termoAtual = 0;
+            }
+            primeiroTermo = termoAtual + 1;
+            ultimoTermo = termoAtual + termos;
+            candidatos = 0;
+        }
+
+        void iniciarTermo() {
+            termoAtual++;
+            tocados = 0;
+        }
+
+        void registrar(int doc, float pontos) {
+            if (marca[doc] != termoAtual) {
+                marca[doc] = termoAtual;
+                parcial[doc] = pontos;
+                tocadosTermo[tocados++] = doc;
+            } else if (pontos > parcial[doc]) {
+                parcial[doc] = pontos;
+            }
+        }
+
+        void encerrarTermo() {
+            for (int i = 0; i < tocados; i++) {
+                int doc = tocadosTermo[i];
+                if (termoAtual == primeiroTermo) {
+                    acumulado[doc] = parcial[doc];
+                    sequencia[doc] = termoAtual;
+                    listaCandidatos[candidatos++] = doc;
+                } else if (sequencia[doc] == termoAtual - 1) {
+                    acumulado[doc] += parcial[doc];
+                    sequencia[doc] = termoAtual;
+                }
+            }
+        }
+
+        boolean casouTodos(int doc) {
+            return sequencia[doc] == ultimoTermo;
+        }
+    }
+
+    /**
+     * Seleção dos N melhores documentos com um heap mínimo de primitivos. O pior
+     * resultado fica na raiz: menor pontuação ou, em empate, maior posição.
+     */
+    private static final class Melhores {
+        final int[] docs;
+        final float[] pontos;
+        int tamanho;
+
+        Melhores(int limite) {
+            docs = new int[limite];
+            pontos = new float[limite];
+        }
+
+        void oferecer(int doc, float valor) {
+            if (tamanho < docs.length) {
+                docs[tamanho] = doc;
+                pontos[tamanho] = valor;
+                subir(tamanho++);
+            } else if (pior(0, doc, valor)) {
+                docs[0] = doc;
+                pontos[0] = valor;
+                descer(0);
+            }
+        }
+
+        /** Indica se o elemento na posição é pior que o documento informado */
+        private boolean pior(int posicao, int doc, float valor) {
+            return pontos[posicao] < valor || (pontos[posicao] == valor && docs[posicao] > doc);
+        }
+
+        private void subir(int posicao) {
+            while (posicao > 0) {
+                int pai = (posicao - 1) / 2;
+                if (!pior(posicao, docs[pai], pontos[pai])) {
+                    return;
+                }
+                trocar(posicao, pai);
+                posicao = pai;
+            }
+        }
+
+        private void descer(int posicao) {
+            while (true) {
+                int alvo = posicao;
+                for (int filho = 2 * posicao + 1; filho <= 2 * posicao + 2 && filho < tamanho; filho++) {
+                    if (pior(filho, docs[alvo], pontos[alvo])) {
+                        alvo = filho;
+                    }
+                }
+                if (alvo == posicao) {
+                    return;
+                }
+                trocar(posicao, alvo);
+                posicao = alvo;
+            }
+        }
+
+        private void trocar(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float valor = pontos[a];
+            pontos[a] = pontos[b];
+            pontos[b] = valor;
+        }
+
+        /** Posições do heap do melhor para o pior */
+        int[] ordenados() {
+            return IntStream.range(0, tamanho).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> -pontos[i]).thenComparingInt(i -> docs[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    /**
+     * Documento a indexar.
+     *
+     * @param <T> Tipo do item devolvido nos resultados
+     */
+    public static final class Documento<T> {
+        private final long id;
+        private final String principal;
+        private final String secundario;
+        private final T item;
+
+        /**
+         * Cria um documento.
+         *
+         * @param id Identificador único do documento
+         * @param principal Texto principal (ex.: nome)
+         * @param secundario Texto secundário, com peso menor (pode ser nulo)
+         * @param item Item devolvido quando o documento é encontrado
+         */
+        public Documento(long id, String principal, String secundario, T item) {
+            this.id = id;
+            this.principal = principal;
+            this.secundario = secundario;
+            this.item = item;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getPrincipal() {
+            return principal;
+        }
+
+        public String getSecundario() {
+            return secundario;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    /**
+     * Resultado de uma busca: o item encontrado e sua pontuação.
+     *
+     * @param <T> Tipo do item
+     */
+    public static final class Resultado<T> {
+        private final long id;
+        private final String principal;
+        private final T item;
+        private final float pontuacao;
+
+        private Resultado(long id, String principal, T item, float pontuacao) {
+            this.id = id;
+            this.principal = principal;
+            this.item = item;
+            this.pontuacao = pontuacao;
+        }
+
+        /** ID do documento encontrado */
+        long getId() {
+            return id;
+        }
+
+        /**
+         * Compara pela relevância com a mesma regra de desempate do índice (texto principal
+         * mais curto, depois alfabética), para intercalar resultados de índices diferentes.
+         */
+        static <T> int compararRelevancia(Resultado<T> a, Resultado<T> b) {
+            int comparacao = Float.compare(b.pontuacao, a.pontuacao);
+            if (comparacao == 0) {
+                comparacao = Integer.compare(a.principal.length(), b.principal.length());
+            }
+            return comparacao != 0 ? comparacao : a.principal.compareTo(b.principal);
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public float getPontuacao() {
+            return pontuacao;
+        }
+    }
+}
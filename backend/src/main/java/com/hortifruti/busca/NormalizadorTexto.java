@@ -0,0 +1,59 @@
+package com.hortifruti.busca;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto para buscas: remove acentos, converte para minúsculas e
+ * separa as palavras ("Maçã Fuji" → "maca fuji").
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class NormalizadorTexto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+    private static final String[] VAZIO = new String[0];
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * Normaliza um texto: sem acentos, minúsculo e com as palavras separadas por um espaço.
+     *
+     * @param texto Texto original (pode ser nulo)
+     * @return Texto normalizado (vazio se o texto for nulo)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Normaliza um texto e o separa em palavras.
+     *
+     * @param texto Texto original (pode ser nulo)
+     * @return Palavras normalizadas
+     */
+    public static String[] tokens(String texto) {
+        String normalizado = normalizar(texto);
+        return normalizado.isEmpty() ? VAZIO : normalizado.split(" ");
+    }
+
+    /**
+     * Mantém apenas os dígitos de um texto (CPF, CNPJ, telefone, CEP).
+     *
+     * @param texto Texto original (pode ser nulo)
+     * @return Somente os dígitos (vazio se o texto for nulo)
+     */
+    public static String somenteDigitos(String texto) {
+        return texto == null ? "" : NAO_DIGITOS.matcher(texto).replaceAll("");
+    }
+}
@@ -0,0 +1,161 @@
+package com.hortifruti.cep;
+
+import com.hortifruti.dto.EnderecoCep;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base de CEPs em arquivo binário ordenado, mapeado em memória e consultado por busca binária.
+ *
+ * <p>Formato (inteiros big-endian), gerado por {@link GeradorBaseCep}:
+ * <pre>
+ * cabeçalho  : mágico "CEP1" | total de registros | início da área de textos | reservado
+ * registros  : total x (cep | logradouro | bairro | cidade | uf), em ordem crescente de CEP
+ * textos     : sequência de (tamanho: 2 bytes | UTF-8), referenciados pelo deslocamento
+ *              a partir do início da área (-1 = ausente)
+ * </pre>
+ *
+ * <p>O conteúdo fica no page cache do sistema operacional, fora do heap: a instância
+ * guarda apenas o buffer mapeado, e cada consulta lê ~20 posições do arquivo. É imutável
+ * e segura para uso concorrente (só leituras absolutas no buffer).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class BaseCep {
+
+    static final int MAGICO = 0x43455031;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_REGISTRO = 20;
+
+    /** Maior CEP possível (8 dígitos) */
+    static final int CEP_MAXIMO = 99_999_999;
+
+    private final ByteBuffer dados;
+    private final int total;
+    private final int inicioTextos;
+
+    private BaseCep(ByteBuffer dados) throws IOException {
+        if (dados.capacity() < TAMANHO_CABECALHO || dados.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo não é uma base de CEPs");
+        }
+        this.dados = dados;
+        this.total = dados.getInt(4);
+        this.inicioTextos = dados.getInt(8);
+        if (total < 0 || inicioTextos != TAMANHO_CABECALHO + (long) total * TAMANHO_REGISTRO
+                || inicioTextos > dados.capacity()) {
+            throw new IOException("Base de CEPs corrompida");
+        }
+    }
+
+    /**
+     * Mapeia um arquivo gerado por {@link GeradorBaseCep}.
+     *
+     * @param arquivo Caminho do arquivo
+     * @return Base pronta para consulta
+     * @throws IOException Se o arquivo não puder ser lido ou não for uma base válida
+     */
+    public static BaseCep abrir(Path arquivo) throws IOException {
+        // O mapeamento continua válido depois que o canal é fechado
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return new BaseCep(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Obtém o número de CEPs da base.
+     *
+     * @return Número de registros
+     */
+    public int tamanho() {
+        return total;
+    }
+
+    /**
+     * Busca um CEP.
+     *
+     * @param cep CEP como número (ex.: 1310100 para 01310-100)
+     * @return Endereço do CEP, ou null se não estiver na base
+     */
+    public EnderecoCep buscar(int cep) {
+        int i = primeiroMaiorOuIgual(cep);
+        return i < total && cep(i) == cep ? registro(i) : null;
+    }
+
+    /**
+     * Busca os CEPs que começam com os dígitos informados, em ordem crescente.
+     *
+     * @param prefixo De 1 a 8 dígitos
+     * @param limite Número máximo de resultados
+     * @return Endereços encontrados
+     */
+    public List<EnderecoCep> buscarPorPrefixo(String prefixo, int limite) {
+        int escala = 1;
+        for (int i = prefixo.length(); i < 8; i++) {
+            escala *= 10;
+        }
+        int inicio = Integer.parseInt(prefixo) * escala;
+        int fim = inicio + escala;
+        List<EnderecoCep> resultados = new ArrayList<>(Math.min(limite, 16));
+        for (int i = primeiroMaiorOuIgual(inicio); i < total && resultados.size() < limite && cep(i) < fim; i++) {
+            resultados.add(registro(i));
+        }
+        return resultados;
+    }
+
+    private int primeiroMaiorOuIgual(int cep) {
+        int baixo = 0;
+        int alto = total;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (cep(meio) < cep) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private int cep(int i) {
+        return dados.getInt(TAMANHO_CABECALHO + i * TAMANHO_REGISTRO);
+    }
+
+    private EnderecoCep registro(int i) {
+        int posicao = TAMANHO_CABECALHO + i * TAMANHO_REGISTRO;
+        return new EnderecoCep(formatar(dados.getInt(posicao)),
+                texto(dados.getInt(posicao + 4)),
+                texto(dados.getInt(posicao + 8)),
+                texto(dados.getInt(posicao + 12)),
+                texto(dados.getInt(posicao + 16)));
+    }
+
+    private String texto(int deslocamento) {
+        if (deslocamento < 0) {
+            return null;
+        }
+        int posicao = inicioTextos + deslocamento;
+        byte[] bytes = new byte[dados.getShort(posicao) & 0xFFFF];
+        dados.get(posicao + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formata um CEP numérico como 00000-000.
+     *
+     * @param cep CEP como número
+     * @return CEP formatado
+     */
+    public static String formatar(int cep) {
+        String digitos = String.format("%08d", cep);
+        return digitos.substring(0, 5) + "-" + digitos.substring(5);
+    }
+}
@@ -0,0 +1,292 @@
+package com.hortifruti.cep;
+
+import com.hortifruti.busca.NormalizadorTexto;
+import com.hortifruti.importacao.LeitorCsv;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Gera o arquivo binário lido por {@link BaseCep} a partir de um CSV de CEPs.
+ *
+ * <p>O CSV precisa de cabeçalho com as colunas cep, cidade (ou localidade/municipio) e
+ * uf (ou estado); logradouro (ou rua/endereco) e bairro são opcionais. Os textos são
+ * gravados em um arquivo temporário à medida que o CSV é lido; em memória ficam apenas
+ * cinco inteiros por CEP e os bairros/cidades/UFs distintos, que são compartilhados entre
+ * os registros. CEPs repetidos mantêm a primeira ocorrência.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class GeradorBaseCep {
+
+    /** Número máximo de erros detalhados no resultado */
+    public static final int ERROS_MAXIMOS = 100;
+
+    private static final int TAMANHO_MAXIMO_TEXTO = 0xFFFF;
+
+    private int total;
+    private int[] ceps = new int[1024];
+    private int[] logradouros = new int[1024];
+    private int[] bairros = new int[1024];
+    private int[] cidades = new int[1024];
+    private int[] ufs = new int[1024];
+
+    private final Map<String, Integer> compartilhados = new HashMap<>();
+    private DataOutputStream textos;
+    private long tamanhoTextos;
+
+    private int invalidos;
+    private final List<String> erros = new ArrayList<>();
+
+    private GeradorBaseCep() {
+    }
+
+    /**
+     * Lê o CSV e grava a base no destino (sobrescrevendo-o).
+     *
+     * @param csv CSV com cabeçalho
+     * @param destino Arquivo a gerar
+     * @return Resultado com o número de CEPs gravados, repetidos, inválidos e os primeiros erros
+     * @throws IOException Se a leitura ou a gravação falhar
+     * @throws IllegalArgumentException Se o cabeçalho for inválido ou a base ficar vazia
+     */
+    public static Resultado gerar(LeitorCsv csv, Path destino) throws IOException {
+        return new GeradorBaseCep().executar(csv, destino);
+    }
+
+    private Resultado executar(LeitorCsv csv, Path destino) throws IOException {
+        List<String> cabecalho = csv.proximo();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        int colunaCep = coluna(cabecalho, "cep");
+        int colunaLogradouro = coluna(cabecalho, "logradouro", "rua", "endereco");
+        int colunaBairro = coluna(cabecalho, "bairro");
+        int colunaCidade = coluna(cabecalho, "cidade", "localidade", "municipio");
+        int colunaUf = coluna(cabecalho, "uf", "estado");
+        if (colunaCep < 0 || colunaCidade < 0 || colunaUf < 0) {
+            throw new IllegalArgumentException("O cabeçalho deve ter as colunas cep, cidade e uf");
+        }
+
+        Path temporario = Files.createTempFile(destino.toAbsolutePath().getParent(), "ceps", ".textos");
+        try {
+            try (DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario), 64 * 1024))) {
+                textos = saida;
+                List<String> campos;
+                while ((campos = csv.proximo()) != null) {
+                    ler(csv.getLinha(), campos, colunaCep, colunaLogradouro, colunaBairro, colunaCidade, colunaUf);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Nenhum CEP válido no arquivo");
+            }
+            int gravados = gravar(temporario, destino);
+            return new Resultado(gravados, total - gravados, invalidos, Files.size(destino), erros);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private void ler(int linha, List<String> campos, int colunaCep, int colunaLogradouro, int colunaBairro,
+                     int colunaCidade, int colunaUf) throws IOException {
+        String digitos = NormalizadorTexto.somenteDigitos(campo(campos, colunaCep));
+        String cidade = campo(campos, colunaCidade);
+        String uf = campo(campos, colunaUf);
+        if (digitos.length() != 8) {
+            invalido(linha, "CEP deve ter 8 dígitos");
+            return;
+        }
+        if (cidade == null || uf == null) {
+            invalido(linha, "Cidade e UF são obrigatórias");
+            return;
+        }
+
+        if (total == ceps.length) {
+            int novo = total * 2;
+            ceps = Arrays.copyOf(ceps, novo);
+            logradouros = Arrays.copyOf(logradouros, novo);
+            bairros = Arrays.copyOf(bairros, novo);
+            cidades = Arrays.copyOf(cidades, novo);
+            ufs = Arrays.copyOf(ufs, novo);
+        }
+        ceps[total] = Integer.parseInt(digitos);
+        // Logradouros quase nunca se repetem: gravados sem consultar o mapa de compartilhados
+        logradouros[total] = escrever(campo(campos, colunaLogradouro));
+        bairros[total] = compartilhado("b" + cidade + "/" + uf + "/", campo(campos, colunaBairro));
+        cidades[total] = compartilhado("c" + uf + "/", cidade);
+        ufs[total] = compartilhado("u", uf.toUpperCase(Locale.ROOT));
+        total++;
+    }
+
+    private int gravar(Path temporario, Path destino) throws IOException {
+        // Ordena pelo CEP mantendo a ordem de leitura entre repetidos (a primeira ocorrência vale)
+        long[] ordem = new long[total];
+        for (int i = 0; i < total; i++) {
+            ordem[i] = ((long) ceps[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+        int unicos = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || (int) (ordem[i] >>> 32) != (int) (ordem[i - 1] >>> 32)) {
+                ordem[unicos++] = ordem[i];
+            }
+        }
+
+        long inicioTextos = BaseCep.TAMANHO_CABECALHO + (long) unicos * BaseCep.TAMANHO_REGISTRO;
+        if (inicioTextos + tamanhoTextos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Base de CEPs excede 2 GB");
+        }
+        try (DataOutputStream saida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino), 64 * 1024))) {
+            saida.writeInt(BaseCep.MAGICO);
+            saida.writeInt(unicos);
+            saida.writeInt((int) inicioTextos);
+            saida.writeInt(0);
+            for (int k = 0; k < unicos; k++) {
+                int i = (int) ordem[k];
+                saida.writeInt(ceps[i]);
+                saida.writeInt(logradouros[i]);
+                saida.writeInt(bairros[i]);
+                saida.writeInt(cidades[i]);
+                saida.writeInt(ufs[i]);
+            }
+            Files.copy(temporario, (OutputStream) saida);
+        }
+        return unicos;
+    }
+
+    private int compartilhado(String chave, String texto) throws IOException {
+        if (texto == null) {
+            return -1;
+        }
+        Integer deslocamento = compartilhados.get(chave + texto);
+        if (deslocamento == null) {
+            deslocamento = escrever(texto);
+            compartilhados.put(chave + texto, deslocamento);
+        }
+        return deslocamento;
+    }
+
+    private int escrever(String texto) throws IOException {
+        if (texto == null) {
+            return -1;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > TAMANHO_MAXIMO_TEXTO) {
+            bytes = Arrays.copyOf(bytes, TAMANHO_MAXIMO_TEXTO);
+        }
+        if (tamanhoTextos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Base de CEPs excede 2 GB");
+        }
+        int deslocamento = (int) tamanhoTextos;
+        textos.writeShort(bytes.length);
+        textos.write(bytes);
+        tamanhoTextos += 2 + bytes.length;
+        return deslocamento;
+    }
+
+    private void invalido(int linha, String mensagem) {
+        invalidos++;
+        if (erros.size() < ERROS_MAXIMOS) {
+            erros.add("Linha " + linha + ": " + mensagem);
+        }
+    }
+
+    private static String campo(List<String> campos, int coluna) {
+        if (coluna < 0 || coluna >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(coluna).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static int coluna(List<String> cabecalho, String... nomes) {
+        for (String nome : nomes) {
+            for (int i = 0; i < cabecalho.size(); i++) {
+                if (NormalizadorTexto.normalizar(cabecalho.get(i)).equals(nome)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resultado da geração da base.
+     */
+    public static final class Resultado {
+
+        private final int registros;
+        private final int repetidos;
+        private final int invalidos;
+        private final long bytes;
+        private final List<String> erros;
+
+        Resultado(int registros, int repetidos, int invalidos, long bytes, List<String> erros) {
+            this.registros = registros;
+            this.repetidos = repetidos;
+            this.invalidos = invalidos;
+            this.bytes = bytes;
+            this.erros = List.copyOf(erros);
+        }
+
+        /**
+         * Obtém o número de CEPs gravados.
+         *
+         * @return CEPs distintos na base
+         */
+        public int getRegistros() {
+            return registros;
+        }
+
+        /**
+         * Obtém o número de linhas ignoradas por CEP repetido.
+         *
+         * @return Linhas repetidas
+         */
+        public int getRepetidos() {
+            return repetidos;
+        }
+
+        /**
+         * Obtém o número de linhas inválidas.
+         *
+         * @return Linhas inválidas
+         */
+        public int getInvalidos() {
+            return invalidos;
+        }
+
+        /**
+         * Obtém o tamanho do arquivo gerado.
+         *
+         * @return Tamanho em bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Obtém as primeiras mensagens de erro (até {@value GeradorBaseCep#ERROS_MAXIMOS}).
+         *
+         * @return Mensagens com o número da linha
+         */
+        public List<String> getErros() {
+            return erros;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hortifruti.concorrencia;
+
+import java.util.Locale;
+
+/**
+ * Classe de carga de uma requisição ou tarefa, usada para separar recursos (threads e
+ * conexões) entre tipos de trabalho, de modo que um relatório pesado não bloqueie uma venda.
+ *
+ * <p>A classe da thread atual é definida pelo {@link ClasseCargaFilter} no início de cada
+ * requisição e pelos {@link Compartimento}s nas tarefas que executam; sem definição vale
+ * {@link #LEITURAS}.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public enum ClasseCarga {
+
+    /** Criação, finalização e cancelamento de vendas */
+    VENDAS,
+    /** Consultas e demais operações */
+    LEITURAS,
+    /** PDFs, importações e exportações */
+    RELATORIOS,
+    /** Login, refresh e verificação de senhas */
+    AUTH;
+
+    private static final ThreadLocal<ClasseCarga> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Obtém a classe de carga da thread atual.
+     *
+     * @return Classe definida, ou {@link #LEITURAS} se nenhuma foi definida
+     */
+    public static ClasseCarga atual() {
+        ClasseCarga classe = ATUAL.get();
+        return classe != null ? classe : LEITURAS;
+    }
+
+    /**
+     * Define a classe de carga da thread atual.
+     *
+     * @param classe Nova classe
+     * @return Classe definida anteriormente (pode ser null), para {@link #restaurar(ClasseCarga)}
+     */
+    public static ClasseCarga definir(ClasseCarga classe) {
+        ClasseCarga anterior = ATUAL.get();
+        ATUAL.set(classe);
+        return anterior;
+    }
+
+    /**
+     * Restaura a classe de carga anterior da thread atual.
+     *
+     * @param anterior Valor devolvido por {@link #definir(ClasseCarga)}
+     */
+    public static void restaurar(ClasseCarga anterior) {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+
+    /**
+     * Obtém o nome usado em propriedades, métricas e nomes de threads.
+     *
+     * @return Nome em minúsculas (ex.: "relatorios")
+     */
+    public String getNome() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hortifruti.concorrencia;
+
+import com.hortifruti.limite.ConjuntoRotas;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Filtro que define a {@link ClasseCarga} de cada requisição pelo método e caminho, antes de
+ * qualquer acesso ao banco (inclusive o da autenticação).
+ *
+ * <p>As rotas seguem o formato de {@link ConjuntoRotas}; a primeira lista que atende a
+ * requisição vale, na ordem vendas, relatórios, auth. As demais requisições são leituras.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20)
+public class ClasseCargaFilter extends OncePerRequestFilter {
+
+    private final Map<ClasseCarga, ConjuntoRotas> rotas = new LinkedHashMap<>();
+
+    /**
+     * Construtor que recebe as rotas de cada classe via injeção de dependência.
+     *
+     * @param rotasVendas Rotas da classe vendas
+     * @param rotasRelatorios Rotas da classe relatórios
+     * @param rotasAuth Rotas da classe auth
+     */
+    @Autowired
+    public ClasseCargaFilter(
+            @Value("${app.compartimentos.vendas.rotas:POST /vendas,PUT /vendas/*/finalizar,PUT /vendas/numero/*/finalizar,PUT /vendas/*/finalizar/pdf,PUT /vendas/*/cancelar}") String[] rotasVendas,
+            @Value("${app.compartimentos.relatorios.rotas:GET /**/pdf,GET /vendas/separacao/**,GET /vendas/entregas/**,POST /clientes/importacao,POST /produtos/precos,POST /enderecos/cep/importacao,/vendas/arquivo/**}") String[] rotasRelatorios,
+            @Value("${app.compartimentos.auth.rotas:/auth/**}") String[] rotasAuth) {
+        rotas.put(ClasseCarga.VENDAS, new ConjuntoRotas(rotasVendas));
+        rotas.put(ClasseCarga.RELATORIOS, new ConjuntoRotas(rotasRelatorios));
+        rotas.put(ClasseCarga.AUTH, new ConjuntoRotas(rotasAuth));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        ClasseCarga anterior = ClasseCarga.definir(classificar(request.getMethod(), caminho));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ClasseCarga.restaurar(anterior);
+        }
+    }
+
+    /**
+     * Classifica uma requisição.
+     *
+     * @param metodo Método HTTP
+     * @param caminho Caminho sem o context-path
+     * @return Classe de carga da requisição
+     */
+    ClasseCarga classificar(String metodo, String caminho) {
+        for (Map.Entry<ClasseCarga, ConjuntoRotas> entrada : rotas.entrySet()) {
+            if (entrada.getValue().atende(metodo, caminho)) {
+                return entrada.getKey();
+            }
+        }
+        return ClasseCarga.LEITURAS;
+    }
+}
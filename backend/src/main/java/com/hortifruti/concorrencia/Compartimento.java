@@ -0,0 +1,148 @@
+package com.hortifruti.concorrencia;
+
+import com.hortifruti.limite.SobrecargaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de threads limitado e dedicado a uma {@link ClasseCarga} (bulkhead).
+ *
+ * <p>No máximo {@code threads} tarefas rodam ao mesmo tempo e até {@code fila} aguardam; as
+ * demais são recusadas na hora com {@link SobrecargaException} (503), assim como as que
+ * esperarem mais que {@code timeoutMs} em {@link #executar(Callable)}. As tarefas rodam com a
+ * classe de carga do compartimento, e portanto com as conexões da sua partição.
+ *
+ * <p>Métricas: {@code executor.*{name=compartimento-<nome>}} (threads ativas, fila, tempo de
+ * execução) e {@code hortiflow.compartimento.rejeicoes{compartimento}}.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class Compartimento {
+
+    private final ClasseCarga classe;
+    private final String descricao;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejeicoes;
+
+    /**
+     * Cria o compartimento.
+     *
+     * @param classe Classe de carga das tarefas
+     * @param descricao Descrição das tarefas nas mensagens de erro (ex.: "autenticações")
+     * @param threads Tarefas simultâneas
+     * @param fila Tarefas que podem aguardar na fila
+     * @param timeoutMs Tempo máximo de espera em {@link #executar(Callable)}, em milissegundos
+     * @param registry Registro de métricas
+     */
+    public Compartimento(ClasseCarga classe, String descricao, int threads, int fila, long timeoutMs,
+                         MeterRegistry registry) {
+        this.classe = classe;
+        this.descricao = descricao;
+        this.timeoutMs = timeoutMs;
+        String nome = "compartimento-" + classe.getNome();
+        AtomicInteger contador = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(() -> {
+                        ClasseCarga.definir(classe);
+                        tarefa.run();
+                    }, classe.getNome() + "-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(registry, pool, nome, List.of());
+        this.rejeicoes = Counter.builder("hortiflow.compartimento.rejeicoes")
+                .description("Tarefas recusadas por fila cheia ou tempo de espera esgotado")
+                .tag("compartimento", classe.getNome())
+                .register(registry);
+    }
+
+    /**
+     * Executa uma tarefa no compartimento e aguarda o resultado.
+     *
+     * @param tarefa Tarefa a executar
+     * @param <T> Tipo do resultado
+     * @return Resultado da tarefa
+     * @throws SobrecargaException Se a fila estiver cheia ou a espera passar do limite
+     */
+    public <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            throw new SobrecargaException("Muitas " + descricao + " em andamento; tente novamente", 1);
+        }
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeicoes.increment();
+            throw new SobrecargaException("Tempo de espera por " + descricao + " esgotado; tente novamente", 1);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SobrecargaException("Espera por " + descricao + " interrompida", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Obtém um {@link Executor} que envia as tarefas ao compartimento sem aguardá-las
+     * (ex.: processamento assíncrono do Spring MVC). Tarefas recusadas lançam
+     * {@link RejectedExecutionException} e são contadas nas métricas.
+     *
+     * @return Executor do compartimento
+     */
+    public Executor getExecutor() {
+        return tarefa -> {
+            try {
+                executor.execute(tarefa);
+            } catch (RejectedExecutionException e) {
+                rejeicoes.increment();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Obtém a classe de carga do compartimento.
+     *
+     * @return Classe de carga
+     */
+    public ClasseCarga getClasse() {
+        return classe;
+    }
+
+    /**
+     * Encerra o pool; as tarefas já aceitas terminam normalmente.
+     */
+    public void encerrar() {
+        pool.shutdown();
+    }
+}
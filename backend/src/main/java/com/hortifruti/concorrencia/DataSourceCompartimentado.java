@@ -0,0 +1,54 @@
+package com.hortifruti.concorrencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource com um pool de conexões por {@link ClasseCarga}.
+ *
+ * <p>Cada conexão é obtida do pool da classe de carga da thread atual (definida no início da
+ * transação), de modo que relatórios esgotando o próprio pool não deixam uma venda esperando
+ * por conexão. Cada pool tem seu tamanho máximo, tempo de espera por conexão e métricas
+ * ({@code hikaricp.connections.*{pool=hortiflow-<classe>}}).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class DataSourceCompartimentado extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<ClasseCarga, HikariDataSource> pools;
+
+    /**
+     * Cria o DataSource.
+     *
+     * @param pools Pool de cada classe de carga; deve conter {@link ClasseCarga#LEITURAS}, o padrão
+     * @throws IllegalArgumentException Se faltar o pool padrão
+     */
+    public DataSourceCompartimentado(Map<ClasseCarga, HikariDataSource> pools) {
+        if (!pools.containsKey(ClasseCarga.LEITURAS)) {
+            throw new IllegalArgumentException("O pool de leituras é obrigatório");
+        }
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new HashMap<Object, Object>(this.pools));
+        setDefaultTargetDataSource(this.pools.get(ClasseCarga.LEITURAS));
+        setLenientFallback(true);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ClasseCarga.atual();
+    }
+
+    /**
+     * Fecha todos os pools.
+     */
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
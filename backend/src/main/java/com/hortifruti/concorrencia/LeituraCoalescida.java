@@ -0,0 +1,145 @@
+package com.hortifruti.concorrencia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Leitura sem parâmetros em que chamadas simultâneas compartilham uma única execução.
+ *
+ * <p>A primeira chamada executa a leitura; as que chegam enquanto ela está em andamento
+ * aguardam e recebem o mesmo resultado (ou a mesma exceção). Com {@code ttlMs > 0}, o
+ * resultado continua valendo por esse tempo depois de pronto, o que também atende as
+ * chamadas que chegam logo após a execução terminar.
+ *
+ * <p>{@link #invalidar()} faz com que as chamadas seguintes não aproveitem nem o resultado
+ * guardado nem uma execução que já estava em andamento, de modo que uma leitura iniciada
+ * depois de uma alteração confirmada sempre a enxerga.
+ *
+ * <p>O resultado é entregue a várias threads ao mesmo tempo e deve ser tratado como
+ * imutável.
+ *
+ * @param <T> Tipo do resultado
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class LeituraCoalescida<T> {
+
+    private final Supplier<T> leitura;
+    private final long ttlNanos;
+    private final AtomicLong geracao = new AtomicLong();
+    private final AtomicReference<Execucao<T>> atual = new AtomicReference<>();
+    private final AtomicLong execucoes = new AtomicLong();
+    private final AtomicLong compartilhadas = new AtomicLong();
+
+    /**
+     * Cria a leitura.
+     *
+     * @param leitura Leitura a executar
+     * @param ttlMs Tempo, em milissegundos, que um resultado pronto continua valendo (0 para nenhum)
+     */
+    public LeituraCoalescida(Supplier<T> leitura, long ttlMs) {
+        this.leitura = leitura;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+    }
+
+    /**
+     * Obtém o resultado, executando a leitura ou aguardando a execução em andamento.
+     *
+     * @return Resultado da leitura
+     * @throws RuntimeException A exceção lançada pela leitura
+     */
+    public T obter() {
+        while (true) {
+            long geracaoAtual = geracao.get();
+            Execucao<T> execucao = atual.get();
+            if (execucao != null && execucao.aproveitavel(geracaoAtual, ttlNanos)) {
+                compartilhadas.incrementAndGet();
+                return aguardar(execucao.resultado);
+            }
+            Execucao<T> nova = new Execucao<>(geracaoAtual);
+            if (atual.compareAndSet(execucao, nova)) {
+                executar(nova);
+                return aguardar(nova.resultado);
+            }
+        }
+    }
+
+    /**
+     * Descarta o resultado guardado e a execução em andamento, para as próximas chamadas.
+     */
+    public void invalidar() {
+        geracao.incrementAndGet();
+    }
+
+    /**
+     * Obtém quantas vezes a leitura foi de fato executada.
+     *
+     * @return Número de execuções
+     */
+    public long getExecucoes() {
+        return execucoes.get();
+    }
+
+    /**
+     * Obtém quantas chamadas aproveitaram uma execução de outra chamada.
+     *
+     * @return Número de chamadas atendidas sem executar a leitura
+     */
+    public long getCompartilhadas() {
+        return compartilhadas.get();
+    }
+
+    private void executar(Execucao<T> execucao) {
+        execucoes.incrementAndGet();
+        try {
+            T valor = leitura.get();
+            execucao.concluidaEm = System.nanoTime();
+            execucao.resultado.complete(valor);
+        } catch (RuntimeException | Error e) {
+            execucao.resultado.completeExceptionally(e);
+        }
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Uma execução da leitura e o instante em que terminou.
+     */
+    private static final class Execucao<T> {
+
+        private final long geracao;
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private volatile long concluidaEm;
+
+        private Execucao(long geracao) {
+            this.geracao = geracao;
+        }
+
+        private boolean aproveitavel(long geracaoAtual, long ttlNanos) {
+            if (geracao != geracaoAtual) {
+                return false;
+            }
+            if (!resultado.isDone()) {
+                return true;
+            }
+            return !resultado.isCompletedExceptionally() && System.nanoTime() - concluidaEm < ttlNanos;
+        }
+    }
+}
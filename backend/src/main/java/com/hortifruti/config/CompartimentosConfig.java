@@ -0,0 +1,114 @@
+package com.hortifruti.config;
+
+import com.hortifruti.concorrencia.ClasseCarga;
+import com.hortifruti.concorrencia.Compartimento;
+import com.hortifruti.concorrencia.DataSourceCompartimentado;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuração dos compartimentos (bulkheads) por {@link ClasseCarga}.
+ *
+ * <ul>
+ *   <li>Conexões: um pool Hikari por classe ({@code app.compartimentos.<classe>.conexoes} e
+ *       {@code .espera-conexao-ms}), roteado por {@link DataSourceCompartimentado};</li>
+ *   <li>Relatórios: as respostas em streaming (PDFs, ZIP de entregas) rodam no compartimento
+ *       {@code relatorios} ({@code .threads}, {@code .fila}), e não no executor compartilhado
+ *       do Spring MVC;</li>
+ *   <li>Auth: as verificações BCrypt rodam no compartimento de {@code VerificadorSenha}.</li>
+ * </ul>
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Configuration
+public class CompartimentosConfig implements WebMvcConfigurer {
+
+    private final Compartimento relatorios;
+
+    /**
+     * Construtor que cria o compartimento de relatórios a partir das configurações.
+     *
+     * @param registry Registro de métricas
+     * @param threads Relatórios gerados ao mesmo tempo
+     * @param fila Relatórios que podem aguardar
+     */
+    public CompartimentosConfig(MeterRegistry registry,
+                                @Value("${app.compartimentos.relatorios.threads:2}") int threads,
+                                @Value("${app.compartimentos.relatorios.fila:8}") int fila) {
+        // Sem espera: as respostas em streaming são enviadas ao executor e não aguardadas
+        this.relatorios = new Compartimento(ClasseCarga.RELATORIOS, "gerações de relatório", threads, fila, 0,
+                registry);
+    }
+
+    /**
+     * DataSource do primário, com um pool de conexões por classe de carga. Substitui o pool
+     * único autoconfigurado; URL, usuário e senha continuam em {@code spring.datasource.*}. A
+     * aplicação usa o DataSource de {@link ReplicasConfig}, que o tem como destino.
+     *
+     * @param properties Propriedades de {@code spring.datasource}
+     * @param environment Ambiente, para ler o tamanho de cada pool
+     * @param registry Registro de métricas
+     * @return DataSource compartimentado
+     */
+    @Bean
+    public DataSourceCompartimentado dataSourcePrimario(DataSourceProperties properties, Environment environment,
+                                                MeterRegistry registry) {
+        Map<ClasseCarga, HikariDataSource> pools = new EnumMap<>(ClasseCarga.class);
+        for (ClasseCarga classe : ClasseCarga.values()) {
+            String prefixo = "app.compartimentos." + classe.getNome() + ".";
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName("hortiflow-" + classe.getNome());
+            pool.setMaximumPoolSize(environment.getProperty(prefixo + "conexoes", Integer.class, conexoesPadrao(classe)));
+            pool.setMinimumIdle(Math.min(2, pool.getMaximumPoolSize()));
+            pool.setConnectionTimeout(environment.getProperty(prefixo + "espera-conexao-ms", Long.class, 5000L));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.put(classe, pool);
+        }
+        return new DataSourceCompartimentado(pools);
+    }
+
+    /**
+     * Faz o processamento assíncrono do Spring MVC (respostas em streaming) usar o
+     * compartimento de relatórios.
+     *
+     * @param configurer Configurador do suporte assíncrono
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(relatorios.getExecutor()));
+    }
+
+    /**
+     * Obtém o compartimento de relatórios.
+     *
+     * @return Compartimento de relatórios
+     */
+    @Bean(destroyMethod = "encerrar")
+    public Compartimento compartimentoRelatorios() {
+        return relatorios;
+    }
+
+    private static int conexoesPadrao(ClasseCarga classe) {
+        return switch (classe) {
+            case VENDAS -> 10;
+            case LEITURAS -> 8;
+            case RELATORIOS -> 3;
+            case AUTH -> 2;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.hortifruti.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Informa na subida se as requisições rodam em threads virtuais (perfil {@code virtual}).
+ *
+ * <p>O Spring ignora {@code spring.threads.virtual.enabled} em Java anterior ao 21; nesse
+ * caso um aviso deixa claro que a aplicação continua com threads de plataforma.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+public class ModoThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModoThreads.class);
+
+    private final boolean virtuaisSolicitadas;
+
+    /**
+     * Construtor que recebe a configuração via injeção de dependência.
+     *
+     * @param virtuaisSolicitadas Valor de {@code spring.threads.virtual.enabled}
+     */
+    public ModoThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtuaisSolicitadas) {
+        this.virtuaisSolicitadas = virtuaisSolicitadas;
+    }
+
+    /**
+     * Registra o modo de threads em uso.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void informar() {
+        int versao = Runtime.version().feature();
+        if (!virtuaisSolicitadas) {
+            logger.info("Requisições em threads de plataforma (Java {})", versao);
+        } else if (versao >= 21) {
+            logger.info("Requisições em threads virtuais (Java {})", versao);
+        } else {
+            logger.warn("Threads virtuais solicitadas, mas exigem Java 21 (em uso: Java {}); "
+                    + "usando threads de plataforma", versao);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hortifruti.config;
+
+import com.hortifruti.concorrencia.DataSourceCompartimentado;
+import com.hortifruti.replica.DataSourceReplicas;
+import com.hortifruti.replica.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração das réplicas de leitura.
+ *
+ * <p>O DataSource da aplicação adia a obtenção da conexão até o primeiro comando SQL
+ * ({@link LazyConnectionDataSourceProxy}); até lá o gerenciador de transações já marcou a
+ * conexão como somente leitura ou não. As transações {@code readOnly} vão para
+ * {@link DataSourceReplicas}, e as demais para o primário compartimentado.
+ *
+ * <p>Réplicas em {@code app.replicas.urls} (JDBC, separadas por vírgula), com o usuário e a
+ * senha de {@code spring.datasource.*}. Sem nenhuma, todas as transações vão ao primário.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Configuration
+public class ReplicasConfig {
+
+    /**
+     * DataSource das transações somente leitura.
+     *
+     * @param primario DataSource do primário
+     * @param properties Propriedades de {@code spring.datasource}
+     * @param registry Registro de métricas
+     * @param urls URLs JDBC das réplicas
+     * @param conexoes Tamanho do pool de cada réplica
+     * @param esperaConexaoMs Espera máxima por uma conexão da réplica antes de usar o primário
+     * @param atrasoMaximoMs Atraso máximo para uma réplica atender leituras
+     * @param verificacaoMs Intervalo entre verificações de atraso
+     * @return DataSource das réplicas
+     */
+    @Bean
+    public DataSourceReplicas dataSourceReplicas(DataSourceCompartimentado primario, DataSourceProperties properties,
+                                                 MeterRegistry registry,
+                                                 @Value("${app.replicas.urls:}") String[] urls,
+                                                 @Value("${app.replicas.conexoes:8}") int conexoes,
+                                                 @Value("${app.replicas.espera-conexao-ms:1000}") long esperaConexaoMs,
+                                                 @Value("${app.replicas.atraso-maximo-ms:3000}") long atrasoMaximoMs,
+                                                 @Value("${app.replicas.verificacao-ms:1000}") long verificacaoMs) {
+        if (atrasoMaximoMs <= verificacaoMs) {
+            // Entre duas verificações o atraso medido cresce até verificacao-ms mesmo sem escritas
+            throw new IllegalArgumentException("app.replicas.atraso-maximo-ms deve ser maior que app.replicas.verificacao-ms");
+        }
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String nome = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            pool.setPoolName("hortiflow-" + nome);
+            pool.setMaximumPoolSize(conexoes);
+            pool.setMinimumIdle(Math.min(2, conexoes));
+            pool.setConnectionTimeout(esperaConexaoMs);
+            pool.setReadOnly(true);
+            // A aplicação sobe mesmo com a réplica fora do ar; as leituras vão ao primário
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new Replica(nome, pool));
+        }
+        return new DataSourceReplicas(replicas, primario, atrasoMaximoMs, registry);
+    }
+
+    /**
+     * DataSource usado pela aplicação: primário para escritas, réplicas para leituras.
+     *
+     * @param primario DataSource do primário
+     * @param replicas DataSource das transações somente leitura
+     * @return DataSource da aplicação
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceCompartimentado primario, DataSourceReplicas replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primario);
+        if (!replicas.getReplicas().isEmpty()) {
+            dataSource.setReadOnlyDataSource(replicas);
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,248 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.dto.ClienteEnderecoRequest;
+import com.hortifruti.dto.ClienteEnderecoResponse;
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Endereco;
+import com.hortifruti.service.BuscaClienteService;
+import com.hortifruti.service.ClienteService;
+import com.hortifruti.service.EnderecoService;
+import com.hortifruti.service.ImportacaoClienteService;
+import com.hortifruti.service.ListagemStreamService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para gerenciamento de clientes.
+ * 
+ * <p>Fornece endpoints para CRUD completo de clientes, incluindo
+ * validação de dados e tratamento de erros.
+ * 
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/clientes")
+@CrossOrigin(origins = "*")
+@Tag(name = "Clientes", description = "API para gerenciamento de clientes")
+public class ClienteController {
+
+    private final ClienteService clienteService;
+    private final BuscaClienteService buscaClienteService;
+    private final ImportacaoClienteService importacaoClienteService;
+    private final EnderecoService enderecoService;
+    private final ListagemStreamService listagemStreamService;
+    private static final Logger logger = LoggerFactory.getLogger(ClienteController.class);
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param clienteService Serviço de clientes
+     * @param buscaClienteService Serviço de busca de clientes
+     * @param importacaoClienteService Serviço de importação de clientes
+     * @param enderecoService Serviço de endereços
+     * @param listagemStreamService Serviço de listagens em streaming
+     */
+    @Autowired
+    public ClienteController(ClienteService clienteService, BuscaClienteService buscaClienteService,
+                             ImportacaoClienteService importacaoClienteService, EnderecoService enderecoService,
+                             ListagemStreamService listagemStreamService) {
+        this.clienteService = clienteService;
+        this.buscaClienteService = buscaClienteService;
+        this.importacaoClienteService = importacaoClienteService;
+        this.enderecoService = enderecoService;
+        this.listagemStreamService = listagemStreamService;
+    }
+
+    /**
+     * Retorna uma lista de todos os clientes.
+     * @return Lista de clientes
+     */
+    @GetMapping
+    public ResponseEntity<List<Cliente>> buscarTodos() {
+        return ResponseEntity.ok(clienteService.buscarTodos());
+    }
+
+    /**
+     * Lista todos os clientes em NDJSON, lidos do banco em lotes à medida que a resposta é consumida.
+     * @param response A resposta HTTP
+     * @throws IOException Se a gravação da resposta falhar
+     */
+    @GetMapping("/stream")
+    public void listarStream(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        listagemStreamService.gravarClientes(response.getOutputStream());
+    }
+
+    /**
+     * Lista clientes em páginas ordenadas por nome, com paginação por cursor.
+     * @param cursor O cursor devolvido em "proximo" pela página anterior (omitir na primeira)
+     * @param tamanho O tamanho da página
+     * @param fields Os campos desejados, separados por vírgula (ex.: id,nome,cpf); id e nome sempre vêm
+     * @return Os clientes da página e o cursor da próxima (null na última)
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<Map<String, Object>> listarPagina(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int tamanho,
+                                                            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(clienteService.listarPagina(cursor, tamanho, fields));
+    }
+
+    /**
+     * Busca clientes por nome (sem acentos, tolerante a erros), CPF, CNPJ ou telefone.
+     * @param q O texto digitado; só dígitos (com ou sem pontuação) busca nos documentos e no telefone
+     * @param pagina O número da página, a partir de 0
+     * @param tamanho O tamanho da página
+     * @return Os clientes da página em ordem de relevância e se há mais resultados
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<Map<String, Object>> buscar(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int pagina,
+                                                      @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(buscaClienteService.buscar(q, pagina, tamanho));
+    }
+
+    /**
+     * Importa (insere ou atualiza pelo CPF) clientes e seus endereços principais de um CSV em UTF-8.
+     * O corpo é lido à medida que é gravado, então o tamanho do arquivo não pesa na memória.
+     * @param corpo O CSV, com cabeçalho; separador vírgula ou ponto e vírgula
+     * @return O relatório da importação, com os erros por linha
+     * @throws IOException Se a leitura do corpo falhar
+     */
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Map<String, Object>> importar(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoClienteService.importar(
+                new InputStreamReader(corpo, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Busca um cliente pelo seu ID.
+     * @param id O ID do cliente
+     * @return O cliente, se encontrado
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Cliente> buscarPorId(@PathVariable Long id) {
+        return clienteService.buscarPorId(id)
+                .map(cliente -> ResponseEntity.ok().eTag(VersaoHttp.etag(cliente.getVersao())).body(cliente))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista os endereços de um cliente, com o principal primeiro.
+     * @param id O ID do cliente
+     * @return Os endereços do cliente
+     */
+    @GetMapping("/{id}/enderecos")
+    public ResponseEntity<List<Endereco>> listarEnderecos(@PathVariable Long id) {
+        return ResponseEntity.ok(enderecoService.listar(id));
+    }
+
+    /**
+     * Busca o endereço principal (entrega padrão) de um cliente.
+     * @param id O ID do cliente
+     * @return O endereço principal, ou 404 se o cliente não tiver endereços
+     */
+    @GetMapping("/{id}/enderecos/principal")
+    public ResponseEntity<Endereco> buscarEnderecoPrincipal(@PathVariable Long id) {
+        return enderecoService.buscarPrincipal(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Define o endereço principal de um cliente (o anterior deixa de ser principal).
+     * @param id O ID do cliente
+     * @param enderecoId O ID do endereço
+     * @return O novo endereço principal, ou 404 se o endereço não for do cliente
+     */
+    @PutMapping("/{id}/enderecos/{enderecoId}/principal")
+    public ResponseEntity<Endereco> definirEnderecoPrincipal(@PathVariable Long id, @PathVariable Long enderecoId) {
+        return enderecoService.definirPrincipal(id, enderecoId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cria um novo cliente.
+     * @param cliente O cliente a ser criado
+     * @return O cliente criado
+     */
+    @PostMapping
+    public ResponseEntity<Cliente> criar(@Valid @RequestBody Cliente cliente) {
+        Cliente criado = clienteService.criar(cliente);
+        return ResponseEntity.status(HttpStatus.CREATED).body(criado);
+    }
+
+    /**
+     * Cria um novo cliente juntamente com seu endereço principal.
+     * @param request Objeto ClienteEnderecoRequest contendo os dados do cliente e endereço.
+     * @return ClienteEnderecoResponse contendo o cliente e endereço criados.
+     */
+    @PostMapping("/com-endereco")
+    public ResponseEntity<ClienteEnderecoResponse> criarComEndereco(@Valid @RequestBody ClienteEnderecoRequest request) {
+        // Log minimal info to help debugging bindings
+        try {
+            logger.debug("Criar cliente request - nome: '{}', cpf: '{}', endereco-present: {}", request.getNome(), request.getCpf(), request.getEndereco() != null);
+        } catch (Exception e) {
+            logger.warn("Erro ao logar request de cliente: {}", e.getMessage());
+        }
+
+        ClienteEnderecoResponse resp = clienteService.criarComEndereco(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    }
+
+    /**
+     * Atualiza um cliente existente.
+     * @param id O ID do cliente a ser atualizado
+     * @param cliente O cliente com os dados atualizados
+     * @param ifMatch O cabeçalho If-Match com o ETag lido (opcional; 412 se o cliente mudou)
+     * @return O cliente atualizado
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Cliente> atualizar(@PathVariable Long id, @Valid @RequestBody Cliente cliente,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versaoIfMatch = VersaoHttp.lerIfMatch(ifMatch);
+        try {
+            return clienteService.atualizar(id, cliente, versaoIfMatch != null ? versaoIfMatch : cliente.getVersao())
+                    .map(atualizado -> ResponseEntity.ok().eTag(VersaoHttp.etag(atualizado.getVersao())).body(atualizado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            if (versaoIfMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+    }
+
+    /**
+     * Remove um cliente pelo seu ID.
+     * @param id O ID do cliente a ser removido
+     * @return Resposta vazia
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> remover(@PathVariable Long id) {
+        if (clienteService.remover(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
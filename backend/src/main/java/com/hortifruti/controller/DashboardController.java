@@ -0,0 +1,65 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.service.CacheEstatisticasService;
+import com.hortifruti.service.ProdutoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller REST para dados do dashboard.
+ */
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final ProdutoService produtoService;
+    private final CacheEstatisticasService cacheEstatisticasService;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param produtoService Serviço de produtos
+     * @param cacheEstatisticasService Serviço de estatísticas do cache
+     */
+    public DashboardController(ProdutoService produtoService, CacheEstatisticasService cacheEstatisticasService) {
+        this.produtoService = produtoService;
+        this.cacheEstatisticasService = cacheEstatisticasService;
+    }
+
+    /**
+     * Retorna estatísticas gerais para o dashboard.
+     * @return Um mapa com as estatísticas
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> getEstatisticas() {
+        Map<String, Object> stats = produtoService.obterEstatisticas();
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalProdutos", stats.getOrDefault("totalProdutos", 0));
+        response.put("estoqueAtual", stats.getOrDefault("totalEstoqueAtual", 0));
+        response.put("valorEstoque", stats.getOrDefault("valorTotalEstoque", 0));
+        response.put("produtosBaixoEstoque", stats.getOrDefault("produtosComEstoqueBaixo", 0));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Retorna as estatísticas do cache de segundo nível (acertos, falhas e taxa de acerto por região).
+     * @return Um mapa com as estatísticas do cache
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getEstatisticasCache() {
+        return ResponseEntity.ok(cacheEstatisticasService.obterEstatisticas());
+    }
+
+    /**
+     * Zera as estatísticas do cache e de comandos SQL.
+     * @return Resposta sem conteúdo
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> limparEstatisticasCache() {
+        cacheEstatisticasService.limparEstatisticas();
+        return ResponseEntity.noContent().build();
+    }
+}
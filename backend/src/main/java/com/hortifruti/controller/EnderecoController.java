@@ -0,0 +1,83 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.dto.EnderecoCep;
+import com.hortifruti.service.CepService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para consulta de endereços por CEP.
+ *
+ * <p>As consultas usam a base local de CEPs (arquivo mapeado em memória), sem serviço externo.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/enderecos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Endereços", description = "API de consulta de endereços por CEP")
+public class EnderecoController {
+
+    private final CepService cepService;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param cepService Serviço de CEPs
+     */
+    @Autowired
+    public EnderecoController(CepService cepService) {
+        this.cepService = cepService;
+    }
+
+    /**
+     * Busca o endereço de um CEP.
+     * @param cep O CEP, com ou sem pontuação
+     * @return O endereço, ou 404 se o CEP não estiver na base
+     */
+    @Operation(summary = "Buscar CEP", description = "Logradouro, bairro, cidade e UF do CEP, pela base local")
+    @GetMapping("/cep/{cep}")
+    public ResponseEntity<EnderecoCep> buscarCep(@PathVariable String cep) {
+        return cepService.buscar(cep)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Busca os CEPs que começam com os dígitos digitados (autocomplete).
+     * @param prefixo De 1 a 8 dígitos
+     * @param limite O número máximo de resultados
+     * @return Os endereços encontrados, em ordem de CEP
+     */
+    @Operation(summary = "Autocomplete de CEP", description = "CEPs da base local que começam com o prefixo")
+    @GetMapping("/cep")
+    public ResponseEntity<List<EnderecoCep>> buscarPorPrefixo(@RequestParam String prefixo,
+                                                              @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(cepService.buscarPorPrefixo(prefixo, limite));
+    }
+
+    /**
+     * Substitui a base local de CEPs a partir de um CSV em UTF-8.
+     * @param corpo O CSV, com cabeçalho cep, logradouro, bairro, cidade e uf
+     * @return O resumo da importação
+     * @throws IOException Se a leitura do corpo ou a gravação da base falhar
+     */
+    @Operation(summary = "Importar base de CEPs", description = "Gera o arquivo binário ordenado da base local a partir do CSV")
+    @PostMapping(value = "/cep/importacao", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Map<String, Object>> importarCeps(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(cepService.importar(new InputStreamReader(corpo, StandardCharsets.UTF_8)));
+    }
+}
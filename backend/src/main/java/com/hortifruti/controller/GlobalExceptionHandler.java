@@ -0,0 +1,126 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.limite.SobrecargaException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manipulador de exceções global para a aplicação.
+ */
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Construtor padrão.
+     */
+    public GlobalExceptionHandler() {}
+
+    /**
+     * Manipula exceções do tipo IllegalArgumentException.
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 400 (Bad Request) e a mensagem da exceção
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Manipula conflitos de concorrência otimista (registro alterado por outra requisição).
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 409 (Conflict) e a mensagem da exceção
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Manipula requisições recusadas para proteger o servidor (pool ou fila saturados).
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 503 (Service Unavailable) e o cabeçalho Retry-After
+     */
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<Object> handleSobrecarga(SobrecargaException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(body);
+    }
+
+    /**
+     * Manipula respostas em streaming recusadas pelo compartimento de relatórios (fila cheia).
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 503 (Service Unavailable) e o cabeçalho Retry-After
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> handleTaskRejected(TaskRejectedException ex, WebRequest request) {
+        return handleSobrecarga(new SobrecargaException("Muitos relatórios em geração; tente novamente", 5), request);
+    }
+
+    /**
+     * Manipula transações que não obtiveram conexão a tempo (pool da classe de carga esgotado).
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 503 (Service Unavailable) e o cabeçalho Retry-After
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransaction(CannotCreateTransactionException ex, WebRequest request) {
+        return handleSobrecarga(new SobrecargaException("Banco de dados ocupado; tente novamente", 1), request);
+    }
+
+    /**
+     * Manipula exceções genéricas do tipo Exception.
+     * @param ex A exceção
+     * @param request A requisição web
+     * @return Uma resposta com status 500 (Internal Server Error) e uma mensagem genérica
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleGlobalException(Exception ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+        body.put("error", "Internal Server Error");
+        body.put("message", "Ocorreu um erro inesperado: " + ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Manipula falta de parâmetros obrigatórios na requisição (ex.: formaPagamento).
+     * @param ex A exceção MissingServletRequestParameterException.
+     * @return Uma resposta com status 400 (Bad Request) e uma mensagem de erro.
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Object> handleMissingParam(MissingServletRequestParameterException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Parâmetro obrigatório ausente: " + ex.getParameterName());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,381 @@
+package com.hortifruti.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hortifruti.dto.MovimentacaoRequest;
+import com.hortifruti.dto.PrecoLoteRequest;
+import com.hortifruti.dto.ProdutoResumo;
+import com.hortifruti.dto.RecebimentoRequest;
+import com.hortifruti.model.EstoqueShard;
+import com.hortifruti.model.PrecoHistorico;
+import com.hortifruti.model.Produto;
+import com.hortifruti.service.BuscaProdutoService;
+import com.hortifruti.service.CatalogoSnapshotService;
+import com.hortifruti.service.EstoqueShardService;
+import com.hortifruti.service.ListagemStreamService;
+import com.hortifruti.service.ProdutoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para gerenciamento de produtos.
+ * 
+ * <p>Fornece endpoints para CRUD de produtos, consulta de estoque baixo,
+ * movimentações de estoque e verificação de saúde do serviço.
+ * 
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/produtos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Produtos", description = "API para gerenciamento de produtos e estoque")
+public class ProdutoController {
+
+    private final ProdutoService produtoService;
+    private final EstoqueShardService estoqueShardService;
+    private final CatalogoSnapshotService catalogoSnapshotService;
+    private final BuscaProdutoService buscaProdutoService;
+    private final ListagemStreamService listagemStreamService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param produtoService O serviço de produtos.
+     * @param estoqueShardService O serviço de estoque particionado (shards).
+     * @param catalogoSnapshotService O serviço do snapshot do catálogo.
+     * @param buscaProdutoService O serviço de busca de produtos.
+     * @param listagemStreamService O serviço de listagens em streaming.
+     * @param objectMapper O ObjectMapper das respostas, usado no ETag.
+     */
+    @Autowired
+    public ProdutoController(ProdutoService produtoService, EstoqueShardService estoqueShardService,
+                             CatalogoSnapshotService catalogoSnapshotService,
+                             BuscaProdutoService buscaProdutoService,
+                             ListagemStreamService listagemStreamService,
+                             ObjectMapper objectMapper) {
+        this.produtoService = produtoService;
+        this.estoqueShardService = estoqueShardService;
+        this.catalogoSnapshotService = catalogoSnapshotService;
+        this.buscaProdutoService = buscaProdutoService;
+        this.listagemStreamService = listagemStreamService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lista todos os produtos cadastrados.
+     * 
+     * @return Lista de produtos ordenada por nome
+     */
+    @Operation(summary = "Listar todos os produtos", description = "Retorna uma lista de todos os produtos cadastrados, ordenados por nome. "
+            + "A resposta vem de um snapshot pré-serializado (gzip quando aceito) com ETag; envie If-None-Match para receber 304")
+    @GetMapping
+    public ResponseEntity<byte[]> buscarTodos(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogoSnapshotService.Snapshot snapshot = catalogoSnapshotService.obter();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = gzip ? snapshot.getEtagGzip() : snapshot.getEtag();
+
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return resposta.body(snapshot.getJson());
+    }
+
+    /**
+     * Busca produtos pelo nome ou embalagem para o autocomplete do caixa.
+     * @param q O texto digitado (acentos e maiúsculas são ignorados).
+     * @param limite O número máximo de resultados.
+     * @return Os produtos encontrados, em ordem de relevância.
+     */
+    @Operation(summary = "Buscar produtos", description = "Busca por prefixo e aproximada no nome e na embalagem, "
+            + "sem acentos (\"maca\" encontra \"Maçã\"), respondida por um índice em memória")
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoResumo>> buscar(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(buscaProdutoService.buscar(q, limite));
+    }
+
+    /**
+     * Busca um produto por ID.
+     * 
+     * <p>O ETag combina a versão com um hash do corpo: as baixas e entradas de estoque não
+     * alteram a versão, mas mudam o estoque devolvido, e uma revalidação com If-None-Match
+     * não pode responder 304 com o estoque antigo.
+     * 
+     * @param id ID do produto
+     * @return Produto encontrado ou 404 se não existir
+     */
+    @Operation(summary = "Buscar produto por ID", description = "Retorna um produto específico pelo seu identificador")
+    @GetMapping("/{id}")
+    public ResponseEntity<Produto> buscarPorId(@PathVariable Long id) {
+        return produtoService.buscarPorId(id)
+                .map(produto -> ResponseEntity.ok().eTag(VersaoHttp.etag(produto.getVersao(), objectMapper, produto)).body(produto))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Consulta o estoque disponível de um produto (estoque menos reservas de vendas pendentes).
+     * @param id O ID do produto.
+     * @return Estoque, reservado e disponível, ou 404 se o produto não existir.
+     */
+    @GetMapping("/{id}/disponibilidade")
+    public ResponseEntity<Map<String, Object>> consultarDisponibilidade(@PathVariable Long id) {
+        return produtoService.consultarDisponibilidade(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista todos os produtos em NDJSON, lidos do banco em lotes à medida que a resposta é consumida.
+     * @param response A resposta HTTP.
+     * @throws IOException Se a gravação da resposta falhar.
+     */
+    @Operation(summary = "Listar produtos em streaming", description = "Todos os produtos em ordem de ID, "
+            + "um JSON por linha (application/x-ndjson)")
+    @GetMapping("/stream")
+    public void listarStream(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        listagemStreamService.gravarProdutos(response.getOutputStream());
+    }
+
+    /**
+     * Busca produtos com estoque baixo.
+     * @return Lista de produtos com estoque baixo.
+     */
+    @GetMapping("/estoque-baixo")
+    public ResponseEntity<List<Produto>> buscarComEstoqueBaixo() {
+        List<Produto> produtos = produtoService.buscarComEstoqueBaixo();
+        return ResponseEntity.ok(produtos);
+    }
+
+    /**
+     * Verifica a saúde do serviço.
+     * @return Um mapa com o status "OK".
+     */
+    @GetMapping("/health")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of("status", "OK"));
+    }
+
+    /**
+     * Cria um novo produto.
+     * @param produto O produto a ser criado.
+     * @return O produto criado.
+     */
+    @PostMapping
+    public ResponseEntity<Produto> criar(@Valid @RequestBody Produto produto) {
+        Produto produtoCriado = produtoService.criar(produto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(produtoCriado);
+    }
+
+    /**
+     * Atualiza um produto existente.
+     * 
+     * <p>Com o cabeçalho If-Match (ETag de {@code GET /produtos/{id}}), a atualização só
+     * é aplicada se o produto não mudou desde a leitura; caso contrário retorna 412.
+     * Sem o cabeçalho, vale a versão enviada no corpo (409 em conflito) ou, se ausente,
+     * a atualização é incondicional.
+     * @param id O ID do produto a ser atualizado.
+     * @param produto O produto com os dados atualizados.
+     * @param ifMatch O cabeçalho If-Match (opcional).
+     * @return O produto atualizado, com o novo ETag.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Produto> atualizar(@PathVariable Long id, @Valid @RequestBody Produto produto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        produto.setId(id);
+        Long versaoIfMatch = VersaoHttp.lerIfMatch(ifMatch);
+        try {
+            return produtoService.atualizar(produto, versaoIfMatch != null ? versaoIfMatch : produto.getVersao())
+                    .map(atualizado -> ResponseEntity.ok().eTag(VersaoHttp.etag(atualizado.getVersao(), objectMapper, atualizado)).body(atualizado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            if (versaoIfMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+    }
+
+    /**
+     * Remove um produto.
+     * @param id O ID do produto a ser removido.
+     * @return Uma resposta sem conteúdo.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> remover(@PathVariable Long id) {
+        if (produtoService.remover(id)) {
+            return ResponseEntity.noContent().build();
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Adiciona uma movimentação de estoque a um produto. Uma SAIDA não consome o estoque
+     * reservado para vendas pendentes, exceto com {@code ignorarReservas} (ex.: perdas).
+     * @param id O ID do produto.
+     * @param movimentacao A requisição de movimentação.
+     * @return Uma mensagem de sucesso.
+     */
+    @PostMapping("/{id}/movimentacao")
+    public ResponseEntity<Map<String, String>> adicionarMovimentacao(
+            @PathVariable Long id,
+            @Valid @RequestBody MovimentacaoRequest movimentacao) {
+        produtoService.adicionarMovimentacao(id, movimentacao.getTipo(), movimentacao.getQuantidade(),
+                movimentacao.isIgnorarReservas());
+        return ResponseEntity.ok(Map.of("message", "Movimentação registrada com sucesso"));
+    }
+
+    /**
+     * Registra o recebimento de uma entrega de fornecedor com várias linhas de ENTRADA.
+     * @param recebimento Os itens recebidos.
+     * @return O resumo do recebimento.
+     */
+    @Operation(summary = "Registrar recebimento", description = "Registra em lote as entradas de uma entrega de fornecedor")
+    @PostMapping("/recebimentos")
+    public ResponseEntity<Map<String, Object>> registrarRecebimento(@Valid @RequestBody RecebimentoRequest recebimento) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(produtoService.registrarRecebimento(recebimento));
+    }
+
+    /**
+     * Aplica novos preços a vários produtos em uma única operação.
+     * @param request Os novos preços.
+     * @return O resumo da atualização.
+     */
+    @Operation(summary = "Atualizar preços em lote", description = "Aplica a remarcação de preços em um único UPDATE "
+            + "e registra as mudanças no histórico de preços")
+    @PostMapping(value = "/precos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> atualizarPrecos(@Valid @RequestBody PrecoLoteRequest request) {
+        return ResponseEntity.ok(produtoService.atualizarPrecos(request));
+    }
+
+    /**
+     * Aplica novos preços a partir de um CSV em UTF-8 (colunas produtoId e preco).
+     * @param corpo O CSV, com cabeçalho; separador vírgula ou ponto e vírgula.
+     * @return O resumo da atualização.
+     * @throws IOException Se a leitura do corpo falhar.
+     */
+    @Operation(summary = "Atualizar preços em lote (CSV)", description = "Mesmo que o JSON, com as colunas produtoId e preco")
+    @PostMapping(value = "/precos", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Map<String, Object>> atualizarPrecosCsv(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(produtoService.atualizarPrecos(new InputStreamReader(corpo, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Consulta o preço vigente de todos os produtos em um instante.
+     * @param em O instante (ISO-8601, ex.: 2024-05-01T08:00:00); omitido, agora.
+     * @return Um registro do histórico por produto.
+     */
+    @Operation(summary = "Preços em uma data", description = "Preço vigente de cada produto no instante informado")
+    @GetMapping("/precos")
+    public ResponseEntity<List<PrecoHistorico>> consultarPrecos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        return ResponseEntity.ok(produtoService.consultarPrecos(em));
+    }
+
+    /**
+     * Consulta o preço vigente de um produto em um instante.
+     * @param id O ID do produto.
+     * @param em O instante (ISO-8601, ex.: 2024-05-01T08:00:00); omitido, agora.
+     * @return O registro do histórico vigente, ou 404 se o produto não tinha preço no instante.
+     */
+    @Operation(summary = "Preço em uma data", description = "Preço vigente do produto no instante informado")
+    @GetMapping("/{id}/preco")
+    public ResponseEntity<PrecoHistorico> consultarPreco(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        return produtoService.consultarPreco(id, em)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lista o histórico de preços de um produto.
+     * @param id O ID do produto.
+     * @return As mudanças de preço, da mais recente para a mais antiga.
+     */
+    @Operation(summary = "Histórico de preços", description = "Mudanças de preço do produto, da mais recente para a mais antiga")
+    @GetMapping("/{id}/precos")
+    public ResponseEntity<List<PrecoHistorico>> historicoPrecos(@PathVariable Long id) {
+        return ResponseEntity.ok(produtoService.historicoPrecos(id));
+    }
+
+    /**
+     * Lista os shards de estoque de um produto.
+     * @param id O ID do produto.
+     * @return Os shards do produto (vazio se o produto não estiver em modo shard).
+     */
+    @GetMapping("/{id}/shards")
+    public ResponseEntity<List<EstoqueShard>> listarShards(@PathVariable Long id) {
+        return ResponseEntity.ok(estoqueShardService.listar(id));
+    }
+
+    /**
+     * Ativa ou redimensiona o modo shard de um produto muito disputado.
+     * @param id O ID do produto.
+     * @param quantidade O número de shards.
+     * @return Os shards criados.
+     */
+    @Operation(summary = "Ativar estoque em shards", description = "Distribui as saídas do produto entre N contadores para reduzir a disputa de locks em produtos muito vendidos")
+    @PutMapping("/{id}/shards")
+    public ResponseEntity<List<EstoqueShard>> ativarShards(@PathVariable Long id, @RequestParam int quantidade) {
+        return ResponseEntity.ok(estoqueShardService.ativar(id, quantidade));
+    }
+
+    /**
+     * Rebalanceia o saldo entre os shards de um produto.
+     * @param id O ID do produto.
+     * @return Os shards após o rebalanceamento.
+     */
+    @PostMapping("/{id}/shards/rebalancear")
+    public ResponseEntity<List<EstoqueShard>> rebalancearShards(@PathVariable Long id) {
+        return ResponseEntity.ok(estoqueShardService.rebalancear(id));
+    }
+
+    /**
+     * Desativa o modo shard de um produto.
+     * @param id O ID do produto.
+     * @return Uma resposta sem conteúdo, ou 404 se o produto não estava em modo shard.
+     */
+    @DeleteMapping("/{id}/shards")
+    public ResponseEntity<Void> desativarShards(@PathVariable Long id) {
+        if (estoqueShardService.desativar(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller REST para a sincronização incremental dos caixas.
+ */
+@RestController
+@RequestMapping("/sync")
+@CrossOrigin(origins = "*")
+@Tag(name = "Sincronização", description = "API de sincronização incremental de produtos e clientes")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param syncService Serviço de sincronização
+     */
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Retorna as alterações de produtos e clientes posteriores ao cursor informado.
+     * @param since Último cursor recebido (0 para a carga inicial)
+     * @param limite Número máximo de alterações na página
+     * @return Alterações (upserts e exclusões) em ordem, o novo cursor e se há mais páginas
+     */
+    @Operation(summary = "Alterações desde um cursor", description = "Retorna upserts e exclusões de produtos e clientes "
+            + "em ordem. Repita a chamada com o cursor retornado (transação:sequência) enquanto temMais for true")
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> buscarAlteracoes(@RequestParam(defaultValue = "0") String since,
+                                                                @RequestParam(defaultValue = "500") int limite) {
+        return ResponseEntity.ok(syncService.buscarAlteracoes(since, limite));
+    }
+}
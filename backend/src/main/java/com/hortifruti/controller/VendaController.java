@@ -0,0 +1,552 @@
+package com.hortifruti.controller;
+
+import com.hortifruti.dto.ListaSeparacao;
+import com.hortifruti.dto.ManifestoEntrega;
+import com.hortifruti.dto.MesArquivado;
+import com.hortifruti.model.Venda;
+import com.hortifruti.service.ArquivoVendasService;
+import com.hortifruti.service.EntregaService;
+import com.hortifruti.service.ListagemStreamService;
+import com.hortifruti.service.SeparacaoService;
+import com.hortifruti.service.VendaService;
+import com.hortifruti.service.PdfService;
+import com.hortifruti.repository.VendaRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Controller REST para gerenciamento de vendas.
+ * 
+ * <p>Fornece endpoints para criar, finalizar, cancelar e consultar vendas,
+ * além de gerar PDFs de recibos de venda, a lista de separação das vendas pendentes
+ * e o manifesto de entregas.
+ * 
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/vendas")
+@CrossOrigin(origins = "*")
+@Tag(name = "Vendas", description = "API para gerenciamento de vendas")
+public class VendaController {
+
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private VendaRepository vendaRepository;
+
+    @Autowired
+    private SeparacaoService separacaoService;
+
+    @Autowired
+    private EntregaService entregaService;
+
+    @Autowired
+    private ListagemStreamService listagemStreamService;
+
+    @Autowired
+    private ArquivoVendasService arquivoVendasService;
+    
+    /**
+     * Construtor padrão.
+     */
+    public VendaController() {
+    }
+
+    /**
+     * Cria uma nova venda.
+     * 
+     * @param venda Dados da venda a ser criada
+     * @return Venda criada ou mensagem de erro
+     */
+    @Operation(summary = "Criar nova venda", description = "Cria uma nova venda com status PENDENTE. Atualiza o estoque dos produtos automaticamente.")
+    @PostMapping
+    public ResponseEntity<?> criarVenda(@RequestBody Venda venda) {
+        try {
+            Venda novaVenda = vendaService.criarVenda(venda);
+            return ResponseEntity.status(HttpStatus.CREATED).body(novaVenda);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao criar venda: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Finaliza uma venda.
+     * @param id O ID da venda.
+     * @param formaPagamento A forma de pagamento.
+     * @return A venda finalizada.
+     */
+    @PutMapping("/{id}/finalizar")
+    public ResponseEntity<?> finalizarVenda(@PathVariable Long id, @RequestParam(required = false) String formaPagamento) {
+        try {
+            if (formaPagamento == null || formaPagamento.isBlank()) {
+                formaPagamento = "pix"; // valor padrão para robustez quando front não enviar
+            }
+            Venda venda = vendaService.finalizarVenda(id, formaPagamento);
+            return ResponseEntity.ok(venda);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Venda alterada por outra requisição; consulte-a novamente"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao finalizar venda: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Finaliza uma venda por número.
+     * @param numero O número da venda.
+     * @param formaPagamento A forma de pagamento.
+     * @return A venda finalizada.
+     */
+    @PutMapping("/numero/{numero}/finalizar")
+    public ResponseEntity<?> finalizarVendaPorNumero(@PathVariable String numero, @RequestParam(required = false) String formaPagamento) {
+        try {
+            if (formaPagamento == null || formaPagamento.isBlank()) {
+                formaPagamento = "pix";
+            }
+            Venda venda = vendaService.finalizarVendaPorNumero(numero, formaPagamento);
+            return ResponseEntity.ok(venda);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Venda alterada por outra requisição; consulte-a novamente"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao finalizar venda: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Finaliza a venda e retorna o PDF do recibo.
+     * @param id O ID da venda.
+     * @param formaPagamento A forma de pagamento.
+     * @return O PDF do recibo.
+     */
+    @Operation(summary = "Finalizar venda e gerar PDF", description = "Finaliza a venda e retorna o PDF do recibo em linha.")
+    @PutMapping("/{id}/finalizar/pdf")
+    public ResponseEntity<?> finalizarVendaGerarPdf(@PathVariable Long id, @RequestParam(required = false) String formaPagamento) {
+        try {
+            if (formaPagamento == null || formaPagamento.isBlank()) {
+                formaPagamento = "pix"; // valor padrão
+            }
+            Venda vendaFinalizada = vendaService.finalizarVenda(id, formaPagamento);
+            // Recarrega com itens/produto/cliente para evitar LazyInitialization ao gerar PDF
+            Venda venda = vendaRepository.findByIdWithItensProdutoCliente(vendaFinalizada.getId())
+                    .orElseThrow(() -> new RuntimeException("Venda não encontrada para gerar PDF"));
+
+            ByteArrayInputStream pdfStream = pdfService.gerarPdfVenda(venda);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Content-Disposition", "inline; filename=venda_" + venda.getNumeroVenda() + ".pdf");
+
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body(new InputStreamResource(pdfStream));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Venda alterada por outra requisição; consulte-a novamente"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao finalizar venda e gerar PDF: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Cancela uma venda.
+     * @param id O ID da venda.
+     * @return A venda cancelada.
+     */
+    @PutMapping("/{id}/cancelar")
+    public ResponseEntity<?> cancelarVenda(@PathVariable Long id) {
+        try {
+            Venda venda = vendaService.cancelarVenda(id);
+            return ResponseEntity.ok(venda);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Venda alterada por outra requisição; consulte-a novamente"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao cancelar venda: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Lista todas as vendas.
+     * @return Uma lista de todas as vendas.
+     */
+    @GetMapping
+    public ResponseEntity<List<Venda>> listarTodas() {
+        List<Venda> vendas = vendaService.listarTodas();
+        return ResponseEntity.ok(vendas);
+    }
+    
+    /**
+     * Lista as vendas em NDJSON, das mais recentes para as mais antigas, lidas do banco em lotes
+     * à medida que a resposta é consumida.
+     * @param status O status das vendas (opcional).
+     * @param clienteId O ID do cliente (opcional).
+     * @param response A resposta HTTP.
+     * @throws IOException Se a gravação da resposta falhar.
+     */
+    @Operation(summary = "Listar vendas em streaming", description = "Vendas com itens, cliente e endereço de "
+            + "entrega, um JSON por linha (application/x-ndjson); filtros opcionais por status e cliente")
+    @GetMapping("/stream")
+    public void listarStream(@RequestParam(required = false) String status,
+                             @RequestParam(required = false) Long clienteId,
+                             HttpServletResponse response) throws IOException {
+        // Status inválido gera IllegalArgumentException (400) antes de qualquer gravação
+        Venda.StatusVenda statusVenda = status == null ? null : Venda.StatusVenda.valueOf(status.toUpperCase());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        listagemStreamService.gravarVendas(statusVenda, clienteId, response.getOutputStream());
+    }
+
+    /**
+     * Lista as vendas de um cliente.
+     * @param clienteId O ID do cliente.
+     * @return Uma lista de vendas do cliente.
+     */
+    @GetMapping("/cliente/{clienteId}")
+    public ResponseEntity<List<Venda>> listarPorCliente(@PathVariable Long clienteId) {
+        List<Venda> vendas = vendaService.listarPorCliente(clienteId);
+        return ResponseEntity.ok(vendas);
+    }
+    
+    /**
+     * Lista as vendas por status.
+     * @param status O status da venda.
+     * @return Uma lista de vendas com o status especificado.
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<Venda>> listarPorStatus(@PathVariable String status) {
+        try {
+            Venda.StatusVenda statusVenda = Venda.StatusVenda.valueOf(status.toUpperCase());
+            List<Venda> vendas = vendaService.listarPorStatus(statusVenda);
+            return ResponseEntity.ok(vendas);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        }
+    }
+    
+    /**
+     * Lista a quantidade de cada produto a separar para as vendas pendentes.
+     * @param ate Data limite (exclusiva) das vendas; padrão: agora.
+     * @param porRota Se as quantidades também devem ser separadas por rota de entrega.
+     * @return A lista de separação.
+     */
+    @Operation(summary = "Lista de separação", description = "Soma, por produto, os itens de todas as vendas PENDENTE "
+            + "(e, com porRota=true, também por bairro de entrega) em uma única consulta agregada")
+    @GetMapping("/separacao")
+    public ResponseEntity<ListaSeparacao> listarSeparacao(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "false") boolean porRota) {
+        return ResponseEntity.ok(separacaoService.listar(ate, porRota));
+    }
+
+    /**
+     * Gera o PDF da lista de separação, gravado na resposta à medida que é montado.
+     * @param ate Data limite (exclusiva) das vendas; padrão: agora.
+     * @param porRota Se as quantidades também devem ser separadas por rota de entrega.
+     * @return O PDF da lista de separação.
+     */
+    @Operation(summary = "PDF da lista de separação", description = "Mesmo conteúdo de /vendas/separacao em PDF, "
+            + "enviado em streaming")
+    @GetMapping("/separacao/pdf")
+    public ResponseEntity<StreamingResponseBody> gerarPdfSeparacao(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "false") boolean porRota) {
+        // A consulta roda aqui, na transação do serviço; o streaming apenas monta o PDF
+        ListaSeparacao lista = separacaoService.listar(ate, porRota);
+        StreamingResponseBody corpo = out -> pdfService.gerarPdfSeparacao(lista, out);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Disposition", "inline; filename=separacao_"
+                + lista.getGeradaEm().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmm")) + ".pdf");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(corpo);
+    }
+
+    /**
+     * Monta o manifesto de entregas das vendas finalizadas em um dia, separado por rota.
+     * @param data O dia das vendas; padrão: hoje.
+     * @param agrupamento "bairro" ou "cep" (prefixo de 5 dígitos).
+     * @return O manifesto ou mensagem de erro.
+     */
+    @Operation(summary = "Manifesto de entregas", description = "Vendas FINALIZADA do dia com endereço de entrega, "
+            + "agrupadas por cidade e bairro (ou prefixo de CEP), com as paradas ordenadas por CEP")
+    @GetMapping("/entregas")
+    public ResponseEntity<?> montarManifesto(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(defaultValue = EntregaService.POR_BAIRRO) String agrupamento) {
+        try {
+            return ResponseEntity.ok(entregaService.montarManifesto(data != null ? data : LocalDate.now(), agrupamento));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Gera os PDFs de todas as rotas do manifesto de entregas, em um ZIP com um PDF por rota.
+     * @param data O dia das vendas; padrão: hoje.
+     * @param agrupamento "bairro" ou "cep" (prefixo de 5 dígitos).
+     * @return O ZIP com os PDFs ou mensagem de erro.
+     */
+    @Operation(summary = "PDFs do manifesto de entregas", description = "Um PDF por rota, gerados em paralelo e "
+            + "enviados em um ZIP")
+    @GetMapping("/entregas/pdf")
+    public ResponseEntity<?> gerarPdfsManifesto(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(defaultValue = EntregaService.POR_BAIRRO) String agrupamento) {
+        ManifestoEntrega manifesto;
+        try {
+            manifesto = entregaService.montarManifesto(data != null ? data : LocalDate.now(), agrupamento);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+        StreamingResponseBody corpo = out -> entregaService.gravarPdfsRotas(manifesto, out);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Disposition", "attachment; filename=entregas_"
+                + manifesto.getData().format(DateTimeFormatter.BASIC_ISO_DATE) + ".zip");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(corpo);
+    }
+
+    /**
+     * Gera o PDF de uma rota do manifesto de entregas.
+     * @param numero O número da rota no manifesto.
+     * @param data O dia das vendas; padrão: hoje.
+     * @param agrupamento "bairro" ou "cep" (prefixo de 5 dígitos).
+     * @return O PDF da rota ou mensagem de erro.
+     */
+    @GetMapping("/entregas/rotas/{numero}/pdf")
+    public ResponseEntity<?> gerarPdfRota(
+            @PathVariable int numero,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(defaultValue = EntregaService.POR_BAIRRO) String agrupamento) {
+        try {
+            ManifestoEntrega manifesto = entregaService.montarManifesto(data != null ? data : LocalDate.now(), agrupamento);
+            Optional<ManifestoEntrega.Rota> rota = entregaService.buscarRota(manifesto, numero);
+
+            if (rota.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Rota não encontrada"));
+            }
+
+            ByteArrayInputStream pdfStream = pdfService.gerarPdfRota(manifesto.getData(), rota.get());
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Content-Disposition", "inline; filename=" + entregaService.nomeArquivo(rota.get()));
+
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body(new InputStreamResource(pdfStream));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao gerar PDF: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Lista os meses de vendas arquivados.
+     * @return Os meses arquivados, do mais recente ao mais antigo.
+     * @throws SQLException Se a consulta falhar.
+     */
+    @Operation(summary = "Meses arquivados", description = "Meses de vendas retirados das tabelas particionadas e "
+            + "guardados compactados, com quantidades, tamanhos e se estão restaurados para consulta")
+    @GetMapping("/arquivo")
+    public ResponseEntity<List<MesArquivado>> listarArquivo() throws SQLException {
+        return ResponseEntity.ok(arquivoVendasService.listar());
+    }
+
+    /**
+     * Restaura um mês arquivado para consulta em arquivo.vendas e arquivo.itens_venda.
+     * @param mes O mês (AAAA-MM).
+     * @return Resposta sem conteúdo ou mensagem de erro.
+     * @throws SQLException Se a restauração falhar.
+     * @throws IOException Se o conteúdo arquivado estiver corrompido.
+     */
+    @Operation(summary = "Restaurar mês arquivado", description = "Carrega as vendas e os itens do mês em "
+            + "arquivo.vendas e arquivo.itens_venda (e nas visões vendas_historico e itens_venda_historico)")
+    @PostMapping("/arquivo/{mes}/restauracao")
+    public ResponseEntity<?> restaurarArquivo(@PathVariable String mes) throws SQLException, IOException {
+        try {
+            arquivoVendasService.restaurar(YearMonth.parse(mes));
+            return ResponseEntity.noContent().build();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove as tabelas de um mês restaurado, mantendo o arquivo compactado.
+     * @param mes O mês (AAAA-MM).
+     * @return Resposta sem conteúdo ou mensagem de erro.
+     * @throws SQLException Se a remoção falhar.
+     */
+    @Operation(summary = "Liberar mês restaurado", description = "Remove as tabelas restauradas do mês; "
+            + "o arquivo compactado continua disponível")
+    @DeleteMapping("/arquivo/{mes}/restauracao")
+    public ResponseEntity<?> liberarArquivo(@PathVariable String mes) throws SQLException {
+        try {
+            arquivoVendasService.liberar(YearMonth.parse(mes));
+            return ResponseEntity.noContent().build();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Busca uma venda por ID.
+     * @param id O ID da venda.
+     * @return A venda, se encontrada.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
+        Optional<Venda> venda = vendaService.buscarPorId(id);
+        if (venda.isPresent()) {
+            return ResponseEntity.ok(venda.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Venda não encontrada"));
+        }
+    }
+    
+    /**
+     * Busca uma venda pelo número.
+     * @param numeroVenda O número da venda.
+     * @return A venda, se encontrada.
+     */
+    @GetMapping("/numero/{numeroVenda}")
+    public ResponseEntity<?> buscarPorNumero(@PathVariable String numeroVenda) {
+        Optional<Venda> venda = vendaService.buscarPorNumero(numeroVenda);
+        if (venda.isPresent()) {
+            return ResponseEntity.ok(venda.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Venda não encontrada"));
+        }
+    }
+    
+    /**
+     * Classe interna para respostas de erro.
+     */
+    public static class ErrorResponse {
+        private String message;
+        
+        /**
+         * Construtor da classe de resposta de erro.
+         * @param message A mensagem de erro.
+         */
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+        
+        /**
+         * Retorna a mensagem de erro.
+         * @return A mensagem de erro.
+         */
+        public String getMessage() {
+            return message;
+        }
+        
+        /**
+         * Define a mensagem de erro.
+         * @param message A mensagem de erro.
+         */
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+
+    /**
+     * Gera o PDF de uma venda.
+     * @param id O ID da venda.
+     * @return O PDF da venda.
+     */
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<?> gerarPdfVenda(@PathVariable Long id) {
+        try {
+            Optional<Venda> venda = vendaRepository.findByIdWithItensProdutoCliente(id);
+            
+            if (venda.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Venda não encontrada"));
+            }
+            
+            ByteArrayInputStream pdfStream = pdfService.gerarPdfVenda(venda.get());
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Content-Disposition", "inline; filename=venda_" + venda.get().getNumeroVenda() + ".pdf");
+            
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body(new InputStreamResource(pdfStream));
+                    
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao gerar PDF: " + e.getMessage()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.hortifruti.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utilitários para expor a versão de uma entidade como ETag e ler o cabeçalho If-Match.
+ *
+ * <p>O ETag de um recurso versionado é a própria versão entre aspas (ex.: {@code "3"}). Quando o
+ * corpo tem campos que mudam sem alterar a versão (ex.: o estoque do produto), o ETag leva também
+ * um hash do JSON (ex.: {@code "3-9f86d081884c7d65"}); o If-Match compara só a versão.
+ */
+final class VersaoHttp {
+
+    private VersaoHttp() {
+    }
+
+    /**
+     * Monta o ETag de uma versão.
+     * @param versao A versão da entidade.
+     * @return O ETag forte correspondente.
+     */
+    static String etag(Long versao) {
+        return "\"" + (versao != null ? versao : 0L) + "\"";
+    }
+
+    /**
+     * Monta o ETag de uma versão e do corpo serializado, para recursos cujo corpo muda sem
+     * alterar a versão.
+     * @param versao A versão da entidade.
+     * @param objectMapper O ObjectMapper usado nas respostas.
+     * @param corpo O corpo da resposta.
+     * @return O ETag forte, no formato {@code "versao-hash"}.
+     */
+    static String etag(Long versao, ObjectMapper objectMapper, Object corpo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(corpo));
+            return "\"" + (versao != null ? versao : 0L) + "-" + HexFormat.of().formatHex(hash, 0, 8) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular o ETag", e);
+        }
+    }
+
+    /**
+     * Lê a versão esperada de um cabeçalho If-Match.
+     * @param ifMatch O valor do cabeçalho (pode ser nulo).
+     * @return A versão esperada, ou null se o cabeçalho estiver ausente ou for "*".
+     * @throws IllegalArgumentException Se o cabeçalho não contiver uma versão válida.
+     */
+    static Long lerIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        int hash = valor.indexOf('-');
+        if (hash > 0) {
+            valor = valor.substring(0, hash);
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cabeçalho If-Match inválido: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.hortifruti.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object para criar um cliente juntamente com seu endereço.
+ */
+public class ClienteEnderecoRequest {
+
+    /**
+     * Construtor padrão.
+     */
+    public ClienteEnderecoRequest() {
+    }
+
+    @NotBlank(message = "Nome do cliente é obrigatório")
+    private String nome;
+
+    @NotBlank(message = "CPF é obrigatório")
+    private String cpf;
+
+    private String estado;
+    private String telefone;
+    private String cnpj;
+    private String ie;
+    private String condPgto;
+    private String banco;
+
+    /** Endereço do cliente (opcional) */
+    @Valid
+    private DadosEndereco endereco;
+
+    /**
+     * Retorna o nome do cliente.
+     * @return O nome do cliente.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Define o nome do cliente.
+     * @param nome O nome do cliente.
+     */
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Retorna o CPF do cliente.
+     * @return O CPF do cliente.
+     */
+    public String getCpf() {
+        return cpf;
+    }
+
+    /**
+     * Define o CPF do cliente.
+     * @param cpf O CPF do cliente.
+     */
+    public void setCpf(String cpf) {
+        this.cpf = cpf;
+    }
+
+    /**
+     * Retorna o estado do cliente.
+     * @return O estado do cliente.
+     */
+    public String getEstado() {
+        return estado;
+    }
+
+    /**
+     * Define o estado do cliente.
+     * @param estado O estado do cliente.
+     */
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Retorna o telefone do cliente.
+     * @return O telefone do cliente.
+     */
+    public String getTelefone() {
+        return telefone;
+    }
+
+    /**
+     * Define o telefone do cliente.
+     * @param telefone O telefone do cliente.
+     */
+    public void setTelefone(String telefone) {
+        this.telefone = telefone;
+    }
+
+    /**
+     * Retorna o CNPJ do cliente.
+     * @return O CNPJ do cliente.
+     */
+    public String getCnpj() {
+        return cnpj;
+    }
+
+    /**
+     * Define o CNPJ do cliente.
+     * @param cnpj O CNPJ do cliente.
+     */
+    public void setCnpj(String cnpj) {
+        this.cnpj = cnpj;
+    }
+
+    /**
+     * Retorna a inscrição estadual do cliente.
+     * @return A inscrição estadual do cliente.
+     */
+    public String getIe() {
+        return ie;
+    }
+
+    /**
+     * Define a inscrição estadual do cliente.
+     * @param ie A inscrição estadual do cliente.
+     */
+    public void setIe(String ie) {
+        this.ie = ie;
+    }
+
+    /**
+     * Retorna a condição de pagamento.
+     * @return A condição de pagamento.
+     */
+    public String getCondPgto() {
+        return condPgto;
+    }
+
+    /**
+     * Define a condição de pagamento.
+     * @param condPgto A condição de pagamento.
+     */
+    public void setCondPgto(String condPgto) {
+        this.condPgto = condPgto;
+    }
+
+    /**
+     * Retorna o banco do cliente.
+     * @return O banco do cliente.
+     */
+    public String getBanco() {
+        return banco;
+    }
+
+    /**
+     * Define o banco do cliente.
+     * @param banco O banco do cliente.
+     */
+    public void setBanco(String banco) {
+        this.banco = banco;
+    }
+
+    /**
+     * Retorna o endereço do cliente.
+     * @return O endereço do cliente.
+     */
+    public DadosEndereco getEndereco() {
+        return endereco;
+    }
+
+    /**
+     * Define o endereço do cliente.
+     * @param endereco O endereço do cliente.
+     */
+    public void setEndereco(DadosEndereco endereco) {
+        this.endereco = endereco;
+    }
+
+    /**
+     * Dados do endereço enviados na criação do cliente.
+     */
+    public static class DadosEndereco {
+
+        /**
+         * Construtor padrão.
+         */
+        public DadosEndereco() {
+        }
+
+        private String rua;
+        private String numero;
+        private String complemento;
+        private String bairro;
+        private String cidade;
+        private String estado;
+        private String cep;
+        private Boolean principal;
+
+        /**
+         * Retorna a rua.
+         * @return A rua.
+         */
+        public String getRua() {
+            return rua;
+        }
+
+        /**
+         * Define a rua.
+         * @param rua A rua.
+         */
+        public void setRua(String rua) {
+            this.rua = rua;
+        }
+
+        /**
+         * Retorna o número.
+         * @return O número.
+         */
+        public String getNumero() {
+            return numero;
+        }
+
+        /**
+         * Define o número.
+         * @param numero O número.
+         */
+        public void setNumero(String numero) {
+            this.numero = numero;
+        }
+
+        /**
+         * Retorna o complemento.
+         * @return O complemento.
+         */
+        public String getComplemento() {
+            return complemento;
+        }
+
+        /**
+         * Define o complemento.
+         * @param complemento O complemento.
+         */
+        public void setComplemento(String complemento) {
+            this.complemento = complemento;
+        }
+
+        /**
+         * Retorna o bairro.
+         * @return O bairro.
+         */
+        public String getBairro() {
+            return bairro;
+        }
+
+        /**
+         * Define o bairro.
+         * @param bairro O bairro.
+         */
+        public void setBairro(String bairro) {
+            this.bairro = bairro;
+        }
+
+        /**
+         * Retorna a cidade.
+         * @return A cidade.
+         */
+        public String getCidade() {
+            return cidade;
+        }
+
+        /**
+         * Define a cidade.
+         * @param cidade A cidade.
+         */
+        public void setCidade(String cidade) {
+            this.cidade = cidade;
+        }
+
+        /**
+         * Retorna o estado (UF).
+         * @return O estado (UF).
+         */
+        public String getEstado() {
+            return estado;
+        }
+
+        /**
+         * Define o estado (UF).
+         * @param estado O estado (UF).
+         */
+        public void setEstado(String estado) {
+            this.estado = estado;
+        }
+
+        /**
+         * Retorna o CEP.
+         * @return O CEP.
+         */
+        public String getCep() {
+            return cep;
+        }
+
+        /**
+         * Define o CEP.
+         * @param cep O CEP.
+         */
+        public void setCep(String cep) {
+            this.cep = cep;
+        }
+
+        /**
+         * Retorna o indicador de endereço principal (null é tratado como true).
+         * @return O indicador de endereço principal (null é tratado como true).
+         */
+        public Boolean getPrincipal() {
+            return principal;
+        }
+
+        /**
+         * Define o indicador de endereço principal (null é tratado como true).
+         * @param principal O indicador de endereço principal (null é tratado como true).
+         */
+        public void setPrincipal(Boolean principal) {
+            this.principal = principal;
+        }
+    }
+}
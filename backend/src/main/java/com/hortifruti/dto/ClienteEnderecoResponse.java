@@ -0,0 +1,61 @@
+package com.hortifruti.dto;
+
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Endereco;
+
+/**
+ * Data Transfer Object com o cliente criado e seu endereço (se houver).
+ */
+public class ClienteEnderecoResponse {
+
+    private Cliente cliente;
+    private Endereco endereco;
+
+    /**
+     * Construtor padrão.
+     */
+    public ClienteEnderecoResponse() {
+    }
+
+    /**
+     * Cria a resposta.
+     * @param cliente O cliente criado.
+     * @param endereco O endereço criado, ou null.
+     */
+    public ClienteEnderecoResponse(Cliente cliente, Endereco endereco) {
+        this.cliente = cliente;
+        this.endereco = endereco;
+    }
+
+    /**
+     * Retorna o cliente criado.
+     * @return O cliente criado.
+     */
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    /**
+     * Define o cliente criado.
+     * @param cliente O cliente criado.
+     */
+    public void setCliente(Cliente cliente) {
+        this.cliente = cliente;
+    }
+
+    /**
+     * Retorna o endereço criado (null se não informado).
+     * @return O endereço criado (null se não informado).
+     */
+    public Endereco getEndereco() {
+        return endereco;
+    }
+
+    /**
+     * Define o endereço criado (null se não informado).
+     * @param endereco O endereço criado (null se não informado).
+     */
+    public void setEndereco(Endereco endereco) {
+        this.endereco = endereco;
+    }
+}
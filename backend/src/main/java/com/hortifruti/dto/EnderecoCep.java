@@ -0,0 +1,71 @@
+package com.hortifruti.dto;
+
+/**
+ * Data Transfer Object com o endereço de um CEP, vindo da base local de CEPs.
+ *
+ * <p>Imutável. O logradouro é nulo para CEPs gerais de localidade (cidades com um único CEP).
+ */
+public class EnderecoCep {
+
+    private final String cep;
+    private final String logradouro;
+    private final String bairro;
+    private final String cidade;
+    private final String estado;
+
+    /**
+     * Cria o endereço.
+     * @param cep O CEP, formatado (00000-000).
+     * @param logradouro O logradouro, ou null.
+     * @param bairro O bairro, ou null.
+     * @param cidade A cidade.
+     * @param estado A UF.
+     */
+    public EnderecoCep(String cep, String logradouro, String bairro, String cidade, String estado) {
+        this.cep = cep;
+        this.logradouro = logradouro;
+        this.bairro = bairro;
+        this.cidade = cidade;
+        this.estado = estado;
+    }
+
+    /**
+     * Retorna o CEP.
+     * @return O CEP, formatado (00000-000).
+     */
+    public String getCep() {
+        return cep;
+    }
+
+    /**
+     * Retorna o logradouro.
+     * @return O logradouro, ou null para CEPs gerais de localidade.
+     */
+    public String getLogradouro() {
+        return logradouro;
+    }
+
+    /**
+     * Retorna o bairro.
+     * @return O bairro, ou null.
+     */
+    public String getBairro() {
+        return bairro;
+    }
+
+    /**
+     * Retorna a cidade.
+     * @return A cidade.
+     */
+    public String getCidade() {
+        return cidade;
+    }
+
+    /**
+     * Retorna a UF.
+     * @return A UF.
+     */
+    public String getEstado() {
+        return estado;
+    }
+}
@@ -0,0 +1,215 @@
+package com.hortifruti.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object com a lista de separação das vendas pendentes.
+ *
+ * <p>Imutável. Os itens somam as quantidades de todas as vendas por produto; as rotas, quando
+ * pedidas, repetem a soma para cada bairro de entrega.
+ */
+public class ListaSeparacao {
+
+    private final LocalDateTime geradaEm;
+    private final LocalDateTime ate;
+    private final long vendas;
+    private final List<Item> itens;
+    private final List<Rota> rotas;
+
+    /**
+     * Cria a lista.
+     * @param geradaEm Momento da consulta.
+     * @param ate Data limite (exclusiva) das vendas consideradas.
+     * @param vendas Número de vendas pendentes consideradas.
+     * @param itens Quantidade total de cada produto.
+     * @param rotas Quantidades por rota de entrega, ou null se não pedidas.
+     */
+    public ListaSeparacao(LocalDateTime geradaEm, LocalDateTime ate, long vendas, List<Item> itens, List<Rota> rotas) {
+        this.geradaEm = geradaEm;
+        this.ate = ate;
+        this.vendas = vendas;
+        this.itens = List.copyOf(itens);
+        this.rotas = rotas == null ? null : List.copyOf(rotas);
+    }
+
+    /**
+     * Retorna o momento da consulta.
+     * @return O momento da consulta.
+     */
+    public LocalDateTime getGeradaEm() {
+        return geradaEm;
+    }
+
+    /**
+     * Retorna a data limite das vendas consideradas.
+     * @return A data limite (exclusiva).
+     */
+    public LocalDateTime getAte() {
+        return ate;
+    }
+
+    /**
+     * Retorna o número de vendas pendentes consideradas.
+     * @return O número de vendas.
+     */
+    public long getVendas() {
+        return vendas;
+    }
+
+    /**
+     * Retorna a quantidade total de cada produto.
+     * @return Os itens, em ordem de nome do produto.
+     */
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    /**
+     * Retorna as quantidades por rota de entrega.
+     * @return As rotas, em ordem de cidade e bairro, ou null se não pedidas.
+     */
+    public List<Rota> getRotas() {
+        return rotas;
+    }
+
+    /**
+     * Quantidade de um produto a separar.
+     */
+    public static class Item {
+
+        private final Long produtoId;
+        private final String produto;
+        private final String embalagem;
+        private final double quantidade;
+        private final long vendas;
+
+        /**
+         * Cria o item.
+         * @param produtoId O ID do produto.
+         * @param produto O nome do produto.
+         * @param embalagem A embalagem do produto.
+         * @param quantidade A soma das quantidades.
+         * @param vendas O número de vendas com o produto.
+         */
+        public Item(Long produtoId, String produto, String embalagem, double quantidade, long vendas) {
+            this.produtoId = produtoId;
+            this.produto = produto;
+            this.embalagem = embalagem;
+            this.quantidade = quantidade;
+            this.vendas = vendas;
+        }
+
+        /**
+         * Retorna o ID do produto.
+         * @return O ID do produto.
+         */
+        public Long getProdutoId() {
+            return produtoId;
+        }
+
+        /**
+         * Retorna o nome do produto.
+         * @return O nome do produto.
+         */
+        public String getProduto() {
+            return produto;
+        }
+
+        /**
+         * Retorna a embalagem do produto.
+         * @return A embalagem, ou null.
+         */
+        public String getEmbalagem() {
+            return embalagem;
+        }
+
+        /**
+         * Retorna a soma das quantidades.
+         * @return A quantidade a separar.
+         */
+        public double getQuantidade() {
+            return quantidade;
+        }
+
+        /**
+         * Retorna o número de vendas com o produto.
+         * @return O número de vendas.
+         */
+        public long getVendas() {
+            return vendas;
+        }
+    }
+
+    /**
+     * Quantidades a separar para uma rota de entrega (um bairro de uma cidade).
+     */
+    public static class Rota {
+
+        private final String cidade;
+        private final String estado;
+        private final String bairro;
+        private final List<Item> itens;
+
+        /**
+         * Cria a rota.
+         * @param cidade A cidade, ou null para vendas sem endereço de entrega.
+         * @param estado A UF, ou null para vendas sem endereço de entrega.
+         * @param bairro O bairro, ou null.
+         * @param itens Quantidade de cada produto na rota.
+         */
+        public Rota(String cidade, String estado, String bairro, List<Item> itens) {
+            this.cidade = cidade;
+            this.estado = estado;
+            this.bairro = bairro;
+            this.itens = List.copyOf(itens);
+        }
+
+        /**
+         * Retorna a cidade.
+         * @return A cidade, ou null para vendas sem endereço de entrega.
+         */
+        public String getCidade() {
+            return cidade;
+        }
+
+        /**
+         * Retorna a UF.
+         * @return A UF, ou null para vendas sem endereço de entrega.
+         */
+        public String getEstado() {
+            return estado;
+        }
+
+        /**
+         * Retorna o bairro.
+         * @return O bairro, ou null.
+         */
+        public String getBairro() {
+            return bairro;
+        }
+
+        /**
+         * Retorna a descrição da rota para exibição.
+         * @return "Bairro - Cidade/UF", ou "Sem endereço de entrega".
+         */
+        public String getDescricao() {
+            if (cidade == null && bairro == null) {
+                return "Sem endereço de entrega";
+            }
+            String local = cidade == null ? "" : (estado == null ? cidade : cidade + "/" + estado);
+            if (bairro == null) {
+                return local;
+            }
+            return local.isEmpty() ? bairro : bairro + " - " + local;
+        }
+
+        /**
+         * Retorna a quantidade de cada produto na rota.
+         * @return Os itens, em ordem de nome do produto.
+         */
+        public List<Item> getItens() {
+            return itens;
+        }
+    }
+}
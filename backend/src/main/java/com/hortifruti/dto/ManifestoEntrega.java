@@ -0,0 +1,272 @@
+package com.hortifruti.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object com o manifesto de entregas de um dia, separado por rota.
+ *
+ * <p>Imutável. Cada rota reúne as vendas de um bairro (ou de um prefixo de CEP) de uma
+ * cidade, com as paradas na ordem sugerida de visita.
+ */
+public class ManifestoEntrega {
+
+    private final LocalDate data;
+    private final String agrupamento;
+    private final List<Rota> rotas;
+
+    /**
+     * Cria o manifesto.
+     * @param data O dia das vendas.
+     * @param agrupamento Critério das rotas ("bairro" ou "cep").
+     * @param rotas As rotas, numeradas a partir de 1.
+     */
+    public ManifestoEntrega(LocalDate data, String agrupamento, List<Rota> rotas) {
+        this.data = data;
+        this.agrupamento = agrupamento;
+        this.rotas = List.copyOf(rotas);
+    }
+
+    /**
+     * Retorna o dia das vendas.
+     * @return O dia.
+     */
+    public LocalDate getData() {
+        return data;
+    }
+
+    /**
+     * Retorna o critério das rotas.
+     * @return "bairro" ou "cep".
+     */
+    public String getAgrupamento() {
+        return agrupamento;
+    }
+
+    /**
+     * Retorna as rotas.
+     * @return As rotas, em ordem de número.
+     */
+    public List<Rota> getRotas() {
+        return rotas;
+    }
+
+    /**
+     * Rota de entrega: as paradas de uma região, em ordem de visita.
+     */
+    public static class Rota {
+
+        private final int numero;
+        private final String cidade;
+        private final String estado;
+        private final String regiao;
+        private final List<Parada> paradas;
+
+        /**
+         * Cria a rota.
+         * @param numero O número da rota no manifesto.
+         * @param cidade A cidade, ou null.
+         * @param estado A UF, ou null.
+         * @param regiao O bairro ou o prefixo de CEP, ou null.
+         * @param paradas As paradas, em ordem de visita.
+         */
+        public Rota(int numero, String cidade, String estado, String regiao, List<Parada> paradas) {
+            this.numero = numero;
+            this.cidade = cidade;
+            this.estado = estado;
+            this.regiao = regiao;
+            this.paradas = List.copyOf(paradas);
+        }
+
+        /**
+         * Retorna o número da rota.
+         * @return O número, a partir de 1.
+         */
+        public int getNumero() {
+            return numero;
+        }
+
+        /**
+         * Retorna a cidade.
+         * @return A cidade, ou null.
+         */
+        public String getCidade() {
+            return cidade;
+        }
+
+        /**
+         * Retorna a UF.
+         * @return A UF, ou null.
+         */
+        public String getEstado() {
+            return estado;
+        }
+
+        /**
+         * Retorna a região da rota.
+         * @return O bairro ou o prefixo de CEP, ou null.
+         */
+        public String getRegiao() {
+            return regiao;
+        }
+
+        /**
+         * Retorna a descrição da rota para exibição.
+         * @return "Região - Cidade/UF".
+         */
+        public String getDescricao() {
+            String local = cidade == null ? "" : (estado == null ? cidade : cidade + "/" + estado);
+            if (regiao == null) {
+                return local.isEmpty() ? "Sem região" : local;
+            }
+            return local.isEmpty() ? regiao : regiao + " - " + local;
+        }
+
+        /**
+         * Retorna as paradas.
+         * @return As paradas, em ordem de visita.
+         */
+        public List<Parada> getParadas() {
+            return paradas;
+        }
+
+        /**
+         * Retorna a soma dos valores das vendas da rota.
+         * @return O valor total.
+         */
+        public BigDecimal getValorTotal() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Parada parada : paradas) {
+                if (parada.getValorFinal() != null) {
+                    total = total.add(parada.getValorFinal());
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Parada de uma rota: uma venda a entregar.
+     */
+    public static class Parada {
+
+        private final int ordem;
+        private final Long vendaId;
+        private final String numeroVenda;
+        private final String cliente;
+        private final String telefone;
+        private final String endereco;
+        private final String cep;
+        private final BigDecimal valorFinal;
+        private final String formaPagamento;
+        private final String observacoes;
+
+        /**
+         * Cria a parada.
+         * @param ordem A posição na rota, a partir de 1.
+         * @param vendaId O ID da venda.
+         * @param numeroVenda O número da venda.
+         * @param cliente O nome do cliente.
+         * @param telefone O telefone do cliente.
+         * @param endereco Rua, número e complemento.
+         * @param cep O CEP, ou null.
+         * @param valorFinal O valor final da venda.
+         * @param formaPagamento A forma de pagamento.
+         * @param observacoes As observações da venda, ou null.
+         */
+        public Parada(int ordem, Long vendaId, String numeroVenda, String cliente, String telefone, String endereco,
+                      String cep, BigDecimal valorFinal, String formaPagamento, String observacoes) {
+            this.ordem = ordem;
+            this.vendaId = vendaId;
+            this.numeroVenda = numeroVenda;
+            this.cliente = cliente;
+            this.telefone = telefone;
+            this.endereco = endereco;
+            this.cep = cep;
+            this.valorFinal = valorFinal;
+            this.formaPagamento = formaPagamento;
+            this.observacoes = observacoes;
+        }
+
+        /**
+         * Retorna a posição na rota.
+         * @return A ordem, a partir de 1.
+         */
+        public int getOrdem() {
+            return ordem;
+        }
+
+        /**
+         * Retorna o ID da venda.
+         * @return O ID da venda.
+         */
+        public Long getVendaId() {
+            return vendaId;
+        }
+
+        /**
+         * Retorna o número da venda.
+         * @return O número da venda.
+         */
+        public String getNumeroVenda() {
+            return numeroVenda;
+        }
+
+        /**
+         * Retorna o nome do cliente.
+         * @return O nome do cliente.
+         */
+        public String getCliente() {
+            return cliente;
+        }
+
+        /**
+         * Retorna o telefone do cliente.
+         * @return O telefone, ou null.
+         */
+        public String getTelefone() {
+            return telefone;
+        }
+
+        /**
+         * Retorna o endereço de entrega.
+         * @return Rua, número e complemento.
+         */
+        public String getEndereco() {
+            return endereco;
+        }
+
+        /**
+         * Retorna o CEP.
+         * @return O CEP, ou null.
+         */
+        public String getCep() {
+            return cep;
+        }
+
+        /**
+         * Retorna o valor final da venda.
+         * @return O valor final.
+         */
+        public BigDecimal getValorFinal() {
+            return valorFinal;
+        }
+
+        /**
+         * Retorna a forma de pagamento.
+         * @return A forma de pagamento, ou null.
+         */
+        public String getFormaPagamento() {
+            return formaPagamento;
+        }
+
+        /**
+         * Retorna as observações da venda.
+         * @return As observações, ou null.
+         */
+        public String getObservacoes() {
+            return observacoes;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.hortifruti.dto;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Data Transfer Object com os dados de um mês de vendas arquivado (/vendas/arquivo).
+ */
+public class MesArquivado {
+
+    private final YearMonth mes;
+    private final long vendas;
+    private final long itens;
+    private final long bytesOriginais;
+    private final long bytesCompactados;
+    private final LocalDateTime arquivadoEm;
+    private final LocalDateTime restauradoEm;
+
+    /**
+     * Cria o resumo de um mês arquivado.
+     * @param mes O mês das vendas.
+     * @param vendas Quantidade de vendas.
+     * @param itens Quantidade de itens.
+     * @param bytesOriginais Tamanho das vendas e itens em CSV.
+     * @param bytesCompactados Tamanho armazenado (CSV compactado).
+     * @param arquivadoEm Quando o mês foi arquivado.
+     * @param restauradoEm Quando o mês foi restaurado para consulta (null se não está restaurado).
+     */
+    public MesArquivado(YearMonth mes, long vendas, long itens, long bytesOriginais, long bytesCompactados,
+                        LocalDateTime arquivadoEm, LocalDateTime restauradoEm) {
+        this.mes = mes;
+        this.vendas = vendas;
+        this.itens = itens;
+        this.bytesOriginais = bytesOriginais;
+        this.bytesCompactados = bytesCompactados;
+        this.arquivadoEm = arquivadoEm;
+        this.restauradoEm = restauradoEm;
+    }
+
+    /**
+     * Retorna o mês das vendas.
+     * @return O mês (ex.: 2023-01).
+     */
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    /**
+     * Retorna a quantidade de vendas do mês.
+     * @return A quantidade de vendas.
+     */
+    public long getVendas() {
+        return vendas;
+    }
+
+    /**
+     * Retorna a quantidade de itens das vendas do mês.
+     * @return A quantidade de itens.
+     */
+    public long getItens() {
+        return itens;
+    }
+
+    /**
+     * Retorna o tamanho das vendas e itens em CSV, antes da compactação.
+     * @return O tamanho em bytes.
+     */
+    public long getBytesOriginais() {
+        return bytesOriginais;
+    }
+
+    /**
+     * Retorna o tamanho armazenado do mês (CSV compactado).
+     * @return O tamanho em bytes.
+     */
+    public long getBytesCompactados() {
+        return bytesCompactados;
+    }
+
+    /**
+     * Retorna quando o mês foi arquivado.
+     * @return A data e hora do arquivamento.
+     */
+    public LocalDateTime getArquivadoEm() {
+        return arquivadoEm;
+    }
+
+    /**
+     * Retorna quando o mês foi restaurado para consulta.
+     * @return A data e hora da restauração, ou null se o mês não está restaurado.
+     */
+    public LocalDateTime getRestauradoEm() {
+        return restauradoEm;
+    }
+}
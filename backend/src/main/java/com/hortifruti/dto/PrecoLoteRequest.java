@@ -0,0 +1,105 @@
+package com.hortifruti.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object para a atualização de preços em lote.
+ *
+ * <p>Agrupa os novos preços de uma remarcação (ex.: tabela da manhã) para que sejam
+ * aplicados em uma única operação.
+ */
+public class PrecoLoteRequest {
+
+    /**
+     * Construtor padrão.
+     */
+    public PrecoLoteRequest() {
+    }
+
+    @NotEmpty(message = "A atualização deve conter pelo menos um item")
+    @Valid
+    private List<Item> itens = new ArrayList<>();
+
+    /**
+     * Retorna os itens da atualização.
+     * @return A lista de itens.
+     */
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    /**
+     * Define os itens da atualização.
+     * @param itens A lista de itens.
+     */
+    public void setItens(List<Item> itens) {
+        this.itens = itens;
+    }
+
+    /**
+     * Linha da atualização: produto e novo preço.
+     */
+    public static class Item {
+
+        /**
+         * Construtor padrão.
+         */
+        public Item() {
+        }
+
+        /**
+         * Cria um item com produto e preço.
+         * @param produtoId O ID do produto.
+         * @param preco O novo preço.
+         */
+        public Item(Long produtoId, Double preco) {
+            this.produtoId = produtoId;
+            this.preco = preco;
+        }
+
+        @NotNull(message = "O ID do produto é obrigatório")
+        private Long produtoId;
+
+        @NotNull(message = "O preço é obrigatório")
+        @Positive(message = "O preço deve ser maior que zero")
+        private Double preco;
+
+        /**
+         * Retorna o ID do produto.
+         * @return O ID do produto.
+         */
+        public Long getProdutoId() {
+            return produtoId;
+        }
+
+        /**
+         * Define o ID do produto.
+         * @param produtoId O ID do produto.
+         */
+        public void setProdutoId(Long produtoId) {
+            this.produtoId = produtoId;
+        }
+
+        /**
+         * Retorna o novo preço.
+         * @return O novo preço.
+         */
+        public Double getPreco() {
+            return preco;
+        }
+
+        /**
+         * Define o novo preço.
+         * @param preco O novo preço.
+         */
+        public void setPreco(Double preco) {
+            this.preco = preco;
+        }
+    }
+}
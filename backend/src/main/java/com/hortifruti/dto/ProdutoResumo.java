@@ -0,0 +1,60 @@
+package com.hortifruti.dto;
+
+import com.hortifruti.model.Produto;
+
+/**
+ * Data Transfer Object com os dados de um produto exibidos no autocomplete do caixa.
+ *
+ * <p>Imutável: as instâncias ficam no índice de busca em memória e são compartilhadas
+ * entre as requisições.
+ */
+public class ProdutoResumo {
+
+    private final Long id;
+    private final String nome;
+    private final String embalagem;
+    private final Double preco;
+
+    /**
+     * Cria o resumo a partir de um produto.
+     * @param produto O produto.
+     */
+    public ProdutoResumo(Produto produto) {
+        this.id = produto.getId();
+        this.nome = produto.getNome();
+        this.embalagem = produto.getEmbalagem();
+        this.preco = produto.getPreco();
+    }
+
+    /**
+     * Retorna o ID do produto.
+     * @return O ID do produto.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome do produto.
+     * @return O nome do produto.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna a embalagem do produto.
+     * @return A embalagem do produto.
+     */
+    public String getEmbalagem() {
+        return embalagem;
+    }
+
+    /**
+     * Retorna o preço do produto.
+     * @return O preço do produto.
+     */
+    public Double getPreco() {
+        return preco;
+    }
+}
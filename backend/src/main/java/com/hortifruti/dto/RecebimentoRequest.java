@@ -0,0 +1,113 @@
+package com.hortifruti.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object para o recebimento de uma entrega de fornecedor.
+ *
+ * <p>Agrupa todas as linhas de ENTRADA de uma mesma entrega (ex.: caminhão da CEASA)
+ * para que sejam registradas em uma única operação.
+ */
+public class RecebimentoRequest {
+
+    /**
+     * Construtor padrão.
+     */
+    public RecebimentoRequest() {
+    }
+
+    /** Fornecedor ou origem da entrega (opcional) */
+    private String fornecedor;
+
+    @NotEmpty(message = "O recebimento deve conter pelo menos um item")
+    @Valid
+    private List<Item> itens;
+
+    /**
+     * Retorna o fornecedor da entrega.
+     * @return O fornecedor da entrega.
+     */
+    public String getFornecedor() {
+        return fornecedor;
+    }
+
+    /**
+     * Define o fornecedor da entrega.
+     * @param fornecedor O fornecedor da entrega.
+     */
+    public void setFornecedor(String fornecedor) {
+        this.fornecedor = fornecedor;
+    }
+
+    /**
+     * Retorna os itens recebidos.
+     * @return A lista de itens recebidos.
+     */
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    /**
+     * Define os itens recebidos.
+     * @param itens A lista de itens recebidos.
+     */
+    public void setItens(List<Item> itens) {
+        this.itens = itens;
+    }
+
+    /**
+     * Linha de um recebimento: produto e quantidade recebida.
+     */
+    public static class Item {
+
+        /**
+         * Construtor padrão.
+         */
+        public Item() {
+        }
+
+        @NotNull(message = "O ID do produto é obrigatório")
+        private Long produtoId;
+
+        @NotNull(message = "A quantidade é obrigatória")
+        @Positive(message = "A quantidade deve ser maior que zero")
+        private Double quantidade;
+
+        /**
+         * Retorna o ID do produto.
+         * @return O ID do produto.
+         */
+        public Long getProdutoId() {
+            return produtoId;
+        }
+
+        /**
+         * Define o ID do produto.
+         * @param produtoId O ID do produto.
+         */
+        public void setProdutoId(Long produtoId) {
+            this.produtoId = produtoId;
+        }
+
+        /**
+         * Retorna a quantidade recebida.
+         * @return A quantidade recebida.
+         */
+        public Double getQuantidade() {
+            return quantidade;
+        }
+
+        /**
+         * Define a quantidade recebida.
+         * @param quantidade A quantidade recebida.
+         */
+        public void setQuantidade(Double quantidade) {
+            this.quantidade = quantidade;
+        }
+    }
+}
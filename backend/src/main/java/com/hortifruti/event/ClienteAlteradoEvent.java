@@ -0,0 +1,76 @@
+package com.hortifruti.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando um cliente é cadastrado, alterado ou removido.
+ *
+ * <p>Os ouvintes (ex.: índice de busca) normalmente reagem após o commit da
+ * transação que publicou o evento.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class ClienteAlteradoEvent {
+
+    /**
+     * Tipo da alteração.
+     */
+    public enum Tipo {
+        /** Cliente criado ou com dados cadastrais alterados */
+        CADASTRO,
+        /** Cliente removido */
+        REMOCAO
+    }
+
+    private final List<Long> clienteIds;
+    private final Tipo tipo;
+
+    /**
+     * Cria o evento para um cliente.
+     *
+     * @param clienteId ID do cliente alterado
+     * @param tipo Tipo da alteração
+     */
+    public ClienteAlteradoEvent(Long clienteId, Tipo tipo) {
+        this(List.of(clienteId), tipo);
+    }
+
+    /**
+     * Cria o evento para um lote de clientes (ex.: importação).
+     *
+     * @param clienteIds IDs dos clientes alterados
+     * @param tipo Tipo da alteração
+     */
+    public ClienteAlteradoEvent(List<Long> clienteIds, Tipo tipo) {
+        this.clienteIds = List.copyOf(clienteIds);
+        this.tipo = tipo;
+    }
+
+    /**
+     * Obtém os IDs dos clientes alterados.
+     *
+     * @return IDs dos clientes
+     */
+    public List<Long> getClienteIds() {
+        return clienteIds;
+    }
+
+    /**
+     * Obtém o tipo da alteração.
+     *
+     * @return Tipo da alteração
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public String toString() {
+        return "ClienteAlteradoEvent{" +
+                "clienteIds=" + clienteIds +
+                ", tipo=" + tipo +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.hortifruti.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando um produto é cadastrado, alterado, removido ou tem o estoque movimentado.
+ *
+ * <p>Os ouvintes (ex.: snapshot do catálogo) normalmente reagem após o commit da
+ * transação que publicou o evento.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class ProdutoAlteradoEvent {
+
+    /**
+     * Tipo da alteração.
+     */
+    public enum Tipo {
+        /** Produto criado ou com dados cadastrais alterados */
+        CADASTRO,
+        /** Estoque movimentado (entrada, saída, venda) */
+        ESTOQUE,
+        /** Produto removido */
+        REMOCAO
+    }
+
+    private final List<Long> produtoIds;
+    private final Tipo tipo;
+
+    /**
+     * Cria o evento para um produto.
+     *
+     * @param produtoId ID do produto alterado
+     * @param tipo Tipo da alteração
+     */
+    public ProdutoAlteradoEvent(Long produtoId, Tipo tipo) {
+        this(List.of(produtoId), tipo);
+    }
+
+    /**
+     * Cria o evento para um lote de produtos (ex.: remarcação de preços).
+     *
+     * @param produtoIds IDs dos produtos alterados
+     * @param tipo Tipo da alteração
+     */
+    public ProdutoAlteradoEvent(List<Long> produtoIds, Tipo tipo) {
+        this.produtoIds = List.copyOf(produtoIds);
+        this.tipo = tipo;
+    }
+
+    /**
+     * Obtém os IDs dos produtos alterados.
+     *
+     * @return IDs dos produtos
+     */
+    public List<Long> getProdutoIds() {
+        return produtoIds;
+    }
+
+    /**
+     * Obtém o tipo da alteração.
+     *
+     * @return Tipo da alteração
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public String toString() {
+        return "ProdutoAlteradoEvent{" +
+                "produtoIds=" + produtoIds +
+                ", tipo=" + tipo +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.hortifruti.importacao;
+
+/**
+ * Filtro de Bloom para chaves numéricas (ex.: CPF como número de 11 dígitos).
+ *
+ * <p>Responde "certamente não visto" ou "talvez visto" usando memória fixa, definida pela
+ * capacidade e pela taxa de falsos positivos desejadas, independentemente de quantas
+ * chaves forem adicionadas. Não é thread-safe.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class FiltroBloom {
+
+    private final long[] bits;
+    private final long totalBits;
+    private final int funcoes;
+
+    /**
+     * Dimensiona o filtro.
+     *
+     * @param capacidade Número de chaves esperado
+     * @param taxaFalsoPositivo Taxa de falsos positivos aceita com a capacidade atingida (ex.: 0.01)
+     */
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade e taxa de falsos positivos inválidas");
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+        this.totalBits = bits.length * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / capacidade * ln2));
+    }
+
+    /**
+     * Adiciona uma chave e informa se ela talvez já estivesse no filtro.
+     *
+     * @param chave Chave a adicionar
+     * @return false se a chave certamente não tinha sido adicionada antes; true se talvez tenha
+     */
+    public boolean adicionar(long chave) {
+        long hash = misturar(chave);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean presente = true;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << (bit & 63);
+            if ((bits[indice] & mascara) == 0) {
+                presente = false;
+                bits[indice] |= mascara;
+            }
+        }
+        return presente;
+    }
+
+    /**
+     * Obtém o tamanho do filtro em bytes.
+     *
+     * @return Bytes ocupados pelos bits do filtro
+     */
+    public long getTamanhoBytes() {
+        return bits.length * 8L;
+    }
+
+    /** Finalizador do SplitMix64: espalha bem chaves sequenciais como CPFs */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,144 @@
+package com.hortifruti.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV incremental (RFC 4180): lê um registro por vez, sem carregar o arquivo.
+ *
+ * <p>Aceita campos entre aspas com separadores, quebras de linha e aspas duplicadas
+ * ({@code ""}) no conteúdo. O separador (vírgula ou ponto e vírgula, comum em planilhas
+ * exportadas no Brasil) é detectado pela primeira linha, e um BOM UTF-8 inicial é ignorado.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class LeitorCsv implements AutoCloseable {
+
+    private static final int TAMANHO_MAXIMO_CAMPO = 10_000;
+
+    private final BufferedReader reader;
+    private final char separador;
+    private int linhaAtual = 1;
+    private int linhaRegistro;
+
+    /**
+     * Cria o leitor e detecta o separador pela primeira linha.
+     *
+     * @param reader Origem dos dados
+     * @throws IOException Se a leitura falhar
+     */
+    public LeitorCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.reader.mark(1);
+        if (this.reader.read() != '\uFEFF') {
+            this.reader.reset();
+        }
+        this.reader.mark(64 * 1024);
+        String primeira = this.reader.readLine();
+        this.reader.reset();
+        this.separador = primeira != null && contar(primeira, ';') > contar(primeira, ',') ? ';' : ',';
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return Campos do registro, ou null no fim do arquivo
+     * @throws IOException Se a leitura falhar
+     * @throws IllegalArgumentException Se um campo exceder o tamanho máximo (aspas sem fechamento)
+     */
+    public List<String> proximo() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        linhaRegistro = linhaAtual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (c == -1) {
+                campos.add(campo.toString());
+                return campos;
+            }
+            if (entreAspas) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int seguinte = reader.read();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (seguinte != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        linhaAtual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.length() == 0) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                linhaAtual++;
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+            if (campo.length() > TAMANHO_MAXIMO_CAMPO) {
+                throw new IllegalArgumentException("Campo excede " + TAMANHO_MAXIMO_CAMPO
+                        + " caracteres no registro da linha " + linhaRegistro + " (aspas sem fechamento?)");
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Obtém o número da linha do arquivo onde começa o último registro lido.
+     *
+     * @return Número da linha (a partir de 1)
+     */
+    public int getLinha() {
+        return linhaRegistro;
+    }
+
+    /**
+     * Obtém o separador detectado.
+     *
+     * @return Vírgula ou ponto e vírgula
+     */
+    public char getSeparador() {
+        return separador;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int contar(String texto, char caractere) {
+        int total = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == caractere) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hortifruti.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem bloqueio, para limitar a taxa de requisições de um cliente.
+ *
+ * <p>O balde comporta até {@code capacidade} tokens e ganha um token a cada intervalo. Em vez
+ * de guardar a contagem de tokens e o instante do último reabastecimento (dois valores que
+ * precisariam mudar juntos), guarda apenas o "instante teórico de chegada" do algoritmo GCRA,
+ * que é equivalente: o balde está cheio quando esse instante já passou, e cada token consumido
+ * o adia em um intervalo. Assim o estado cabe em um único {@link AtomicLong} e cada consumo é
+ * um compare-and-set, sem locks.
+ *
+ * <p>Os instantes são em nanossegundos de {@link System#nanoTime()} e recebidos como parâmetro.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong chegadaTeorica;
+
+    /**
+     * Cria o balde cheio.
+     *
+     * @param capacidade Número máximo de tokens (rajada permitida)
+     * @param intervaloNanos Tempo para ganhar um token, em nanossegundos
+     * @param agora Instante atual
+     * @throws IllegalArgumentException Se a capacidade ou o intervalo não forem positivos
+     */
+    public BaldeTokens(int capacidade, long intervaloNanos, long agora) {
+        if (capacidade < 1 || intervaloNanos < 1) {
+            throw new IllegalArgumentException("Capacidade e intervalo devem ser positivos");
+        }
+        this.intervaloNanos = intervaloNanos;
+        this.toleranciaNanos = (capacidade - 1) * intervaloNanos;
+        this.chegadaTeorica = new AtomicLong(agora);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @param agora Instante atual
+     * @return 0 se o token foi consumido; senão, o tempo até haver um token, em nanossegundos
+     */
+    public long consumir(long agora) {
+        while (true) {
+            long atual = chegadaTeorica.get();
+            long base = Math.max(atual, agora);
+            long espera = base - toleranciaNanos - agora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (chegadaTeorica.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Obtém quantos tokens estão disponíveis.
+     *
+     * @param agora Instante atual
+     * @return Tokens disponíveis, de 0 até a capacidade
+     */
+    public long disponiveis(long agora) {
+        long folga = agora + toleranciaNanos + intervaloNanos - Math.max(chegadaTeorica.get(), agora);
+        return Math.max(0, folga / intervaloNanos);
+    }
+
+    /**
+     * Indica se o balde está cheio, ou seja, se descartá-lo não muda o limite do cliente.
+     *
+     * @param agora Instante atual
+     * @return true se não há consumo pendente de reposição
+     */
+    public boolean cheio(long agora) {
+        return chegadaTeorica.get() <= agora;
+    }
+}
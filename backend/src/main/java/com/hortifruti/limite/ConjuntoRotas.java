@@ -0,0 +1,56 @@
+package com.hortifruti.limite;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conjunto de rotas escritas como {@code "MÉTODO /padrão"} ou {@code "/padrão"} (qualquer
+ * método), com padrões Ant ({@code /clientes/*}, {@code /vendas/**}) relativos ao context-path.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class ConjuntoRotas {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final List<String[]> rotas = new ArrayList<>();
+
+    /**
+     * Cria o conjunto, ignorando entradas vazias.
+     *
+     * @param rotas Rotas ("POST /auth/login", "/clientes/importacao")
+     */
+    public ConjuntoRotas(String[] rotas) {
+        for (String rota : rotas) {
+            String texto = rota.trim();
+            if (texto.isEmpty()) {
+                continue;
+            }
+            int espaco = texto.indexOf(' ');
+            this.rotas.add(espaco < 0
+                    ? new String[]{null, texto}
+                    : new String[]{texto.substring(0, espaco).toUpperCase(Locale.ROOT), texto.substring(espaco + 1).trim()});
+        }
+    }
+
+    /**
+     * Verifica se uma requisição pertence ao conjunto.
+     *
+     * @param metodo Método HTTP
+     * @param caminho Caminho sem o context-path
+     * @return true se alguma rota atende a requisição
+     */
+    public boolean atende(String metodo, String caminho) {
+        for (String[] rota : rotas) {
+            if ((rota[0] == null || rota[0].equals(metodo)) && MATCHER.match(rota[1], caminho)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hortifruti.limite;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grupo de rotas com o mesmo limite de taxa, com um {@link BaldeTokens} por cliente.
+ *
+ * <p>As rotas seguem o formato de {@link ConjuntoRotas}. Baldes cheios são descartados por
+ * {@link #limpar(long)}; acima de {@code chavesMaximas} clientes, os novos dividem um único
+ * balde, para que a memória não cresça sem limite.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class GrupoLimite {
+
+    /**
+     * Como o cliente de uma requisição é identificado.
+     */
+    public enum Chave {
+        /** Endereço IP */
+        IP,
+        /** Usuário do token JWT (IP quando não há token válido) */
+        USUARIO
+    }
+
+    private final String nome;
+    private final ConjuntoRotas rotas;
+    private final int capacidade;
+    private final long intervaloNanos;
+    private final Chave chave;
+    private final int chavesMaximas;
+    private final ConcurrentMap<String, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    private final BaldeTokens excedente;
+
+    /**
+     * Cria o grupo.
+     *
+     * @param nome Nome do grupo (usado em métricas e logs)
+     * @param rotas Rotas do grupo ("POST /auth/login", "/clientes/importacao")
+     * @param capacidade Requisições permitidas em rajada
+     * @param porMinuto Requisições por minuto, em regime
+     * @param chave Como identificar o cliente
+     * @param chavesMaximas Número máximo de clientes com balde próprio
+     * @throws IllegalArgumentException Se alguma configuração for inválida
+     */
+    public GrupoLimite(String nome, String[] rotas, int capacidade, int porMinuto, Chave chave, int chavesMaximas) {
+        if (porMinuto < 1) {
+            throw new IllegalArgumentException("Limite por minuto do grupo " + nome + " deve ser positivo");
+        }
+        this.nome = nome;
+        this.rotas = new ConjuntoRotas(rotas);
+        this.capacidade = capacidade;
+        this.intervaloNanos = TimeUnit.MINUTES.toNanos(1) / porMinuto;
+        this.chave = chave;
+        this.chavesMaximas = chavesMaximas;
+        this.excedente = new BaldeTokens(capacidade, intervaloNanos, System.nanoTime());
+    }
+
+    /**
+     * Verifica se uma requisição pertence ao grupo.
+     *
+     * @param metodo Método HTTP
+     * @param caminho Caminho sem o context-path
+     * @return true se alguma rota do grupo atende a requisição
+     */
+    public boolean atende(String metodo, String caminho) {
+        return rotas.atende(metodo, caminho);
+    }
+
+    /**
+     * Consome um token do balde do cliente.
+     *
+     * @param cliente Identificação do cliente
+     * @param agora Instante atual ({@link System#nanoTime()})
+     * @return 0 se a requisição pode seguir; senão, o tempo até haver um token, em nanossegundos
+     */
+    public long consumir(String cliente, long agora) {
+        BaldeTokens balde = baldes.get(cliente);
+        if (balde == null) {
+            balde = baldes.size() >= chavesMaximas
+                    ? excedente
+                    : baldes.computeIfAbsent(cliente, c -> new BaldeTokens(capacidade, intervaloNanos, agora));
+        }
+        return balde.consumir(agora);
+    }
+
+    /**
+     * Descarta os baldes cheios, que equivalem a um cliente sem histórico.
+     *
+     * @param agora Instante atual ({@link System#nanoTime()})
+     */
+    public void limpar(long agora) {
+        baldes.values().removeIf(balde -> balde.cheio(agora));
+    }
+
+    /**
+     * Obtém o nome do grupo.
+     *
+     * @return Nome do grupo
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Obtém como o cliente é identificado.
+     *
+     * @return Tipo de chave
+     */
+    public Chave getChave() {
+        return chave;
+    }
+
+    /**
+     * Obtém o número de clientes com balde próprio.
+     *
+     * @return Número de baldes
+     */
+    public int getClientes() {
+        return baldes.size();
+    }
+}
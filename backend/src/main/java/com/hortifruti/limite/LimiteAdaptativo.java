@@ -0,0 +1,196 @@
+package com.hortifruti.limite;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência que se ajusta pela latência observada (algoritmo de gradiente).
+ *
+ * <p>A cada janela (ao menos {@value #AMOSTRAS_POR_JANELA} amostras e o intervalo configurado),
+ * a latência média da janela (RTT curto) é comparada com a menor média observada (RTT mínimo):
+ * <pre>
+ * gradiente = clamp(tolerancia * rttMinimo / rttCurto, 0.5, 1.0)
+ * novo      = limite * gradiente + sqrt(limite)
+ * limite    = limite * (1 - suavizacao) + novo * suavizacao
+ * </pre>
+ * Com a latência estável o gradiente é 1 e o limite cresce aos poucos; quando as requisições
+ * passam a esperar por recursos (pool de conexões, locks no banco) o RTT curto sobe, o
+ * gradiente cai e o limite diminui antes que as filas cresçam. Enquanto menos da metade do
+ * limite está em uso, o limite não cresce (não há evidência de que aguentaria mais). Se o
+ * limite está perto do mínimo e ainda assim a latência fica fora da tolerância por
+ * {@value #JANELAS_POR_SONDAGEM} janelas seguidas, o RTT mínimo sobe 10% por período, até
+ * refletir o novo patamar (um banco mais lento, por exemplo).
+ *
+ * <p>A admissão é um compare-and-set no contador de requisições em andamento; apenas o
+ * registro de amostras usa o lock, com {@code tryLock}: sob disputa a amostra é descartada
+ * em vez de fazer a requisição esperar.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class LimiteAdaptativo {
+
+    /** Amostras mínimas para fechar uma janela */
+    public static final int AMOSTRAS_POR_JANELA = 10;
+
+    /** Janelas por período de verificação do RTT mínimo */
+    private static final int JANELAS_POR_SONDAGEM = 60;
+
+    /** Quanto o RTT mínimo pode subir a cada sondagem */
+    private static final double DERIVA_MINIMO = 0.1;
+
+    /** Múltiplo do limite mínimo abaixo do qual o RTT mínimo pode subir */
+    private static final int PISO_SONDAGEM = 4;
+
+    private final int minimo;
+    private final int maximo;
+    private final double suavizacao;
+    private final double tolerancia;
+    private final long janelaNanos;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limite;
+    private volatile double rttCurto;
+    private volatile double rttMinimo;
+
+    private long somaRtt;
+    private int amostras;
+    private long inicioJanela;
+    private int janelas;
+    private double minimoSondagem = Double.MAX_VALUE;
+
+    /**
+     * Cria o limite.
+     *
+     * @param inicial Limite inicial
+     * @param minimo Limite mínimo
+     * @param maximo Limite máximo
+     * @param suavizacao Peso de cada ajuste, entre 0 e 1
+     * @param tolerancia Quanto o RTT curto pode exceder o mínimo sem reduzir o limite (ex.: 1.5)
+     * @param janelaMs Duração mínima de uma janela, em milissegundos
+     * @throws IllegalArgumentException Se os limites forem inconsistentes
+     */
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, double suavizacao, double tolerancia, long janelaMs) {
+        if (minimo < 1 || minimo > inicial || inicial > maximo) {
+            throw new IllegalArgumentException("Limites devem satisfazer 1 <= mínimo <= inicial <= máximo");
+        }
+        if (suavizacao <= 0 || suavizacao > 1 || tolerancia < 1) {
+            throw new IllegalArgumentException("Suavização deve estar em (0, 1] e tolerância ser ao menos 1");
+        }
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.suavizacao = suavizacao;
+        this.tolerancia = tolerancia;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.inicioJanela = System.nanoTime();
+    }
+
+    /**
+     * Tenta admitir uma requisição que pode usar a fração informada do limite.
+     *
+     * @param fracao Parte do limite disponível para a prioridade da requisição (0 a 1)
+     * @return true se admitida; nesse caso {@link #liberar} deve ser chamado ao fim
+     */
+    public boolean adquirir(double fracao) {
+        int permitido = Math.max(1, (int) (limite * fracao));
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= permitido) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma requisição admitida e, opcionalmente, registra sua latência.
+     *
+     * @param rttNanos Duração da requisição, em nanossegundos
+     * @param amostrar Se a latência deve ser considerada (false para erros e respostas em streaming)
+     */
+    public void liberar(long rttNanos, boolean amostrar) {
+        int emVoo = emAndamento.getAndDecrement();
+        if (!amostrar || !lock.tryLock()) {
+            return;
+        }
+        try {
+            somaRtt += rttNanos;
+            amostras++;
+            long agora = System.nanoTime();
+            if (amostras >= AMOSTRAS_POR_JANELA && agora - inicioJanela >= janelaNanos) {
+                atualizar((double) somaRtt / amostras, emVoo);
+                somaRtt = 0;
+                amostras = 0;
+                inicioJanela = agora;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void atualizar(double curto, int emVoo) {
+        rttCurto = curto;
+        minimoSondagem = Math.min(minimoSondagem, curto);
+        if (rttMinimo == 0 || curto < rttMinimo) {
+            rttMinimo = curto;
+        } else if (++janelas >= JANELAS_POR_SONDAGEM) {
+            // Latência fora da tolerância o período inteiro mesmo com o limite perto do piso não
+            // é fila: o patamar mudou (banco mais lento) e o mínimo sobe 10%
+            if (minimoSondagem > tolerancia * rttMinimo && limite < PISO_SONDAGEM * minimo) {
+                rttMinimo *= 1 + DERIVA_MINIMO;
+            }
+            minimoSondagem = Double.MAX_VALUE;
+            janelas = 0;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttMinimo / curto));
+        if (gradiente >= 1.0 && emVoo < limite / 2) {
+            return;
+        }
+        double novo = limite * gradiente + Math.sqrt(limite);
+        novo = limite * (1 - suavizacao) + novo * suavizacao;
+        limite = Math.max(minimo, Math.min(maximo, novo));
+    }
+
+    /**
+     * Obtém o limite atual.
+     *
+     * @return Número de requisições simultâneas permitidas
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Obtém o número de requisições em andamento.
+     *
+     * @return Requisições admitidas e ainda não liberadas
+     */
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    /**
+     * Obtém a latência média da última janela.
+     *
+     * @return RTT curto, em segundos
+     */
+    public double getRttCurtoSegundos() {
+        return rttCurto / 1e9;
+    }
+
+    /**
+     * Obtém a menor latência média observada desde a última redescoberta.
+     *
+     * @return RTT mínimo, em segundos
+     */
+    public double getRttMinimoSegundos() {
+        return rttMinimo / 1e9;
+    }
+}
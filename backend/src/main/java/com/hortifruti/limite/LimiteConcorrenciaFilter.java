@@ -0,0 +1,284 @@
+package com.hortifruti.limite;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro que limita as requisições simultâneas com um {@link LimiteAdaptativo} e descarta as
+ * menos importantes quando o servidor satura.
+ *
+ * <p>Sem ele, num pico de fim de dia as requisições se acumulam nas filas do Tomcat e do
+ * Hikari e a latência de todas cresce junto. Aqui cada requisição recebe uma prioridade, e
+ * cada prioridade pode ocupar apenas uma fração do limite:
+ * <ul>
+ *   <li>{@code alta} (criar, finalizar e cancelar vendas): o limite inteiro;</li>
+ *   <li>{@code normal} (demais rotas): {@code app.concorrencia.fracao-normal} do limite;</li>
+ *   <li>{@code baixa} (listagens, dashboard, PDFs e sincronização):
+ *       {@code app.concorrencia.fracao-baixa} do limite.</li>
+ * </ul>
+ * Assim, quando o limite encolhe, as rotas de baixa prioridade são recusadas primeiro (503 com
+ * {@code Retry-After}) e sobra espaço para as vendas. Actuator e requisições {@code OPTIONS}
+ * não passam pelo limite.
+ *
+ * <p>As listagens em NDJSON ({@code app.concorrencia.excluidas.rotas}) duram o tempo que o
+ * cliente levar para ler e distorceriam a latência do limite adaptativo; em vez dele, têm um
+ * teto fixo próprio de respostas simultâneas ({@code app.concorrencia.streams.maximo}). Com
+ * threads de plataforma cada uma prende uma thread do Tomcat durante toda a leitura, então o
+ * teto deve ficar bem abaixo de {@code server.tomcat.threads.max}.
+ *
+ * <p>A latência alimenta o limite apenas para respostas abaixo de 500 e sem processamento
+ * assíncrono; respostas em streaming ocupam o limite até terminarem, mas não são amostradas.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 9)
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteConcorrenciaFilter.class);
+
+    /**
+     * Prioridade de uma requisição.
+     */
+    public enum Prioridade {
+        /** Criação, finalização e cancelamento de vendas */
+        ALTA,
+        /** Rotas sem classificação específica */
+        NORMAL,
+        /** Listagens, dashboard, PDFs e sincronização */
+        BAIXA
+    }
+
+    private final boolean habilitado;
+    private final LimiteAdaptativo limite;
+    private final ConjuntoRotas rotasAlta;
+    private final ConjuntoRotas rotasBaixa;
+    private final ConjuntoRotas rotasExcluidas;
+    private final int streamsMaximo;
+    private final Semaphore streams;
+    private final Counter rejeicoesStreams;
+    private final Map<Prioridade, Double> fracoes = new EnumMap<>(Prioridade.class);
+    private final Map<Prioridade, Counter> rejeicoes = new EnumMap<>(Prioridade.class);
+
+    /**
+     * Construtor que recebe as dependências e configurações via injeção de dependência.
+     *
+     * @param registry Registro de métricas
+     * @param habilitado Se o limite está ativo
+     * @param inicial Limite inicial de requisições simultâneas
+     * @param minimo Limite mínimo
+     * @param maximo Limite máximo
+     * @param suavizacao Peso de cada ajuste do limite
+     * @param tolerancia Aumento de latência tolerado antes de reduzir o limite
+     * @param janelaMs Duração mínima de uma janela de amostras
+     * @param fracaoNormal Fração do limite para a prioridade normal
+     * @param fracaoBaixa Fração do limite para a prioridade baixa
+     * @param rotasAlta Rotas de prioridade alta
+     * @param rotasBaixa Rotas de prioridade baixa
+     * @param rotasExcluidas Rotas fora do limite adaptativo (listagens em streaming)
+     * @param streamsMaximo Número máximo de respostas simultâneas nas rotas fora do limite
+     */
+    @Autowired
+    public LimiteConcorrenciaFilter(MeterRegistry registry,
+                                    @Value("${app.concorrencia.habilitado:true}") boolean habilitado,
+                                    @Value("${app.concorrencia.limite-inicial:20}") int inicial,
+                                    @Value("${app.concorrencia.limite-minimo:4}") int minimo,
+                                    @Value("${app.concorrencia.limite-maximo:200}") int maximo,
+                                    @Value("${app.concorrencia.suavizacao:0.2}") double suavizacao,
+                                    @Value("${app.concorrencia.tolerancia:1.5}") double tolerancia,
+                                    @Value("${app.concorrencia.janela-ms:1000}") long janelaMs,
+                                    @Value("${app.concorrencia.fracao-normal:0.8}") double fracaoNormal,
+                                    @Value("${app.concorrencia.fracao-baixa:0.5}") double fracaoBaixa,
+                                    @Value("${app.concorrencia.alta.rotas:POST /vendas,PUT /vendas/*/finalizar,PUT /vendas/numero/*/finalizar,PUT /vendas/*/finalizar/pdf,PUT /vendas/*/cancelar}") String[] rotasAlta,
+                                    @Value("${app.concorrencia.baixa.rotas:GET /vendas,GET /vendas/cliente/**,GET /vendas/status/**,GET /vendas/separacao/**,GET /vendas/entregas/**,GET /**/pdf,GET /produtos,GET /clientes,GET /clientes/pagina,/dashboard/**,/sync/**}") String[] rotasBaixa,
+                                    @Value("${app.concorrencia.excluidas.rotas:GET /produtos/stream,GET /clientes/stream,GET /vendas/stream}") String[] rotasExcluidas,
+                                    @Value("${app.concorrencia.streams.maximo:10}") int streamsMaximo) {
+        if (fracaoNormal <= 0 || fracaoNormal > 1 || fracaoBaixa <= 0 || fracaoBaixa > fracaoNormal) {
+            throw new IllegalArgumentException("Frações devem satisfazer 0 < baixa <= normal <= 1");
+        }
+        if (streamsMaximo < 1) {
+            throw new IllegalArgumentException("app.concorrencia.streams.maximo deve ser positivo");
+        }
+        this.habilitado = habilitado;
+        this.limite = new LimiteAdaptativo(inicial, minimo, maximo, suavizacao, tolerancia, janelaMs);
+        this.rotasAlta = new ConjuntoRotas(rotasAlta);
+        this.rotasBaixa = new ConjuntoRotas(rotasBaixa);
+        this.rotasExcluidas = new ConjuntoRotas(rotasExcluidas);
+        this.streamsMaximo = streamsMaximo;
+        this.streams = new Semaphore(streamsMaximo);
+        fracoes.put(Prioridade.ALTA, 1.0);
+        fracoes.put(Prioridade.NORMAL, fracaoNormal);
+        fracoes.put(Prioridade.BAIXA, fracaoBaixa);
+
+        Gauge.builder("hortiflow.concorrencia.limite", limite, LimiteAdaptativo::getLimite)
+                .description("Requisições simultâneas permitidas")
+                .register(registry);
+        Gauge.builder("hortiflow.concorrencia.em-andamento", limite, LimiteAdaptativo::getEmAndamento)
+                .description("Requisições simultâneas em andamento")
+                .register(registry);
+        Gauge.builder("hortiflow.concorrencia.rtt", limite, LimiteAdaptativo::getRttCurtoSegundos)
+                .description("Latência média da última janela")
+                .tag("janela", "curta")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("hortiflow.concorrencia.rtt", limite, LimiteAdaptativo::getRttMinimoSegundos)
+                .description("Menor latência média observada")
+                .tag("janela", "minima")
+                .baseUnit("seconds")
+                .register(registry);
+        for (Prioridade prioridade : Prioridade.values()) {
+            rejeicoes.put(prioridade, Counter.builder("hortiflow.concorrencia.rejeicoes")
+                    .description("Requisições descartadas pelo limite de concorrência")
+                    .tag("prioridade", prioridade.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.rejeicoesStreams = Counter.builder("hortiflow.concorrencia.rejeicoes")
+                .description("Requisições descartadas pelo limite de concorrência")
+                .tag("prioridade", "stream")
+                .register(registry);
+        Gauge.builder("hortiflow.concorrencia.streams", streams, s -> streamsMaximo - s.availablePermits())
+                .description("Listagens em streaming em andamento")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || caminho(request).startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rotasExcluidas.atende(request.getMethod(), caminho(request))) {
+            if (!streams.tryAcquire()) {
+                rejeicoesStreams.increment();
+                logger.debug("Listagem em streaming descartada: limite de {} simultâneas atingido", streamsMaximo);
+                recusar(response);
+                return;
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                streams.release();
+            }
+            return;
+        }
+
+        Prioridade prioridade = classificar(request.getMethod(), caminho(request));
+        if (!limite.adquirir(fracoes.get(prioridade))) {
+            rejeicoes.get(prioridade).increment();
+            logger.debug("Requisição de prioridade {} descartada: {} em andamento, limite {}",
+                    prioridade, limite.getEmAndamento(), limite.getLimite());
+            recusar(response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean concluida = false;
+        try {
+            filterChain.doFilter(request, response);
+            concluida = true;
+        } finally {
+            if (concluida && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Liberacao());
+            } else {
+                limite.liberar(System.nanoTime() - inicio, concluida && response.getStatus() < 500);
+            }
+        }
+    }
+
+    /**
+     * Classifica uma requisição.
+     *
+     * @param metodo Método HTTP
+     * @param caminho Caminho sem o context-path
+     * @return Prioridade da requisição
+     */
+    Prioridade classificar(String metodo, String caminho) {
+        if (rotasAlta.atende(metodo, caminho)) {
+            return Prioridade.ALTA;
+        }
+        if (rotasBaixa.atende(metodo, caminho)) {
+            return Prioridade.BAIXA;
+        }
+        return Prioridade.NORMAL;
+    }
+
+    private String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":503,\"error\":\"Service Unavailable\","
+                + "\"message\":\"Servidor sobrecarregado; tente novamente em 1 segundo\"}");
+    }
+
+    /**
+     * Libera a vaga de uma requisição assíncrona (streaming) quando ela termina.
+     */
+    private final class Liberacao implements AsyncListener {
+
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                limite.liberar(0, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.hortifruti.limite;
+
+import com.hortifruti.security.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que limita a taxa de requisições por cliente em grupos de rotas caras.
+ *
+ * <p>Roda antes do Spring Security, de modo que uma rajada recusada custa apenas uma
+ * consulta a um mapa e um compare-and-set. Os grupos são:
+ * <ul>
+ *   <li>{@code login}: login e refresh, por IP — cada tentativa faz uma verificação BCrypt;</li>
+ *   <li>{@code pesado}: PDFs e importações, por usuário do token (ou IP sem token).</li>
+ * </ul>
+ * Requisições acima do limite recebem 429 com {@code Retry-After}. O IP é o do socket; com
+ * {@code app.limite.confiar-proxy=true} vale o endereço que o proxy mais externo acrescentou a
+ * {@code X-Forwarded-For}: o {@code app.limite.proxies}-ésimo a partir da direita. Os
+ * endereços mais à esquerda vêm do próprio cliente e não servem de chave.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteTaxaFilter.class);
+
+    private final boolean habilitado;
+    private final boolean confiarProxy;
+    private final int proxies;
+    private final JwtService jwtService;
+    private final List<GrupoLimite> grupos;
+    private final Map<String, Counter> rejeicoes = new HashMap<>();
+
+    /**
+     * Construtor que recebe as dependências e configurações via injeção de dependência.
+     *
+     * @param jwtService Serviço de JWT, para identificar o usuário
+     * @param registry Registro de métricas
+     * @param habilitado Se o limite está ativo
+     * @param confiarProxy Se o IP deve ser lido de X-Forwarded-For
+     * @param proxies Número de proxies confiáveis na frente da aplicação
+     * @param chavesMaximas Número máximo de clientes com balde próprio por grupo
+     * @param rotasLogin Rotas do grupo login
+     * @param capacidadeLogin Rajada do grupo login
+     * @param porMinutoLogin Requisições por minuto do grupo login
+     * @param rotasPesado Rotas do grupo pesado
+     * @param capacidadePesado Rajada do grupo pesado
+     * @param porMinutoPesado Requisições por minuto do grupo pesado
+     */
+    @Autowired
+    public LimiteTaxaFilter(JwtService jwtService, MeterRegistry registry,
+                            @Value("${app.limite.habilitado:true}") boolean habilitado,
+                            @Value("${app.limite.confiar-proxy:false}") boolean confiarProxy,
+                            @Value("${app.limite.proxies:1}") int proxies,
+                            @Value("${app.limite.chaves-maximas:100000}") int chavesMaximas,
+                            @Value("${app.limite.login.rotas:POST /auth/login,POST /auth/refresh}") String[] rotasLogin,
+                            @Value("${app.limite.login.capacidade:10}") int capacidadeLogin,
+                            @Value("${app.limite.login.por-minuto:10}") int porMinutoLogin,
+                            @Value("${app.limite.pesado.rotas:GET /vendas/**/pdf,POST /clientes/importacao,POST /produtos/precos,POST /enderecos/cep/importacao}") String[] rotasPesado,
+                            @Value("${app.limite.pesado.capacidade:5}") int capacidadePesado,
+                            @Value("${app.limite.pesado.por-minuto:30}") int porMinutoPesado) {
+        this.habilitado = habilitado;
+        this.confiarProxy = confiarProxy;
+        this.proxies = Math.max(1, proxies);
+        this.jwtService = jwtService;
+        this.grupos = List.of(
+                new GrupoLimite("login", rotasLogin, capacidadeLogin, porMinutoLogin, GrupoLimite.Chave.IP, chavesMaximas),
+                new GrupoLimite("pesado", rotasPesado, capacidadePesado, porMinutoPesado, GrupoLimite.Chave.USUARIO,
+                        chavesMaximas));
+        for (GrupoLimite grupo : grupos) {
+            rejeicoes.put(grupo.getNome(), Counter.builder("hortiflow.limite.rejeicoes")
+                    .description("Requisições recusadas pelo limite de taxa")
+                    .tag("grupo", grupo.getNome())
+                    .register(registry));
+            Gauge.builder("hortiflow.limite.clientes", grupo, GrupoLimite::getClientes)
+                    .description("Clientes com balde de tokens em uso")
+                    .tag("grupo", grupo.getNome())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (habilitado) {
+            String caminho = request.getRequestURI().substring(request.getContextPath().length());
+            for (GrupoLimite grupo : grupos) {
+                if (grupo.atende(request.getMethod(), caminho)) {
+                    long espera = grupo.consumir(cliente(request, grupo.getChave()), System.nanoTime());
+                    if (espera > 0) {
+                        recusar(response, grupo, espera);
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Descarta periodicamente os baldes cheios, que equivalem a clientes sem histórico.
+     */
+    @Scheduled(fixedDelayString = "${app.limite.limpeza-ms:60000}")
+    public void limpar() {
+        long agora = System.nanoTime();
+        for (GrupoLimite grupo : grupos) {
+            grupo.limpar(agora);
+        }
+    }
+
+    private String cliente(HttpServletRequest request, GrupoLimite.Chave chave) {
+        if (chave == GrupoLimite.Chave.USUARIO) {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith("Bearer ")) {
+                try {
+                    return "u:" + jwtService.parse(header.substring(7)).getSubject();
+                } catch (Exception ignored) {
+                    // Token inválido: limitado pelo IP, como uma requisição anônima
+                }
+            }
+        }
+        return "ip:" + ip(request);
+    }
+
+    private String ip(HttpServletRequest request) {
+        if (confiarProxy) {
+            // Cada proxy acrescenta à direita o endereço de quem o chamou; várias linhas do cabeçalho valem como uma lista
+            List<String> enderecos = new ArrayList<>();
+            for (String linha : Collections.list(request.getHeaders("X-Forwarded-For"))) {
+                for (String endereco : linha.split(",")) {
+                    if (!endereco.isBlank()) {
+                        enderecos.add(endereco.trim());
+                    }
+                }
+            }
+            if (enderecos.size() >= proxies) {
+                return enderecos.get(enderecos.size() - proxies);
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void recusar(HttpServletResponse response, GrupoLimite grupo, long esperaNanos) throws IOException {
+        long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        rejeicoes.get(grupo.getNome()).increment();
+        logger.debug("Requisição recusada pelo limite do grupo {}; nova tentativa em {}s", grupo.getNome(), segundos);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+                + "\"message\":\"Muitas requisições; tente novamente em " + segundos + " segundos\"}");
+    }
+}
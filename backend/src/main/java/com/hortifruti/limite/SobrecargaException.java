@@ -0,0 +1,34 @@
+package com.hortifruti.limite;
+
+/**
+ * Exceção lançada quando uma requisição é recusada para proteger o servidor (limite de
+ * taxa, fila cheia ou tempo de espera esgotado). Respondida com 503 e {@code Retry-After}.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    /**
+     * Cria a exceção.
+     *
+     * @param mensagem Mensagem para o cliente
+     * @param retryAfterSegundos Segundos sugeridos antes de tentar novamente
+     */
+    public SobrecargaException(String mensagem, long retryAfterSegundos) {
+        super(mensagem);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    /**
+     * Obtém o tempo sugerido antes de tentar novamente.
+     *
+     * @return Segundos para o cabeçalho Retry-After
+     */
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,256 @@
+package com.hortifruti.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Classe que representa um endereço de entrega de um cliente.
+ *
+ * <p>Cada cliente com endereços tem exatamente um endereço principal, usado como
+ * entrega padrão das vendas; o índice único parcial {@code uk_enderecos_cliente_principal}
+ * impede que haja dois.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "enderecos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "enderecos")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Endereco {
+
+    /** Identificador único do endereço */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Cliente dono do endereço */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    @JsonIgnore
+    private Cliente cliente;
+
+    /** Rua */
+    @Column(name = "rua")
+    private String rua;
+
+    /** Número */
+    @Column(name = "numero")
+    private String numero;
+
+    /** Complemento */
+    @Column(name = "complemento")
+    private String complemento;
+
+    /** Bairro */
+    @Column(name = "bairro")
+    private String bairro;
+
+    /** Cidade */
+    @Column(name = "cidade")
+    private String cidade;
+
+    /** Estado (UF) */
+    @Column(name = "estado")
+    private String estado;
+
+    /** CEP */
+    @Column(name = "cep")
+    private String cep;
+
+    /** Se é o endereço principal (entrega padrão) do cliente */
+    @Column(name = "principal", nullable = false)
+    private Boolean principal = false;
+
+    /**
+     * Construtor padrão da classe Endereco.
+     */
+    public Endereco() {
+    }
+
+    // Getters e Setters
+
+    /**
+     * Obtém o identificador do endereço.
+     *
+     * @return ID do endereço
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Define o identificador do endereço.
+     *
+     * @param id ID do endereço
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Obtém o cliente dono do endereço.
+     *
+     * @return Cliente
+     */
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    /**
+     * Define o cliente dono do endereço.
+     *
+     * @param cliente Cliente
+     */
+    public void setCliente(Cliente cliente) {
+        this.cliente = cliente;
+    }
+
+    /**
+     * Obtém a rua.
+     *
+     * @return Rua
+     */
+    public String getRua() {
+        return rua;
+    }
+
+    /**
+     * Define a rua.
+     *
+     * @param rua Rua
+     */
+    public void setRua(String rua) {
+        this.rua = rua;
+    }
+
+    /**
+     * Obtém o número.
+     *
+     * @return Número
+     */
+    public String getNumero() {
+        return numero;
+    }
+
+    /**
+     * Define o número.
+     *
+     * @param numero Número
+     */
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    /**
+     * Obtém o complemento.
+     *
+     * @return Complemento
+     */
+    public String getComplemento() {
+        return complemento;
+    }
+
+    /**
+     * Define o complemento.
+     *
+     * @param complemento Complemento
+     */
+    public void setComplemento(String complemento) {
+        this.complemento = complemento;
+    }
+
+    /**
+     * Obtém o bairro.
+     *
+     * @return Bairro
+     */
+    public String getBairro() {
+        return bairro;
+    }
+
+    /**
+     * Define o bairro.
+     *
+     * @param bairro Bairro
+     */
+    public void setBairro(String bairro) {
+        this.bairro = bairro;
+    }
+
+    /**
+     * Obtém a cidade.
+     *
+     * @return Cidade
+     */
+    public String getCidade() {
+        return cidade;
+    }
+
+    /**
+     * Define a cidade.
+     *
+     * @param cidade Cidade
+     */
+    public void setCidade(String cidade) {
+        this.cidade = cidade;
+    }
+
+    /**
+     * Obtém o estado (UF).
+     *
+     * @return Estado (UF)
+     */
+    public String getEstado() {
+        return estado;
+    }
+
+    /**
+     * Define o estado (UF).
+     *
+     * @param estado Estado (UF)
+     */
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Obtém o CEP.
+     *
+     * @return CEP
+     */
+    public String getCep() {
+        return cep;
+    }
+
+    /**
+     * Define o CEP.
+     *
+     * @param cep CEP
+     */
+    public void setCep(String cep) {
+        this.cep = cep;
+    }
+
+    /**
+     * Indica se é o endereço principal do cliente.
+     *
+     * @return true se for o principal
+     */
+    public Boolean getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * Define se é o endereço principal do cliente.
+     *
+     * @param principal true se for o principal
+     */
+    public void setPrincipal(Boolean principal) {
+        this.principal = principal;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hortifruti.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador parcial (shard) do estoque de um produto.
+ *
+ * <p>Produtos muito disputados podem ter as saídas distribuídas entre N shards.
+ * Cada shard recebe uma cota do saldo disponível e só aceita saídas até o limite
+ * dessa cota, o que mantém o estoque total não negativo sem travar a linha do produto.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "produto_estoque_shards")
+public class EstoqueShard {
+
+    /** Identificador único do shard */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Produto ao qual o shard pertence */
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    /** Número do shard (0 a N-1) */
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    /** Quantidade alocada ao shard no último rebalanceamento */
+    @Column(name = "cota", nullable = false)
+    private Double cota;
+
+    /** Saídas registradas no shard desde o último rebalanceamento */
+    @Column(name = "saidas", nullable = false)
+    private Double saidas;
+
+    /**
+     * Construtor padrão da classe EstoqueShard.
+     */
+    public EstoqueShard() {
+        this.cota = 0.0;
+        this.saidas = 0.0;
+    }
+
+    /**
+     * Calcula o saldo ainda disponível no shard.
+     *
+     * @return Cota menos saídas
+     */
+    public Double getSaldo() {
+        double cotaVal = cota != null ? cota : 0.0;
+        double saidasVal = saidas != null ? saidas : 0.0;
+        return cotaVal - saidasVal;
+    }
+
+    // Getters e Setters
+
+    /**
+     * Obtém o identificador do shard.
+     *
+     * @return ID do shard
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Define o identificador do shard.
+     *
+     * @param id ID do shard
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Obtém o ID do produto.
+     *
+     * @return ID do produto
+     */
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    /**
+     * Define o ID do produto.
+     *
+     * @param produtoId ID do produto
+     */
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    /**
+     * Obtém o número do shard.
+     *
+     * @return Número do shard
+     */
+    public Integer getShard() {
+        return shard;
+    }
+
+    /**
+     * Define o número do shard.
+     *
+     * @param shard Número do shard
+     */
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+
+    /**
+     * Obtém a cota alocada ao shard.
+     *
+     * @return Cota do shard
+     */
+    public Double getCota() {
+        return cota;
+    }
+
+    /**
+     * Define a cota alocada ao shard.
+     *
+     * @param cota Cota do shard
+     */
+    public void setCota(Double cota) {
+        this.cota = cota;
+    }
+
+    /**
+     * Obtém as saídas registradas no shard.
+     *
+     * @return Saídas do shard
+     */
+    public Double getSaidas() {
+        return saidas;
+    }
+
+    /**
+     * Define as saídas registradas no shard.
+     *
+     * @param saidas Saídas do shard
+     */
+    public void setSaidas(Double saidas) {
+        this.saidas = saidas;
+    }
+
+    @Override
+    public String toString() {
+        return "EstoqueShard{" +
+                "produtoId=" + produtoId +
+                ", shard=" + shard +
+                ", cota=" + cota +
+                ", saidas=" + saidas +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EstoqueShard that = (EstoqueShard) obj;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.hortifruti.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro do histórico de preços de um produto.
+ *
+ * <p>As linhas são gravadas por trigger a cada mudança de preço em {@code produtos}
+ * e nunca são alteradas pela aplicação.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Immutable
+@Table(name = "precos_historico")
+public class PrecoHistorico {
+
+    /** Identificador único do registro */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /** ID do produto */
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    /** Preço a partir de {@link #vigenteDesde} */
+    @Column(name = "preco", nullable = false)
+    private Double preco;
+
+    /** Preço anterior (null no primeiro registro do produto) */
+    @Column(name = "preco_anterior")
+    private Double precoAnterior;
+
+    /** Data e hora a partir da qual o preço vale */
+    @Column(name = "vigente_desde", nullable = false)
+    private LocalDateTime vigenteDesde;
+
+    /**
+     * Construtor padrão da classe PrecoHistorico.
+     */
+    public PrecoHistorico() {
+    }
+
+    // Getters e Setters
+
+    /**
+     * Obtém o identificador do registro.
+     *
+     * @return ID do registro
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Define o identificador do registro.
+     *
+     * @param id ID do registro
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Obtém o ID do produto.
+     *
+     * @return ID do produto
+     */
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    /**
+     * Define o ID do produto.
+     *
+     * @param produtoId ID do produto
+     */
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    /**
+     * Obtém o preço.
+     *
+     * @return Preço
+     */
+    public Double getPreco() {
+        return preco;
+    }
+
+    /**
+     * Define o preço.
+     *
+     * @param preco Preço
+     */
+    public void setPreco(Double preco) {
+        this.preco = preco;
+    }
+
+    /**
+     * Obtém o preço anterior.
+     *
+     * @return Preço anterior, ou null no primeiro registro do produto
+     */
+    public Double getPrecoAnterior() {
+        return precoAnterior;
+    }
+
+    /**
+     * Define o preço anterior.
+     *
+     * @param precoAnterior Preço anterior
+     */
+    public void setPrecoAnterior(Double precoAnterior) {
+        this.precoAnterior = precoAnterior;
+    }
+
+    /**
+     * Obtém a data e hora a partir da qual o preço vale.
+     *
+     * @return Início da vigência
+     */
+    public LocalDateTime getVigenteDesde() {
+        return vigenteDesde;
+    }
+
+    /**
+     * Define a data e hora a partir da qual o preço vale.
+     *
+     * @param vigenteDesde Início da vigência
+     */
+    public void setVigenteDesde(LocalDateTime vigenteDesde) {
+        this.vigenteDesde = vigenteDesde;
+    }
+}
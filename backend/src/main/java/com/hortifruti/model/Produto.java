@@ -0,0 +1,406 @@
+package com.hortifruti.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe que representa um produto no sistema Hortifruti.
+ * 
+ * <p>Um produto contém informações sobre nome, preço, embalagem e controle de estoque.
+ * O sistema gerencia automaticamente o estoque através de entradas e saídas, calculando
+ * o estoque atual dinamicamente.
+ * 
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "produtos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produtos")
+public class Produto {
+    
+    /** Identificador único do produto */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /** Nome do produto */
+    @NotBlank(message = "Nome do produto é obrigatório")
+    @Column(name = "nome", nullable = false)
+    private String nome;
+    
+    /** Preço unitário do produto */
+    @NotNull(message = "Preço é obrigatório")
+    @Positive(message = "Preço deve ser maior que zero")
+    @Column(name = "preco", nullable = false)
+    private Double preco;
+    
+    /** Tipo de embalagem do produto */
+    @Column(name = "embalagem")
+    private String embalagem;
+    
+    /** Quantidade inicial em estoque */
+    @PositiveOrZero(message = "Estoque inicial não pode ser negativo")
+    @Column(name = "estoque_inicial")
+    private Double estoqueInicial;
+    
+    /** Total de entradas no estoque */
+    @PositiveOrZero(message = "Entradas não podem ser negativas")
+    @Column(name = "entradas")
+    private Double entradas;
+    
+    /** Total de saídas do estoque */
+    @PositiveOrZero(message = "Saídas não podem ser negativas")
+    @Column(name = "saidas")
+    private Double saidas;
+    
+    /** Saídas registradas nos shards de estoque ainda não consolidadas em {@code saidas} */
+    @Formula("(SELECT COALESCE(SUM(s.saidas), 0) FROM produto_estoque_shards s WHERE s.produto_id = id)")
+    private Double saidasShards;
+    
+    /** Versão do registro, incrementada a cada atualização (controle de concorrência otimista) */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+    
+    /** Posição da última alteração na sequência de sincronização (mantida por trigger) */
+    @Column(name = "seq_alteracao", insertable = false, updatable = false)
+    private Long seqAlteracao;
+    
+    /** Transação da última alteração, parte do cursor de sincronização (mantida por trigger) */
+    @JsonIgnore
+    @Column(name = "xid_alteracao", insertable = false, updatable = false)
+    private Long xidAlteracao;
+    
+    /** Data e hora da última alteração (mantida por trigger) */
+    @Column(name = "atualizado_em", insertable = false, updatable = false)
+    private LocalDateTime atualizadoEm;
+    
+    /**
+     * Construtor padrão da classe Produto.
+     */
+    public Produto() {
+        this.embalagem = "Band. 200m";
+        this.estoqueInicial = 0.0;
+        this.entradas = 0.0;
+        this.saidas = 0.0;
+    }
+    
+    /**
+     * Construtor com parâmetros principais.
+     * 
+     * @param nome Nome do produto
+     * @param preco Preço unitário do produto
+     * @param embalagem Tipo de embalagem
+     */
+    public Produto(String nome, Double preco, String embalagem) {
+        this();
+        this.nome = nome;
+        this.preco = preco;
+        this.embalagem = embalagem;
+    }
+    
+    /**
+     * Construtor completo com todos os parâmetros.
+     * 
+     * @param id Identificador único
+     * @param nome Nome do produto
+     * @param preco Preço unitário
+     * @param embalagem Tipo de embalagem
+     * @param estoqueInicial Estoque inicial
+     * @param entradas Total de entradas
+     * @param saidas Total de saídas
+     */
+    public Produto(Long id, String nome, Double preco, String embalagem, 
+                   Double estoqueInicial, Double entradas, Double saidas) {
+        this.id = id;
+        this.nome = nome;
+        this.preco = preco;
+        this.embalagem = embalagem;
+        this.estoqueInicial = estoqueInicial;
+        this.entradas = entradas;
+        this.saidas = saidas;
+    }
+    
+    /**
+     * Calcula o estoque atual do produto.
+     * 
+     * <p>Para produtos em modo shard, desconta também as saídas registradas nos shards.
+     * 
+     * @return Quantidade atual em estoque
+     */
+    public Double getEstoqueAtual() {
+        double estoqueInicialVal = estoqueInicial != null ? estoqueInicial : 0.0;
+        double entradasVal = entradas != null ? entradas : 0.0;
+        double saidasVal = saidas != null ? saidas : 0.0;
+        double saidasShardsVal = saidasShards != null ? saidasShards : 0.0;
+        return estoqueInicialVal + entradasVal - saidasVal - saidasShardsVal;
+    }
+    
+    /**
+     * Verifica se o produto está com estoque baixo (menos de 10 unidades).
+     * 
+     * @return true se o estoque estiver baixo, false caso contrário
+     */
+    public boolean isEstoqueBaixo() {
+        return getEstoqueAtual() < 10.0;
+    }
+    
+    /**
+     * Calcula o valor total em estoque.
+     * 
+     * @return Valor total do estoque atual
+     */
+    public Double getValorEstoque() {
+        if (preco == null) return 0.0;
+        return getEstoqueAtual() * preco;
+    }
+    
+    // Getters e Setters
+    
+    /**
+     * Obtém o identificador do produto.
+     * 
+     * @return ID do produto
+     */
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * Define o identificador do produto.
+     * 
+     * @param id ID do produto
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    /**
+     * Obtém o nome do produto.
+     * 
+     * @return Nome do produto
+     */
+    public String getNome() {
+        return nome;
+    }
+    
+    /**
+     * Define o nome do produto.
+     * 
+     * @param nome Nome do produto
+     */
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+    
+    /**
+     * Obtém o preço do produto.
+     * 
+     * @return Preço unitário
+     */
+    public Double getPreco() {
+        return preco;
+    }
+    
+    /**
+     * Define o preço do produto.
+     * 
+     * @param preco Preço unitário
+     */
+    public void setPreco(Double preco) {
+        this.preco = preco;
+    }
+    
+    /**
+     * Obtém a embalagem do produto.
+     * 
+     * @return Tipo de embalagem
+     */
+    public String getEmbalagem() {
+        return embalagem;
+    }
+    
+    /**
+     * Define a embalagem do produto.
+     * 
+     * @param embalagem Tipo de embalagem
+     */
+    public void setEmbalagem(String embalagem) {
+        this.embalagem = embalagem;
+    }
+    
+    /**
+     * Obtém o estoque inicial.
+     * 
+     * @return Quantidade inicial em estoque
+     */
+    public Double getEstoqueInicial() {
+        return estoqueInicial;
+    }
+    
+    /**
+     * Define o estoque inicial.
+     * 
+     * @param estoqueInicial Quantidade inicial em estoque
+     */
+    public void setEstoqueInicial(Double estoqueInicial) {
+        this.estoqueInicial = estoqueInicial;
+    }
+    
+    /**
+     * Obtém o total de entradas.
+     * 
+     * @return Total de entradas no estoque
+     */
+    public Double getEntradas() {
+        return entradas;
+    }
+    
+    /**
+     * Define o total de entradas.
+     * 
+     * @param entradas Total de entradas no estoque
+     */
+    public void setEntradas(Double entradas) {
+        this.entradas = entradas;
+    }
+    
+    /**
+     * Obtém o total de saídas.
+     * 
+     * @return Total de saídas do estoque
+     */
+    public Double getSaidas() {
+        return saidas;
+    }
+    
+    /**
+     * Define o total de saídas.
+     * 
+     * @param saidas Total de saídas do estoque
+     */
+    public void setSaidas(Double saidas) {
+        this.saidas = saidas;
+    }
+    
+    /**
+     * Adiciona uma entrada ao estoque.
+     * 
+     * @param quantidade Quantidade a ser adicionada
+     */
+    public void adicionarEntrada(Double quantidade) {
+        this.entradas += quantidade;
+    }
+    
+    /**
+     * Adiciona uma saída ao estoque.
+     * 
+     * @param quantidade Quantidade a ser removida
+     */
+    public void adicionarSaida(Double quantidade) {
+        this.saidas += quantidade;
+    }
+    
+    /**
+     * Obtém a versão do registro (controle de concorrência otimista).
+     * 
+     * @return Versão do produto
+     */
+    public Long getVersao() {
+        return versao;
+    }
+    
+    /**
+     * Define a versão do registro.
+     * 
+     * @param versao Versão do produto
+     */
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+    
+    /**
+     * Obtém a posição da última alteração na sequência de sincronização.
+     * 
+     * @return Sequência da última alteração do produto
+     */
+    public Long getSeqAlteracao() {
+        return seqAlteracao;
+    }
+    
+    /**
+     * Define a posição da última alteração (somente leitura no banco).
+     * 
+     * @param seqAlteracao Sequência da última alteração
+     */
+    public void setSeqAlteracao(Long seqAlteracao) {
+        this.seqAlteracao = seqAlteracao;
+    }
+    
+    /**
+     * Obtém a transação da última alteração.
+     * 
+     * @return ID da transação (txid_current) que gravou a última alteração do produto
+     */
+    public Long getXidAlteracao() {
+        return xidAlteracao;
+    }
+    
+    /**
+     * Define a transação da última alteração (somente leitura no banco).
+     * 
+     * @param xidAlteracao ID da transação da última alteração
+     */
+    public void setXidAlteracao(Long xidAlteracao) {
+        this.xidAlteracao = xidAlteracao;
+    }
+    
+    /**
+     * Obtém a data e hora da última alteração.
+     * 
+     * @return Data e hora da última alteração do produto
+     */
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+    
+    /**
+     * Define a data e hora da última alteração (somente leitura no banco).
+     * 
+     * @param atualizadoEm Data e hora da última alteração
+     */
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+    
+    @Override
+    public String toString() {
+        return "Produto{" +
+                "id=" + id +
+                ", nome='" + nome + '\'' +
+                ", preco=" + preco +
+                ", embalagem='" + embalagem + '\'' +
+                ", estoqueAtual=" + getEstoqueAtual() +
+                '}';
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Produto produto = (Produto) obj;
+        return id != null && id.equals(produto.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+} 
\ No newline at end of file
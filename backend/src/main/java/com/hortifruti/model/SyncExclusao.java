@@ -0,0 +1,139 @@
+package com.hortifruti.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de exclusão (tombstone) usado na sincronização incremental dos caixas.
+ *
+ * <p>As linhas são gravadas por trigger quando um produto ou cliente é removido,
+ * com a mesma sequência usada nas alterações ({@code sync_seq}).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "sync_exclusoes")
+public class SyncExclusao {
+
+    /** Posição da exclusão na sequência de sincronização */
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    /** Entidade excluída (PRODUTO, CLIENTE) */
+    @Column(name = "entidade", nullable = false, length = 20)
+    private String entidade;
+
+    /** ID do registro excluído */
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+
+    /** Data e hora da exclusão */
+    @Column(name = "excluido_em", nullable = false)
+    private LocalDateTime excluidoEm;
+
+    /** Transação que fez a exclusão, parte do cursor de sincronização */
+    @Column(name = "xid", nullable = false, insertable = false, updatable = false)
+    private Long xid;
+
+    /**
+     * Construtor padrão da classe SyncExclusao.
+     */
+    public SyncExclusao() {
+    }
+
+    // Getters e Setters
+
+    /**
+     * Obtém a posição da exclusão na sequência de sincronização.
+     *
+     * @return Sequência da exclusão
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Define a posição da exclusão na sequência de sincronização.
+     *
+     * @param seq Sequência da exclusão
+     */
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * Obtém a entidade excluída.
+     *
+     * @return Nome da entidade (PRODUTO, CLIENTE)
+     */
+    public String getEntidade() {
+        return entidade;
+    }
+
+    /**
+     * Define a entidade excluída.
+     *
+     * @param entidade Nome da entidade
+     */
+    public void setEntidade(String entidade) {
+        this.entidade = entidade;
+    }
+
+    /**
+     * Obtém o ID do registro excluído.
+     *
+     * @return ID do registro
+     */
+    public Long getEntidadeId() {
+        return entidadeId;
+    }
+
+    /**
+     * Define o ID do registro excluído.
+     *
+     * @param entidadeId ID do registro
+     */
+    public void setEntidadeId(Long entidadeId) {
+        this.entidadeId = entidadeId;
+    }
+
+    /**
+     * Obtém a data e hora da exclusão.
+     *
+     * @return Data e hora da exclusão
+     */
+    public LocalDateTime getExcluidoEm() {
+        return excluidoEm;
+    }
+
+    /**
+     * Define a data e hora da exclusão.
+     *
+     * @param excluidoEm Data e hora da exclusão
+     */
+    public void setExcluidoEm(LocalDateTime excluidoEm) {
+        this.excluidoEm = excluidoEm;
+    }
+
+    /**
+     * Obtém a transação que fez a exclusão.
+     *
+     * @return ID da transação (txid_current)
+     */
+    public Long getXid() {
+        return xid;
+    }
+
+    /**
+     * Define a transação que fez a exclusão.
+     *
+     * @param xid ID da transação
+     */
+    public void setXid(Long xid) {
+        this.xid = xid;
+    }
+}
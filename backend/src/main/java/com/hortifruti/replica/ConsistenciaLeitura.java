@@ -0,0 +1,96 @@
+package com.hortifruti.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Consistência exigida das leituras da thread atual: o instante (epoch em milissegundos) a
+ * partir do qual uma réplica precisa estar atualizada para atendê-las.
+ *
+ * <p>É definida pelo {@link ConsistenciaLeituraFilter} no início de cada requisição (última
+ * escrita do usuário) e avançada pelo {@link RegistroEscritas} a cada escrita confirmada na
+ * própria thread, de modo que quem acabou de gravar lê o que gravou. Sem definição, qualquer
+ * réplica dentro do atraso máximo serve; {@link #PRIMARIO} exige o primário.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class ConsistenciaLeitura {
+
+    /** Exigência que nenhuma réplica atende: as leituras vão ao primário */
+    public static final long PRIMARIO = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Long> EXIGIDA = new ThreadLocal<>();
+
+    private ConsistenciaLeitura() {
+    }
+
+    /**
+     * Obtém a consistência exigida na thread atual.
+     *
+     * @return Instante exigido, ou null se qualquer réplica serve
+     */
+    public static Long exigida() {
+        return EXIGIDA.get();
+    }
+
+    /**
+     * Define a consistência exigida na thread atual.
+     *
+     * @param desde Instante exigido (null para nenhum)
+     * @return Valor anterior (pode ser null), para {@link #restaurar(Long)}
+     */
+    public static Long definir(Long desde) {
+        Long anterior = EXIGIDA.get();
+        if (desde == null) {
+            EXIGIDA.remove();
+        } else {
+            EXIGIDA.set(desde);
+        }
+        return anterior;
+    }
+
+    /**
+     * Restaura a consistência anterior da thread atual.
+     *
+     * @param anterior Valor devolvido por {@link #definir(Long)}
+     */
+    public static void restaurar(Long anterior) {
+        definir(anterior);
+    }
+
+    /**
+     * Registra uma escrita confirmada: as próximas leituras da thread exigem réplicas
+     * atualizadas até ela.
+     *
+     * @param instante Instante da confirmação (epoch em milissegundos)
+     */
+    public static void registrarEscrita(long instante) {
+        Long atual = EXIGIDA.get();
+        if (atual == null || atual < instante) {
+            EXIGIDA.set(instante);
+        }
+    }
+
+    /**
+     * Executa uma leitura exigindo, além da consistência atual, réplicas atualizadas até um
+     * instante. Usado pelas leituras compartilhadas (cache, coalescência), que não podem guardar
+     * um resultado anterior à alteração que as invalidou.
+     *
+     * @param desde Instante exigido (0 para nenhum)
+     * @param leitura Leitura a executar
+     * @param <T> Tipo do resultado
+     * @return Resultado da leitura
+     */
+    public static <T> T exigindo(long desde, Supplier<T> leitura) {
+        Long anterior = EXIGIDA.get();
+        if (desde > 0 && (anterior == null || anterior < desde)) {
+            EXIGIDA.set(desde);
+        }
+        try {
+            return leitura.get();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hortifruti.replica;
+
+import com.hortifruti.limite.ConjuntoRotas;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Filtro que define a {@link ConsistenciaLeitura} de cada requisição, para que um usuário leia
+ * as próprias escritas mesmo com réplicas atrasadas.
+ *
+ * <p>Roda depois do Spring Security. No início da requisição, a consistência exigida é a última
+ * escrita confirmada do usuário do token; ao final, se a requisição gravou algo (registrado por
+ * {@link RegistroEscritas}), o instante é guardado para as próximas requisições do mesmo
+ * usuário. As rotas de {@code app.replicas.primario.rotas} (sincronização e autenticação, que
+ * dependem de dados recém-gravados por outras requisições) leem sempre do primário.
+ *
+ * <p>Só atua com réplicas configuradas ({@code app.replicas.urls}).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class ConsistenciaLeituraFilter extends OncePerRequestFilter {
+
+    private final boolean habilitado;
+    private final ConjuntoRotas rotasPrimario;
+    private final long retencaoMs;
+    private final ConcurrentMap<String, Long> ultimasEscritas = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor que recebe as configurações via injeção de dependência.
+     *
+     * @param urls URLs das réplicas; sem nenhuma, o filtro não atua
+     * @param rotasPrimario Rotas que leem sempre do primário
+     * @param retencaoMs Por quanto tempo a última escrita de um usuário é lembrada
+     */
+    @Autowired
+    public ConsistenciaLeituraFilter(@Value("${app.replicas.urls:}") String[] urls,
+                                     @Value("${app.replicas.primario.rotas:/sync/**,/auth/**}") String[] rotasPrimario,
+                                     @Value("${app.replicas.retencao-escritas-ms:60000}") long retencaoMs) {
+        this.habilitado = Arrays.stream(urls).anyMatch(url -> !url.isBlank());
+        this.rotasPrimario = new ConjuntoRotas(rotasPrimario);
+        this.retencaoMs = retencaoMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        String usuario = usuario();
+        Long exigida = rotasPrimario.atende(request.getMethod(), caminho)
+                ? Long.valueOf(ConsistenciaLeitura.PRIMARIO)
+                : usuario != null ? ultimasEscritas.get(usuario) : null;
+
+        Long anterior = ConsistenciaLeitura.definir(exigida);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Long depois = ConsistenciaLeitura.exigida();
+            if (usuario != null && depois != null && depois != ConsistenciaLeitura.PRIMARIO
+                    && (exigida == null || depois > exigida)) {
+                ultimasEscritas.merge(usuario, depois, Math::max);
+            }
+            ConsistenciaLeitura.restaurar(anterior);
+        }
+    }
+
+    /**
+     * Esquece as escritas antigas, que qualquer réplica dentro do atraso máximo já contém.
+     */
+    @Scheduled(fixedDelayString = "${app.replicas.retencao-escritas-ms:60000}")
+    public void limpar() {
+        long limite = System.currentTimeMillis() - retencaoMs;
+        ultimasEscritas.values().removeIf(instante -> instante < limite);
+    }
+
+    private static String usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !autenticacao.isAuthenticated()
+                || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+}
@@ -0,0 +1,202 @@
+package com.hortifruti.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DataSource das transações somente leitura: entrega conexões de uma {@link Replica}
+ * atualizada o bastante, ou do primário quando nenhuma serve.
+ *
+ * <p>Uma réplica atende a leitura quando:
+ * <ul>
+ *   <li>a última verificação foi bem-sucedida;</li>
+ *   <li>o atraso não passa de {@code app.replicas.atraso-maximo-ms};</li>
+ *   <li>está atualizada até a {@link ConsistenciaLeitura} exigida pela thread (leitura das
+ *       próprias escritas).</li>
+ * </ul>
+ * Entre as que atendem, a escolha é alternada. Se a réplica escolhida não entrega a conexão,
+ * ela fica indisponível até a próxima verificação e a leitura segue para o primário.
+ *
+ * <p>Métricas: {@code hortiflow.replicas.leituras{destino=replica|primario}} e, por réplica,
+ * {@code hortiflow.replicas.atraso{replica}} e {@code hortiflow.replicas.disponivel{replica}}.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class DataSourceReplicas extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceReplicas.class);
+
+    private final List<Replica> replicas;
+    private final DataSource primario;
+    private final long atrasoMaximoMs;
+    private final long retencaoAmostrasMs;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimario;
+
+    private final ReentrantLock verificacao = new ReentrantLock();
+    private final Deque<Replica.AmostraWal> amostras = new ArrayDeque<>();
+
+    /**
+     * Cria o DataSource.
+     *
+     * @param replicas Réplicas de leitura (pode ser vazia: tudo vai ao primário)
+     * @param primario DataSource do primário
+     * @param atrasoMaximoMs Atraso máximo para uma réplica atender leituras
+     * @param registry Registro de métricas
+     */
+    public DataSourceReplicas(List<Replica> replicas, DataSource primario, long atrasoMaximoMs,
+                              MeterRegistry registry) {
+        if (atrasoMaximoMs < 0) {
+            throw new IllegalArgumentException("app.replicas.atraso-maximo-ms não pode ser negativo");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.primario = primario;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        // Amostras mais antigas que isso não tornam nenhuma réplica elegível
+        this.retencaoAmostrasMs = Math.max(atrasoMaximoMs * 2, 10_000);
+
+        this.leiturasReplica = Counter.builder("hortiflow.replicas.leituras")
+                .description("Transações somente leitura por destino")
+                .tag("destino", "replica")
+                .register(registry);
+        this.leiturasPrimario = Counter.builder("hortiflow.replicas.leituras")
+                .description("Transações somente leitura por destino")
+                .tag("destino", "primario")
+                .register(registry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("hortiflow.replicas.atraso", replica, r -> r.atraso(System.currentTimeMillis()) / 1000.0)
+                    .description("Atraso da réplica em relação ao primário")
+                    .tag("replica", replica.getNome())
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("hortiflow.replicas.disponivel", replica, r -> r.isDisponivel() ? 1 : 0)
+                    .description("Se a réplica respondeu à última verificação")
+                    .tag("replica", replica.getNome())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = escolher(ConsistenciaLeitura.exigida(), System.currentTimeMillis());
+        if (replica != null) {
+            try {
+                Connection conexao = replica.getPool().getConnection();
+                leiturasReplica.increment();
+                return conexao;
+            } catch (SQLException e) {
+                replica.marcarIndisponivel(e.getMessage());
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    /**
+     * Conexão com credenciais explícitas: vai sempre ao primário, já que os pools das réplicas
+     * têm as próprias credenciais.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        leiturasPrimario.increment();
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * Escolhe a réplica de uma leitura.
+     *
+     * @param exigida Consistência exigida (null para nenhuma)
+     * @param agora Instante atual (epoch em ms)
+     * @return Réplica escolhida, ou null para o primário
+     */
+    Replica escolher(Long exigida, long agora) {
+        int quantidade = replicas.size();
+        if (quantidade == 0) {
+            return null;
+        }
+        int inicio = Math.floorMod(proxima.getAndIncrement(), quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Replica replica = replicas.get((inicio + i) % quantidade);
+            if (replica.isDisponivel()
+                    && replica.atraso(agora) <= atrasoMaximoMs
+                    && (exigida == null || replica.getAtualizadaAte() >= exigida)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lê a posição atual do WAL no primário e verifica até onde cada réplica chegou.
+     */
+    @Scheduled(fixedDelayString = "${app.replicas.verificacao-ms:1000}")
+    public void verificar() {
+        if (replicas.isEmpty() || !verificacao.tryLock()) {
+            return;
+        }
+        try {
+            long agora = System.currentTimeMillis();
+            try {
+                amostras.addLast(new Replica.AmostraWal(agora, posicaoPrimario()));
+            } catch (SQLException | RuntimeException e) {
+                // Sem a posição do primário, as amostras anteriores ainda medem as réplicas
+                logger.warn("Não foi possível ler a posição do WAL no primário: {}", e.getMessage());
+            }
+            while (!amostras.isEmpty() && amostras.peekFirst().instante() < agora - retencaoAmostrasMs) {
+                amostras.removeFirst();
+            }
+            List<Replica.AmostraWal> atuais = new ArrayList<>(amostras);
+            for (Replica replica : replicas) {
+                replica.verificar(atuais);
+            }
+        } finally {
+            verificacao.unlock();
+        }
+    }
+
+    private long posicaoPrimario() throws SQLException {
+        try (Connection conexao = primario.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery("SELECT CAST(pg_current_wal_lsn() AS text)")) {
+            resultado.next();
+            return Replica.AmostraWal.posicao(resultado.getString(1));
+        }
+    }
+
+    /**
+     * Obtém as réplicas configuradas.
+     *
+     * @return Réplicas
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Fecha os pools das réplicas (o primário é fechado pelo seu próprio bean).
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getPool().close());
+    }
+}
@@ -0,0 +1,28 @@
+package com.hortifruti.replica;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Registra na {@link ConsistenciaLeitura} da thread cada transação de escrita confirmada, para
+ * que as leituras seguintes da mesma requisição (e, via {@link ConsistenciaLeituraFilter}, as
+ * próximas requisições do usuário) não caiam numa réplica que ainda não a aplicou.
+ *
+ * <p>O Spring Boot associa os {@link TransactionExecutionListener}s ao gerenciador de
+ * transações autoconfigurado.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+public class RegistroEscritas implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            ConsistenciaLeitura.registrarEscrita(System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.hortifruti.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Réplica de leitura (standby PostgreSQL) com seu pool de conexões e o estado da última
+ * verificação de atraso.
+ *
+ * <p>O atraso é medido por posição no WAL: a cada verificação o primário informa sua posição
+ * atual ({@code pg_current_wal_lsn()}) e a réplica, até onde já aplicou
+ * ({@code pg_last_wal_replay_lsn()}). A réplica está atualizada até o instante da amostra mais
+ * recente do primário que ela já alcançou; isso vale também com o primário ocioso ou com a
+ * replicação interrompida, casos em que o horário da última transação aplicada engana.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class Replica {
+
+    private static final Logger logger = LoggerFactory.getLogger(Replica.class);
+
+    private final String nome;
+    private final HikariDataSource pool;
+
+    private volatile boolean disponivel;
+    /** Instante (epoch em ms) até o qual todas as escritas do primário já foram aplicadas */
+    private volatile long atualizadaAte;
+
+    /**
+     * Cria a réplica, inicialmente indisponível até a primeira verificação.
+     *
+     * @param nome Nome usado em logs e métricas
+     * @param pool Pool de conexões da réplica
+     */
+    public Replica(String nome, HikariDataSource pool) {
+        this.nome = nome;
+        this.pool = pool;
+    }
+
+    /**
+     * Consulta a réplica e atualiza seu estado.
+     *
+     * @param amostras Posições do primário, da mais antiga para a mais recente
+     */
+    void verificar(List<AmostraWal> amostras) {
+        try (Connection conexao = pool.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery(
+                     "SELECT pg_is_in_recovery(), CAST(pg_last_wal_replay_lsn() AS text)")) {
+            resultado.next();
+            String aplicada = resultado.getString(2);
+            if (!resultado.getBoolean(1) || aplicada == null) {
+                atualizar(false, "não é um standby em recuperação");
+                return;
+            }
+            long posicao = AmostraWal.posicao(aplicada);
+            for (int i = amostras.size() - 1; i >= 0; i--) {
+                if (amostras.get(i).posicao() <= posicao) {
+                    atualizadaAte = Math.max(atualizadaAte, amostras.get(i).instante());
+                    break;
+                }
+            }
+            logger.debug("Réplica {}: atraso de {} ms", nome, atraso(System.currentTimeMillis()));
+            atualizar(true, null);
+        } catch (SQLException | RuntimeException e) {
+            atualizar(false, e.getMessage());
+        }
+    }
+
+    /**
+     * Marca a réplica como indisponível até a próxima verificação bem-sucedida.
+     *
+     * @param motivo Motivo, para o log
+     */
+    void marcarIndisponivel(String motivo) {
+        atualizar(false, motivo);
+    }
+
+    private void atualizar(boolean disponivelAgora, String motivo) {
+        if (disponivel && !disponivelAgora) {
+            logger.warn("Réplica {} indisponível, leituras seguem para o primário: {}", nome, motivo);
+        } else if (!disponivel && disponivelAgora) {
+            logger.info("Réplica {} disponível", nome);
+        }
+        disponivel = disponivelAgora;
+    }
+
+    /**
+     * Obtém o nome da réplica.
+     *
+     * @return Nome
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Obtém o pool de conexões da réplica.
+     *
+     * @return Pool
+     */
+    public HikariDataSource getPool() {
+        return pool;
+    }
+
+    /**
+     * Informa se a última verificação foi bem-sucedida.
+     *
+     * @return true se disponível
+     */
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Obtém o instante até o qual a réplica está atualizada.
+     *
+     * @return Epoch em milissegundos (0 se ainda desconhecido)
+     */
+    public long getAtualizadaAte() {
+        return atualizadaAte;
+    }
+
+    /**
+     * Obtém o atraso da réplica em relação a um instante.
+     *
+     * @param agora Instante de referência (epoch em ms)
+     * @return Atraso em milissegundos
+     */
+    public long atraso(long agora) {
+        return Math.max(0, agora - atualizadaAte);
+    }
+
+    /**
+     * Posição do WAL do primário em um instante.
+     *
+     * @param instante Epoch em milissegundos em que a posição foi lida
+     * @param posicao Posição no WAL
+     */
+    record AmostraWal(long instante, long posicao) {
+
+        /**
+         * Converte uma posição no formato do PostgreSQL ({@code "16/B374D848"}).
+         *
+         * @param lsn Posição em texto
+         * @return Posição numérica
+         */
+        static long posicao(String lsn) {
+            int barra = lsn.indexOf('/');
+            if (barra < 0) {
+                throw new IllegalArgumentException("Posição de WAL inválida: " + lsn);
+            }
+            return (Long.parseLong(lsn.substring(0, barra), 16) << 32) | Long.parseLong(lsn.substring(barra + 1), 16);
+        }
+    }
+}
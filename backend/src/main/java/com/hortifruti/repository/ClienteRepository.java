@@ -0,0 +1,203 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade Cliente.
+ */
+@Repository
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteRepositoryCustom {
+    /**
+     * Retorna todos os clientes ordenados por nome em ordem ascendente.
+     * O resultado fica no cache de consultas até a próxima alteração em clientes.
+     * @return Lista de clientes ordenada por nome
+     */
+    @Query("SELECT c FROM Cliente c ORDER BY c.nome")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Cliente> findAllSortedByNome();
+
+    /**
+     * Busca o próximo lote de clientes em ordem de ID, a partir de um cursor (paginação por chave).
+     * @param apos Último ID já lido (0 para o primeiro lote)
+     * @param pageable Tamanho do lote
+     * @return Clientes com ID maior que o cursor, em ordem de ID
+     */
+    @Query("SELECT c FROM Cliente c WHERE c.id > :apos ORDER BY c.id")
+    List<Cliente> findLoteApos(@Param("apos") Long apos, Pageable pageable);
+
+    /**
+     * Atualiza os dados de um cliente em um único UPDATE, incrementando a versão.
+     * @param id O ID do cliente
+     * @param cliente Os novos dados do cliente
+     * @param versao A versão esperada (null atualiza sem verificar a versão)
+     * @return 1 se o cliente foi atualizado, 0 se não existe ou a versão não confere
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Cliente c SET c.nome = :#{#cliente.nome}, c.cpf = :#{#cliente.cpf}, c.estado = :#{#cliente.estado}, "
+            + "c.telefone = :#{#cliente.telefone}, c.cnpj = :#{#cliente.cnpj}, c.ie = :#{#cliente.ie}, "
+            + "c.condPgto = :#{#cliente.condPgto}, c.banco = :#{#cliente.banco}, c.versao = c.versao + 1 "
+            + "WHERE c.id = :id AND (:versao IS NULL OR c.versao = :versao)")
+    int atualizarCadastro(@Param("id") Long id, @Param("cliente") Cliente cliente, @Param("versao") Long versao);
+
+    /**
+     * Busca o cliente no banco, sem ler o cache de segundo nível. Depois de {@link #atualizarCadastro},
+     * o cache só é invalidado no commit e ainda devolveria a versão anterior.
+     * @param id O ID do cliente.
+     * @return Um Optional com o cliente atualizado, se existir.
+     */
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<Cliente> findByIdSemCache(@Param("id") Long id);
+
+    /**
+     * Busca os clientes alterados após um cursor de sincronização (transação, sequência),
+     * somente por transações já encerradas.
+     * @param xid Transação do último cursor recebido pelo caixa
+     * @param seq Sequência do último cursor recebido pelo caixa
+     * @param xmin Menor transação ainda em andamento; alterações dela em diante ficam para depois
+     * @param pageable Limite de registros
+     * @return Clientes em ordem de transação e sequência da última alteração
+     */
+    @Query("SELECT c FROM Cliente c WHERE c.xidAlteracao >= :xid AND c.xidAlteracao < :xmin "
+            + "AND (c.xidAlteracao > :xid OR c.seqAlteracao > :seq) ORDER BY c.xidAlteracao, c.seqAlteracao")
+    List<Cliente> findAlteradosDesde(@Param("xid") Long xid, @Param("seq") Long seq, @Param("xmin") Long xmin,
+                                     Pageable pageable);
+
+    /**
+     * Busca IDs de clientes pelo nome normalizado (sem acentos e minúsculo), em faixas de relevância:
+     * prefixo do nome, início de outra palavra e, por fim, palavras parecidas (pg_trgm, tolera erros de digitação).
+     * Cada faixa lê no máximo {@code janela} linhas pelos índices de V6.
+     * @param termo O termo já normalizado
+     * @param fim Limite superior exclusivo do intervalo de prefixo (termo seguido de '{')
+     * @param contem Padrão LIKE para início de palavra ('% termo%')
+     * @param janela Número de linhas lidas por faixa (deslocamento + quantidade)
+     * @param inicio Deslocamento da página
+     * @param quantidade Tamanho da página
+     * @return IDs dos clientes em ordem de relevância
+     */
+    @Query(value = "SELECT c.id FROM ("
+            + " (SELECT id, nome_busca, 1 AS faixa FROM clientes"
+            + "   WHERE nome_busca >= :termo AND nome_busca < :fim ORDER BY nome_busca LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 2 AS faixa FROM clientes WHERE nome_busca LIKE :contem LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 3 AS faixa FROM clientes WHERE :termo <% nome_busca LIMIT :janela)"
+            + ") c GROUP BY c.id, c.nome_busca"
+            + " ORDER BY MIN(c.faixa), word_similarity(:termo, c.nome_busca) DESC, c.nome_busca, c.id"
+            + " OFFSET :inicio LIMIT :quantidade", nativeQuery = true)
+    List<Long> buscarIdsPorNome(@Param("termo") String termo, @Param("fim") String fim,
+                                @Param("contem") String contem, @Param("janela") int janela,
+                                @Param("inicio") int inicio, @Param("quantidade") int quantidade);
+
+    /**
+     * Busca IDs de clientes por CPF, CNPJ ou telefone (somente dígitos), em faixas de relevância:
+     * documento ou telefone exato, prefixo de qualquer um deles e trecho do telefone (ex.: sem o DDD).
+     * @param digitos Os dígitos digitados (no mínimo 3)
+     * @param fim Limite superior exclusivo do intervalo de prefixo (dígitos seguidos de ':')
+     * @param contem Padrão LIKE para trecho do telefone ('%digitos%')
+     * @param janela Número de linhas lidas por faixa (deslocamento + quantidade)
+     * @param inicio Deslocamento da página
+     * @param quantidade Tamanho da página
+     * @return IDs dos clientes em ordem de relevância
+     */
+    @Query(value = "SELECT c.id FROM ("
+            + " (SELECT id, nome_busca, 1 AS faixa FROM clientes"
+            + "   WHERE cpf_digitos = :digitos OR cnpj_digitos = :digitos OR telefone_digitos = :digitos LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 2 AS faixa FROM clientes"
+            + "   WHERE cpf_digitos >= :digitos AND cpf_digitos < :fim ORDER BY cpf_digitos LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 2 AS faixa FROM clientes"
+            + "   WHERE cnpj_digitos >= :digitos AND cnpj_digitos < :fim ORDER BY cnpj_digitos LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 2 AS faixa FROM clientes"
+            + "   WHERE telefone_digitos >= :digitos AND telefone_digitos < :fim ORDER BY telefone_digitos LIMIT :janela)"
+            + " UNION ALL"
+            + " (SELECT id, nome_busca, 3 AS faixa FROM clientes WHERE telefone_digitos LIKE :contem LIMIT :janela)"
+            + ") c GROUP BY c.id, c.nome_busca"
+            + " ORDER BY MIN(c.faixa), c.nome_busca, c.id"
+            + " OFFSET :inicio LIMIT :quantidade", nativeQuery = true)
+    List<Long> buscarIdsPorDigitos(@Param("digitos") String digitos, @Param("fim") String fim,
+                                   @Param("contem") String contem, @Param("janela") int janela,
+                                   @Param("inicio") int inicio, @Param("quantidade") int quantidade);
+
+    /**
+     * Busca os clientes cujo CPF, somente dígitos, está entre os informados (índice de V6).
+     * @param digitos CPFs somente com dígitos
+     * @return CPF normalizado, CPF como gravado, ID e data da última alteração de cada cliente encontrado
+     */
+    @Query(value = "SELECT cpf_digitos AS cpfDigitos, cpf AS cpf, id AS id, atualizado_em AS atualizadoEm "
+            + "FROM clientes WHERE cpf_digitos = ANY(CAST(:digitos AS varchar[]))", nativeQuery = true)
+    List<CpfCadastrado> findPorCpfDigitos(@Param("digitos") String[] digitos);
+
+    /**
+     * Insere ou atualiza (pelo CPF) um lote de clientes em um único comando.
+     * Campos vazios no lote não apagam os dados já cadastrados; a versão é incrementada nas atualizações.
+     * Os arrays são paralelos: a posição i de cada um descreve o mesmo cliente.
+     * @param nomes Nomes
+     * @param cpfs CPFs, no formato em que já estão gravados quando o cliente existe
+     * @param estados Estados
+     * @param telefones Telefones
+     * @param cnpjs CNPJs
+     * @param ies Inscrições estaduais
+     * @param condPgtos Condições de pagamento
+     * @param bancos Bancos
+     * @return ID, CPF normalizado e se o cliente foi inserido (false quando atualizado) de cada linha
+     */
+    @Query(value = "INSERT INTO clientes (nome, cpf, estado, telefone, cnpj, ie, cond_pgto, banco, versao) "
+            + "SELECT t.nome, t.cpf, t.estado, t.telefone, t.cnpj, t.ie, t.cond_pgto, t.banco, 0 "
+            + "FROM unnest(CAST(:nomes AS text[]), CAST(:cpfs AS text[]), CAST(:estados AS text[]), "
+            + "            CAST(:telefones AS text[]), CAST(:cnpjs AS text[]), CAST(:ies AS text[]), "
+            + "            CAST(:condPgtos AS text[]), CAST(:bancos AS text[])) "
+            + "     AS t(nome, cpf, estado, telefone, cnpj, ie, cond_pgto, banco) "
+            + "ON CONFLICT (cpf) DO UPDATE SET nome = EXCLUDED.nome, "
+            + "    estado = COALESCE(EXCLUDED.estado, clientes.estado), "
+            + "    telefone = COALESCE(EXCLUDED.telefone, clientes.telefone), "
+            + "    cnpj = COALESCE(EXCLUDED.cnpj, clientes.cnpj), "
+            + "    ie = COALESCE(EXCLUDED.ie, clientes.ie), "
+            + "    cond_pgto = COALESCE(EXCLUDED.cond_pgto, clientes.cond_pgto), "
+            + "    banco = COALESCE(EXCLUDED.banco, clientes.banco), "
+            + "    versao = clientes.versao + 1 "
+            + "RETURNING id AS id, cpf_digitos AS cpfDigitos, (xmax = 0) AS inserido", nativeQuery = true)
+    List<ClienteImportado> importarEmLote(@Param("nomes") String[] nomes, @Param("cpfs") String[] cpfs,
+                                          @Param("estados") String[] estados, @Param("telefones") String[] telefones,
+                                          @Param("cnpjs") String[] cnpjs, @Param("ies") String[] ies,
+                                          @Param("condPgtos") String[] condPgtos, @Param("bancos") String[] bancos);
+
+    /**
+     * Projeção de um cliente encontrado pelo CPF normalizado.
+     */
+    interface CpfCadastrado {
+        String getCpfDigitos();
+
+        String getCpf();
+
+        Long getId();
+
+        LocalDateTime getAtualizadoEm();
+    }
+
+    /**
+     * Projeção de uma linha retornada por {@link #importarEmLote}.
+     */
+    interface ClienteImportado {
+        Long getId();
+
+        String getCpfDigitos();
+
+        Boolean getInserido();
+    }
+}
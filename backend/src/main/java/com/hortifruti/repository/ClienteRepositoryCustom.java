@@ -0,0 +1,29 @@
+package com.hortifruti.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de clientes montadas dinamicamente, complementares ao {@link ClienteRepository}.
+ */
+public interface ClienteRepositoryCustom {
+
+    /**
+     * Campos que podem ser selecionados em {@link #listarPagina}; {@code id} e {@code nome}
+     * sempre são incluídos, pois formam a chave da paginação.
+     */
+    List<String> CAMPOS = List.of("id", "nome", "cpf", "estado", "telefone", "cnpj", "ie", "condPgto", "banco", "versao");
+
+    /**
+     * Lista uma página de clientes ordenada por (nome, id), a partir da chave do último
+     * cliente da página anterior (paginação por chave, sem OFFSET), selecionando no SQL
+     * apenas os campos pedidos.
+     * @param campos Campos a selecionar (subconjunto de {@link #CAMPOS})
+     * @param aposNome Nome do último cliente da página anterior (null na primeira página)
+     * @param aposId ID do último cliente da página anterior (null na primeira página)
+     * @param limite Número máximo de linhas
+     * @return Linhas com os campos pedidos, na ordem de {@link #CAMPOS}
+     * @throws IllegalArgumentException Se algum campo não for permitido
+     */
+    List<Map<String, Object>> listarPagina(List<String> campos, String aposNome, Long aposId, int limite);
+}
@@ -0,0 +1,66 @@
+package com.hortifruti.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação das consultas dinâmicas de {@link ClienteRepositoryCustom}.
+ *
+ * <p>A lista de colunas do SELECT é montada apenas a partir de {@link ClienteRepositoryCustom#CAMPOS};
+ * nenhum texto vindo da requisição entra na consulta.
+ */
+public class ClienteRepositoryCustomImpl implements ClienteRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Construtor padrão.
+     */
+    public ClienteRepositoryCustomImpl() {
+    }
+
+    @Override
+    public List<Map<String, Object>> listarPagina(List<String> campos, String aposNome, Long aposId, int limite) {
+        for (String campo : campos) {
+            if (!CAMPOS.contains(campo)) {
+                throw new IllegalArgumentException("Campo não permitido: " + campo);
+            }
+        }
+        String selecao = CAMPOS.stream()
+                .filter(campo -> campo.equals("id") || campo.equals("nome") || campos.contains(campo))
+                .map(campo -> "c." + campo + " AS " + campo)
+                .collect(Collectors.joining(", "));
+
+        // "c.nome >= :nome" é redundante com o OR, mas permite ao PostgreSQL iniciar a leitura
+        // do índice (nome, id) na posição da chave em vez de filtrar desde o início
+        String jpql = "SELECT " + selecao + " FROM Cliente c"
+                + (aposNome != null ? " WHERE c.nome >= :nome AND (c.nome > :nome OR c.id > :id)" : "")
+                + " ORDER BY c.nome, c.id";
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class).setMaxResults(limite);
+        if (aposNome != null) {
+            query.setParameter("nome", aposNome).setParameter("id", aposId);
+        }
+
+        List<Tuple> tuplas = query.getResultList();
+        List<Map<String, Object>> linhas = new ArrayList<>(tuplas.size());
+        for (Tuple tupla : tuplas) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            for (TupleElement<?> elemento : tupla.getElements()) {
+                linha.put(elemento.getAlias(), tupla.get(elemento));
+            }
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,103 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.Endereco;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade Endereco.
+ */
+@Repository
+public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
+
+    /**
+     * Lista os endereços de um cliente, com o principal primeiro.
+     * @param clienteId O ID do cliente
+     * @return Endereços do cliente
+     */
+    List<Endereco> findByClienteIdOrderByPrincipalDesc(Long clienteId);
+
+    /**
+     * Busca o ID do endereço principal de um cliente (índice único parcial de V9).
+     * O resultado fica no cache de consultas até a próxima alteração em enderecos.
+     * @param clienteId O ID do cliente
+     * @return O ID do endereço principal, se o cliente tiver endereços
+     */
+    @Query("SELECT e.id FROM Endereco e WHERE e.cliente.id = :clienteId AND e.principal = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Long> findPrincipalIdByClienteId(@Param("clienteId") Long clienteId);
+
+    /**
+     * Verifica se o endereço pertence ao cliente.
+     * @param id O ID do endereço
+     * @param clienteId O ID do cliente
+     * @return true se o endereço existe e pertence ao cliente
+     */
+    boolean existsByIdAndClienteId(Long id, Long clienteId);
+
+    /**
+     * Desmarca o endereço principal de um cliente. Deve ser seguido, na mesma transação,
+     * da marcação de outro endereço (a verificação de V9 só acontece no commit).
+     * @param clienteId O ID do cliente
+     * @return O número de endereços desmarcados (0 ou 1)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Endereco e SET e.principal = false WHERE e.cliente.id = :clienteId AND e.principal = true")
+    int desmarcarPrincipal(@Param("clienteId") Long clienteId);
+
+    /**
+     * Marca um endereço como principal.
+     * @param id O ID do endereço
+     * @return O número de endereços atualizados (0 ou 1)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Endereco e SET e.principal = true WHERE e.id = :id")
+    int marcarPrincipal(@Param("id") Long id);
+
+    /**
+     * Atualiza o endereço principal de cada cliente do lote ou, se ele não tiver um, cria-o como principal.
+     * Na atualização, valores nulos mantêm o que já está gravado.
+     * Os arrays são paralelos: a posição i de cada um descreve o endereço do mesmo cliente.
+     * @param clienteIds IDs dos clientes
+     * @param ruas Ruas
+     * @param numeros Números
+     * @param complementos Complementos
+     * @param bairros Bairros
+     * @param cidades Cidades
+     * @param estados Estados
+     * @param ceps CEPs
+     * @return Número de endereços inseridos
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "enderecos"))
+    @Query(value = "WITH dados AS ("
+            + "  SELECT * FROM unnest(CAST(:clienteIds AS bigint[]), CAST(:ruas AS text[]), CAST(:numeros AS text[]), "
+            + "                       CAST(:complementos AS text[]), CAST(:bairros AS text[]), CAST(:cidades AS text[]), "
+            + "                       CAST(:estados AS text[]), CAST(:ceps AS text[])) "
+            + "    AS t(cliente_id, rua, numero, complemento, bairro, cidade, estado, cep)"
+            + "), atualizados AS ("
+            + "  UPDATE enderecos e SET rua = COALESCE(d.rua, e.rua), numero = COALESCE(d.numero, e.numero), "
+            + "         complemento = COALESCE(d.complemento, e.complemento), bairro = COALESCE(d.bairro, e.bairro), "
+            + "         cidade = COALESCE(d.cidade, e.cidade), estado = COALESCE(d.estado, e.estado), "
+            + "         cep = COALESCE(d.cep, e.cep) "
+            + "  FROM dados d WHERE e.cliente_id = d.cliente_id AND e.principal "
+            + "  RETURNING e.cliente_id"
+            + ") "
+            + "INSERT INTO enderecos (cliente_id, rua, numero, complemento, bairro, cidade, estado, cep, principal) "
+            + "SELECT d.cliente_id, d.rua, d.numero, d.complemento, d.bairro, d.cidade, d.estado, d.cep, true "
+            + "FROM dados d WHERE NOT EXISTS (SELECT 1 FROM atualizados a WHERE a.cliente_id = d.cliente_id)",
+            nativeQuery = true)
+    int importarEnderecosPrincipais(@Param("clienteIds") Long[] clienteIds, @Param("ruas") String[] ruas,
+                                    @Param("numeros") String[] numeros, @Param("complementos") String[] complementos,
+                                    @Param("bairros") String[] bairros, @Param("cidades") String[] cidades,
+                                    @Param("estados") String[] estados, @Param("ceps") String[] ceps);
+}
@@ -0,0 +1,128 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.EstoqueShard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório para a entidade EstoqueShard.
+ *
+ * <p>As alterações nativas declaram só o espaço dos shards: o estoque do produto em cache
+ * (que soma as saídas dos shards) é descartado por ID após o commit, como nas demais baixas.
+ */
+@Repository
+public interface EstoqueShardRepository extends JpaRepository<EstoqueShard, Long> {
+
+    /**
+     * Verifica se o produto está em modo shard.
+     * @param produtoId O ID do produto.
+     * @return true se o produto possui shards.
+     */
+    boolean existsByProdutoId(Long produtoId);
+
+    /**
+     * Conta os shards de um produto.
+     * @param produtoId O ID do produto.
+     * @return O número de shards.
+     */
+    int countByProdutoId(Long produtoId);
+
+    /**
+     * Busca os shards de um produto ordenados pelo número do shard.
+     * @param produtoId O ID do produto.
+     * @return Lista de shards do produto.
+     */
+    List<EstoqueShard> findByProdutoIdOrderByShard(Long produtoId);
+
+    /**
+     * Registra uma saída em um shard, somente se a cota restante do shard comportar a quantidade.
+     * @param produtoId O ID do produto.
+     * @param shard O número do shard.
+     * @param quantidade A quantidade a ser retirada.
+     * @return 1 se a saída foi registrada, 0 se o shard não tinha saldo suficiente.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produto_estoque_shards"))
+    @Query(value = "UPDATE produto_estoque_shards SET saidas = saidas + :qtd "
+            + "WHERE produto_id = :produtoId AND shard = :shard AND cota - saidas >= :qtd", nativeQuery = true)
+    int consumir(@Param("produtoId") Long produtoId, @Param("shard") int shard, @Param("qtd") Double quantidade);
+
+    /**
+     * Devolve uma quantidade a um shard (ex.: cancelamento de venda).
+     * @param produtoId O ID do produto.
+     * @param shard O número do shard.
+     * @param quantidade A quantidade devolvida.
+     * @return O número de registros atualizados.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produto_estoque_shards"))
+    @Query(value = "UPDATE produto_estoque_shards SET saidas = saidas - :qtd "
+            + "WHERE produto_id = :produtoId AND shard = :shard", nativeQuery = true)
+    int devolver(@Param("produtoId") Long produtoId, @Param("shard") int shard, @Param("qtd") Double quantidade);
+
+    /**
+     * Soma as saídas de todos os shards de um produto, travando os shards até o fim da transação.
+     * @param produtoId O ID do produto.
+     * @return A soma das saídas dos shards.
+     */
+    @Query(value = "SELECT COALESCE(SUM(saidas), 0) FROM "
+            + "(SELECT saidas FROM produto_estoque_shards WHERE produto_id = :produtoId FOR UPDATE) s", nativeQuery = true)
+    Double somarSaidasParaAtualizacao(@Param("produtoId") Long produtoId);
+
+    /**
+     * Cria N shards vazios para um produto.
+     * @param produtoId O ID do produto.
+     * @param quantidade O número de shards.
+     * @return O número de shards criados.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produto_estoque_shards"))
+    @Query(value = "INSERT INTO produto_estoque_shards (produto_id, shard, cota, saidas) "
+            + "SELECT :produtoId, g, 0, 0 FROM generate_series(0, :quantidade - 1) AS g", nativeQuery = true)
+    int criarShards(@Param("produtoId") Long produtoId, @Param("quantidade") int quantidade);
+
+    /**
+     * Remove todos os shards de um produto.
+     * @param produtoId O ID do produto.
+     * @return O número de shards removidos.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produto_estoque_shards"))
+    @Query(value = "DELETE FROM produto_estoque_shards WHERE produto_id = :produtoId", nativeQuery = true)
+    int removerShards(@Param("produtoId") Long produtoId);
+
+    /**
+     * Lista as alterações de shards após um cursor de sincronização (transação, sequência),
+     * somente por transações já encerradas. Um produto pode aparecer mais de uma vez.
+     * @param xid Transação do último cursor recebido pelo caixa.
+     * @param seq Sequência do último cursor recebido pelo caixa.
+     * @param xmin Menor transação ainda em andamento; alterações dela em diante ficam para depois.
+     * @param limite Número máximo de alterações.
+     * @return Produto, transação e sequência de cada alteração, em ordem.
+     */
+    @Query(value = "SELECT produto_id AS produtoId, xid_alteracao AS xid, seq_alteracao AS seq "
+            + "FROM produto_estoque_shards WHERE (xid_alteracao, seq_alteracao) > (:xid, :seq) "
+            + "AND xid_alteracao < :xmin ORDER BY xid_alteracao, seq_alteracao LIMIT :limite", nativeQuery = true)
+    List<AlteracaoShard> findAlteradosDesde(@Param("xid") long xid, @Param("seq") long seq,
+                                            @Param("xmin") long xmin, @Param("limite") int limite);
+
+    /**
+     * Projeção com uma alteração dos shards de um produto.
+     */
+    interface AlteracaoShard {
+        /** @return O ID do produto */
+        Long getProdutoId();
+        /** @return A transação da alteração */
+        Long getXid();
+        /** @return A sequência da alteração */
+        Long getSeq();
+    }
+}
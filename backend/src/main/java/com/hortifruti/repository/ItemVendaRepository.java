@@ -0,0 +1,127 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.ItemVenda;
+import com.hortifruti.model.Venda;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para a entidade ItemVenda.
+ */
+@Repository
+public interface ItemVendaRepository extends JpaRepository<ItemVenda, Long> {
+    
+    /**
+     * Busca todos os itens de uma venda pelo ID da venda.
+     * @param vendaId O ID da venda
+     * @return Lista de itens da venda
+     */
+    List<ItemVenda> findByVendaId(Long vendaId);
+    
+    /**
+     * Busca todos os itens de uma venda pelo ID da venda, ordenados pelo nome do produto.
+     * @param vendaId O ID da venda
+     * @return Lista de itens da venda ordenada pelo nome do produto
+     */
+    @Query("SELECT iv FROM ItemVenda iv WHERE iv.venda.id = :vendaId ORDER BY iv.produto.nome")
+    List<ItemVenda> findByVendaIdOrderByProdutoNome(@Param("vendaId") Long vendaId);
+    
+    /**
+     * Calcula a soma dos subtotais de todos os itens de uma venda.
+     * @param vendaId O ID da venda
+     * @return A soma dos subtotais
+     */
+    @Query("SELECT SUM(iv.subtotal) FROM ItemVenda iv WHERE iv.venda.id = :vendaId")
+    Double sumSubtotalByVendaId(@Param("vendaId") Long vendaId);
+
+    /**
+     * Lista as quantidades dos itens das vendas com o status informado, criadas a partir de uma data.
+     * Usado para recriar as reservas de estoque das vendas pendentes.
+     * @param status O status das vendas
+     * @param desde Data mínima da venda
+     * @return Quantidade de cada item, com o ID da venda, o ID do produto e a data da venda
+     */
+    @Query("SELECT v.id AS vendaId, iv.produto.id AS produtoId, iv.quantidade AS quantidade, v.dataVenda AS dataVenda "
+            + "FROM ItemVenda iv JOIN iv.venda v WHERE v.status = :status AND v.dataVenda >= :desde AND iv.dataVenda >= :desde")
+    List<QuantidadePendente> findQuantidadesPorStatusDesde(@Param("status") Venda.StatusVenda status,
+                                                           @Param("desde") LocalDateTime desde);
+
+    /**
+     * Soma as quantidades dos itens das vendas com o status informado, por produto.
+     * @param status O status das vendas
+     * @param ate Data limite (exclusiva) das vendas consideradas
+     * @return Uma linha por produto, em ordem de nome
+     */
+    @Query("SELECT p.id AS produtoId, p.nome AS produto, p.embalagem AS embalagem, "
+            + "SUM(iv.quantidade) AS quantidade, COUNT(DISTINCT v.id) AS vendas "
+            + "FROM ItemVenda iv JOIN iv.venda v JOIN iv.produto p "
+            + "WHERE v.status = :status AND v.dataVenda < :ate AND iv.dataVenda < :ate "
+            + "GROUP BY p.id, p.nome, p.embalagem ORDER BY p.nome, p.id")
+    List<ItemSeparacao> somarPorProduto(@Param("status") Venda.StatusVenda status,
+                                        @Param("ate") LocalDateTime ate);
+
+    /**
+     * Soma as quantidades dos itens das vendas com o status informado, por rota de entrega
+     * (cidade, UF e bairro do endereço de entrega) e produto. Vendas sem endereço de entrega
+     * formam uma rota com cidade, UF e bairro nulos, listada por último.
+     * @param status O status das vendas
+     * @param ate Data limite (exclusiva) das vendas consideradas
+     * @return Uma linha por rota e produto, em ordem de cidade, bairro e nome do produto
+     */
+    @Query("SELECT e.cidade AS cidade, e.estado AS estado, e.bairro AS bairro, "
+            + "p.id AS produtoId, p.nome AS produto, p.embalagem AS embalagem, "
+            + "SUM(iv.quantidade) AS quantidade, COUNT(DISTINCT v.id) AS vendas "
+            + "FROM ItemVenda iv JOIN iv.venda v JOIN iv.produto p LEFT JOIN v.enderecoEntrega e "
+            + "WHERE v.status = :status AND v.dataVenda < :ate AND iv.dataVenda < :ate "
+            + "GROUP BY e.cidade, e.estado, e.bairro, p.id, p.nome, p.embalagem "
+            + "ORDER BY e.cidade NULLS LAST, e.estado NULLS LAST, e.bairro NULLS LAST, p.nome, p.id")
+    List<ItemSeparacaoRota> somarPorRotaEProduto(@Param("status") Venda.StatusVenda status,
+                                                 @Param("ate") LocalDateTime ate);
+
+    /**
+     * Projeção com a quantidade total de um produto a separar.
+     */
+    interface ItemSeparacao {
+        /** @return O ID do produto */
+        Long getProdutoId();
+        /** @return O nome do produto */
+        String getProduto();
+        /** @return A embalagem do produto */
+        String getEmbalagem();
+        /** @return A soma das quantidades */
+        Double getQuantidade();
+        /** @return O número de vendas com o produto */
+        Long getVendas();
+    }
+
+    /**
+     * Projeção com a quantidade total de um produto a separar em uma rota de entrega.
+     */
+    interface ItemSeparacaoRota extends ItemSeparacao {
+        /** @return A cidade de entrega, ou null para vendas sem endereço */
+        String getCidade();
+        /** @return A UF de entrega, ou null para vendas sem endereço */
+        String getEstado();
+        /** @return O bairro de entrega, ou null para vendas sem endereço */
+        String getBairro();
+    }
+
+    /**
+     * Projeção com a quantidade de um item de venda.
+     */
+    interface QuantidadePendente {
+        /** @return O ID da venda */
+        Long getVendaId();
+        /** @return O ID do produto */
+        Long getProdutoId();
+        /** @return A quantidade do item */
+        Double getQuantidade();
+        /** @return A data da venda */
+        LocalDateTime getDataVenda();
+    }
+}
@@ -0,0 +1,38 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.MovimentacaoEstoque;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório para a entidade MovimentacaoEstoque.
+ */
+@Repository
+public interface MovimentacaoEstoqueRepository extends JpaRepository<MovimentacaoEstoque, Long> {
+
+    /**
+     * Registra várias movimentações do mesmo tipo em um único INSERT.
+     * @param ids Os IDs dos produtos (paralelo a {@code quantidades}).
+     * @param quantidades As quantidades movimentadas.
+     * @param tipo O tipo da movimentação (ENTRADA, SAIDA).
+     * @param data A data e hora das movimentações.
+     * @return O número de movimentações registradas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movimentacoes_estoque"))
+    @Query(value = "INSERT INTO movimentacoes_estoque (produto_id, tipo, quantidade, data) "
+            + "SELECT t.id, :tipo, t.qtd, :data "
+            + "FROM unnest(CAST(:ids AS bigint[]), CAST(:qtds AS float8[])) AS t(id, qtd)", nativeQuery = true)
+    int inserirEmLote(@Param("ids") Long[] ids,
+                      @Param("qtds") Double[] quantidades,
+                      @Param("tipo") String tipo,
+                      @Param("data") LocalDateTime data);
+}
@@ -0,0 +1,46 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.PrecoHistorico;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade PrecoHistorico (histórico de preços, gravado por trigger).
+ */
+@Repository
+public interface PrecoHistoricoRepository extends JpaRepository<PrecoHistorico, Long> {
+
+    /**
+     * Busca o registro de preço vigente de um produto em um instante.
+     * @param produtoId ID do produto
+     * @param em Instante da consulta
+     * @return O registro mais recente com início de vigência até o instante, se houver
+     */
+    @Query(value = "SELECT * FROM precos_historico WHERE produto_id = :produtoId AND vigente_desde <= :em "
+            + "ORDER BY vigente_desde DESC, id DESC LIMIT 1", nativeQuery = true)
+    Optional<PrecoHistorico> findVigente(@Param("produtoId") Long produtoId, @Param("em") LocalDateTime em);
+
+    /**
+     * Busca o registro de preço vigente de cada produto em um instante (produtos sem preço
+     * até o instante não aparecem).
+     * @param em Instante da consulta
+     * @return Um registro por produto, ordenado pelo ID do produto
+     */
+    @Query(value = "SELECT DISTINCT ON (produto_id) * FROM precos_historico WHERE vigente_desde <= :em "
+            + "ORDER BY produto_id, vigente_desde DESC, id DESC", nativeQuery = true)
+    List<PrecoHistorico> findVigentes(@Param("em") LocalDateTime em);
+
+    /**
+     * Lista as mudanças de preço de um produto, da mais recente para a mais antiga.
+     * @param produtoId ID do produto
+     * @return Registros do histórico do produto
+     */
+    @Query("SELECT h FROM PrecoHistorico h WHERE h.produtoId = :produtoId ORDER BY h.vigenteDesde DESC, h.id DESC")
+    List<PrecoHistorico> findByProdutoId(@Param("produtoId") Long produtoId);
+}
@@ -0,0 +1,200 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade Produto.
+ */
+@Repository
+public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+
+    /**
+     * Espaço de consulta das atualizações nativas de estoque. Não é o espaço de nenhuma
+     * entidade em cache: o Hibernate não descarta a região "produtos" inteira (nem as
+     * consultas em cache do catálogo) a cada venda; os produtos alterados são descartados
+     * um a um após o commit, no {@code ProdutoAlteradoEvent} que acompanha cada baixa.
+     */
+    String ESPACO_ESTOQUE = "produtos_estoque";
+
+    /**
+     * Busca todos os produtos ordenados por nome.
+     * @return Lista de produtos ordenada por nome.
+     */
+    @Query(value = "SELECT * FROM produtos ORDER BY nome", nativeQuery = true)
+    List<Produto> findAllOrderByNome();
+
+    /**
+     * Busca produtos com estoque baixo.
+     * @return Lista de produtos com estoque baixo.
+     */
+    @Query(value = "SELECT * FROM produtos p WHERE (p.estoque_inicial + p.entradas - p.saidas "
+            + "- COALESCE((SELECT SUM(s.saidas) FROM produto_estoque_shards s WHERE s.produto_id = p.id), 0)) < 10 "
+            + "ORDER BY p.nome", nativeQuery = true)
+    List<Produto> findComEstoqueBaixo();
+
+    /**
+     * Busca todos os produtos ordenados por nome.
+     * O resultado fica no cache de consultas até a próxima alteração de cadastro em produtos;
+     * alterações de estoque não mudam a lista (só os dados de cada produto, descartados por ID).
+     * @return Lista de produtos ordenada por nome.
+     */
+    @Query("SELECT p FROM Produto p ORDER BY p.nome")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Produto> findAllSortedByNome();
+
+    /**
+     * Trava a linha do produto até o fim da transação e retorna o estoque gravado nela
+     * (estoque inicial + entradas - saídas, sem as saídas dos shards). Lê direto do banco,
+     * mesmo que o Produto já esteja carregado na transação.
+     * @param id O ID do produto.
+     * @return Um Optional com o estoque, vazio se o produto não existe.
+     */
+    @Query(value = "SELECT COALESCE(estoque_inicial, 0) + COALESCE(entradas, 0) - COALESCE(saidas, 0) "
+            + "FROM produtos WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Double> findEstoqueParaAtualizacao(@Param("id") Long id);
+
+    /**
+     * Atualiza os dados cadastrais de um produto em um único UPDATE, incrementando a versão.
+     * Os contadores de estoque (entradas/saídas) não são alterados.
+     * @param id O ID do produto.
+     * @param nome O nome do produto.
+     * @param preco O preço do produto.
+     * @param embalagem A embalagem do produto.
+     * @param estoqueInicial O estoque inicial (null mantém o valor atual).
+     * @param versao A versão esperada (null atualiza sem verificar a versão).
+     * @return 1 se o produto foi atualizado, 0 se não existe ou a versão não confere.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Produto p SET p.nome = :nome, p.preco = :preco, p.embalagem = :embalagem, "
+            + "p.estoqueInicial = COALESCE(:estoqueInicial, p.estoqueInicial), p.versao = p.versao + 1 "
+            + "WHERE p.id = :id AND (:versao IS NULL OR p.versao = :versao)")
+    int atualizarCadastro(@Param("id") Long id,
+                          @Param("nome") String nome,
+                          @Param("preco") Double preco,
+                          @Param("embalagem") String embalagem,
+                          @Param("estoqueInicial") Double estoqueInicial,
+                          @Param("versao") Long versao);
+
+    /**
+     * Busca o produto no banco, sem ler o cache de segundo nível. Depois de {@link #atualizarCadastro},
+     * o cache só é invalidado no commit e ainda devolveria a versão anterior.
+     * @param id O ID do produto.
+     * @return Um Optional com o produto atualizado, se existir.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<Produto> findByIdSemCache(@Param("id") Long id);
+
+    /**
+     * Incrementa a entrada de um produto.
+     * @param id O ID do produto.
+     * @param quantidade A quantidade a ser incrementada.
+     * @return O número de registros atualizados.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE produtos SET entradas = entradas + :qtd WHERE id = :id", nativeQuery = true)
+    int incrementarEntrada(@Param("id") Long id, @Param("qtd") Double quantidade);
+
+    /**
+     * Incrementa a saída de um produto.
+     * Não limpa o contexto de persistência (a venda em finalização continua gerenciada); o
+     * Produto já carregado na transação fica com as saídas anteriores.
+     * @param id O ID do produto.
+     * @param quantidade A quantidade a ser incrementada.
+     * @return O número de registros atualizados.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE produtos SET saidas = saidas + :qtd WHERE id = :id", nativeQuery = true)
+    int incrementarSaida(@Param("id") Long id, @Param("qtd") Double quantidade);
+
+    /**
+     * Incrementa a saída de um produto somente se o estoque atual comportar a quantidade.
+     * Não limpa o contexto de persistência: a venda em finalização continua gerenciada e é
+     * gravada sem nova leitura; o Produto já carregado fica com as saídas anteriores.
+     * @param id O ID do produto.
+     * @param quantidade A quantidade a ser retirada.
+     * @return 1 se a saída foi registrada, 0 se não há estoque suficiente.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE produtos SET saidas = COALESCE(saidas, 0) + :qtd WHERE id = :id "
+            + "AND COALESCE(estoque_inicial, 0) + COALESCE(entradas, 0) - COALESCE(saidas, 0) >= :qtd", nativeQuery = true)
+    int incrementarSaidaSeDisponivel(@Param("id") Long id, @Param("qtd") Double quantidade);
+
+    /**
+     * Retorna, dentre os IDs informados, aqueles que existem na base.
+     * @param ids Os IDs a verificar.
+     * @return Lista com os IDs existentes.
+     */
+    @Query("SELECT p.id FROM Produto p WHERE p.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Incrementa as entradas de vários produtos em um único UPDATE.
+     * Linhas repetidas do mesmo produto são somadas antes da atualização.
+     * @param ids Os IDs dos produtos (paralelo a {@code quantidades}).
+     * @param quantidades As quantidades recebidas de cada linha.
+     * @return O número de produtos atualizados.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE produtos p SET entradas = COALESCE(p.entradas, 0) + r.qtd "
+            + "FROM (SELECT t.id, SUM(t.qtd) AS qtd "
+            + "      FROM unnest(CAST(:ids AS bigint[]), CAST(:qtds AS float8[])) AS t(id, qtd) "
+            + "      GROUP BY t.id) r "
+            + "WHERE p.id = r.id", nativeQuery = true)
+    int incrementarEntradasEmLote(@Param("ids") Long[] ids, @Param("qtds") Double[] quantidades);
+
+    /**
+     * Aplica novos preços a vários produtos em um único UPDATE, incrementando a versão.
+     * Produtos cujo preço não muda não são tocados (nem versão, nem histórico, nem sincronização).
+     * O histórico de preços é gravado pela trigger trg_produtos_preco.
+     * @param ids Os IDs dos produtos, sem repetição (paralelo a {@code precos}).
+     * @param precos Os novos preços.
+     * @return O número de produtos com preço alterado.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produtos"))
+    @Query(value = "UPDATE produtos p SET preco = t.preco, versao = p.versao + 1 "
+            + "FROM unnest(CAST(:ids AS bigint[]), CAST(:precos AS float8[])) AS t(id, preco) "
+            + "WHERE p.id = t.id AND p.preco IS DISTINCT FROM t.preco", nativeQuery = true)
+    int atualizarPrecosEmLote(@Param("ids") Long[] ids, @Param("precos") Double[] precos);
+
+    /**
+     * Busca os produtos alterados após um cursor de sincronização (transação, sequência),
+     * somente por transações já encerradas.
+     * @param xid Transação do último cursor recebido pelo caixa.
+     * @param seq Sequência do último cursor recebido pelo caixa.
+     * @param xmin Menor transação ainda em andamento; alterações dela em diante ficam para depois.
+     * @param pageable Limite de registros.
+     * @return Produtos em ordem de transação e sequência da última alteração.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.xidAlteracao >= :xid AND p.xidAlteracao < :xmin "
+            + "AND (p.xidAlteracao > :xid OR p.seqAlteracao > :seq) ORDER BY p.xidAlteracao, p.seqAlteracao")
+    List<Produto> findAlteradosDesde(@Param("xid") Long xid, @Param("seq") Long seq, @Param("xmin") Long xmin,
+                                     Pageable pageable);
+
+    /**
+     * Busca o próximo lote de produtos em ordem de ID, a partir de um cursor (paginação por chave).
+     * @param apos Último ID já lido (0 para o primeiro lote).
+     * @param pageable Tamanho do lote.
+     * @return Produtos com ID maior que o cursor, em ordem de ID.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.id > :apos ORDER BY p.id")
+    List<Produto> findLoteApos(@Param("apos") Long apos, Pageable pageable);
+}
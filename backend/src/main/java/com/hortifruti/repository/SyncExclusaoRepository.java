@@ -0,0 +1,47 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.SyncExclusao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para a entidade SyncExclusao (tombstones da sincronização).
+ */
+@Repository
+public interface SyncExclusaoRepository extends JpaRepository<SyncExclusao, Long> {
+
+    /**
+     * Busca as exclusões posteriores a um cursor de sincronização (transação, sequência),
+     * somente de transações já encerradas, em ordem.
+     * @param xid Transação do último cursor recebido pelo caixa
+     * @param seq Sequência do último cursor recebido pelo caixa
+     * @param xmin Menor transação ainda em andamento; exclusões dela em diante ficam para depois
+     * @param limite Número máximo de registros
+     * @return Exclusões em ordem de transação e sequência
+     */
+    @Query(value = "SELECT * FROM sync_exclusoes WHERE (xid, seq) > (:xid, :seq) AND xid < :xmin "
+            + "ORDER BY xid, seq LIMIT :limite", nativeQuery = true)
+    List<SyncExclusao> findAlteradasDesde(@Param("xid") long xid, @Param("seq") long seq,
+                                          @Param("xmin") long xmin, @Param("limite") int limite);
+
+    /**
+     * Retorna a menor transação ainda em andamento no banco (xmin do snapshot atual): todas as
+     * transações anteriores já foram confirmadas ou desfeitas.
+     * @return ID da transação, comparável a {@code txid_current()}
+     */
+    @Query(value = "SELECT txid_snapshot_xmin(txid_current_snapshot())", nativeQuery = true)
+    long menorTransacaoAtiva();
+
+    /**
+     * Retorna a data e hora atuais do banco, no mesmo referencial das colunas
+     * {@code atualizado_em} gravadas pelas triggers.
+     * @return Data e hora atuais do banco
+     */
+    @Query(value = "SELECT CAST(clock_timestamp() AS timestamp)", nativeQuery = true)
+    LocalDateTime agoraNoBanco();
+}
@@ -0,0 +1,176 @@
+package com.hortifruti.repository;
+
+import com.hortifruti.model.Venda;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade Venda.
+ */
+@Repository
+public interface VendaRepository extends JpaRepository<Venda, Long> {
+
+    /**
+     * Busca uma venda pelo número da venda.
+     * @param numeroVenda O número da venda.
+     * @return Um Optional contendo a venda, se encontrada.
+     */
+    Optional<Venda> findByNumeroVenda(String numeroVenda);
+
+    /**
+     * Busca uma venda pelo número, restrita a um período de data_venda. Com o período, o
+     * PostgreSQL lê só as partições do mês em vez de uma por partição.
+     * @param numeroVenda O número da venda.
+     * @param inicio Início do período (inclusive).
+     * @param fim Fim do período (inclusive).
+     * @return Um Optional contendo a venda, se encontrada.
+     */
+    Optional<Venda> findByNumeroVendaAndDataVendaBetween(String numeroVenda, LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Busca vendas de um cliente ordenadas pela data da venda em ordem decrescente.
+     * @param clienteId O ID do cliente.
+     * @return Uma lista de vendas do cliente.
+     */
+    List<Venda> findByClienteIdOrderByDataVendaDesc(Long clienteId);
+
+    /**
+     * Busca vendas por status ordenadas pela data da venda em ordem decrescente.
+     * @param status O status da venda.
+     * @return Uma lista de vendas com o status especificado.
+     */
+    List<Venda> findByStatusOrderByDataVendaDesc(Venda.StatusVenda status);
+
+    /**
+     * Conta as vendas com um status criadas antes de uma data.
+     * @param status O status da venda.
+     * @param ate Data limite (exclusiva).
+     * @return O número de vendas.
+     */
+    long countByStatusAndDataVendaBefore(Venda.StatusVenda status, LocalDateTime ate);
+
+    /**
+     * Busca vendas em um período de tempo ordenadas pela data da venda em ordem decrescente.
+     * @param dataInicio A data de início do período.
+     * @param dataFim A data de fim do período.
+     * @return Uma lista de vendas no período especificado.
+     */
+    List<Venda> findByDataVendaBetweenOrderByDataVendaDesc(LocalDateTime dataInicio, LocalDateTime dataFim);
+
+    /**
+     * Busca vendas em um período de tempo com um status específico.
+     * @param dataInicio A data de início do período.
+     * @param dataFim A data de fim do período.
+     * @param status O status da venda.
+     * @return Uma lista de vendas que correspondem aos critérios.
+     */
+    @Query("SELECT v FROM Venda v WHERE v.dataVenda >= :dataInicio AND v.dataVenda <= :dataFim AND v.status = :status")
+    List<Venda> findByDataVendaBetweenAndStatus(
+            @Param("dataInicio") LocalDateTime dataInicio,
+            @Param("dataFim") LocalDateTime dataFim,
+            @Param("status") Venda.StatusVenda status);
+
+    /**
+     * Conta o número de vendas finalizadas.
+     * @return O número de vendas finalizadas.
+     */
+    @Query("SELECT COUNT(v) FROM Venda v WHERE v.status = 'FINALIZADA'")
+    Long countVendasFinalizadas();
+
+    /**
+     * Soma o valor total das vendas finalizadas.
+     * @return O valor total das vendas finalizadas.
+     */
+    @Query("SELECT COALESCE(SUM(v.valorFinal), 0) FROM Venda v WHERE v.status = 'FINALIZADA'")
+    Double sumValorVendasFinalizadas();
+
+    /**
+     * Busca todas as vendas ordenadas pela data da venda em ordem decrescente.
+     * @return Uma lista de todas as vendas.
+     */
+    @Query("SELECT v FROM Venda v ORDER BY v.dataVenda DESC")
+    List<Venda> findAllOrderByDataVendaDesc();
+
+    /**
+     * Busca uma venda com seus itens, produto e cliente carregados (evita LazyInitializationException para PDF).
+     * @param id O ID da venda.
+     * @return Um Optional contendo a venda com as informações carregadas, se encontrada.
+     */
+    @Query("SELECT v FROM Venda v \n"
+            + "LEFT JOIN FETCH v.itens i \n"
+            + "LEFT JOIN FETCH i.produto p \n"
+            + "LEFT JOIN FETCH v.cliente c \n"
+            + "WHERE v.id = :id")
+    Optional<Venda> findByIdWithItensProdutoCliente(@Param("id") Long id);
+
+    /**
+     * Busca as vendas com endereço de entrega em um período, já com o endereço e o cliente
+     * carregados (uma única consulta, sem um SELECT por venda).
+     * @param status O status das vendas.
+     * @param inicio Início do período (inclusivo).
+     * @param fim Fim do período (exclusivo).
+     * @return As vendas a entregar.
+     */
+    @Query("SELECT v FROM Venda v \n"
+            + "JOIN FETCH v.enderecoEntrega e \n"
+            + "JOIN FETCH v.cliente c \n"
+            + "WHERE v.status = :status AND v.dataVenda >= :inicio AND v.dataVenda < :fim")
+    List<Venda> findEntregasComEnderecoECliente(@Param("status") Venda.StatusVenda status,
+                                               @Param("inicio") LocalDateTime inicio,
+                                               @Param("fim") LocalDateTime fim);
+
+    /**
+     * Busca os IDs do próximo lote de vendas, das mais recentes para as mais antigas, a partir
+     * de um cursor (paginação por chave).
+     * @param antes Último ID já lido (Long.MAX_VALUE para o primeiro lote).
+     * @param status Status das vendas (null para todos).
+     * @param clienteId ID do cliente (null para todos).
+     * @param pageable Tamanho do lote.
+     * @return IDs menores que o cursor, em ordem decrescente, com a data de cada venda.
+     */
+    @Query("SELECT v.id AS id, v.dataVenda AS dataVenda FROM Venda v WHERE v.id < :antes "
+            + "AND (:status IS NULL OR v.status = :status) "
+            + "AND (:clienteId IS NULL OR v.cliente.id = :clienteId) "
+            + "ORDER BY v.id DESC")
+    List<IdData> findIdsLoteAntes(@Param("antes") Long antes,
+                                  @Param("status") Venda.StatusVenda status,
+                                  @Param("clienteId") Long clienteId,
+                                  Pageable pageable);
+
+    /**
+     * Busca vendas pelos IDs com itens, produtos, cliente e endereço de entrega carregados,
+     * prontas para serializar fora da transação. O intervalo de datas das vendas do lote
+     * restringe a leitura às partições mensais desse intervalo; só pelo ID o PostgreSQL
+     * leria todas.
+     * @param ids Os IDs das vendas.
+     * @param inicio Data da venda mais antiga do lote.
+     * @param fim Data da venda mais recente do lote.
+     * @return As vendas, em ordem decrescente de ID.
+     */
+    @Query("SELECT DISTINCT v FROM Venda v \n"
+            + "LEFT JOIN FETCH v.itens i \n"
+            + "LEFT JOIN FETCH i.produto p \n"
+            + "LEFT JOIN FETCH v.cliente c \n"
+            + "LEFT JOIN FETCH v.enderecoEntrega e \n"
+            + "WHERE v.id IN :ids AND v.dataVenda BETWEEN :inicio AND :fim ORDER BY v.id DESC")
+    List<Venda> findByIdInComItens(@Param("ids") Collection<Long> ids,
+                                   @Param("inicio") LocalDateTime inicio,
+                                   @Param("fim") LocalDateTime fim);
+
+    /**
+     * Projeção do ID e da data (chave de partição) de uma venda.
+     */
+    interface IdData {
+        Long getId();
+
+        LocalDateTime getDataVenda();
+    }
+}
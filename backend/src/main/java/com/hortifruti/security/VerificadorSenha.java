@@ -0,0 +1,82 @@
+package com.hortifruti.security;
+
+import com.hortifruti.concorrencia.ClasseCarga;
+import com.hortifruti.concorrencia.Compartimento;
+import com.hortifruti.limite.SobrecargaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executa as operações de BCrypt (verificação e geração de hash) em um pool próprio e limitado.
+ *
+ * <p>Cada operação BCrypt consome dezenas de milissegundos de CPU. Executadas nas threads
+ * das requisições, uma rajada de logins ocuparia todos os processadores e atrasaria as
+ * vendas. Aqui no máximo {@code app.auth.hash.threads} operações rodam ao mesmo tempo; até
+ * {@code app.auth.hash.fila} esperam, e as demais são recusadas na hora com
+ * {@link SobrecargaException} (503), assim como as que esperarem mais que
+ * {@code app.auth.hash.timeout-ms}. O pool é o {@link Compartimento} da classe de carga
+ * {@link ClasseCarga#AUTH}.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+public class VerificadorSenha {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Compartimento compartimento;
+
+    /**
+     * Construtor que recebe as dependências e configurações via injeção de dependência.
+     *
+     * @param passwordEncoder Codificador de senhas
+     * @param registry Registro de métricas
+     * @param threads Operações simultâneas
+     * @param fila Operações que podem aguardar na fila
+     * @param timeoutMs Tempo máximo de espera por uma operação, em milissegundos
+     */
+    @Autowired
+    public VerificadorSenha(PasswordEncoder passwordEncoder, MeterRegistry registry,
+                            @Value("${app.auth.hash.threads:2}") int threads,
+                            @Value("${app.auth.hash.fila:32}") int fila,
+                            @Value("${app.auth.hash.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.compartimento = new Compartimento(ClasseCarga.AUTH, "autenticações", threads, fila, timeoutMs, registry);
+    }
+
+    /**
+     * Encerra o pool.
+     */
+    @PreDestroy
+    public void encerrar() {
+        compartimento.encerrar();
+    }
+
+    /**
+     * Verifica uma senha contra o hash armazenado.
+     *
+     * @param senha Senha informada
+     * @param hash Hash BCrypt armazenado
+     * @return true se a senha confere
+     * @throws SobrecargaException Se o pool estiver saturado
+     */
+    public boolean confere(String senha, String hash) {
+        return compartimento.executar(() -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * Gera o hash de um valor.
+     *
+     * @param valor Valor a codificar
+     * @return Hash BCrypt
+     * @throws SobrecargaException Se o pool estiver saturado
+     */
+    public String codificar(String valor) {
+        return compartimento.executar(() -> passwordEncoder.encode(valor));
+    }
+}
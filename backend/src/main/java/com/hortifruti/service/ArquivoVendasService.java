@@ -0,0 +1,437 @@
+package com.hortifruti.service;
+
+import com.hortifruti.concorrencia.ClasseCarga;
+import com.hortifruti.dto.MesArquivado;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serviço de manutenção das partições mensais de vendas e itens_venda.
+ *
+ * <p>Diariamente ({@code app.vendas.particoes.cron}) e ao iniciar, cria as partições do mês atual
+ * e dos {@code app.vendas.particoes.meses-adiante} seguintes; ao iniciar, a falta de alguma delas
+ * interrompe a aplicação. Na execução diária, arquiva os
+ * meses anteriores aos últimos {@code app.vendas.particoes.meses-quentes}: as duas partições do mês
+ * são exportadas em CSV compactado (gzip) para {@code arquivo.vendas_meses}, desanexadas e
+ * removidas, tudo em uma transação. As tabelas de vendas ficam só com os meses recentes.
+ *
+ * <p>Um mês arquivado pode ser restaurado sob demanda: as vendas e os itens voltam para partições
+ * de {@code arquivo.vendas} e {@code arquivo.itens_venda} (também visíveis em
+ * {@code vendas_historico} e {@code itens_venda_historico}) até serem liberados.
+ *
+ * <p>Com várias instâncias, um lock consultivo do PostgreSQL garante que só uma arquive por vez.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class ArquivoVendasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivoVendasService.class);
+
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTICAO = Pattern.compile("vendas_(\\d{4})_(\\d{2})");
+    private static final Pattern COLUNAS = Pattern.compile("[a-z_][a-z0-9_]*(,[a-z_][a-z0-9_]*)*");
+    private static final String TRAVA = "SELECT pg_try_advisory_xact_lock(hashtext('arquivo_vendas'))";
+    private static final String ESPERA_TRAVA = "SELECT pg_advisory_xact_lock(hashtext('arquivo_vendas'))";
+
+    /** Espera máxima pelos bloqueios das tabelas; acima disso o arquivamento fica para a próxima execução */
+    private static final String ESPERA_BLOQUEIO = "5s";
+
+    private final DataSource dataSource;
+    private final int mesesQuentes;
+    private final int mesesAdiante;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param dataSource DataSource da aplicação
+     * @param mesesQuentes Quantos meses, além do atual, ficam nas tabelas de vendas
+     * @param mesesAdiante Quantos meses à frente têm partições criadas
+     */
+    @Autowired
+    public ArquivoVendasService(DataSource dataSource,
+                                @Value("${app.vendas.particoes.meses-quentes:24}") int mesesQuentes,
+                                @Value("${app.vendas.particoes.meses-adiante:3}") int mesesAdiante) {
+        if (mesesQuentes < 1 || mesesAdiante < 1) {
+            throw new IllegalArgumentException("app.vendas.particoes.meses-quentes e meses-adiante devem ser positivos");
+        }
+        this.dataSource = dataSource;
+        this.mesesQuentes = mesesQuentes;
+        this.mesesAdiante = mesesAdiante;
+    }
+
+    /**
+     * Cria as partições que faltarem ao iniciar a aplicação.
+     *
+     * <p>As tabelas de vendas não têm partição DEFAULT: uma venda fora das partições existentes
+     * falharia na gravação. Por isso, se depois da criação ainda faltar a partição do mês atual
+     * ou de algum dos {@code meses-adiante} seguintes, a inicialização é interrompida.
+     *
+     * @throws IllegalStateException Se as partições não puderem ser criadas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void criarParticoesAoIniciar() {
+        YearMonth atual = YearMonth.now();
+        List<YearMonth> faltantes = new ArrayList<>();
+        try {
+            criarParticoes(atual);
+            List<YearMonth> existentes = listarParticoes();
+            for (int i = 0; i <= mesesAdiante; i++) {
+                if (!existentes.contains(atual.plusMonths(i))) {
+                    faltantes.add(atual.plusMonths(i));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível criar as partições de vendas: " + e.getMessage(), e);
+        }
+        if (!faltantes.isEmpty()) {
+            throw new IllegalStateException("Faltam partições de vendas para os meses " + faltantes);
+        }
+    }
+
+    /**
+     * Cria as partições dos próximos meses e arquiva os meses antigos.
+     */
+    @Scheduled(cron = "${app.vendas.particoes.cron:0 30 3 * * *}")
+    public void manter() {
+        ClasseCarga anterior = ClasseCarga.definir(ClasseCarga.RELATORIOS);
+        try {
+            YearMonth atual = YearMonth.now();
+            criarParticoes(atual);
+            YearMonth limite = atual.minusMonths(mesesQuentes);
+            for (YearMonth mes : listarParticoes()) {
+                if (mes.isBefore(limite)) {
+                    arquivar(mes);
+                }
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            logger.error("Falha na manutenção das partições de vendas: {}", e.getMessage(), e);
+        } finally {
+            ClasseCarga.restaurar(anterior);
+        }
+    }
+
+    /**
+     * Cria as partições do mês informado e dos seguintes que ainda não existirem.
+     *
+     * @param inicio Primeiro mês
+     * @throws SQLException Se a criação falhar
+     */
+    void criarParticoes(YearMonth inicio) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement existe = conexao.prepareStatement("SELECT to_regclass(?) IS NOT NULL");
+             PreparedStatement criar = conexao.prepareStatement("SELECT vendas_criar_particao(?)")) {
+            for (int i = 0; i <= mesesAdiante; i++) {
+                YearMonth mes = inicio.plusMonths(i);
+                existe.setString(1, "vendas_" + mes.format(SUFIXO));
+                try (ResultSet resultado = existe.executeQuery()) {
+                    resultado.next();
+                    if (resultado.getBoolean(1)) {
+                        continue;
+                    }
+                }
+                criar.setDate(1, Date.valueOf(mes.atDay(1)));
+                criar.execute();
+                logger.info("Partições de vendas criadas para {}", mes);
+            }
+        }
+    }
+
+    /**
+     * Lista os meses com partição nas tabelas de vendas.
+     *
+     * @return Meses em ordem crescente
+     * @throws SQLException Se a consulta falhar
+     */
+    List<YearMonth> listarParticoes() throws SQLException {
+        List<YearMonth> meses = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery("SELECT c.relname FROM pg_inherits i "
+                     + "JOIN pg_class c ON c.oid = i.inhrelid "
+                     + "WHERE i.inhparent = 'public.vendas'::regclass ORDER BY c.relname")) {
+            while (resultado.next()) {
+                Matcher nome = PARTICAO.matcher(resultado.getString(1));
+                if (nome.matches()) {
+                    meses.add(YearMonth.of(Integer.parseInt(nome.group(1)), Integer.parseInt(nome.group(2))));
+                }
+            }
+        }
+        return meses;
+    }
+
+    /**
+     * Arquiva um mês: exporta as partições de vendas e itens em CSV compactado, grava o resultado
+     * em {@code arquivo.vendas_meses} e remove as partições, em uma única transação.
+     *
+     * @param mes Mês a arquivar
+     * @return true se arquivado; false se o mês não tem partição ou outra instância está arquivando
+     * @throws SQLException Se o arquivamento falhar (nada é alterado)
+     * @throws IOException Se os arquivos temporários falharem
+     */
+    public boolean arquivar(YearMonth mes) throws SQLException, IOException {
+        String vendas = "vendas_" + mes.format(SUFIXO);
+        String itens = "itens_venda_" + mes.format(SUFIXO);
+        Path arquivoVendas = Files.createTempFile(vendas, ".csv.gz");
+        Path arquivoItens = Files.createTempFile(itens, ".csv.gz");
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (Statement comando = conexao.createStatement()) {
+                if (!consultarBooleano(comando, TRAVA)
+                        || !consultarBooleano(comando, "SELECT EXISTS (SELECT 1 FROM pg_inherits "
+                        + "WHERE inhrelid = to_regclass('" + vendas + "') AND inhparent = 'public.vendas'::regclass)")) {
+                    conexao.rollback();
+                    return false;
+                }
+                comando.execute("SET LOCAL lock_timeout = '" + ESPERA_BLOQUEIO + "'");
+                // Impede escritas no mês durante a exportação; os demais meses seguem livres
+                comando.execute("LOCK TABLE " + vendas + ", " + itens + " IN SHARE MODE");
+
+                CopyManager copia = conexao.unwrap(PGConnection.class).getCopyAPI();
+                long[] exportadoVendas = exportar(copia, vendas, arquivoVendas);
+                long[] exportadoItens = exportar(copia, itens, arquivoItens);
+
+                // Os itens saem primeiro: a chave estrangeira impede desanexar vendas ainda referenciadas
+                comando.execute("ALTER TABLE itens_venda DETACH PARTITION " + itens);
+                comando.execute("DROP TABLE " + itens);
+                comando.execute("ALTER TABLE vendas DETACH PARTITION " + vendas);
+                comando.execute("DROP TABLE " + vendas);
+
+                try (PreparedStatement insercao = conexao.prepareStatement("INSERT INTO arquivo.vendas_meses "
+                        + "(mes, vendas, itens, qtd_vendas, qtd_itens, bytes_originais) VALUES (?, ?, ?, ?, ?, ?)");
+                     InputStream dadosVendas = Files.newInputStream(arquivoVendas);
+                     InputStream dadosItens = Files.newInputStream(arquivoItens)) {
+                    insercao.setDate(1, Date.valueOf(mes.atDay(1)));
+                    insercao.setBinaryStream(2, dadosVendas, Files.size(arquivoVendas));
+                    insercao.setBinaryStream(3, dadosItens, Files.size(arquivoItens));
+                    insercao.setLong(4, exportadoVendas[0]);
+                    insercao.setLong(5, exportadoItens[0]);
+                    insercao.setLong(6, exportadoVendas[1] + exportadoItens[1]);
+                    insercao.executeUpdate();
+                }
+                conexao.commit();
+                logger.info("Vendas de {} arquivadas: {} vendas, {} itens, {} KB compactados de {} KB", mes,
+                        exportadoVendas[0], exportadoItens[0],
+                        (Files.size(arquivoVendas) + Files.size(arquivoItens)) / 1024,
+                        (exportadoVendas[1] + exportadoItens[1]) / 1024);
+                return true;
+            } catch (SQLException | IOException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            }
+        } finally {
+            Files.deleteIfExists(arquivoVendas);
+            Files.deleteIfExists(arquivoItens);
+        }
+    }
+
+    /**
+     * Restaura um mês arquivado em {@code arquivo.vendas} e {@code arquivo.itens_venda}, para
+     * consulta. Não faz nada se o mês já está restaurado.
+     *
+     * @param mes Mês arquivado
+     * @throws IllegalArgumentException Se o mês não está arquivado
+     * @throws SQLException Se a restauração falhar (nada é alterado)
+     * @throws IOException Se o conteúdo arquivado estiver corrompido
+     */
+    public void restaurar(YearMonth mes) throws SQLException, IOException {
+        String vendas = "arquivo.vendas_" + mes.format(SUFIXO);
+        String itens = "arquivo.itens_venda_" + mes.format(SUFIXO);
+        String limites = " FOR VALUES FROM ('" + mes.atDay(1) + "') TO ('" + mes.plusMonths(1).atDay(1) + "')";
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute(ESPERA_TRAVA);
+                byte[] dadosVendas;
+                byte[] dadosItens;
+                try (PreparedStatement consulta = conexao.prepareStatement(
+                        "SELECT vendas, itens, restaurado_em FROM arquivo.vendas_meses WHERE mes = ?")) {
+                    consulta.setDate(1, Date.valueOf(mes.atDay(1)));
+                    try (ResultSet resultado = consulta.executeQuery()) {
+                        if (!resultado.next()) {
+                            throw new IllegalArgumentException("Mês não arquivado: " + mes);
+                        }
+                        if (resultado.getTimestamp(3) != null) {
+                            conexao.rollback();
+                            return;
+                        }
+                        dadosVendas = resultado.getBytes(1);
+                        dadosItens = resultado.getBytes(2);
+                    }
+                }
+
+                comando.execute("CREATE TABLE " + vendas + " (LIKE arquivo.vendas)");
+                comando.execute("CREATE TABLE " + itens + " (LIKE arquivo.itens_venda)");
+                CopyManager copia = conexao.unwrap(PGConnection.class).getCopyAPI();
+                importar(copia, vendas, dadosVendas);
+                importar(copia, itens, dadosItens);
+                comando.execute("ALTER TABLE arquivo.vendas ATTACH PARTITION " + vendas + limites);
+                comando.execute("ALTER TABLE arquivo.itens_venda ATTACH PARTITION " + itens + limites);
+
+                try (PreparedStatement atualizacao = conexao.prepareStatement(
+                        "UPDATE arquivo.vendas_meses SET restaurado_em = now() WHERE mes = ?")) {
+                    atualizacao.setDate(1, Date.valueOf(mes.atDay(1)));
+                    atualizacao.executeUpdate();
+                }
+                conexao.commit();
+                logger.info("Vendas arquivadas de {} restauradas em arquivo.vendas", mes);
+            } catch (SQLException | IOException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Remove as tabelas de um mês restaurado; o conteúdo arquivado é mantido.
+     *
+     * @param mes Mês arquivado
+     * @throws IllegalArgumentException Se o mês não está arquivado
+     * @throws SQLException Se a remoção falhar
+     */
+    public void liberar(YearMonth mes) throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (Statement comando = conexao.createStatement();
+                 PreparedStatement atualizacao = conexao.prepareStatement(
+                         "UPDATE arquivo.vendas_meses SET restaurado_em = NULL WHERE mes = ?")) {
+                comando.execute(ESPERA_TRAVA);
+                atualizacao.setDate(1, Date.valueOf(mes.atDay(1)));
+                if (atualizacao.executeUpdate() == 0) {
+                    throw new IllegalArgumentException("Mês não arquivado: " + mes);
+                }
+                comando.execute("DROP TABLE IF EXISTS arquivo.itens_venda_" + mes.format(SUFIXO)
+                        + ", arquivo.vendas_" + mes.format(SUFIXO));
+                conexao.commit();
+            } catch (SQLException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Lista os meses arquivados.
+     *
+     * @return Meses arquivados, do mais recente ao mais antigo
+     * @throws SQLException Se a consulta falhar
+     */
+    public List<MesArquivado> listar() throws SQLException {
+        List<MesArquivado> meses = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery("SELECT mes, qtd_vendas, qtd_itens, bytes_originais, "
+                     + "octet_length(vendas) + octet_length(itens), arquivado_em, restaurado_em "
+                     + "FROM arquivo.vendas_meses ORDER BY mes DESC")) {
+            while (resultado.next()) {
+                meses.add(new MesArquivado(YearMonth.from(resultado.getDate(1).toLocalDate()),
+                        resultado.getLong(2), resultado.getLong(3), resultado.getLong(4), resultado.getLong(5),
+                        paraData(resultado.getTimestamp(6)), paraData(resultado.getTimestamp(7))));
+            }
+        }
+        return meses;
+    }
+
+    /**
+     * Exporta uma tabela em CSV (com cabeçalho) compactado.
+     *
+     * @return Linhas exportadas e tamanho do CSV antes da compactação
+     */
+    private static long[] exportar(CopyManager copia, String tabela, Path destino) throws SQLException, IOException {
+        try (ContadorSaida contador = new ContadorSaida(new GZIPOutputStream(Files.newOutputStream(destino)))) {
+            long linhas = copia.copyOut("COPY " + tabela + " TO STDOUT (FORMAT csv, HEADER)", contador);
+            return new long[] {linhas, contador.bytes};
+        }
+    }
+
+    /**
+     * Importa um CSV compactado gerado por {@link #exportar}. As colunas vêm do cabeçalho, de modo
+     * que meses arquivados antes de uma nova coluna continuam restauráveis.
+     */
+    private static void importar(CopyManager copia, String tabela, byte[] dados) throws SQLException, IOException {
+        try (InputStream entrada = new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(dados)))) {
+            ByteArrayOutputStream cabecalho = new ByteArrayOutputStream();
+            int b;
+            while ((b = entrada.read()) != -1 && b != '\n') {
+                cabecalho.write(b);
+            }
+            String colunas = cabecalho.toString(StandardCharsets.UTF_8).trim();
+            if (!COLUNAS.matcher(colunas).matches()) {
+                throw new IOException("Cabeçalho inválido no arquivo de " + tabela + ": " + colunas);
+            }
+            copia.copyIn("COPY " + tabela + " (" + colunas + ") FROM STDIN (FORMAT csv)", entrada);
+        }
+    }
+
+    private static boolean consultarBooleano(Statement comando, String sql) throws SQLException {
+        try (ResultSet resultado = comando.executeQuery(sql)) {
+            return resultado.next() && resultado.getBoolean(1);
+        }
+    }
+
+    private static LocalDateTime paraData(Timestamp instante) {
+        return instante != null ? instante.toLocalDateTime() : null;
+    }
+
+    /**
+     * Conta os bytes gravados (antes da compactação).
+     */
+    private static final class ContadorSaida extends FilterOutputStream {
+
+        private long bytes;
+
+        ContadorSaida(OutputStream destino) {
+            super(destino);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.hortifruti.service;
+
+import com.hortifruti.busca.IndiceAtualizavel;
+import com.hortifruti.busca.IndiceTexto;
+import com.hortifruti.busca.NormalizadorTexto;
+import com.hortifruti.event.ClienteAlteradoEvent;
+import com.hortifruti.model.Cliente;
+import com.hortifruti.repository.ClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de busca de clientes por nome, CPF, CNPJ ou telefone.
+ *
+ * <p>Consultas só com dígitos (ao menos {@value #MINIMO_DIGITOS}) procuram nos documentos e
+ * no telefone; as demais, no nome sem acentos. Por padrão a busca roda no PostgreSQL,
+ * sobre as colunas normalizadas e os índices btree/pg_trgm criados em V6. Com
+ * {@code app.clientes.busca.memoria=true} um {@link IndiceTexto} em memória responde
+ * as consultas sem ir ao banco (exceto para carregar os clientes da página), ao custo de
+ * memória proporcional à base; nesse modo o telefone é encontrado apenas por prefixo. As
+ * alterações de clientes entram numa sobreposição pequena do índice, consolidada de tempos
+ * em tempos (ver {@link IndiceAtualizavel}), sem remontar a base inteira a cada cadastro.
+ *
+ * <p>As páginas são limitadas aos primeiros {@value #RESULTADOS_MAXIMOS} resultados: a
+ * busca serve para achar um cliente, não para percorrer a base.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+@Transactional(readOnly = true)
+public class BuscaClienteService {
+
+    /** Tamanho máximo de página */
+    public static final int TAMANHO_MAXIMO = 50;
+
+    /** Número máximo de resultados alcançáveis paginando */
+    public static final int RESULTADOS_MAXIMOS = 500;
+
+    /** Quantidade mínima de dígitos para buscar por documento ou telefone */
+    public static final int MINIMO_DIGITOS = 3;
+
+    private final ClienteRepository clienteRepository;
+    private final IndiceAtualizavel<Long> indice;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param clienteRepository Repository de clientes
+     * @param memoria Se a busca deve usar o índice em memória em vez do banco
+     */
+    @Autowired
+    public BuscaClienteService(ClienteRepository clienteRepository,
+                               @Value("${app.clientes.busca.memoria:false}") boolean memoria) {
+        this.clienteRepository = clienteRepository;
+        this.indice = memoria
+                ? new IndiceAtualizavel<>("clientes",
+                        () -> documentos(clienteRepository.findAll()),
+                        ids -> documentos(clienteRepository.findAllById(ids)))
+                : null;
+    }
+
+    /**
+     * Busca clientes, em ordem de relevância.
+     *
+     * @param consulta Nome, CPF, CNPJ ou telefone (com ou sem pontuação)
+     * @param pagina Número da página, a partir de 0
+     * @param tamanho Tamanho da página (1 a {@value #TAMANHO_MAXIMO})
+     * @return Mapa com os clientes da página, a página, o tamanho e se há mais resultados
+     * @throws IllegalArgumentException Se os parâmetros forem inválidos
+     */
+    public Map<String, Object> buscar(String consulta, int pagina, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + TAMANHO_MAXIMO);
+        }
+        if (pagina < 0 || (pagina + 1) * tamanho > RESULTADOS_MAXIMOS) {
+            throw new IllegalArgumentException("Página deve estar entre 0 e " + (RESULTADOS_MAXIMOS / tamanho - 1));
+        }
+
+        int inicio = pagina * tamanho;
+        // Um item além da página indica se há mais resultados
+        List<Long> ids = indice != null
+                ? buscarNaMemoria(consulta, inicio, tamanho + 1)
+                : buscarNoBanco(consulta, inicio, tamanho + 1);
+        boolean temMais = ids.size() > tamanho;
+        if (temMais) {
+            ids = ids.subList(0, tamanho);
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("itens", carregarEmOrdem(ids));
+        resultado.put("pagina", pagina);
+        resultado.put("tamanho", tamanho);
+        resultado.put("temMais", temMais);
+        return resultado;
+    }
+
+    private List<Long> buscarNoBanco(String consulta, int inicio, int quantidade) {
+        int janela = inicio + quantidade;
+        String digitos = NormalizadorTexto.somenteDigitos(consulta);
+        if (somenteDigitos(consulta, digitos)) {
+            return clienteRepository.buscarIdsPorDigitos(digitos, digitos + ":", "%" + digitos + "%",
+                    janela, inicio, quantidade);
+        }
+        String termo = NormalizadorTexto.normalizar(consulta);
+        if (termo.isEmpty()) {
+            return List.of();
+        }
+        return clienteRepository.buscarIdsPorNome(termo, termo + "{", "% " + termo + "%",
+                janela, inicio, quantidade);
+    }
+
+    private List<Long> buscarNaMemoria(String consulta, int inicio, int quantidade) {
+        // Documentos são indexados só com dígitos: "123.456.789-00" precisa virar uma única palavra
+        String digitos = NormalizadorTexto.somenteDigitos(consulta);
+        String termo = somenteDigitos(consulta, digitos) ? digitos : consulta;
+        List<IndiceTexto.Resultado<Long>> resultados = indice.buscar(termo, inicio + quantidade);
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int i = inicio; i < resultados.size(); i++) {
+            ids.add(resultados.get(i).getItem());
+        }
+        return ids;
+    }
+
+    private List<Cliente> carregarEmOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Cliente> porId = clienteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        List<Cliente> clientes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Cliente cliente = porId.get(id);
+            if (cliente != null) {
+                clientes.add(cliente);
+            }
+        }
+        return clientes;
+    }
+
+    /**
+     * Monta o índice em memória quando a aplicação termina de subir (se habilitado).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (indice != null) {
+            indice.carregar();
+        }
+    }
+
+    /**
+     * Atualiza o índice em memória após o commit de um cadastro, alteração ou remoção de cliente.
+     *
+     * @param evento Evento de alteração de cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void aoAlterarCliente(ClienteAlteradoEvent evento) {
+        if (indice != null) {
+            indice.alterados(evento.getClienteIds());
+        }
+    }
+
+    private static boolean somenteDigitos(String consulta, String digitos) {
+        return digitos.length() >= MINIMO_DIGITOS && consulta.chars().noneMatch(Character::isLetter);
+    }
+
+    private static List<IndiceTexto.Documento<Long>> documentos(List<Cliente> clientes) {
+        List<IndiceTexto.Documento<Long>> documentos = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            String numeros = String.join(" ",
+                    NormalizadorTexto.somenteDigitos(cliente.getCpf()),
+                    NormalizadorTexto.somenteDigitos(cliente.getCnpj()),
+                    NormalizadorTexto.somenteDigitos(cliente.getTelefone()));
+            documentos.add(new IndiceTexto.Documento<>(cliente.getId(), cliente.getNome(), numeros, cliente.getId()));
+        }
+        return documentos;
+    }
+}
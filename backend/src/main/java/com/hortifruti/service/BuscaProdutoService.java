@@ -0,0 +1,102 @@
+package com.hortifruti.service;
+
+import com.hortifruti.busca.IndiceAtualizavel;
+import com.hortifruti.busca.IndiceTexto;
+import com.hortifruti.dto.ProdutoResumo;
+import com.hortifruti.event.ProdutoAlteradoEvent;
+import com.hortifruti.model.Produto;
+import com.hortifruti.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço de busca de produtos para o autocomplete do caixa.
+ *
+ * <p>As consultas são respondidas por um {@link IndiceTexto} em memória sobre o nome e a
+ * embalagem, sem acesso ao banco. O índice é carregado quando a aplicação sobe e é
+ * atualizado (copy-on-write, via {@link IndiceAtualizavel}) após o commit de cada
+ * cadastro, alteração ou remoção de produto; movimentações de estoque não alteram o índice.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class BuscaProdutoService {
+
+    /** Número máximo de resultados por consulta */
+    public static final int LIMITE_MAXIMO = 50;
+
+    private final IndiceAtualizavel<ProdutoResumo> indice;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param produtoRepository Repository de produtos
+     */
+    @Autowired
+    public BuscaProdutoService(ProdutoRepository produtoRepository) {
+        this.indice = new IndiceAtualizavel<>("produtos",
+                () -> documentos(produtoRepository.findAll()),
+                ids -> documentos(produtoRepository.findAllById(ids)));
+    }
+
+    /**
+     * Busca produtos por prefixo ou aproximação do nome e da embalagem, ignorando acentos
+     * e maiúsculas ("maca" encontra "Maçã").
+     *
+     * @param consulta Texto digitado
+     * @param limite Número máximo de resultados (1 a {@value #LIMITE_MAXIMO})
+     * @return Produtos em ordem de relevância
+     * @throws IllegalArgumentException Se o limite for inválido
+     */
+    public List<ProdutoResumo> buscar(String consulta, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        List<IndiceTexto.Resultado<ProdutoResumo>> resultados = indice.buscar(consulta, limite);
+        List<ProdutoResumo> produtos = new ArrayList<>(resultados.size());
+        for (IndiceTexto.Resultado<ProdutoResumo> resultado : resultados) {
+            produtos.add(resultado.getItem());
+        }
+        return produtos;
+    }
+
+    /**
+     * Monta o índice com todos os produtos quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        indice.carregar();
+    }
+
+    /**
+     * Atualiza o índice após o commit de um cadastro, alteração ou remoção de produto.
+     *
+     * @param evento Evento de alteração de produto
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        if (evento.getTipo() != ProdutoAlteradoEvent.Tipo.ESTOQUE) {
+            indice.alterados(evento.getProdutoIds());
+        }
+    }
+
+    private static List<IndiceTexto.Documento<ProdutoResumo>> documentos(List<Produto> produtos) {
+        List<IndiceTexto.Documento<ProdutoResumo>> documentos = new ArrayList<>(produtos.size());
+        for (Produto produto : produtos) {
+            documentos.add(new IndiceTexto.Documento<>(produto.getId(), produto.getNome(), produto.getEmbalagem(),
+                    new ProdutoResumo(produto)));
+        }
+        return documentos;
+    }
+}
@@ -0,0 +1,80 @@
+package com.hortifruti.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serviço que expõe as estatísticas do cache de segundo nível do Hibernate.
+ *
+ * <p>Os mesmos contadores são publicados pelo Actuator em {@code /actuator/metrics}
+ * (métricas {@code hibernate.*}); este serviço apenas os resume por região, com a
+ * taxa de acerto, e informa o total de comandos SQL preparados, útil para medir
+ * quantas consultas uma operação executa.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class CacheEstatisticasService {
+
+    private final Statistics statistics;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param entityManagerFactory Fábrica de EntityManager (Hibernate)
+     */
+    @Autowired
+    public CacheEstatisticasService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Resume as estatísticas do cache de segundo nível e do cache de consultas.
+     *
+     * @return Mapa com acertos, falhas e taxa de acerto por região
+     */
+    public Map<String, Object> obterEstatisticas() {
+        Map<String, Object> regioes = new LinkedHashMap<>();
+        for (String regiao : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(regiao);
+            if (stats != null) {
+                regioes.put(regiao, resumir(stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+            }
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("regioes", regioes);
+        resultado.put("consultas", resumir(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        resultado.put("segundoNivel", resumir(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        resultado.put("comandosSql", statistics.getPrepareStatementCount());
+        return resultado;
+    }
+
+    /**
+     * Zera os contadores (ex.: antes de medir as consultas de uma venda).
+     */
+    public void limparEstatisticas() {
+        statistics.clear();
+    }
+
+    private static Map<String, Object> resumir(long acertos, long falhas, long insercoes) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("acertos", acertos);
+        resumo.put("falhas", falhas);
+        resumo.put("insercoes", insercoes);
+        long total = acertos + falhas;
+        resumo.put("taxaAcerto", total > 0 ? (double) acertos / total : 0.0);
+        return resumo;
+    }
+}
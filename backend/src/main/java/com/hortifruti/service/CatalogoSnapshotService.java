@@ -0,0 +1,173 @@
+package com.hortifruti.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hortifruti.event.ProdutoAlteradoEvent;
+import com.hortifruti.repository.ProdutoRepository;
+import com.hortifruti.replica.ConsistenciaLeitura;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serviço que mantém um snapshot pré-serializado do catálogo de produtos.
+ *
+ * <p>O JSON da lista de produtos (e sua versão gzip) é gerado uma única vez por versão
+ * do catálogo. Cada {@link ProdutoAlteradoEvent} confirmado incrementa a versão, e o
+ * próximo acesso reconstrói o snapshot; enquanto nada muda, servir o catálogo custa
+ * apenas comparar o ETag e escrever o buffer.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class CatalogoSnapshotService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Versão atual do catálogo, incrementada a cada alteração confirmada */
+    private final AtomicLong versao = new AtomicLong();
+    /** Instante da última alteração confirmada, exigido das réplicas ao reconstruir */
+    private final AtomicLong alteradoEm = new AtomicLong();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param produtoRepository Repository de produtos
+     * @param objectMapper ObjectMapper configurado da aplicação
+     */
+    @Autowired
+    public CatalogoSnapshotService(ProdutoRepository produtoRepository, ObjectMapper objectMapper) {
+        this.produtoRepository = produtoRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Retorna o snapshot da versão atual do catálogo, reconstruindo-o se necessário.
+     * Apenas uma thread reconstrói por vez; as demais aguardam o resultado.
+     *
+     * @return Snapshot atual do catálogo
+     */
+    public Snapshot obter() {
+        Snapshot atual = snapshot;
+        if (atual != null && atual.versao == versao.get()) {
+            return atual;
+        }
+        reconstrucao.lock();
+        try {
+            atual = snapshot;
+            long alvo = versao.get();
+            if (atual == null || atual.versao != alvo) {
+                atual = construir(alvo);
+                snapshot = atual;
+            }
+            return atual;
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    /**
+     * Invalida o snapshot após o commit de qualquer alteração de produto.
+     *
+     * @param evento Evento de alteração de produto
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        alteradoEm.set(System.currentTimeMillis());
+        versao.incrementAndGet();
+    }
+
+    private Snapshot construir(long versaoAlvo) {
+        try {
+            // O snapshot vale até a próxima alteração: não pode vir de uma réplica sem a última
+            byte[] json = objectMapper.writeValueAsBytes(
+                    ConsistenciaLeitura.exigindo(alteradoEm.get(), produtoRepository::findAllSortedByNome));
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+            return new Snapshot(versaoAlvo, json, gzip(json), hash);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar o catálogo de produtos", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, dados.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Snapshot imutável do catálogo: JSON, JSON gzip e ETags fortes de cada representação.
+     */
+    public static final class Snapshot {
+        private final long versao;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String etagGzip;
+
+        private Snapshot(long versao, byte[] json, byte[] gzip, String hash) {
+            this.versao = versao;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + hash + "\"";
+            this.etagGzip = "\"" + hash + "-gzip\"";
+        }
+
+        /**
+         * Obtém o JSON do catálogo.
+         *
+         * @return Bytes do JSON (não devem ser alterados)
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Obtém o JSON do catálogo comprimido com gzip.
+         *
+         * @return Bytes do JSON comprimido (não devem ser alterados)
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        /**
+         * Obtém o ETag da representação sem compressão.
+         *
+         * @return ETag forte
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Obtém o ETag da representação gzip.
+         *
+         * @return ETag forte
+         */
+        public String getEtagGzip() {
+            return etagGzip;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hortifruti.service;
+
+import com.hortifruti.busca.NormalizadorTexto;
+import com.hortifruti.cep.BaseCep;
+import com.hortifruti.cep.GeradorBaseCep;
+import com.hortifruti.dto.EnderecoCep;
+import com.hortifruti.importacao.LeitorCsv;
+import com.hortifruti.model.Endereco;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço de consulta de CEPs em uma base local, sem serviço externo.
+ *
+ * <p>A base é um arquivo binário ordenado ({@link BaseCep}), gerado a partir do CSV público
+ * de CEPs pelo endpoint de importação e mapeado em memória: as consultas fazem uma busca
+ * binária no arquivo (microssegundos) sem ocupar o heap. Uma nova importação grava um
+ * arquivo novo e o troca atomicamente; as consultas em andamento continuam na base anterior.
+ *
+ * <p>Sem o arquivo ({@code app.cep.arquivo}) as consultas não encontram nada e os endereços
+ * são gravados como digitados.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class CepService {
+
+    /** Número máximo de resultados da busca por prefixo */
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(CepService.class);
+
+    private final Path arquivo;
+    private final boolean rejeitarDesconhecido;
+    private final ReentrantLock importacao = new ReentrantLock();
+    private volatile BaseCep base;
+
+    /**
+     * Construtor que recebe as configurações via injeção de dependência.
+     *
+     * @param arquivo Caminho do arquivo binário da base de CEPs
+     * @param rejeitarDesconhecido Se endereços com CEP fora da base devem ser recusados
+     */
+    @Autowired
+    public CepService(@Value("${app.cep.arquivo:dados/ceps.bin}") String arquivo,
+                      @Value("${app.cep.rejeitar-desconhecido:false}") boolean rejeitarDesconhecido) {
+        this.arquivo = Path.of(arquivo);
+        this.rejeitarDesconhecido = rejeitarDesconhecido;
+    }
+
+    /**
+     * Mapeia a base de CEPs quando a aplicação termina de subir, se o arquivo existir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (!Files.exists(arquivo)) {
+            logger.warn("Base de CEPs {} não encontrada; importe-a em POST /enderecos/cep/importacao", arquivo);
+            return;
+        }
+        try {
+            base = BaseCep.abrir(arquivo);
+            logger.info("Base de CEPs {} carregada com {} CEPs", arquivo, base.tamanho());
+        } catch (IOException e) {
+            logger.error("Erro ao abrir a base de CEPs {}", arquivo, e);
+        }
+    }
+
+    /**
+     * Busca o endereço de um CEP.
+     *
+     * @param cep CEP com ou sem pontuação
+     * @return Endereço do CEP, se estiver na base
+     * @throws IllegalArgumentException Se o CEP não tiver 8 dígitos
+     */
+    public Optional<EnderecoCep> buscar(String cep) {
+        String digitos = NormalizadorTexto.somenteDigitos(cep);
+        if (digitos.length() != 8) {
+            throw new IllegalArgumentException("CEP deve ter 8 dígitos");
+        }
+        BaseCep atual = base;
+        return atual == null ? Optional.empty() : Optional.ofNullable(atual.buscar(Integer.parseInt(digitos)));
+    }
+
+    /**
+     * Busca os CEPs que começam com os dígitos digitados (autocomplete).
+     *
+     * @param prefixo De 1 a 8 dígitos, com ou sem pontuação
+     * @param limite Número máximo de resultados (1 a {@value #LIMITE_MAXIMO})
+     * @return Endereços em ordem de CEP
+     * @throws IllegalArgumentException Se o prefixo ou o limite forem inválidos
+     */
+    public List<EnderecoCep> buscarPorPrefixo(String prefixo, int limite) {
+        String digitos = NormalizadorTexto.somenteDigitos(prefixo);
+        if (digitos.isEmpty() || digitos.length() > 8) {
+            throw new IllegalArgumentException("Prefixo deve ter de 1 a 8 dígitos");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        BaseCep atual = base;
+        return atual == null ? List.of() : atual.buscarPorPrefixo(digitos, limite);
+    }
+
+    /**
+     * Corrige um endereço pela base de CEPs: formata o CEP e usa o bairro, a cidade e a UF
+     * da base (o logradouro só é preenchido se estiver vazio, pois a base o abrevia).
+     * Sem CEP, ou com a base indisponível, o endereço não é alterado.
+     *
+     * @param endereco Endereço a corrigir
+     * @throws IllegalArgumentException Se o CEP for inválido, ou estiver fora da base e
+     *         {@code app.cep.rejeitar-desconhecido=true}
+     */
+    public void canonicalizar(Endereco endereco) {
+        if (endereco.getCep() == null || endereco.getCep().isBlank()) {
+            return;
+        }
+        Optional<EnderecoCep> encontrado = buscar(endereco.getCep());
+        if (encontrado.isEmpty()) {
+            if (rejeitarDesconhecido && base != null) {
+                throw new IllegalArgumentException("CEP " + endereco.getCep() + " não encontrado");
+            }
+            return;
+        }
+        EnderecoCep cep = encontrado.get();
+        endereco.setCep(cep.getCep());
+        if (cep.getBairro() != null) {
+            endereco.setBairro(cep.getBairro());
+        }
+        endereco.setCidade(cep.getCidade());
+        endereco.setEstado(cep.getEstado());
+        if ((endereco.getRua() == null || endereco.getRua().isBlank()) && cep.getLogradouro() != null) {
+            endereco.setRua(cep.getLogradouro());
+        }
+    }
+
+    /**
+     * Gera a base de CEPs a partir de um CSV e passa a usá-la.
+     *
+     * @param reader CSV com cabeçalho (cep, logradouro, bairro, cidade, uf)
+     * @return Resumo com CEPs gravados, repetidos, inválidos, tamanho do arquivo e primeiros erros
+     * @throws IOException Se a leitura ou a gravação falhar
+     * @throws IllegalArgumentException Se o CSV for inválido ou outra importação estiver em andamento
+     */
+    public Map<String, Object> importar(Reader reader) throws IOException {
+        if (!importacao.tryLock()) {
+            throw new IllegalArgumentException("Já existe uma importação de CEPs em andamento");
+        }
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            Path novo = Files.createTempFile(diretorio, "ceps", ".bin");
+            try {
+                GeradorBaseCep.Resultado resultado;
+                try (LeitorCsv csv = new LeitorCsv(reader)) {
+                    resultado = GeradorBaseCep.gerar(csv, novo);
+                }
+                BaseCep nova = BaseCep.abrir(novo);
+                // A base anterior continua mapeada (e legível) até ser coletada
+                Files.move(novo, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                base = nova;
+                logger.info("Base de CEPs importada: {} CEPs, {} bytes", resultado.getRegistros(), resultado.getBytes());
+
+                Map<String, Object> resumo = new LinkedHashMap<>();
+                resumo.put("registros", resultado.getRegistros());
+                resumo.put("repetidos", resultado.getRepetidos());
+                resumo.put("invalidos", resultado.getInvalidos());
+                resumo.put("bytes", resultado.getBytes());
+                resumo.put("erros", resultado.getErros());
+                return resumo;
+            } finally {
+                Files.deleteIfExists(novo);
+            }
+        } finally {
+            importacao.unlock();
+        }
+    }
+}
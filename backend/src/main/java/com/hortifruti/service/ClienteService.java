@@ -0,0 +1,275 @@
+package com.hortifruti.service;
+
+import com.hortifruti.concorrencia.LeituraCoalescida;
+import com.hortifruti.dto.ClienteEnderecoRequest;
+import com.hortifruti.dto.ClienteEnderecoResponse;
+import com.hortifruti.event.ClienteAlteradoEvent;
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Endereco;
+import com.hortifruti.repository.ClienteRepository;
+import com.hortifruti.replica.ConsistenciaLeitura;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço para lógica de negócios de clientes.
+ */
+@Service
+@Transactional
+public class ClienteService {
+
+    /** Tamanho máximo de página da listagem paginada */
+    public static final int TAMANHO_MAXIMO_PAGINA = 200;
+
+    private final ClienteRepository clienteRepository;
+    private final EnderecoService enderecoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeituraCoalescida<List<Cliente>> leituraTodos;
+    /** Instante da última alteração confirmada, exigido das réplicas na leitura coalescida */
+    private final AtomicLong alteradoEm = new AtomicLong();
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param clienteRepository Repositório de clientes
+     * @param enderecoService Serviço de endereços
+     * @param eventPublisher Publicador dos eventos de alteração de cliente
+     * @param transactionManager Gerenciador de transações da leitura coalescida
+     * @param ttlCoalescenciaMs Tempo que o resultado da leitura coalescida continua valendo
+     */
+    @Autowired
+    public ClienteService(ClienteRepository clienteRepository, EnderecoService enderecoService,
+                          ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                          @Value("${app.coalescencia.ttl-ms:1000}") long ttlCoalescenciaMs) {
+        this.clienteRepository = clienteRepository;
+        this.enderecoService = enderecoService;
+        this.eventPublisher = eventPublisher;
+
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        // O resultado é compartilhado: a réplica lida precisa já ter a última alteração
+        this.leituraTodos = new LeituraCoalescida<>(
+                () -> ConsistenciaLeitura.exigindo(alteradoEm.get(),
+                        () -> leitura.execute(status -> List.copyOf(clienteRepository.findAllSortedByNome()))),
+                ttlCoalescenciaMs);
+    }
+
+    /**
+     * Retorna uma lista de todos os clientes, ordenados por nome.
+     * Chamadas simultâneas compartilham uma única consulta (ver {@link LeituraCoalescida}).
+     * @return Lista imutável de clientes
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Cliente> buscarTodos() {
+        return leituraTodos.obter();
+    }
+
+    /**
+     * Descarta a listagem coalescida após o commit de qualquer alteração de cliente.
+     * @param evento Evento de alteração de cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void aoAlterarCliente(ClienteAlteradoEvent evento) {
+        alteradoEm.set(System.currentTimeMillis());
+        leituraTodos.invalidar();
+    }
+
+    /**
+     * Lista uma página de clientes em ordem de nome, com paginação por chave (nome, id).
+     * @param cursor Cursor devolvido pela página anterior (null ou vazio para a primeira página)
+     * @param tamanho Tamanho da página (1 a {@value #TAMANHO_MAXIMO_PAGINA})
+     * @param fields Campos desejados separados por vírgula (null ou vazio para todos); id e nome sempre vêm
+     * @return Mapa com os clientes da página e o cursor da próxima (null na última)
+     * @throws IllegalArgumentException Se o tamanho, o cursor ou algum campo for inválido
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> listarPagina(String cursor, int tamanho, String fields) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        List<String> campos = fields == null || fields.isBlank()
+                ? ClienteRepository.CAMPOS
+                : Arrays.stream(fields.split(",")).map(String::trim).filter(campo -> !campo.isEmpty()).toList();
+
+        String aposNome = null;
+        Long aposId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = chave.indexOf(':');
+                aposId = Long.parseLong(chave.substring(0, separador));
+                aposNome = chave.substring(separador + 1);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+
+        // Uma linha além da página indica se há próxima
+        List<Map<String, Object>> itens = clienteRepository.listarPagina(campos, aposNome, aposId, tamanho + 1);
+        String proximo = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            Map<String, Object> ultimo = itens.get(tamanho - 1);
+            String chave = ultimo.get("id") + ":" + ultimo.get("nome");
+            proximo = Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("itens", itens);
+        resultado.put("proximo", proximo);
+        return resultado;
+    }
+
+    /**
+     * Busca um cliente pelo seu ID.
+     * @param id O ID do cliente
+     * @return Um Optional contendo o cliente, se encontrado
+     */
+    @Transactional(readOnly = true)
+    public Optional<Cliente> buscarPorId(Long id) {
+        return clienteRepository.findById(id);
+    }
+
+    /**
+     * Cria um novo cliente.
+     * @param cliente O cliente a ser criado
+     * @return O cliente criado
+     */
+    public Cliente criar(Cliente cliente) {
+        validarCliente(cliente);
+        
+        // Garante que o ID seja null para criação (não atualização)
+        // Se vier como 0 ou qualquer outro valor, força para null
+        if (cliente.getId() == null || cliente.getId() == 0) {
+            cliente.setId(null);
+            cliente.setVersao(null);
+        } else {
+            // Se tem ID não-nulo, é uma tentativa de atualização, não permitir
+            throw new IllegalArgumentException("ID não deve ser fornecido para criação de novo cliente");
+        }
+        
+        try {
+            Cliente salvo = clienteRepository.save(cliente);
+            eventPublisher.publishEvent(new ClienteAlteradoEvent(salvo.getId(), ClienteAlteradoEvent.Tipo.CADASTRO));
+            return salvo;
+        } catch (Exception e) {
+            // Log detalhado do erro antes de relançar
+            System.err.println("Erro ao salvar cliente:");
+            System.err.println("ID: " + cliente.getId());
+            System.err.println("Nome: " + cliente.getNome());
+            System.err.println("CPF: " + cliente.getCpf());
+            System.err.println("Estado: " + cliente.getEstado());
+            throw new RuntimeException("Erro ao salvar cliente no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria um novo cliente e, opcionalmente, um endereço associado (principal).
+     * @param request A requisição contendo os dados do cliente e do endereço.
+     * @return Um ClienteEnderecoResponse contendo o cliente criado e o endereço (se houver).
+     */
+    public ClienteEnderecoResponse criarComEndereco(ClienteEnderecoRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Requisição não pode ser nula");
+        }
+
+        Cliente cliente = new Cliente();
+        cliente.setNome(request.getNome());
+        cliente.setCpf(request.getCpf());
+        cliente.setEstado(request.getEstado());
+        cliente.setTelefone(request.getTelefone());
+        cliente.setCnpj(request.getCnpj());
+        cliente.setIe(request.getIe());
+        cliente.setCondPgto(request.getCondPgto());
+        cliente.setBanco(request.getBanco());
+
+        Cliente clienteCriado = criar(cliente);
+
+        Endereco enderecoCriado = null;
+        if (request.getEndereco() != null) {
+            Endereco endereco = new Endereco();
+            endereco.setRua(request.getEndereco().getRua());
+            endereco.setNumero(request.getEndereco().getNumero());
+            endereco.setComplemento(request.getEndereco().getComplemento());
+            endereco.setBairro(request.getEndereco().getBairro());
+            endereco.setCidade(request.getEndereco().getCidade());
+            endereco.setEstado(request.getEndereco().getEstado());
+            endereco.setCep(request.getEndereco().getCep());
+            // Primeiro endereço do cliente: sempre o principal
+            enderecoCriado = enderecoService.adicionar(clienteCriado, endereco, request.getEndereco().getPrincipal());
+        }
+
+        return new ClienteEnderecoResponse(clienteCriado, enderecoCriado);
+    }
+
+    /**
+     * Atualiza um cliente existente, usando a versão informada no próprio cliente (se houver).
+     * @param id O ID do cliente a ser atualizado
+     * @param cliente O cliente com os dados atualizados
+     * @return Um Optional contendo o cliente atualizado, se encontrado
+     * @throws OptimisticLockingFailureException Se o cliente foi alterado desde a versão informada
+     */
+    public Optional<Cliente> atualizar(Long id, Cliente cliente) {
+        return atualizar(id, cliente, cliente != null ? cliente.getVersao() : null);
+    }
+
+    /**
+     * Atualiza um cliente com um único UPDATE condicionado à versão esperada.
+     * @param id O ID do cliente a ser atualizado
+     * @param cliente O cliente com os dados atualizados
+     * @param versaoEsperada Versão lida pelo cliente da API, ou null para atualizar sem verificar
+     * @return Um Optional contendo o cliente atualizado, se encontrado
+     * @throws OptimisticLockingFailureException Se o cliente foi alterado desde a versão esperada
+     */
+    public Optional<Cliente> atualizar(Long id, Cliente cliente, Long versaoEsperada) {
+        validarCliente(cliente);
+        int rows = clienteRepository.atualizarCadastro(id, cliente, versaoEsperada);
+        if (rows == 0) {
+            if (versaoEsperada == null || !clienteRepository.existsById(id)) {
+                return Optional.empty();
+            }
+            throw new OptimisticLockingFailureException(
+                    "Cliente foi alterado por outra requisição (versão esperada: " + versaoEsperada + ")");
+        }
+        eventPublisher.publishEvent(new ClienteAlteradoEvent(id, ClienteAlteradoEvent.Tipo.CADASTRO));
+        return clienteRepository.findByIdSemCache(id);
+    }
+
+    /**
+     * Remove um cliente pelo seu ID.
+     * @param id O ID do cliente a ser removido
+     * @return true se o cliente foi removido, false caso contrário
+     */
+    public boolean remover(Long id) {
+        if (!clienteRepository.existsById(id)) return false;
+        clienteRepository.deleteById(id);
+        eventPublisher.publishEvent(new ClienteAlteradoEvent(id, ClienteAlteradoEvent.Tipo.REMOCAO));
+        return true;
+    }
+
+    private void validarCliente(Cliente cliente) {
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente não pode ser nulo");
+        }
+        if (cliente.getNome() == null || cliente.getNome().trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome do cliente é obrigatório");
+        }
+    }
+}
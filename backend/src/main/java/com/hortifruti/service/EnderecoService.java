@@ -0,0 +1,118 @@
+package com.hortifruti.service;
+
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Endereco;
+import com.hortifruti.repository.EnderecoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serviço de endereços de entrega dos clientes.
+ *
+ * <p>Mantém a regra de exatamente um endereço principal por cliente com endereços: o
+ * primeiro endereço é sempre principal e marcar outro desmarca o atual. A busca do
+ * principal usa o índice único parcial de V9 e o cache de consultas do Hibernate
+ * (invalidado a cada escrita em enderecos); o endereço em si vem do cache de segundo nível.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+@Transactional
+public class EnderecoService {
+
+    private final EnderecoRepository enderecoRepository;
+    private final CepService cepService;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param enderecoRepository Repository de endereços
+     * @param cepService Serviço de CEPs, para corrigir bairro, cidade e UF pelo CEP
+     */
+    @Autowired
+    public EnderecoService(EnderecoRepository enderecoRepository, CepService cepService) {
+        this.enderecoRepository = enderecoRepository;
+        this.cepService = cepService;
+    }
+
+    /**
+     * Lista os endereços de um cliente, com o principal primeiro.
+     *
+     * @param clienteId ID do cliente
+     * @return Endereços do cliente
+     */
+    @Transactional(readOnly = true)
+    public List<Endereco> listar(Long clienteId) {
+        return enderecoRepository.findByClienteIdOrderByPrincipalDesc(clienteId);
+    }
+
+    /**
+     * Busca o ID do endereço principal de um cliente, sem carregar os endereços.
+     *
+     * @param clienteId ID do cliente
+     * @return ID do endereço principal, se o cliente tiver endereços
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarPrincipalId(Long clienteId) {
+        return enderecoRepository.findPrincipalIdByClienteId(clienteId);
+    }
+
+    /**
+     * Busca o endereço principal de um cliente.
+     *
+     * @param clienteId ID do cliente
+     * @return Endereço principal, se o cliente tiver endereços
+     */
+    @Transactional(readOnly = true)
+    public Optional<Endereco> buscarPrincipal(Long clienteId) {
+        return enderecoRepository.findPrincipalIdByClienteId(clienteId).flatMap(enderecoRepository::findById);
+    }
+
+    /**
+     * Adiciona um endereço a um cliente. Bairro, cidade e UF são corrigidos pela base de CEPs.
+     *
+     * @param cliente Cliente dono do endereço
+     * @param endereco Endereço a adicionar
+     * @param principal Se deve ser o principal (null conta como sim); o primeiro endereço sempre é
+     * @return Endereço salvo
+     * @throws IllegalArgumentException Se o CEP for inválido
+     */
+    public Endereco adicionar(Cliente cliente, Endereco endereco, Boolean principal) {
+        if (cliente == null || cliente.getId() == null) {
+            throw new IllegalArgumentException("Cliente é obrigatório");
+        }
+        cepService.canonicalizar(endereco);
+        boolean temPrincipal = enderecoRepository.findPrincipalIdByClienteId(cliente.getId()).isPresent();
+        boolean tornarPrincipal = principal == null || principal || !temPrincipal;
+        if (tornarPrincipal && temPrincipal) {
+            enderecoRepository.desmarcarPrincipal(cliente.getId());
+        }
+        endereco.setId(null);
+        endereco.setCliente(cliente);
+        endereco.setPrincipal(tornarPrincipal);
+        return enderecoRepository.save(endereco);
+    }
+
+    /**
+     * Define o endereço principal de um cliente.
+     *
+     * @param clienteId ID do cliente
+     * @param enderecoId ID do endereço que passa a ser o principal
+     * @return Endereço principal, ou vazio se o endereço não existir ou não for do cliente
+     */
+    public Optional<Endereco> definirPrincipal(Long clienteId, Long enderecoId) {
+        if (!enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)) {
+            return Optional.empty();
+        }
+        // Desmarca antes de marcar: o índice único parcial é verificado a cada comando
+        enderecoRepository.desmarcarPrincipal(clienteId);
+        enderecoRepository.marcarPrincipal(enderecoId);
+        return enderecoRepository.findById(enderecoId);
+    }
+}
@@ -0,0 +1,299 @@
+package com.hortifruti.service;
+
+import com.hortifruti.busca.NormalizadorTexto;
+import com.hortifruti.dto.ManifestoEntrega;
+import com.hortifruti.model.Endereco;
+import com.hortifruti.model.Venda;
+import com.hortifruti.repository.VendaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Serviço do manifesto de entregas: as vendas finalizadas de um dia, separadas em rotas.
+ *
+ * <p>As vendas são carregadas com o endereço de entrega e o cliente em uma única consulta.
+ * Cada rota reúne as vendas de um bairro (ou de um prefixo de {@value #DIGITOS_PREFIXO_CEP}
+ * dígitos do CEP) de uma cidade. Sem coordenadas, a ordem das paradas usa o próprio CEP:
+ * CEPs próximos numericamente são vizinhos no mapa, então a rota percorre os CEPs em ordem
+ * (e, no mesmo CEP, a rua pela numeração), começando pela ponta mais próxima do CEP de
+ * origem ({@code app.entregas.cep-origem}), se configurado.
+ *
+ * <p>Os PDFs das rotas são gerados em paralelo em um pool próprio e limitado
+ * ({@code app.entregas.pdf.threads}), para não ocupar as threads das requisições.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class EntregaService {
+
+    /** Rotas por bairro */
+    public static final String POR_BAIRRO = "bairro";
+
+    /** Rotas por prefixo de CEP */
+    public static final String POR_CEP = "cep";
+
+    /** Dígitos do CEP que definem uma rota no agrupamento por CEP (setor e subsetor) */
+    public static final int DIGITOS_PREFIXO_CEP = 5;
+
+    private static final Logger logger = LoggerFactory.getLogger(EntregaService.class);
+
+    private final VendaRepository vendaRepository;
+    private final PdfService pdfService;
+    private final Integer cepOrigem;
+    private final ExecutorService executorPdf;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param vendaRepository Repository de vendas
+     * @param pdfService Serviço de geração de PDFs
+     * @param cepOrigem CEP de onde as entregas saem (vazio para não considerar)
+     * @param threads Threads para gerar os PDFs das rotas (0 para o número de processadores, até 4)
+     */
+    @Autowired
+    public EntregaService(VendaRepository vendaRepository, PdfService pdfService,
+                          @Value("${app.entregas.cep-origem:}") String cepOrigem,
+                          @Value("${app.entregas.pdf.threads:0}") int threads) {
+        this.vendaRepository = vendaRepository;
+        this.pdfService = pdfService;
+        String digitos = NormalizadorTexto.somenteDigitos(cepOrigem);
+        this.cepOrigem = digitos.length() == 8 ? Integer.valueOf(digitos) : null;
+        int tamanho = threads > 0 ? threads : Math.min(4, Runtime.getRuntime().availableProcessors());
+        AtomicInteger contador = new AtomicInteger();
+        this.executorPdf = Executors.newFixedThreadPool(tamanho, tarefa -> {
+            Thread thread = new Thread(tarefa, "pdf-entregas-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encerra o pool de geração de PDFs.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executorPdf.shutdown();
+    }
+
+    /**
+     * Monta o manifesto de entregas das vendas finalizadas em um dia.
+     *
+     * @param data Dia das vendas
+     * @param agrupamento {@value #POR_BAIRRO} ou {@value #POR_CEP}
+     * @return Manifesto com as rotas e as paradas em ordem de visita
+     * @throws IllegalArgumentException Se o agrupamento for inválido
+     */
+    @Transactional(readOnly = true)
+    public ManifestoEntrega montarManifesto(LocalDate data, String agrupamento) {
+        if (!POR_BAIRRO.equals(agrupamento) && !POR_CEP.equals(agrupamento)) {
+            throw new IllegalArgumentException("Agrupamento deve ser " + POR_BAIRRO + " ou " + POR_CEP);
+        }
+        List<Venda> vendas = vendaRepository.findEntregasComEnderecoECliente(Venda.StatusVenda.FINALIZADA,
+                data.atStartOfDay(), data.plusDays(1).atStartOfDay());
+
+        Map<String, Grupo> grupos = new LinkedHashMap<>();
+        for (Venda venda : vendas) {
+            Endereco endereco = venda.getEnderecoEntrega();
+            String regiao = POR_CEP.equals(agrupamento) ? prefixoCep(endereco.getCep()) : vazioComoNulo(endereco.getBairro());
+            String cidade = vazioComoNulo(endereco.getCidade());
+            String estado = vazioComoNulo(endereco.getEstado());
+            // Textos digitados de formas diferentes ("Centro" e "centro") caem na mesma rota
+            String chave = chave(cidade) + "|" + chave(estado) + "|" + chave(regiao);
+            grupos.computeIfAbsent(chave, c -> new Grupo(cidade, estado, regiao)).vendas.add(venda);
+        }
+
+        List<Map.Entry<String, Grupo>> ordenados = new ArrayList<>(grupos.entrySet());
+        ordenados.sort(Map.Entry.comparingByKey());
+        List<ManifestoEntrega.Rota> rotas = new ArrayList<>(ordenados.size());
+        for (Map.Entry<String, Grupo> entrada : ordenados) {
+            Grupo grupo = entrada.getValue();
+            rotas.add(new ManifestoEntrega.Rota(rotas.size() + 1, grupo.cidade, grupo.estado, grupo.regiao,
+                    paradas(ordenarParadas(grupo.vendas))));
+        }
+        logger.info("Manifesto de entregas de {}: {} vendas em {} rotas", data, vendas.size(), rotas.size());
+        return new ManifestoEntrega(data, agrupamento, rotas);
+    }
+
+    /**
+     * Busca uma rota do manifesto pelo número.
+     *
+     * @param manifesto Manifesto de entregas
+     * @param numero Número da rota
+     * @return Rota, se existir
+     */
+    public Optional<ManifestoEntrega.Rota> buscarRota(ManifestoEntrega manifesto, int numero) {
+        return manifesto.getRotas().stream().filter(rota -> rota.getNumero() == numero).findFirst();
+    }
+
+    /**
+     * Gera os PDFs de todas as rotas em paralelo e os grava em um ZIP, um arquivo por rota.
+     * O stream não é fechado.
+     *
+     * @param manifesto Manifesto de entregas
+     * @param out Stream em que o ZIP será gravado
+     * @throws IOException Se a gravação ou a geração de algum PDF falhar
+     */
+    public void gravarPdfsRotas(ManifestoEntrega manifesto, OutputStream out) throws IOException {
+        List<Future<byte[]>> pdfs = new ArrayList<>(manifesto.getRotas().size());
+        for (ManifestoEntrega.Rota rota : manifesto.getRotas()) {
+            pdfs.add(executorPdf.submit(() -> pdfService.gerarPdfRota(manifesto.getData(), rota).readAllBytes()));
+        }
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            // PDFs já vêm comprimidos: compactar de novo só gastaria CPU
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (int i = 0; i < pdfs.size(); i++) {
+                byte[] pdf = aguardar(pdfs.get(i));
+                zip.putNextEntry(new ZipEntry(nomeArquivo(manifesto.getRotas().get(i))));
+                zip.write(pdf);
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            for (Future<byte[]> pdf : pdfs) {
+                pdf.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Nome do arquivo do PDF de uma rota (ex.: rota_01_centro-sao-paulo-sp.pdf).
+     *
+     * @param rota Rota do manifesto
+     * @return Nome do arquivo
+     */
+    public String nomeArquivo(ManifestoEntrega.Rota rota) {
+        return String.format("rota_%02d_%s.pdf", rota.getNumero(),
+                NormalizadorTexto.normalizar(rota.getDescricao()).replace(' ', '-'));
+    }
+
+    private List<Venda> ordenarParadas(List<Venda> vendas) {
+        List<Venda> ordenadas = new ArrayList<>(vendas);
+        ordenadas.sort(Comparator.comparingInt((Venda venda) -> cepNumerico(venda.getEnderecoEntrega()))
+                .thenComparing(venda -> NormalizadorTexto.normalizar(venda.getEnderecoEntrega().getRua()))
+                .thenComparingInt(venda -> numeroPredial(venda.getEnderecoEntrega().getNumero()))
+                .thenComparing(Venda::getId));
+
+        // Vendas sem CEP ficam no fim; entre as demais, começa pela ponta mais próxima da origem
+        int comCep = 0;
+        while (comCep < ordenadas.size() && cepNumerico(ordenadas.get(comCep).getEnderecoEntrega()) != Integer.MAX_VALUE) {
+            comCep++;
+        }
+        if (cepOrigem != null && comCep > 1) {
+            long primeiro = cepNumerico(ordenadas.get(0).getEnderecoEntrega());
+            long ultimo = cepNumerico(ordenadas.get(comCep - 1).getEnderecoEntrega());
+            if (Math.abs(ultimo - cepOrigem) < Math.abs(primeiro - cepOrigem)) {
+                Collections.reverse(ordenadas.subList(0, comCep));
+            }
+        }
+        return ordenadas;
+    }
+
+    private static List<ManifestoEntrega.Parada> paradas(List<Venda> vendas) {
+        List<ManifestoEntrega.Parada> paradas = new ArrayList<>(vendas.size());
+        for (Venda venda : vendas) {
+            Endereco endereco = venda.getEnderecoEntrega();
+            StringBuilder texto = new StringBuilder();
+            texto.append(endereco.getRua() != null ? endereco.getRua() : "");
+            if (endereco.getNumero() != null && !endereco.getNumero().isBlank()) {
+                texto.append(", ").append(endereco.getNumero());
+            }
+            if (endereco.getComplemento() != null && !endereco.getComplemento().isBlank()) {
+                texto.append(", ").append(endereco.getComplemento());
+            }
+            paradas.add(new ManifestoEntrega.Parada(paradas.size() + 1, venda.getId(), venda.getNumeroVenda(),
+                    venda.getCliente().getNome(), venda.getCliente().getTelefone(), texto.toString(),
+                    vazioComoNulo(endereco.getCep()), venda.getValorFinal(), venda.getFormaPagamento(),
+                    vazioComoNulo(venda.getObservacoes())));
+        }
+        return paradas;
+    }
+
+    private static byte[] aguardar(Future<byte[]> pdf) throws IOException {
+        try {
+            return pdf.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Geração dos PDFs interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Erro ao gerar PDF de rota", e.getCause());
+        }
+    }
+
+    private static int cepNumerico(Endereco endereco) {
+        String digitos = NormalizadorTexto.somenteDigitos(endereco.getCep());
+        return digitos.length() == 8 ? Integer.parseInt(digitos) : Integer.MAX_VALUE;
+    }
+
+    private static String prefixoCep(String cep) {
+        String digitos = NormalizadorTexto.somenteDigitos(cep);
+        return digitos.length() == 8 ? digitos.substring(0, DIGITOS_PREFIXO_CEP) : null;
+    }
+
+    private static int numeroPredial(String numero) {
+        // "123A" e "123 fundos" ordenam como 123; sem número ("s/n"), ao fim da rua
+        if (numero == null) {
+            return Integer.MAX_VALUE;
+        }
+        String texto = numero.trim();
+        int fim = 0;
+        while (fim < texto.length() && fim < 9 && Character.isDigit(texto.charAt(fim))) {
+            fim++;
+        }
+        return fim == 0 ? Integer.MAX_VALUE : Integer.parseInt(texto.substring(0, fim));
+    }
+
+    private static String chave(String texto) {
+        // Rotas sem cidade ou bairro ordenam por último
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        return normalizado.isEmpty() ? "\uffff" : normalizado;
+    }
+
+    private static String vazioComoNulo(String texto) {
+        return texto == null || texto.isBlank() ? null : texto.trim();
+    }
+
+    /**
+     * Vendas de uma mesma rota, com os textos da primeira venda encontrada.
+     */
+    private static final class Grupo {
+
+        private final String cidade;
+        private final String estado;
+        private final String regiao;
+        private final List<Venda> vendas = new ArrayList<>();
+
+        private Grupo(String cidade, String estado, String regiao) {
+            this.cidade = cidade;
+            this.estado = estado;
+            this.regiao = regiao;
+        }
+    }
+}
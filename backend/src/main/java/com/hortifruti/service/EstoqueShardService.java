@@ -0,0 +1,241 @@
+package com.hortifruti.service;
+
+import com.hortifruti.event.ProdutoAlteradoEvent;
+import com.hortifruti.model.EstoqueShard;
+import com.hortifruti.repository.EstoqueShardRepository;
+import com.hortifruti.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serviço para o modo de estoque particionado (shards) de produtos muito disputados.
+ *
+ * <p>Em modo shard, as saídas de um produto não atualizam a linha em {@code produtos}:
+ * cada saída é registrada em um dos N shards, escolhido aleatoriamente, desde que a
+ * cota restante daquele shard comporte a quantidade. Assim, vendas simultâneas do
+ * mesmo produto disputam locks de linhas diferentes. Quando nenhum shard tem saldo,
+ * o serviço rebalanceia: consolida as saídas dos shards no produto e redistribui o
+ * saldo disponível entre eles.
+ *
+ * <p>Ativar, desativar, rebalancear e devolver publicam um {@link ProdutoAlteradoEvent} de
+ * estoque; {@link #consumir} não, porque quem baixa estoque (vendas, movimentações) já publica.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+@Transactional
+public class EstoqueShardService {
+
+    /** Número máximo de shards por produto */
+    public static final int MAX_SHARDS = 64;
+
+    private final EstoqueShardRepository shardRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param shardRepository Repository dos shards de estoque
+     * @param produtoRepository Repository de produtos
+     * @param eventPublisher Publicador dos eventos de alteração de produto
+     */
+    @Autowired
+    public EstoqueShardService(EstoqueShardRepository shardRepository, ProdutoRepository produtoRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.shardRepository = shardRepository;
+        this.produtoRepository = produtoRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Verifica se o produto está em modo shard.
+     *
+     * @param produtoId ID do produto
+     * @return true se o produto possui shards
+     */
+    @Transactional(readOnly = true)
+    public boolean isAtivo(Long produtoId) {
+        return shardRepository.existsByProdutoId(produtoId);
+    }
+
+    /**
+     * Lista os shards de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return Lista de shards ordenada pelo número do shard
+     */
+    @Transactional(readOnly = true)
+    public List<EstoqueShard> listar(Long produtoId) {
+        return shardRepository.findByProdutoIdOrderByShard(produtoId);
+    }
+
+    /**
+     * Ativa (ou redimensiona) o modo shard de um produto.
+     *
+     * @param produtoId ID do produto
+     * @param quantidade Número de shards (2 a {@value #MAX_SHARDS})
+     * @return Os shards criados, já com o saldo distribuído
+     * @throws IllegalArgumentException Se o produto não existir ou a quantidade for inválida
+     */
+    public List<EstoqueShard> ativar(Long produtoId, int quantidade) {
+        if (quantidade < 2 || quantidade > MAX_SHARDS) {
+            throw new IllegalArgumentException("Quantidade de shards deve estar entre 2 e " + MAX_SHARDS);
+        }
+        consolidar(produtoId);
+        shardRepository.removerShards(produtoId);
+        shardRepository.criarShards(produtoId, quantidade);
+        return rebalancear(produtoId);
+    }
+
+    /**
+     * Desativa o modo shard de um produto, consolidando as saídas dos shards no produto.
+     *
+     * @param produtoId ID do produto
+     * @return true se o produto estava em modo shard
+     * @throws IllegalArgumentException Se o produto não existir
+     */
+    public boolean desativar(Long produtoId) {
+        consolidar(produtoId);
+        boolean ativo = shardRepository.removerShards(produtoId) > 0;
+        publicarAlteracao(produtoId);
+        return ativo;
+    }
+
+    /**
+     * Consolida as saídas dos shards no produto e redistribui o saldo igualmente entre os shards.
+     *
+     * @param produtoId ID do produto
+     * @return Os shards após o rebalanceamento
+     * @throws IllegalArgumentException Se o produto não existir
+     */
+    public List<EstoqueShard> rebalancear(Long produtoId) {
+        List<EstoqueShard> shards = rebalancear(produtoId, -1, 0.0);
+        publicarAlteracao(produtoId);
+        return shards;
+    }
+
+    /**
+     * Registra uma saída em um dos shards do produto.
+     *
+     * <p>Tenta os shards a partir de uma posição aleatória; se nenhum tiver saldo,
+     * rebalanceia priorizando a quantidade pedida e tenta novamente.
+     *
+     * @param produtoId ID do produto
+     * @param quantidade Quantidade a ser retirada
+     * @return true se a saída foi registrada, false se não há estoque suficiente
+     * @throws IllegalArgumentException Se o produto não estiver em modo shard
+     */
+    public boolean consumir(Long produtoId, Double quantidade) {
+        int total = shardRepository.countByProdutoId(produtoId);
+        if (total == 0) {
+            throw new IllegalArgumentException("Produto não está em modo shard");
+        }
+        int inicio = ThreadLocalRandom.current().nextInt(total);
+        if (tentarConsumir(produtoId, quantidade, inicio, total)) {
+            return true;
+        }
+        rebalancear(produtoId, inicio, quantidade);
+        return tentarConsumir(produtoId, quantidade, inicio, total);
+    }
+
+    /**
+     * Devolve uma quantidade ao estoque de um produto em modo shard (ex.: cancelamento de venda).
+     *
+     * @param produtoId ID do produto
+     * @param quantidade Quantidade devolvida
+     * @throws IllegalArgumentException Se o produto não estiver em modo shard
+     */
+    public void devolver(Long produtoId, Double quantidade) {
+        int total = shardRepository.countByProdutoId(produtoId);
+        if (total == 0) {
+            throw new IllegalArgumentException("Produto não está em modo shard");
+        }
+        shardRepository.devolver(produtoId, ThreadLocalRandom.current().nextInt(total), quantidade);
+        publicarAlteracao(produtoId);
+    }
+
+    private void publicarAlteracao(Long produtoId) {
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoId, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+    }
+
+    private boolean tentarConsumir(Long produtoId, Double quantidade, int inicio, int total) {
+        for (int i = 0; i < total; i++) {
+            if (shardRepository.consumir(produtoId, (inicio + i) % total, quantidade) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebalanceia os shards. Se {@code shardPreferido} for informado e houver saldo,
+     * esse shard recebe pelo menos {@code demanda}, para que pedidos maiores que a
+     * cota média possam ser atendidos.
+     */
+    private List<EstoqueShard> rebalancear(Long produtoId, int shardPreferido, double demanda) {
+        double disponivel = consolidar(produtoId);
+        List<EstoqueShard> shards = shardRepository.findByProdutoIdOrderByShard(produtoId);
+        int total = shards.size();
+        if (total == 0) {
+            return shards;
+        }
+
+        double[] cotas = new double[total];
+        double restante = disponivel;
+        int divisores = total;
+        if (shardPreferido >= 0 && shardPreferido < total && demanda > 0 && disponivel >= demanda) {
+            double media = arredondar(disponivel / total);
+            cotas[shardPreferido] = Math.max(media, demanda);
+            restante -= cotas[shardPreferido];
+            divisores--;
+        }
+        double parte = divisores > 0 ? arredondar(restante / divisores) : 0.0;
+        int ultimo = -1;
+        for (int i = 0; i < total; i++) {
+            if (i == shardPreferido && cotas[i] > 0) continue;
+            cotas[i] = parte;
+            ultimo = i;
+        }
+        // O último shard fica com a sobra do arredondamento
+        if (ultimo >= 0) {
+            cotas[ultimo] = Math.max(0.0, arredondar(restante - parte * (divisores - 1)));
+        }
+
+        // Os shards já estão travados por consolidar(); a atualização é gravada no flush
+        for (EstoqueShard shard : shards) {
+            shard.setCota(cotas[shard.getShard()]);
+            shard.setSaidas(0.0);
+        }
+        return shards;
+    }
+
+    /**
+     * Trava o produto e seus shards, transfere as saídas dos shards para o produto
+     * e retorna o saldo disponível resultante.
+     *
+     * <p>O estoque é lido da linha travada, e não do Produto: na finalização de uma venda o
+     * produto já está carregado (de antes do lock) e não é recarregado pela consulta.
+     */
+    private double consolidar(Long produtoId) {
+        double estoque = produtoRepository.findEstoqueParaAtualizacao(produtoId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado"));
+        double saidasShards = shardRepository.somarSaidasParaAtualizacao(produtoId);
+
+        if (saidasShards != 0.0) {
+            produtoRepository.incrementarSaida(produtoId, saidasShards);
+        }
+        return Math.max(0.0, estoque - saidasShards);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.floor(valor * 1000.0) / 1000.0;
+    }
+}
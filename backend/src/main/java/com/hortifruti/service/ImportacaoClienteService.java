@@ -0,0 +1,477 @@
+package com.hortifruti.service;
+
+import com.hortifruti.busca.NormalizadorTexto;
+import com.hortifruti.event.ClienteAlteradoEvent;
+import com.hortifruti.importacao.FiltroBloom;
+import com.hortifruti.importacao.LeitorCsv;
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Endereco;
+import com.hortifruti.repository.ClienteRepository;
+import com.hortifruti.repository.EnderecoRepository;
+import com.hortifruti.repository.SyncExclusaoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço de importação em massa de clientes (e do endereço principal) a partir de CSV.
+ *
+ * <p>O arquivo é lido um registro por vez e gravado em lotes de {@code app.clientes.importacao.lote}
+ * linhas, cada lote com um único {@code INSERT ... ON CONFLICT (cpf)} e uma transação própria;
+ * a memória usada depende do tamanho do lote, não do arquivo. Clientes já cadastrados (pelo
+ * CPF, com ou sem pontuação) são atualizados.
+ *
+ * <p>CPFs repetidos no arquivo são detectados antes de chegar à constraint única: dentro do
+ * lote, por um mapa; entre lotes, por um {@link FiltroBloom} de tamanho fixo, cujos positivos
+ * são confirmados no banco pela data de alteração do cliente (gravado por esta importação).
+ * Vale a primeira ocorrência; as seguintes entram no relatório de erros.
+ *
+ * <p>Se um lote falhar no banco, suas linhas são regravadas uma a uma para identificar as
+ * que têm problema, sem perder as demais.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class ImportacaoClienteService {
+
+    /** Número máximo de erros detalhados no relatório */
+    public static final int ERROS_MAXIMOS = 1000;
+
+    private static final int TAMANHO_MAXIMO_TEXTO = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoClienteService.class);
+
+    private final ClienteRepository clienteRepository;
+    private final EnderecoRepository enderecoRepository;
+    private final SyncExclusaoRepository syncExclusaoRepository;
+    private final CepService cepService;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionFactory sessionFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoLote;
+    private final long capacidadeBloom;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param clienteRepository Repository de clientes
+     * @param enderecoRepository Repository de endereços
+     * @param syncExclusaoRepository Repository usado para obter a hora do banco
+     * @param cepService Serviço de CEPs, para corrigir bairro, cidade e UF pelo CEP
+     * @param transactionManager Gerenciador de transações (uma transação por lote)
+     * @param entityManagerFactory Fábrica de EntityManager, para limpar o cache de segundo nível
+     * @param eventPublisher Publicador dos eventos de alteração de cliente
+     * @param tamanhoLote Número de linhas gravadas por comando
+     * @param capacidadeBloom Número de CPFs distintos para o qual o filtro de repetidos é dimensionado
+     */
+    @Autowired
+    public ImportacaoClienteService(ClienteRepository clienteRepository,
+                                    EnderecoRepository enderecoRepository,
+                                    SyncExclusaoRepository syncExclusaoRepository,
+                                    CepService cepService,
+                                    PlatformTransactionManager transactionManager,
+                                    EntityManagerFactory entityManagerFactory,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.clientes.importacao.lote:1000}") int tamanhoLote,
+                                    @Value("${app.clientes.importacao.capacidade-bloom:1000000}") long capacidadeBloom) {
+        this.clienteRepository = clienteRepository;
+        this.enderecoRepository = enderecoRepository;
+        this.syncExclusaoRepository = syncExclusaoRepository;
+        this.cepService = cepService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.eventPublisher = eventPublisher;
+        this.tamanhoLote = tamanhoLote;
+        this.capacidadeBloom = capacidadeBloom;
+    }
+
+    /**
+     * Importa clientes de um CSV com cabeçalho.
+     *
+     * <p>Colunas reconhecidas (sem diferenciar maiúsculas, acentos ou "_"): nome e cpf
+     * (obrigatórias), estado, telefone, cnpj, ie, condPgto, banco e, para o endereço principal,
+     * rua, numero, complemento, bairro, cidade, enderecoEstado e cep. As demais são ignoradas.
+     * Campos vazios não apagam dados de clientes já cadastrados, nem do endereço principal.
+     * Endereços com CEP passam pela mesma correção do cadastro de endereços
+     * ({@link CepService#canonicalizar}); um CEP inválido (ou fora da base, com
+     * {@code app.cep.rejeitar-desconhecido=true}) vira erro da linha.
+     *
+     * @param reader Conteúdo do CSV
+     * @return Relatório com linhas lidas, clientes inseridos e atualizados, endereços gravados,
+     *         repetidos e os erros por linha
+     * @throws IOException Se a leitura falhar
+     * @throws IllegalArgumentException Se o cabeçalho for inválido
+     */
+    public Map<String, Object> importar(Reader reader) throws IOException {
+        Relatorio relatorio = new Relatorio();
+        FiltroBloom vistos = new FiltroBloom(capacidadeBloom, 0.01);
+        LocalDateTime inicio = syncExclusaoRepository.agoraNoBanco();
+
+        try (LeitorCsv csv = new LeitorCsv(reader)) {
+            List<String> cabecalho = csv.proximo();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("Arquivo vazio");
+            }
+            Map<String, Integer> colunas = new HashMap<>();
+            for (int i = 0; i < cabecalho.size(); i++) {
+                colunas.putIfAbsent(NormalizadorTexto.normalizar(cabecalho.get(i)).replace(" ", ""), i);
+            }
+            if (!colunas.containsKey("nome") || !colunas.containsKey("cpf")) {
+                throw new IllegalArgumentException("O cabeçalho deve ter as colunas nome e cpf");
+            }
+
+            Map<String, Linha> lote = new LinkedHashMap<>();
+            Set<String> suspeitos = new HashSet<>();
+            List<String> campos;
+            while ((campos = proximo(csv, relatorio)) != null) {
+                relatorio.linhasLidas++;
+                Linha linha;
+                try {
+                    linha = Linha.de(csv.getLinha(), campos, colunas);
+                    canonicalizarEndereco(linha);
+                } catch (IllegalArgumentException e) {
+                    relatorio.erro(csv.getLinha(), cpfInformado(campos, colunas), e.getMessage());
+                    continue;
+                }
+
+                Linha anterior = lote.get(linha.cpfDigitos);
+                if (anterior != null) {
+                    relatorio.duplicado(linha, anterior.numero);
+                    continue;
+                }
+                if (vistos.adicionar(Long.parseLong(linha.cpfDigitos))) {
+                    suspeitos.add(linha.cpfDigitos);
+                }
+                lote.put(linha.cpfDigitos, linha);
+
+                if (lote.size() >= tamanhoLote) {
+                    gravarLote(lote, suspeitos, inicio, relatorio);
+                    lote.clear();
+                    suspeitos.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(lote, suspeitos, inicio, relatorio);
+            }
+        }
+
+        logger.info("Importação de clientes: {} linhas, {} inseridos, {} atualizados, {} erros",
+                relatorio.linhasLidas, relatorio.inseridos, relatorio.atualizados, relatorio.totalErros);
+        return relatorio.comoMapa();
+    }
+
+    private static List<String> proximo(LeitorCsv csv, Relatorio relatorio) throws IOException {
+        while (true) {
+            try {
+                List<String> campos = csv.proximo();
+                // Linhas em branco (comuns no fim de planilhas exportadas) não contam
+                if (campos == null || campos.size() > 1 || !campos.get(0).isBlank()) {
+                    return campos;
+                }
+            } catch (IllegalArgumentException e) {
+                // Campo gigante: aspas sem fechamento consumiram o restante do arquivo
+                relatorio.linhasLidas++;
+                relatorio.erro(csv.getLinha(), null, e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private void gravarLote(Map<String, Linha> lote, Set<String> suspeitos, LocalDateTime inicio,
+                            Relatorio relatorio) {
+        String[] digitos = lote.keySet().toArray(new String[0]);
+        Map<String, ClienteRepository.CpfCadastrado> cadastrados = new HashMap<>();
+        for (ClienteRepository.CpfCadastrado cadastrado : clienteRepository.findPorCpfDigitos(digitos)) {
+            cadastrados.putIfAbsent(cadastrado.getCpfDigitos(), cadastrado);
+        }
+
+        List<Linha> linhas = new ArrayList<>(lote.size());
+        for (Linha linha : lote.values()) {
+            ClienteRepository.CpfCadastrado cadastrado = cadastrados.get(linha.cpfDigitos);
+            // Positivo do filtro confirmado: o cliente foi gravado por um lote anterior desta importação
+            if (cadastrado != null && suspeitos.contains(linha.cpfDigitos)
+                    && cadastrado.getAtualizadoEm() != null && !cadastrado.getAtualizadoEm().isBefore(inicio)) {
+                relatorio.duplicado(linha, null);
+                continue;
+            }
+            // Mantém o CPF como já está gravado para que o ON CONFLICT encontre cadastros antigos sem pontuação
+            if (cadastrado != null) {
+                linha.cpf = cadastrado.getCpf();
+            }
+            linhas.add(linha);
+        }
+        if (linhas.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(linhas.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravar(linhas, ids, relatorio));
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao gravar lote de {} clientes, gravando linha a linha: {}",
+                    linhas.size(), e.getMostSpecificCause().getMessage());
+            ids.clear();
+            for (Linha linha : linhas) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> gravar(List.of(linha), ids, relatorio));
+                } catch (DataAccessException erro) {
+                    relatorio.erro(linha.numero, linha.cpf, erro.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            // Os comandos nativos não passam pelo cache de segundo nível
+            for (Long id : ids) {
+                sessionFactory.getCache().evictEntityData(Cliente.class, id);
+            }
+            sessionFactory.getCache().evictQueryRegions();
+            eventPublisher.publishEvent(new ClienteAlteradoEvent(ids, ClienteAlteradoEvent.Tipo.CADASTRO));
+        }
+    }
+
+    /**
+     * Grava clientes e endereços na transação corrente. Os contadores só são somados ao
+     * relatório depois que todos os comandos passaram, para não contar um lote desfeito.
+     */
+    private void gravar(List<Linha> linhas, List<Long> idsGravados, Relatorio relatorio) {
+        int n = linhas.size();
+        String[] nomes = new String[n];
+        String[] cpfs = new String[n];
+        String[] estados = new String[n];
+        String[] telefones = new String[n];
+        String[] cnpjs = new String[n];
+        String[] ies = new String[n];
+        String[] condPgtos = new String[n];
+        String[] bancos = new String[n];
+        Map<String, Linha> porDigitos = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Linha linha = linhas.get(i);
+            nomes[i] = linha.nome;
+            cpfs[i] = linha.cpf;
+            estados[i] = linha.estado;
+            telefones[i] = linha.telefone;
+            cnpjs[i] = linha.cnpj;
+            ies[i] = linha.ie;
+            condPgtos[i] = linha.condPgto;
+            bancos[i] = linha.banco;
+            porDigitos.put(linha.cpfDigitos, linha);
+        }
+
+        List<ClienteRepository.ClienteImportado> importados =
+                clienteRepository.importarEmLote(nomes, cpfs, estados, telefones, cnpjs, ies, condPgtos, bancos);
+
+        int inseridos = 0;
+        List<Long> ids = new ArrayList<>(importados.size());
+        List<Long> enderecoIds = new ArrayList<>();
+        List<Linha> enderecos = new ArrayList<>();
+        for (ClienteRepository.ClienteImportado importado : importados) {
+            ids.add(importado.getId());
+            if (Boolean.TRUE.equals(importado.getInserido())) {
+                inseridos++;
+            }
+            Linha linha = porDigitos.get(importado.getCpfDigitos());
+            if (linha != null && linha.temEndereco()) {
+                enderecoIds.add(importado.getId());
+                enderecos.add(linha);
+            }
+        }
+
+        if (!enderecos.isEmpty()) {
+            int m = enderecos.size();
+            String[] ruas = new String[m];
+            String[] numeros = new String[m];
+            String[] complementos = new String[m];
+            String[] bairros = new String[m];
+            String[] cidades = new String[m];
+            String[] ufs = new String[m];
+            String[] ceps = new String[m];
+            for (int i = 0; i < m; i++) {
+                Linha linha = enderecos.get(i);
+                ruas[i] = linha.rua;
+                numeros[i] = linha.numeroEndereco;
+                complementos[i] = linha.complemento;
+                bairros[i] = linha.bairro;
+                cidades[i] = linha.cidade;
+                ufs[i] = linha.enderecoEstado;
+                ceps[i] = linha.cep;
+            }
+            enderecoRepository.importarEnderecosPrincipais(enderecoIds.toArray(new Long[0]), ruas, numeros,
+                    complementos, bairros, cidades, ufs, ceps);
+        }
+
+        idsGravados.addAll(ids);
+        relatorio.inseridos += inseridos;
+        relatorio.atualizados += importados.size() - inseridos;
+        relatorio.enderecos += enderecos.size();
+    }
+
+    /**
+     * Corrige o endereço da linha pela base de CEPs, como {@code EnderecoService.adicionar}.
+     */
+    private void canonicalizarEndereco(Linha linha) {
+        if (linha.cep == null) {
+            return;
+        }
+        Endereco endereco = new Endereco();
+        endereco.setRua(linha.rua);
+        endereco.setBairro(linha.bairro);
+        endereco.setCidade(linha.cidade);
+        endereco.setEstado(linha.enderecoEstado);
+        endereco.setCep(linha.cep);
+        cepService.canonicalizar(endereco);
+        linha.rua = endereco.getRua();
+        linha.bairro = endereco.getBairro();
+        linha.cidade = endereco.getCidade();
+        linha.enderecoEstado = endereco.getEstado();
+        linha.cep = endereco.getCep();
+    }
+
+    private static String valor(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        if (valor.length() > TAMANHO_MAXIMO_TEXTO) {
+            throw new IllegalArgumentException("Campo " + coluna + " excede " + TAMANHO_MAXIMO_TEXTO + " caracteres");
+        }
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String cpfInformado(List<String> campos, Map<String, Integer> colunas) {
+        Integer indice = colunas.get("cpf");
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String cpf = campos.get(indice).trim();
+        return cpf.length() > 20 ? cpf.substring(0, 20) : cpf;
+    }
+
+    /**
+     * Linha válida do CSV.
+     */
+    private static final class Linha {
+        private final int numero;
+        private final String cpfDigitos;
+        private String cpf;
+        private String nome;
+        private String estado;
+        private String telefone;
+        private String cnpj;
+        private String ie;
+        private String condPgto;
+        private String banco;
+        private String rua;
+        private String numeroEndereco;
+        private String complemento;
+        private String bairro;
+        private String cidade;
+        private String enderecoEstado;
+        private String cep;
+
+        private Linha(int numero, String cpfDigitos) {
+            this.numero = numero;
+            this.cpfDigitos = cpfDigitos;
+        }
+
+        static Linha de(int numero, List<String> campos, Map<String, Integer> colunas) {
+            String nome = valor(campos, colunas, "nome");
+            if (nome == null) {
+                throw new IllegalArgumentException("Nome do cliente é obrigatório");
+            }
+            String digitos = NormalizadorTexto.somenteDigitos(valor(campos, colunas, "cpf"));
+            if (digitos.length() != 11) {
+                throw new IllegalArgumentException("CPF deve ter 11 dígitos");
+            }
+
+            Linha linha = new Linha(numero, digitos);
+            linha.cpf = String.format(Locale.ROOT, "%s.%s.%s-%s",
+                    digitos.substring(0, 3), digitos.substring(3, 6), digitos.substring(6, 9), digitos.substring(9));
+            linha.nome = nome;
+            linha.estado = valor(campos, colunas, "estado");
+            linha.telefone = valor(campos, colunas, "telefone");
+            linha.cnpj = valor(campos, colunas, "cnpj");
+            linha.ie = valor(campos, colunas, "ie");
+            linha.condPgto = valor(campos, colunas, "condpgto");
+            linha.banco = valor(campos, colunas, "banco");
+            linha.rua = valor(campos, colunas, "rua");
+            linha.numeroEndereco = valor(campos, colunas, "numero");
+            linha.complemento = valor(campos, colunas, "complemento");
+            linha.bairro = valor(campos, colunas, "bairro");
+            linha.cidade = valor(campos, colunas, "cidade");
+            linha.enderecoEstado = valor(campos, colunas, "enderecoestado");
+            linha.cep = valor(campos, colunas, "cep");
+            return linha;
+        }
+
+        boolean temEndereco() {
+            return rua != null || cidade != null || cep != null;
+        }
+    }
+
+    /**
+     * Contadores e erros da importação.
+     */
+    private static final class Relatorio {
+        private int linhasLidas;
+        private int inseridos;
+        private int atualizados;
+        private int enderecos;
+        private int duplicados;
+        private int totalErros;
+        private final List<Map<String, Object>> erros = new ArrayList<>();
+
+        void erro(int linha, String cpf, String mensagem) {
+            totalErros++;
+            if (erros.size() < ERROS_MAXIMOS) {
+                Map<String, Object> erro = new LinkedHashMap<>();
+                erro.put("linha", linha);
+                erro.put("cpf", cpf);
+                erro.put("mensagem", mensagem);
+                erros.add(erro);
+            }
+        }
+
+        void duplicado(Linha linha, Integer linhaAnterior) {
+            duplicados++;
+            erro(linha.numero, linha.cpf, linhaAnterior != null
+                    ? "CPF repetido no arquivo (linha " + linhaAnterior + ")"
+                    : "CPF repetido no arquivo");
+        }
+
+        Map<String, Object> comoMapa() {
+            Map<String, Object> mapa = new LinkedHashMap<>();
+            mapa.put("linhasLidas", linhasLidas);
+            mapa.put("inseridos", inseridos);
+            mapa.put("atualizados", atualizados);
+            mapa.put("enderecos", enderecos);
+            mapa.put("duplicados", duplicados);
+            mapa.put("erros", erros);
+            mapa.put("errosOmitidos", totalErros - erros.size());
+            return mapa;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.hortifruti.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Produto;
+import com.hortifruti.model.Venda;
+import com.hortifruti.repository.ClienteRepository;
+import com.hortifruti.repository.ProdutoRepository;
+import com.hortifruti.repository.VendaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serviço que grava listagens completas (produtos, clientes e vendas) em NDJSON, um objeto
+ * JSON por linha, à medida que o cliente consome a resposta.
+ *
+ * <p>Cada lote de {@code app.stream.lote} registros é lido em uma transação curta, com
+ * paginação por chave (ID), e só depois gravado na resposta. Assim:
+ * <ul>
+ *   <li>a memória por resposta é a de um lote, qualquer que seja o tamanho da tabela: o
+ *       contexto de persistência (mantido aberto durante a requisição pelo open-in-view) é
+ *       limpo após gravar cada lote;</li>
+ *   <li>a gravação bloqueia enquanto o cliente não consome os dados (contrapressão do TCP) e
+ *       o próximo lote só é lido depois disso;</li>
+ *   <li>nenhuma conexão do banco fica presa enquanto um cliente lento lê a resposta.</li>
+ * </ul>
+ * Com threads virtuais (perfil {@code virtual}), cada resposta em andamento custa apenas uma
+ * thread virtual bloqueada na escrita.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class ListagemStreamService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ClienteRepository clienteRepository;
+    private final VendaRepository vendaRepository;
+    private final ObjectWriter escritor;
+    private final TransactionTemplate leitura;
+    private final EntityManager entityManager;
+    private final Pageable lote;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param produtoRepository Repository de produtos
+     * @param clienteRepository Repository de clientes
+     * @param vendaRepository Repository de vendas
+     * @param objectMapper ObjectMapper configurado da aplicação
+     * @param transactionManager Gerenciador de transações da leitura de cada lote
+     * @param entityManager EntityManager da requisição, limpo a cada lote
+     * @param tamanhoLote Registros lidos por transação
+     */
+    @Autowired
+    public ListagemStreamService(ProdutoRepository produtoRepository, ClienteRepository clienteRepository,
+                                 VendaRepository vendaRepository, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager, EntityManager entityManager,
+                                 @Value("${app.stream.lote:500}") int tamanhoLote) {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("app.stream.lote deve ser positivo");
+        }
+        this.produtoRepository = produtoRepository;
+        this.clienteRepository = clienteRepository;
+        this.vendaRepository = vendaRepository;
+        this.escritor = objectMapper.writer();
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.lote = PageRequest.of(0, tamanhoLote);
+    }
+
+    /**
+     * Grava todos os produtos, em ordem de ID.
+     *
+     * @param saida Corpo da resposta
+     * @return Número de produtos gravados
+     * @throws IOException Se a gravação falhar (por exemplo, cliente desconectado)
+     */
+    public long gravarProdutos(OutputStream saida) throws IOException {
+        return gravar(saida, 0L, apos -> produtoRepository.findLoteApos(apos, lote), Produto::getId);
+    }
+
+    /**
+     * Grava todos os clientes, em ordem de ID.
+     *
+     * @param saida Corpo da resposta
+     * @return Número de clientes gravados
+     * @throws IOException Se a gravação falhar (por exemplo, cliente desconectado)
+     */
+    public long gravarClientes(OutputStream saida) throws IOException {
+        return gravar(saida, 0L, apos -> clienteRepository.findLoteApos(apos, lote), Cliente::getId);
+    }
+
+    /**
+     * Grava as vendas, das mais recentes para as mais antigas (ordem decrescente de ID), com
+     * itens, cliente e endereço de entrega.
+     *
+     * @param status Status das vendas (null para todos)
+     * @param clienteId ID do cliente (null para todos)
+     * @param saida Corpo da resposta
+     * @return Número de vendas gravadas
+     * @throws IOException Se a gravação falhar (por exemplo, cliente desconectado)
+     */
+    public long gravarVendas(Venda.StatusVenda status, Long clienteId, OutputStream saida) throws IOException {
+        return gravar(saida, Long.MAX_VALUE, antes -> {
+            List<VendaRepository.IdData> chaves = vendaRepository.findIdsLoteAntes(antes, status, clienteId, lote);
+            if (chaves.isEmpty()) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(chaves.size());
+            LocalDateTime inicio = LocalDateTime.MAX;
+            LocalDateTime fim = LocalDateTime.MIN;
+            for (VendaRepository.IdData chave : chaves) {
+                ids.add(chave.getId());
+                inicio = chave.getDataVenda().isBefore(inicio) ? chave.getDataVenda() : inicio;
+                fim = chave.getDataVenda().isAfter(fim) ? chave.getDataVenda() : fim;
+            }
+            return vendaRepository.findByIdInComItens(ids, inicio, fim);
+        }, Venda::getId);
+    }
+
+    /**
+     * Lê e grava lotes até que um venha incompleto.
+     *
+     * @param saida Corpo da resposta
+     * @param inicio Cursor do primeiro lote
+     * @param proximoLote Consulta do lote seguinte ao cursor
+     * @param chave Cursor correspondente a um registro
+     * @return Número de registros gravados
+     */
+    private <T> long gravar(OutputStream saida, Long inicio, Function<Long, List<T>> proximoLote,
+                            Function<T, Long> chave) throws IOException {
+        long total = 0;
+        Long cursor = inicio;
+        while (true) {
+            Long atual = cursor;
+            List<T> registros = leitura.execute(status -> proximoLote.apply(atual));
+            for (T registro : registros) {
+                saida.write(escritor.writeValueAsBytes(registro));
+                saida.write('\n');
+            }
+            saida.flush();
+            // Com o open-in-view o contexto dura a requisição inteira: sem limpar, cada lote ficaria gerenciado
+            entityManager.clear();
+            total += registros.size();
+            if (registros.size() < lote.getPageSize()) {
+                return total;
+            }
+            cursor = chave.apply(registros.get(registros.size() - 1));
+        }
+    }
+}
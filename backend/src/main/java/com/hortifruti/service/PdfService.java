@@ -0,0 +1,423 @@
+package com.hortifruti.service;
+
+import com.hortifruti.dto.ListaSeparacao;
+import com.hortifruti.dto.ManifestoEntrega;
+import com.hortifruti.model.ItemVenda;
+import com.hortifruti.model.Venda;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.*;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.HorizontalAlignment;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Serviço para geração de PDFs.
+ */
+@Service
+public class PdfService {
+
+    /** Linhas adicionadas a uma tabela da lista de separação entre duas descargas no stream */
+    private static final int LINHAS_POR_DESCARGA = 100;
+
+    /**
+     * Construtor padrão.
+     */
+    public PdfService() {
+    }
+
+    /**
+     * Gera um PDF de recibo de venda.
+     * @param venda A venda para a qual o recibo será gerado.
+     * @return Um ByteArrayInputStream contendo o PDF gerado.
+     */
+    public ByteArrayInputStream gerarPdfVenda(Venda venda) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PdfWriter writer = new PdfWriter(out);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf);
+            
+            // Título
+            document.add(new Paragraph("HORTIFLOW")
+                    .setFontSize(24)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+            
+            document.add(new Paragraph("Sistema de Gestão de Hortifruti")
+                    .setFontSize(12)
+                    .setTextAlignment(TextAlignment.CENTER));
+            
+            document.add(new Paragraph("\n"));
+            
+            // Cabeçalho da Venda
+            document.add(new Paragraph("RECIBO DE VENDA")
+                    .setFontSize(18)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+            
+            document.add(new Paragraph("\n"));
+            
+            // Informações da Venda
+            Table infoTable = new Table(UnitValue.createPercentArray(new float[]{1, 2}));
+            infoTable.setWidth(UnitValue.createPercentValue(100));
+            
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+            
+            infoTable.addCell(createCell("Número da Venda:").setBold());
+            infoTable.addCell(createCell(venda.getNumeroVenda()));
+            
+            infoTable.addCell(createCell("Data da Venda:").setBold());
+            infoTable.addCell(createCell(venda.getDataVenda().format(formatter)));
+            
+            infoTable.addCell(createCell("Cliente:").setBold());
+            infoTable.addCell(createCell(venda.getCliente().getNome()));
+            
+            infoTable.addCell(createCell("CPF/CNPJ:").setBold());
+            String cpfCnpj = venda.getCliente().getCpf();
+            if (venda.getCliente().getCnpj() != null && !venda.getCliente().getCnpj().isEmpty()) {
+                cpfCnpj += " / " + venda.getCliente().getCnpj();
+            }
+            infoTable.addCell(createCell(cpfCnpj));
+            
+            infoTable.addCell(createCell("Telefone:").setBold());
+            infoTable.addCell(createCell(venda.getCliente().getTelefone()));
+
+            // Endereço do Cliente/Entrega
+            infoTable.addCell(createCell("Endereço de Entrega:").setBold());
+            String enderecoTexto = "Não informado";
+            if (venda.getEnderecoEntrega() != null) {
+                String complemento = venda.getEnderecoEntrega().getComplemento() != null ? 
+                        (", " + venda.getEnderecoEntrega().getComplemento()) : "";
+                enderecoTexto = String.format("%s, %s%s - %s, %s - CEP %s",
+                        venda.getEnderecoEntrega().getRua(),
+                        venda.getEnderecoEntrega().getNumero(),
+                        complemento,
+                        venda.getEnderecoEntrega().getBairro(),
+                        venda.getEnderecoEntrega().getCidade() + "/" + venda.getEnderecoEntrega().getEstado(),
+                        venda.getEnderecoEntrega().getCep());
+            }
+            infoTable.addCell(createCell(enderecoTexto));
+            
+            infoTable.addCell(createCell("Status:").setBold());
+            infoTable.addCell(createCell(venda.getStatus().toString()));
+            
+            infoTable.addCell(createCell("Forma de Pagamento:").setBold());
+            infoTable.addCell(createCell(venda.getFormaPagamento() != null ? venda.getFormaPagamento() : "Não especificada"));
+            
+            document.add(infoTable);
+            document.add(new Paragraph("\n"));
+            
+            // Itens da Venda
+            document.add(new Paragraph("ITENS DA VENDA")
+                    .setFontSize(14)
+                    .setBold());
+            
+            Table itensTable = new Table(UnitValue.createPercentArray(new float[]{3, 1, 2, 2}));
+            itensTable.setWidth(UnitValue.createPercentValue(100));
+            
+            // Cabeçalho
+            itensTable.addHeaderCell(createHeaderCell("Produto"));
+            itensTable.addHeaderCell(createHeaderCell("Qtd"));
+            itensTable.addHeaderCell(createHeaderCell("Preço Unit."));
+            itensTable.addHeaderCell(createHeaderCell("Subtotal"));
+            
+            // Itens
+            for (ItemVenda item : venda.getItens()) {
+                itensTable.addCell(createCell(item.getProduto().getNome()));
+                itensTable.addCell(createCell(item.getQuantidade().toString()));
+                itensTable.addCell(createCell("R$ " + String.format("%.2f", item.getPrecoUnitario())));
+                itensTable.addCell(createCell("R$ " + String.format("%.2f", item.getSubtotal())));
+            }
+            
+            document.add(itensTable);
+            document.add(new Paragraph("\n"));
+            
+            // Totais
+            Table totaisTable = new Table(UnitValue.createPercentArray(new float[]{2, 2}));
+            totaisTable.setWidth(UnitValue.createPercentValue(50));
+            totaisTable.setHorizontalAlignment(HorizontalAlignment.RIGHT);
+            
+            totaisTable.addCell(createCell("Valor Total:").setBold());
+            totaisTable.addCell(createCell("R$ " + String.format("%.2f", venda.getValorTotal())));
+            
+            if (venda.getDesconto().compareTo(BigDecimal.ZERO) > 0) {
+                totaisTable.addCell(createCell("Desconto:").setBold());
+                totaisTable.addCell(createCell("R$ " + String.format("%.2f", venda.getDesconto())));
+            }
+            
+            totaisTable.addCell(createCell("Valor Final:").setBold());
+            totaisTable.addCell(createCell("R$ " + String.format("%.2f", venda.getValorFinal())));
+            
+            document.add(totaisTable);
+            
+            // Observações
+            if (venda.getObservacoes() != null && !venda.getObservacoes().isEmpty()) {
+                document.add(new Paragraph("\n"));
+                document.add(new Paragraph("Observações:")
+                        .setBold());
+                document.add(new Paragraph(venda.getObservacoes()));
+            }
+            
+            // Rodapé
+            document.add(new Paragraph("\n\n"));
+            document.add(new Paragraph("______________________________________________")
+                    .setTextAlignment(TextAlignment.CENTER));
+            document.add(new Paragraph("Assinatura do Cliente")
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setFontSize(10));
+            
+            document.add(new Paragraph("\n\n"));
+            document.add(new Paragraph("Obrigado pela preferência! Volte sempre!")
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setFontSize(12));
+            
+            document.close();
+            
+            return new ByteArrayInputStream(out.toByteArray());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gerar PDF da venda", e);
+        }
+    }
+
+    /**
+     * Gera o PDF da lista de separação diretamente no stream de saída.
+     *
+     * <p>As tabelas são criadas em modo "large table" e descarregadas a cada
+     * {@value #LINHAS_POR_DESCARGA} linhas, de modo que as páginas prontas são gravadas no
+     * stream enquanto o restante é montado, sem manter o documento inteiro em memória.
+     * O stream não é fechado.
+     * @param lista A lista de separação.
+     * @param out O stream em que o PDF será gravado.
+     */
+    public void gerarPdfSeparacao(ListaSeparacao lista, OutputStream out) {
+        try {
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf);
+
+            // Título
+            document.add(new Paragraph("HORTIFLOW")
+                    .setFontSize(24)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("Sistema de Gestão de Hortifruti")
+                    .setFontSize(12)
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("\n"));
+
+            document.add(new Paragraph("LISTA DE SEPARAÇÃO")
+                    .setFontSize(18)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("\n"));
+
+            // Informações da lista
+            Table infoTable = new Table(UnitValue.createPercentArray(new float[]{1, 2}));
+            infoTable.setWidth(UnitValue.createPercentValue(100));
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+            infoTable.addCell(createCell("Gerada em:").setBold());
+            infoTable.addCell(createCell(lista.getGeradaEm().format(formatter)));
+
+            infoTable.addCell(createCell("Vendas até:").setBold());
+            infoTable.addCell(createCell(lista.getAte().format(formatter)));
+
+            infoTable.addCell(createCell("Vendas pendentes:").setBold());
+            infoTable.addCell(createCell(String.valueOf(lista.getVendas())));
+
+            document.add(infoTable);
+            document.add(new Paragraph("\n"));
+
+            // Totais por produto
+            document.add(new Paragraph("TOTAL POR PRODUTO")
+                    .setFontSize(14)
+                    .setBold());
+            adicionarItensSeparacao(document, lista.getItens());
+
+            // Rotas de entrega
+            if (lista.getRotas() != null) {
+                for (ListaSeparacao.Rota rota : lista.getRotas()) {
+                    document.add(new Paragraph("\n"));
+                    document.add(new Paragraph("ROTA: " + rota.getDescricao())
+                            .setFontSize(14)
+                            .setBold());
+                    adicionarItensSeparacao(document, rota.getItens());
+                }
+            }
+
+            document.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gerar PDF da lista de separação", e);
+        }
+    }
+
+    /**
+     * Gera o PDF de uma rota do manifesto de entregas, para impressão pelo entregador.
+     * @param data O dia das entregas.
+     * @param rota A rota, com as paradas em ordem de visita.
+     * @return Um ByteArrayInputStream contendo o PDF gerado.
+     */
+    public ByteArrayInputStream gerarPdfRota(LocalDate data, ManifestoEntrega.Rota rota) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PdfWriter writer = new PdfWriter(out);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf, PageSize.A4.rotate());
+
+            // Título
+            document.add(new Paragraph("HORTIFLOW")
+                    .setFontSize(24)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("Sistema de Gestão de Hortifruti")
+                    .setFontSize(12)
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("\n"));
+
+            document.add(new Paragraph("MANIFESTO DE ENTREGA - ROTA " + rota.getNumero())
+                    .setFontSize(18)
+                    .setBold()
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("\n"));
+
+            // Informações da rota
+            Table infoTable = new Table(UnitValue.createPercentArray(new float[]{1, 3}));
+            infoTable.setWidth(UnitValue.createPercentValue(100));
+
+            infoTable.addCell(createCell("Data:").setBold());
+            infoTable.addCell(createCell(data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))));
+
+            infoTable.addCell(createCell("Rota:").setBold());
+            infoTable.addCell(createCell(rota.getDescricao()));
+
+            infoTable.addCell(createCell("Entregas:").setBold());
+            infoTable.addCell(createCell(String.valueOf(rota.getParadas().size())));
+
+            infoTable.addCell(createCell("Valor Total:").setBold());
+            infoTable.addCell(createCell("R$ " + String.format("%.2f", rota.getValorTotal())));
+
+            document.add(infoTable);
+            document.add(new Paragraph("\n"));
+
+            // Paradas
+            Table paradasTable = new Table(UnitValue.createPercentArray(new float[]{1, 2, 4, 5, 2, 2, 3}));
+            paradasTable.setWidth(UnitValue.createPercentValue(100));
+
+            paradasTable.addHeaderCell(createHeaderCell("#"));
+            paradasTable.addHeaderCell(createHeaderCell("Venda"));
+            paradasTable.addHeaderCell(createHeaderCell("Cliente"));
+            paradasTable.addHeaderCell(createHeaderCell("Endereço"));
+            paradasTable.addHeaderCell(createHeaderCell("Valor"));
+            paradasTable.addHeaderCell(createHeaderCell("Pagamento"));
+            paradasTable.addHeaderCell(createHeaderCell("Recebido por"));
+
+            for (ManifestoEntrega.Parada parada : rota.getParadas()) {
+                String cliente = parada.getTelefone() != null
+                        ? parada.getCliente() + "\n" + parada.getTelefone() : parada.getCliente();
+                String endereco = parada.getCep() != null
+                        ? parada.getEndereco() + "\nCEP " + parada.getCep() : parada.getEndereco();
+                if (parada.getObservacoes() != null) {
+                    endereco += "\nObs.: " + parada.getObservacoes();
+                }
+                paradasTable.addCell(createCell(String.valueOf(parada.getOrdem())));
+                paradasTable.addCell(createCell(parada.getNumeroVenda() != null
+                        ? parada.getNumeroVenda() : String.valueOf(parada.getVendaId())));
+                paradasTable.addCell(createCell(cliente));
+                paradasTable.addCell(createCell(endereco));
+                paradasTable.addCell(createCell("R$ " + String.format("%.2f", parada.getValorFinal())));
+                paradasTable.addCell(createCell(parada.getFormaPagamento() != null
+                        ? parada.getFormaPagamento() : "Não especificada"));
+                paradasTable.addCell(createCell(""));
+            }
+
+            document.add(paradasTable);
+
+            document.close();
+
+            return new ByteArrayInputStream(out.toByteArray());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gerar PDF da rota " + rota.getNumero(), e);
+        }
+    }
+
+    /**
+     * Adiciona ao documento a tabela de itens a separar, descarregando-a aos poucos.
+     * @param document O documento.
+     * @param itens Os itens a separar.
+     */
+    private void adicionarItensSeparacao(Document document, List<ListaSeparacao.Item> itens) {
+        Table itensTable = new Table(UnitValue.createPercentArray(new float[]{4, 2, 2, 1}), true);
+        itensTable.setWidth(UnitValue.createPercentValue(100));
+
+        // Cabeçalho
+        itensTable.addHeaderCell(createHeaderCell("Produto"));
+        itensTable.addHeaderCell(createHeaderCell("Embalagem"));
+        itensTable.addHeaderCell(createHeaderCell("Quantidade"));
+        itensTable.addHeaderCell(createHeaderCell("Vendas"));
+        document.add(itensTable);
+
+        int linhas = 0;
+        for (ListaSeparacao.Item item : itens) {
+            itensTable.addCell(createCell(item.getProduto()));
+            itensTable.addCell(createCell(item.getEmbalagem() != null ? item.getEmbalagem() : ""));
+            itensTable.addCell(createCell(formatarQuantidade(item.getQuantidade())));
+            itensTable.addCell(createCell(String.valueOf(item.getVendas())));
+            if (++linhas % LINHAS_POR_DESCARGA == 0) {
+                itensTable.flush();
+            }
+        }
+        itensTable.complete();
+    }
+
+    /**
+     * Formata uma quantidade sem zeros à direita (ex.: 12, 3.5).
+     * @param quantidade A quantidade.
+     * @return A quantidade formatada.
+     */
+    private String formatarQuantidade(double quantidade) {
+        return BigDecimal.valueOf(quantidade).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Cria uma célula de tabela padrão.
+     * @param content O conteúdo da célula.
+     * @return A célula criada.
+     */
+    private Cell createCell(String content) {
+        return new Cell().add(new Paragraph(content))
+                .setPadding(5);
+    }
+
+    /**
+     * Cria uma célula de cabeçalho de tabela.
+     * @param content O conteúdo da célula.
+     * @return A célula de cabeçalho criada.
+     */
+    private Cell createHeaderCell(String content) {
+        return new Cell().add(new Paragraph(content))
+                .setBold()
+                .setBackgroundColor(ColorConstants.LIGHT_GRAY)
+                .setPadding(5);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,656 @@
+package com.hortifruti.service;
+import com.hortifruti.concorrencia.LeituraCoalescida;
+import com.hortifruti.dto.PrecoLoteRequest;
+import com.hortifruti.dto.RecebimentoRequest;
+import com.hortifruti.event.ProdutoAlteradoEvent;
+import com.hortifruti.importacao.LeitorCsv;
+import com.hortifruti.model.PrecoHistorico;
+import com.hortifruti.model.Produto;
+import com.hortifruti.model.TipoMovimentacao;
+import com.hortifruti.repository.MovimentacaoEstoqueRepository;
+import com.hortifruti.repository.PrecoHistoricoRepository;
+import com.hortifruti.repository.ProdutoRepository;
+import com.hortifruti.replica.ConsistenciaLeitura;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Camada de serviço para operações de negócio relacionadas a Produtos.
+ * Implementa a lógica de negócio e orquestra as operações de dados.
+ * 
+ * @author Sistema Hortifruti
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+@Transactional
+public class ProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final MovimentacaoEstoqueRepository movimentacaoEstoqueRepository;
+    private final EstoqueShardService estoqueShardService;
+    private final ReservaEstoqueService reservaEstoqueService;
+    private final PrecoHistoricoRepository precoHistoricoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionFactory sessionFactory;
+    private final LeituraCoalescida<List<Produto>> leituraEstoqueBaixo;
+    private final LeituraCoalescida<Map<String, Object>> leituraEstatisticas;
+    /** Instante da última alteração confirmada, exigido das réplicas nas leituras coalescidas */
+    private final AtomicLong alteradoEm = new AtomicLong();
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     * 
+     * @param produtoRepository Repository para operações de produtos
+     * @param movimentacaoEstoqueRepository Repository para o histórico de movimentações
+     * @param estoqueShardService Serviço do estoque particionado (shards)
+     * @param reservaEstoqueService Serviço de reservas de estoque das vendas pendentes
+     * @param precoHistoricoRepository Repository do histórico de preços
+     * @param eventPublisher Publicador dos eventos de alteração de produto
+     * @param entityManagerFactory Fábrica de EntityManager, para descartar produtos do cache de segundo nível
+     * @param transactionManager Gerenciador de transações das leituras coalescidas
+     * @param ttlCoalescenciaMs Tempo que o resultado de uma leitura coalescida continua valendo
+     */
+    @Autowired
+    public ProdutoService(ProdutoRepository produtoRepository,
+                          MovimentacaoEstoqueRepository movimentacaoEstoqueRepository,
+                          EstoqueShardService estoqueShardService,
+                          ReservaEstoqueService reservaEstoqueService,
+                          PrecoHistoricoRepository precoHistoricoRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          EntityManagerFactory entityManagerFactory,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.coalescencia.ttl-ms:1000}") long ttlCoalescenciaMs) {
+        this.produtoRepository = produtoRepository;
+        this.movimentacaoEstoqueRepository = movimentacaoEstoqueRepository;
+        this.estoqueShardService = estoqueShardService;
+        this.reservaEstoqueService = reservaEstoqueService;
+        this.precoHistoricoRepository = precoHistoricoRepository;
+        this.eventPublisher = eventPublisher;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        // O resultado é compartilhado: a réplica lida precisa já ter a última alteração
+        this.leituraEstoqueBaixo = new LeituraCoalescida<>(
+                () -> ConsistenciaLeitura.exigindo(alteradoEm.get(),
+                        () -> leitura.execute(status -> List.copyOf(produtoRepository.findComEstoqueBaixo()))),
+                ttlCoalescenciaMs);
+        this.leituraEstatisticas = new LeituraCoalescida<>(
+                () -> ConsistenciaLeitura.exigindo(alteradoEm.get(),
+                        () -> leitura.execute(status -> calcularEstatisticas())),
+                ttlCoalescenciaMs);
+    }
+
+    /**
+     * Busca todos os produtos.
+     * 
+     * @return Lista de todos os produtos
+     * @throws RuntimeException Se houver erro na consulta
+     */
+    @Transactional(readOnly = true)
+    public List<Produto> buscarTodos() {
+        // Preferindo ordenação via JPA para manter consistência
+        return produtoRepository.findAllSortedByNome();
+    }
+
+    /**
+     * Busca um produto por ID.
+     * 
+     * @param id ID do produto
+     * @return Optional contendo o produto, se encontrado
+     * @throws RuntimeException Se houver erro na consulta
+     */
+    @Transactional(readOnly = true)
+    public Optional<Produto> buscarPorId(Long id) {
+        return produtoRepository.findById(id);
+    }
+
+    /**
+     * Busca produtos com estoque baixo.
+     * Chamadas simultâneas compartilham uma única consulta (ver {@link LeituraCoalescida});
+     * a consulta roda em transação própria, fora de uma eventual transação do chamador.
+     * 
+     * @return Lista imutável de produtos com estoque baixo
+     * @throws RuntimeException Se houver erro na consulta
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Produto> buscarComEstoqueBaixo() {
+        return leituraEstoqueBaixo.obter();
+    }
+
+    /**
+     * Cria um novo produto.
+     * 
+     * @param produto Produto a ser criado
+     * @return Produto criado com ID gerado
+     * @throws IllegalArgumentException Se os dados do produto forem inválidos
+     * @throws RuntimeException Se houver erro na criação
+     */
+    public Produto criar(Produto produto) {
+        validarProduto(produto);
+        
+        // Garante que o ID seja null para criação (não atualização)
+        // Se vier como 0 ou qualquer outro valor, força para null
+        if (produto.getId() == null || produto.getId() == 0) {
+            produto.setId(null);
+            produto.setVersao(null);
+        } else {
+            // Se tem ID não-nulo, é uma tentativa de atualização, não permitir
+            throw new IllegalArgumentException("ID não deve ser fornecido para criação de novo produto");
+        }
+        
+        // Zera campos de controle, se vierem nulos
+        if (produto.getEstoqueInicial() == null) produto.setEstoqueInicial(0.0);
+        if (produto.getEntradas() == null) produto.setEntradas(0.0);
+        if (produto.getSaidas() == null) produto.setSaidas(0.0);
+        
+        // Garante que embalagem tenha valor padrão se estiver vazia ou nula
+        if (produto.getEmbalagem() == null || produto.getEmbalagem().trim().isEmpty()) {
+            produto.setEmbalagem("Band. 200m");
+        }
+        
+        try {
+            Produto salvo = produtoRepository.save(produto);
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(salvo.getId(), ProdutoAlteradoEvent.Tipo.CADASTRO));
+            return salvo;
+        } catch (Exception e) {
+            // Log detalhado do erro antes de relançar
+            System.err.println("Erro ao salvar produto:");
+            System.err.println("ID: " + produto.getId());
+            System.err.println("Nome: " + produto.getNome());
+            System.err.println("Preço: " + produto.getPreco());
+            System.err.println("Estoque Inicial: " + produto.getEstoqueInicial());
+            System.err.println("Embalagem: " + produto.getEmbalagem());
+            throw new RuntimeException("Erro ao salvar produto no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Atualiza um produto existente, usando a versão informada no próprio produto (se houver).
+     * 
+     * @param produto Produto a ser atualizado
+     * @return Optional contendo o produto atualizado, se encontrado
+     * @throws IllegalArgumentException Se os dados do produto forem inválidos
+     * @throws OptimisticLockingFailureException Se o produto foi alterado desde a versão informada
+     */
+    public Optional<Produto> atualizar(Produto produto) {
+        return atualizar(produto, produto != null ? produto.getVersao() : null);
+    }
+
+    /**
+     * Atualiza os dados cadastrais de um produto com controle de concorrência otimista.
+     * 
+     * <p>A atualização é um único UPDATE condicionado à versão esperada; os contadores
+     * de estoque (entradas/saídas) nunca são sobrescritos, mesmo que vendas tenham
+     * ocorrido desde a leitura do produto.
+     * 
+     * @param produto Produto a ser atualizado
+     * @param versaoEsperada Versão lida pelo cliente, ou null para atualizar sem verificar
+     * @return Optional contendo o produto atualizado, se encontrado
+     * @throws IllegalArgumentException Se os dados do produto forem inválidos
+     * @throws OptimisticLockingFailureException Se o produto foi alterado desde a versão esperada
+     */
+    public Optional<Produto> atualizar(Produto produto, Long versaoEsperada) {
+        validarProduto(produto);
+
+        if (produto.getId() == null) {
+            throw new IllegalArgumentException("ID do produto é obrigatório para atualização");
+        }
+
+        int rows = produtoRepository.atualizarCadastro(produto.getId(), produto.getNome(), produto.getPreco(),
+                produto.getEmbalagem(), produto.getEstoqueInicial(), versaoEsperada);
+        if (rows == 0) {
+            if (versaoEsperada == null || !produtoRepository.existsById(produto.getId())) {
+                return Optional.empty();
+            }
+            throw new OptimisticLockingFailureException(
+                    "Produto foi alterado por outra requisição (versão esperada: " + versaoEsperada + ")");
+        }
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produto.getId(), ProdutoAlteradoEvent.Tipo.CADASTRO));
+        return produtoRepository.findByIdSemCache(produto.getId());
+    }
+
+    /**
+     * Remove um produto pelo ID.
+     * 
+     * @param id ID do produto a ser removido
+     * @return true se removido com sucesso, false caso contrário
+     * @throws RuntimeException Se houver erro na remoção
+     */
+    public boolean remover(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID do produto é obrigatório para remoção");
+        }
+        if (!produtoRepository.existsById(id)) return false;
+        produtoRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(id, ProdutoAlteradoEvent.Tipo.REMOCAO));
+        return true;
+    }
+
+    /**
+     * Adiciona uma movimentação de estoque para um produto, sem consumir o que está
+     * reservado para vendas pendentes.
+     * 
+     * @param produtoId ID do produto
+     * @param tipo Tipo da movimentação (ENTRADA, SAIDA)
+     * @param quantidade Quantidade movimentada
+     * @throws IllegalArgumentException Se os dados forem inválidos
+     * @throws RuntimeException Se houver erro na movimentação
+     * @see #adicionarMovimentacao(Long, String, Double, boolean)
+     */
+    public void adicionarMovimentacao(Long produtoId, String tipo, Double quantidade) {
+        adicionarMovimentacao(produtoId, tipo, quantidade, false);
+    }
+
+    /**
+     * Adiciona uma movimentação de estoque para um produto.
+     * 
+     * <p>Uma SAIDA só é aceita se couber no disponível (estoque menos as reservas de vendas
+     * pendentes, como no checkout) e é gravada com a mesma baixa condicional da finalização
+     * de vendas. Com {@code ignorarReservas} (ex.: perda ou avaria de mercadoria já separada),
+     * a saída pode consumir o reservado, limitada ao estoque persistido; as vendas pendentes
+     * afetadas podem então falhar na finalização por estoque insuficiente.
+     * 
+     * @param produtoId ID do produto
+     * @param tipo Tipo da movimentação (ENTRADA, SAIDA)
+     * @param quantidade Quantidade movimentada
+     * @param ignorarReservas Se a SAIDA pode consumir estoque reservado para vendas pendentes
+     * @throws IllegalArgumentException Se os dados forem inválidos
+     * @throws RuntimeException Se houver erro na movimentação
+     */
+    public void adicionarMovimentacao(Long produtoId, String tipo, Double quantidade, boolean ignorarReservas) {
+        if (produtoId == null) {
+            throw new IllegalArgumentException("ID do produto é obrigatório");
+        }
+
+        if (tipo == null || tipo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tipo da movimentação é obrigatório");
+        }
+
+        if (!"ENTRADA".equals(tipo) && !"SAIDA".equals(tipo)) {
+            throw new IllegalArgumentException("Tipo deve ser ENTRADA ou SAIDA");
+        }
+
+        if (quantidade == null || quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+
+        // Verificar se o produto existe
+        Produto produto = produtoRepository.findById(produtoId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado"));
+
+        // Verificar se há estoque suficiente para saída, sem tomar o que vendas pendentes reservaram
+        double disponivel = ignorarReservas ? produto.getEstoqueAtual() : reservaEstoqueService.getDisponivel(produto);
+        if ("SAIDA".equals(tipo) && disponivel < quantidade) {
+            throw new IllegalArgumentException("Estoque insuficiente para a saída");
+        }
+
+        // Produtos em modo shard registram a saída em um dos shards
+        if ("SAIDA".equals(tipo) && estoqueShardService.isAtivo(produtoId)) {
+            if (!estoqueShardService.consumir(produtoId, quantidade)) {
+                throw new IllegalArgumentException("Estoque insuficiente para a saída");
+            }
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoId, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+            return;
+        }
+
+        // Atualizar o estoque via queries nativas; a saída é condicional, como na finalização de vendas
+        if ("ENTRADA".equals(tipo)) {
+            if (produtoRepository.incrementarEntrada(produtoId, quantidade) == 0) {
+                throw new RuntimeException("Falha ao registrar movimentação de estoque");
+            }
+        } else if (produtoRepository.incrementarSaidaSeDisponivel(produtoId, quantidade) == 0) {
+            throw new IllegalArgumentException("Estoque insuficiente para a saída");
+        }
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoId, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+    }
+
+    /**
+     * Consulta o estoque de um produto descontando as reservas de vendas pendentes.
+     * 
+     * @param produtoId ID do produto
+     * @return Optional com estoque, reservado e disponível, ou vazio se o produto não existir
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> consultarDisponibilidade(Long produtoId) {
+        return produtoRepository.findById(produtoId).map(produto -> {
+            Map<String, Object> disponibilidade = new LinkedHashMap<>();
+            disponibilidade.put("produtoId", produto.getId());
+            disponibilidade.put("estoque", produto.getEstoqueAtual());
+            disponibilidade.put("reservado", reservaEstoqueService.getReservado(produto.getId()));
+            disponibilidade.put("disponivel", reservaEstoqueService.getDisponivel(produto));
+            return disponibilidade;
+        });
+    }
+
+    /**
+     * Registra o recebimento de uma entrega inteira de fornecedor.
+     * 
+     * <p>Todos os produtos são validados com uma única consulta, as entradas são
+     * aplicadas com um único UPDATE e as movimentações são gravadas com um único
+     * INSERT, independentemente do número de linhas da entrega.
+     * 
+     * @param recebimento Itens recebidos
+     * @return Map com o resumo do recebimento
+     * @throws IllegalArgumentException Se algum item for inválido ou algum produto não existir
+     */
+    public Map<String, Object> registrarRecebimento(RecebimentoRequest recebimento) {
+        if (recebimento == null || recebimento.getItens() == null || recebimento.getItens().isEmpty()) {
+            throw new IllegalArgumentException("O recebimento deve conter pelo menos um item");
+        }
+
+        int linhas = recebimento.getItens().size();
+        Long[] ids = new Long[linhas];
+        Double[] quantidades = new Double[linhas];
+        Set<Long> produtosSolicitados = new LinkedHashSet<>();
+        double quantidadeTotal = 0.0;
+
+        for (int i = 0; i < linhas; i++) {
+            RecebimentoRequest.Item item = recebimento.getItens().get(i);
+            if (item == null || item.getProdutoId() == null) {
+                throw new IllegalArgumentException("ID do produto é obrigatório (linha " + (i + 1) + ")");
+            }
+            if (item.getQuantidade() == null || item.getQuantidade() <= 0) {
+                throw new IllegalArgumentException("Quantidade deve ser maior que zero (linha " + (i + 1) + ")");
+            }
+            ids[i] = item.getProdutoId();
+            quantidades[i] = item.getQuantidade();
+            produtosSolicitados.add(item.getProdutoId());
+            quantidadeTotal += item.getQuantidade();
+        }
+
+        // Valida todos os produtos de uma vez
+        Set<Long> naoEncontrados = new LinkedHashSet<>(produtosSolicitados);
+        produtoRepository.findIdsExistentes(produtosSolicitados).forEach(naoEncontrados::remove);
+        if (!naoEncontrados.isEmpty()) {
+            throw new IllegalArgumentException("Produtos não encontrados: " + naoEncontrados);
+        }
+
+        int atualizados = produtoRepository.incrementarEntradasEmLote(ids, quantidades);
+        if (atualizados != produtosSolicitados.size()) {
+            throw new RuntimeException("Falha ao registrar recebimento de estoque");
+        }
+        movimentacaoEstoqueRepository.inserirEmLote(ids, quantidades, TipoMovimentacao.ENTRADA.name(), LocalDateTime.now());
+        produtosSolicitados.forEach(id ->
+                eventPublisher.publishEvent(new ProdutoAlteradoEvent(id, ProdutoAlteradoEvent.Tipo.ESTOQUE)));
+
+        Map<String, Object> resumo = new HashMap<>();
+        resumo.put("message", "Recebimento registrado com sucesso");
+        resumo.put("fornecedor", recebimento.getFornecedor());
+        resumo.put("linhas", linhas);
+        resumo.put("produtos", produtosSolicitados.size());
+        resumo.put("quantidadeTotal", quantidadeTotal);
+        return resumo;
+    }
+
+    /**
+     * Aplica novos preços a vários produtos de uma vez (remarcação).
+     * 
+     * <p>Todos os produtos são validados com uma única consulta e os preços são aplicados
+     * com um único UPDATE; produtos cujo preço não muda não são tocados. Cada mudança é
+     * registrada no histórico de preços pela trigger do banco.
+     * 
+     * @param request Novos preços
+     * @return Map com o resumo da atualização
+     * @throws IllegalArgumentException Se algum item for inválido, repetido ou de produto inexistente
+     */
+    public Map<String, Object> atualizarPrecos(PrecoLoteRequest request) {
+        if (request == null || request.getItens() == null || request.getItens().isEmpty()) {
+            throw new IllegalArgumentException("A atualização deve conter pelo menos um item");
+        }
+
+        int linhas = request.getItens().size();
+        Long[] ids = new Long[linhas];
+        Double[] precos = new Double[linhas];
+        Set<Long> produtosSolicitados = new LinkedHashSet<>();
+
+        for (int i = 0; i < linhas; i++) {
+            PrecoLoteRequest.Item item = request.getItens().get(i);
+            if (item == null || item.getProdutoId() == null) {
+                throw new IllegalArgumentException("ID do produto é obrigatório (linha " + (i + 1) + ")");
+            }
+            if (item.getPreco() == null || !(item.getPreco() > 0) || item.getPreco().isInfinite()) {
+                throw new IllegalArgumentException("Preço deve ser maior que zero (linha " + (i + 1) + ")");
+            }
+            if (!produtosSolicitados.add(item.getProdutoId())) {
+                throw new IllegalArgumentException("Produto " + item.getProdutoId() + " repetido (linha " + (i + 1) + ")");
+            }
+            ids[i] = item.getProdutoId();
+            precos[i] = item.getPreco();
+        }
+
+        // Valida todos os produtos de uma vez
+        Set<Long> naoEncontrados = new LinkedHashSet<>(produtosSolicitados);
+        produtoRepository.findIdsExistentes(produtosSolicitados).forEach(naoEncontrados::remove);
+        if (!naoEncontrados.isEmpty()) {
+            throw new IllegalArgumentException("Produtos não encontrados: " + naoEncontrados);
+        }
+
+        int alterados = produtoRepository.atualizarPrecosEmLote(ids, precos);
+        if (alterados > 0) {
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(List.copyOf(produtosSolicitados),
+                    ProdutoAlteradoEvent.Tipo.CADASTRO));
+        }
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("message", "Preços atualizados com sucesso");
+        resumo.put("linhas", linhas);
+        resumo.put("alterados", alterados);
+        resumo.put("inalterados", linhas - alterados);
+        return resumo;
+    }
+
+    /**
+     * Aplica novos preços a partir de um CSV com as colunas produtoId (ou id) e preco.
+     * Preços com vírgula decimal (ex.: "4,99" ou "1.234,50") são aceitos.
+     * 
+     * @param reader Conteúdo do CSV, com cabeçalho
+     * @return Map com o resumo da atualização
+     * @throws IOException Se a leitura falhar
+     * @throws IllegalArgumentException Se o cabeçalho ou alguma linha for inválida
+     */
+    public Map<String, Object> atualizarPrecos(Reader reader) throws IOException {
+        PrecoLoteRequest request = new PrecoLoteRequest();
+        try (LeitorCsv csv = new LeitorCsv(reader)) {
+            List<String> cabecalho = csv.proximo();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("Arquivo vazio");
+            }
+            int colunaId = -1;
+            int colunaPreco = -1;
+            for (int i = 0; i < cabecalho.size(); i++) {
+                String coluna = cabecalho.get(i).trim().toLowerCase(Locale.ROOT);
+                if ((coluna.equals("produtoid") || coluna.equals("produto_id") || coluna.equals("id")) && colunaId < 0) {
+                    colunaId = i;
+                } else if (coluna.equals("preco") || coluna.equals("preço")) {
+                    colunaPreco = i;
+                }
+            }
+            if (colunaId < 0 || colunaPreco < 0) {
+                throw new IllegalArgumentException("O cabeçalho deve ter as colunas produtoId e preco");
+            }
+
+            List<String> campos;
+            while ((campos = csv.proximo()) != null) {
+                if (campos.size() == 1 && campos.get(0).isBlank()) {
+                    continue;
+                }
+                if (campos.size() <= Math.max(colunaId, colunaPreco)) {
+                    throw new IllegalArgumentException("Linha " + csv.getLinha() + " incompleta");
+                }
+                try {
+                    request.getItens().add(new PrecoLoteRequest.Item(Long.valueOf(campos.get(colunaId).trim()),
+                            Double.valueOf(decimal(campos.get(colunaPreco)))));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Linha " + csv.getLinha() + " com ID ou preço inválido");
+                }
+            }
+        }
+        return atualizarPrecos(request);
+    }
+
+    /**
+     * Consulta o preço vigente de um produto em um instante.
+     * 
+     * @param produtoId ID do produto
+     * @param em Instante da consulta (null para agora)
+     * @return Optional com o registro do histórico vigente no instante, se houver
+     */
+    @Transactional(readOnly = true)
+    public Optional<PrecoHistorico> consultarPreco(Long produtoId, LocalDateTime em) {
+        return precoHistoricoRepository.findVigente(produtoId, em != null ? em : LocalDateTime.now());
+    }
+
+    /**
+     * Consulta o preço vigente de todos os produtos em um instante (ex.: relatórios de vendas).
+     * 
+     * @param em Instante da consulta (null para agora)
+     * @return Um registro do histórico por produto
+     */
+    @Transactional(readOnly = true)
+    public List<PrecoHistorico> consultarPrecos(LocalDateTime em) {
+        return precoHistoricoRepository.findVigentes(em != null ? em : LocalDateTime.now());
+    }
+
+    /**
+     * Lista as mudanças de preço de um produto, da mais recente para a mais antiga.
+     * 
+     * @param produtoId ID do produto
+     * @return Histórico de preços do produto
+     */
+    @Transactional(readOnly = true)
+    public List<PrecoHistorico> historicoPrecos(Long produtoId) {
+        return precoHistoricoRepository.findByProdutoId(produtoId);
+    }
+
+    /**
+     * Obtém estatísticas gerais dos produtos.
+     * 
+     * Chamadas simultâneas compartilham um único cálculo (ver {@link LeituraCoalescida}).
+     * 
+     * @return Map imutável com as estatísticas
+     * @throws RuntimeException Se houver erro na consulta
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> obterEstatisticas() {
+        return leituraEstatisticas.obter();
+    }
+
+    /**
+     * Descarta do cache de segundo nível os produtos alterados, após o commit.
+     *
+     * <p>As baixas de estoque são UPDATEs nativos em um espaço próprio
+     * ({@link ProdutoRepository#ESPACO_ESTOQUE}), que não descartam a região "produtos":
+     * só os produtos do evento saem do cache, e o catálogo em cache continua valendo para
+     * os demais. Roda antes dos outros ouvintes, para que o snapshot do catálogo e as
+     * leituras coalescidas já recarreguem os produtos do banco.
+     *
+     * @param evento Evento de alteração de produto
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void descartarDoCache(ProdutoAlteradoEvent evento) {
+        evento.getProdutoIds().forEach(id -> sessionFactory.getCache().evictEntityData(Produto.class, id));
+    }
+
+    /**
+     * Descarta as leituras coalescidas após o commit de qualquer alteração de produto,
+     * para que as chamadas seguintes enxerguem a alteração.
+     *
+     * @param evento Evento de alteração de produto
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void aoAlterarProduto(ProdutoAlteradoEvent evento) {
+        alteradoEm.set(System.currentTimeMillis());
+        leituraEstoqueBaixo.invalidar();
+        leituraEstatisticas.invalidar();
+    }
+
+    private Map<String, Object> calcularEstatisticas() {
+        List<Produto> produtos = produtoRepository.findAll();
+
+        double totalEstoqueInicial = produtos.stream().map(Produto::getEstoqueInicial).filter(v -> v != null).mapToDouble(Double::doubleValue).sum();
+        double totalEntradas = produtos.stream().map(Produto::getEntradas).filter(v -> v != null).mapToDouble(Double::doubleValue).sum();
+        double totalSaidas = produtos.stream().map(Produto::getSaidas).filter(v -> v != null).mapToDouble(Double::doubleValue).sum();
+        double totalEstoqueAtual = produtos.stream().mapToDouble(p -> p.getEstoqueAtual()).sum();
+        int totalProdutos = produtos.size();
+
+        double valorTotalEstoque = produtos.stream()
+                .mapToDouble(Produto::getValorEstoque)
+                .sum();
+        long produtosComEstoqueBaixo = produtos.stream()
+                .filter(Produto::isEstoqueBaixo)
+                .count();
+
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("totalEstoqueInicial", totalEstoqueInicial);
+        estatisticas.put("totalEntradas", totalEntradas);
+        estatisticas.put("totalSaidas", totalSaidas);
+        estatisticas.put("totalEstoqueAtual", totalEstoqueAtual);
+        estatisticas.put("totalProdutos", totalProdutos);
+        estatisticas.put("valorTotalEstoque", valorTotalEstoque);
+        estatisticas.put("produtosComEstoqueBaixo", produtosComEstoqueBaixo);
+        return Collections.unmodifiableMap(estatisticas);
+    }
+
+    /**
+     * Valida os dados de um produto.
+     * 
+     * @param produto Produto a ser validado
+     * @throws IllegalArgumentException Se os dados forem inválidos
+     */
+    private void validarProduto(Produto produto) {
+        if (produto == null) {
+            throw new IllegalArgumentException("Produto não pode ser nulo");
+        }
+        
+        if (produto.getNome() == null || produto.getNome().trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome do produto é obrigatório");
+        }
+        
+        if (produto.getPreco() == null || produto.getPreco() <= 0) {
+            throw new IllegalArgumentException("Preço do produto deve ser maior que zero");
+        }
+        
+        if (produto.getEstoqueInicial() != null && produto.getEstoqueInicial() < 0) {
+            throw new IllegalArgumentException("Estoque inicial não pode ser negativo");
+        }
+    }
+
+    private static String decimal(String valor) {
+        String texto = valor.trim().replace("R$", "").replace(" ", "");
+        if (texto.indexOf(',') >= 0) {
+            texto = texto.replace(".", "").replace(',', '.');
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,249 @@
+package com.hortifruti.service;
+
+import com.hortifruti.model.Produto;
+import com.hortifruti.model.Venda;
+import com.hortifruti.repository.ItemVendaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço de reservas de estoque para vendas pendentes.
+ *
+ * <p>Uma venda PENDENTE não baixa o estoque persistido: ela apenas reserva as
+ * quantidades em contadores atômicos mantidos em memória (um por produto, em
+ * milésimos de unidade). O disponível de um produto é o estoque persistido menos
+ * o reservado. A finalização da venda grava a baixa em {@code produtos} e libera a
+ * reserva; o cancelamento e a expiração (TTL) apenas liberam a reserva, sem acessar
+ * o banco. Ao iniciar, as reservas são recriadas a partir das vendas pendentes.
+ *
+ * <p>As reservas vivem na memória de uma única instância da aplicação.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class ReservaEstoqueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservaEstoqueService.class);
+
+    /** Fator de conversão entre a quantidade (Double) e os contadores (milésimos) */
+    private static final double ESCALA = 1000.0;
+
+    private final ItemVendaRepository itemVendaRepository;
+    private final Duration ttl;
+
+    /** Quantidade reservada por produto, em milésimos de unidade */
+    private final ConcurrentHashMap<Long, AtomicLong> reservadoPorProduto = new ConcurrentHashMap<>();
+
+    /** Reservas ativas por venda */
+    private final ConcurrentHashMap<Long, Reserva> reservasPorVenda = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param itemVendaRepository Repository de itens de venda (recriação das reservas)
+     * @param ttl Tempo de vida de uma reserva
+     */
+    @Autowired
+    public ReservaEstoqueService(ItemVendaRepository itemVendaRepository,
+                                 @Value("${app.estoque.reserva.ttl:PT30M}") Duration ttl) {
+        this.itemVendaRepository = itemVendaRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Retorna a quantidade reservada de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return Quantidade reservada por vendas pendentes
+     */
+    public double getReservado(Long produtoId) {
+        AtomicLong contador = reservadoPorProduto.get(produtoId);
+        return contador != null ? contador.get() / ESCALA : 0.0;
+    }
+
+    /**
+     * Calcula o disponível de um produto: estoque persistido menos o reservado.
+     *
+     * @param produto Produto carregado
+     * @return Quantidade disponível para novas vendas
+     */
+    public double getDisponivel(Produto produto) {
+        return produto.getEstoqueAtual() - getReservado(produto.getId());
+    }
+
+    /**
+     * Reserva as quantidades de uma venda.
+     *
+     * <p>Cada produto é reservado com compare-and-set sobre o seu contador, somente se
+     * o estoque persistido informado comportar o total reservado. Se algum produto não
+     * tiver saldo, as reservas já feitas para a venda são desfeitas. Dentro de uma
+     * transação, a reserva é liberada automaticamente se a transação não for confirmada.
+     *
+     * @param vendaId ID da venda
+     * @param quantidades Quantidade por ID de produto
+     * @param estoques Estoque persistido por ID de produto
+     * @throws RuntimeException Se algum produto não tiver saldo disponível
+     */
+    public void reservar(Long vendaId, Map<Long, Double> quantidades, Map<Long, Double> estoques) {
+        Map<Long, Long> reservados = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : quantidades.entrySet()) {
+            Long produtoId = entry.getKey();
+            long quantidade = paraMilesimos(entry.getValue());
+            long estoque = paraMilesimos(estoques.getOrDefault(produtoId, 0.0));
+            if (!tentarReservar(produtoId, quantidade, estoque)) {
+                reservados.forEach(this::decrementar);
+                throw new RuntimeException("Estoque insuficiente para o produto: " + produtoId);
+            }
+            reservados.put(produtoId, quantidade);
+        }
+
+        Reserva anterior = reservasPorVenda.put(vendaId, new Reserva(reservados, System.nanoTime() + ttl.toNanos()));
+        if (anterior != null) {
+            anterior.quantidades.forEach(this::decrementar);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        liberar(vendaId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Libera a reserva de uma venda após a confirmação da transação corrente
+     * (ou imediatamente, se não houver transação ativa).
+     *
+     * @param vendaId ID da venda
+     */
+    public void liberarAposCommit(Long vendaId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    liberar(vendaId);
+                }
+            });
+        } else {
+            liberar(vendaId);
+        }
+    }
+
+    /**
+     * Libera a reserva de uma venda. Chamadas repetidas não têm efeito.
+     *
+     * @param vendaId ID da venda
+     * @return true se havia uma reserva para a venda
+     */
+    public boolean liberar(Long vendaId) {
+        Reserva reserva = reservasPorVenda.remove(vendaId);
+        if (reserva == null) {
+            return false;
+        }
+        reserva.quantidades.forEach(this::decrementar);
+        return true;
+    }
+
+    /**
+     * Libera as reservas expiradas. A venda continua PENDENTE e ainda pode ser
+     * finalizada, desde que haja estoque no momento da finalização.
+     */
+    @Scheduled(fixedDelayString = "${app.estoque.reserva.varredura-ms:60000}")
+    public void liberarExpiradas() {
+        long agora = System.nanoTime();
+        int liberadas = 0;
+        for (Map.Entry<Long, Reserva> entry : reservasPorVenda.entrySet()) {
+            if (agora - entry.getValue().expiraEm >= 0 && reservasPorVenda.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().quantidades.forEach(this::decrementar);
+                liberadas++;
+            }
+        }
+        if (liberadas > 0) {
+            logger.info("{} reserva(s) de estoque expirada(s) liberada(s)", liberadas);
+        }
+    }
+
+    /**
+     * Recria as reservas das vendas pendentes ainda dentro do TTL ao iniciar a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recriarReservas() {
+        LocalDateTime agora = LocalDateTime.now();
+        Map<Long, Map<Long, Long>> porVenda = new LinkedHashMap<>();
+        Map<Long, LocalDateTime> datas = new HashMap<>();
+        for (ItemVendaRepository.QuantidadePendente item
+                : itemVendaRepository.findQuantidadesPorStatusDesde(Venda.StatusVenda.PENDENTE, agora.minus(ttl))) {
+            porVenda.computeIfAbsent(item.getVendaId(), id -> new HashMap<>())
+                    .merge(item.getProdutoId(), paraMilesimos(item.getQuantidade()), Long::sum);
+            datas.put(item.getVendaId(), item.getDataVenda());
+        }
+
+        long base = System.nanoTime();
+        porVenda.forEach((vendaId, quantidades) -> {
+            long restante = Duration.between(agora, datas.get(vendaId).plus(ttl)).toNanos();
+            quantidades.forEach((produtoId, quantidade) ->
+                    reservadoPorProduto.computeIfAbsent(produtoId, id -> new AtomicLong()).addAndGet(quantidade));
+            reservasPorVenda.put(vendaId, new Reserva(quantidades, base + Math.max(0L, restante)));
+        });
+        logger.info("{} reserva(s) de estoque recriada(s) a partir de vendas pendentes", porVenda.size());
+    }
+
+    private boolean tentarReservar(Long produtoId, long quantidade, long estoque) {
+        AtomicLong contador = reservadoPorProduto.computeIfAbsent(produtoId, id -> new AtomicLong());
+        while (true) {
+            long atual = contador.get();
+            if (estoque - atual < quantidade) {
+                return false;
+            }
+            if (contador.compareAndSet(atual, atual + quantidade)) {
+                return true;
+            }
+        }
+    }
+
+    private void decrementar(Long produtoId, Long quantidade) {
+        AtomicLong contador = reservadoPorProduto.get(produtoId);
+        if (contador != null) {
+            contador.addAndGet(-quantidade);
+        }
+    }
+
+    private static long paraMilesimos(Double quantidade) {
+        return quantidade != null ? Math.round(quantidade * ESCALA) : 0L;
+    }
+
+    /**
+     * Reserva de uma venda: quantidades por produto e instante de expiração ({@link System#nanoTime()}).
+     */
+    private static final class Reserva {
+        private final Map<Long, Long> quantidades;
+        private final long expiraEm;
+
+        private Reserva(Map<Long, Long> quantidades, long expiraEm) {
+            this.quantidades = quantidades;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hortifruti.service;
+
+import com.hortifruti.dto.ListaSeparacao;
+import com.hortifruti.model.Venda;
+import com.hortifruti.repository.ItemVendaRepository;
+import com.hortifruti.repository.VendaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serviço da lista de separação: quanto de cada produto separar para as vendas pendentes.
+ *
+ * <p>As quantidades são somadas pelo banco em um único GROUP BY sobre itens_venda (índices
+ * de V10), de modo que o custo cresce com o número de itens pendentes e não com o de
+ * vendas carregadas em memória. As consultas rodam em uma transação REPEATABLE READ para
+ * que o total de vendas, os totais por produto e as rotas venham do mesmo snapshot.
+ *
+ * <p>A rota de entrega é o bairro (com cidade e UF) do endereço de entrega da venda; vendas
+ * sem endereço formam uma rota à parte.
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+public class SeparacaoService {
+
+    private final ItemVendaRepository itemVendaRepository;
+    private final VendaRepository vendaRepository;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param itemVendaRepository Repository de itens de venda
+     * @param vendaRepository Repository de vendas
+     */
+    @Autowired
+    public SeparacaoService(ItemVendaRepository itemVendaRepository, VendaRepository vendaRepository) {
+        this.itemVendaRepository = itemVendaRepository;
+        this.vendaRepository = vendaRepository;
+    }
+
+    /**
+     * Monta a lista de separação das vendas pendentes.
+     *
+     * @param ate Data limite (exclusiva) das vendas; null para todas as pendentes até agora
+     * @param porRota Se as quantidades também devem ser separadas por rota de entrega
+     * @return Lista com os totais por produto e, se pedido, por rota
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ListaSeparacao listar(LocalDateTime ate, boolean porRota) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime limite = ate != null ? ate : agora;
+        Venda.StatusVenda status = Venda.StatusVenda.PENDENTE;
+
+        long vendas = vendaRepository.countByStatusAndDataVendaBefore(status, limite);
+        List<ListaSeparacao.Item> itens = new ArrayList<>();
+        for (ItemVendaRepository.ItemSeparacao linha : itemVendaRepository.somarPorProduto(status, limite)) {
+            itens.add(item(linha));
+        }
+        List<ListaSeparacao.Rota> rotas = porRota
+                ? agruparPorRota(itemVendaRepository.somarPorRotaEProduto(status, limite))
+                : null;
+        return new ListaSeparacao(agora, limite, vendas, itens, rotas);
+    }
+
+    private static List<ListaSeparacao.Rota> agruparPorRota(List<ItemVendaRepository.ItemSeparacaoRota> linhas) {
+        // As linhas chegam ordenadas por rota: cada mudança de cidade/UF/bairro fecha uma rota
+        List<ListaSeparacao.Rota> rotas = new ArrayList<>();
+        List<ListaSeparacao.Item> itens = new ArrayList<>();
+        ItemVendaRepository.ItemSeparacaoRota anterior = null;
+        for (ItemVendaRepository.ItemSeparacaoRota linha : linhas) {
+            if (anterior != null && !mesmaRota(anterior, linha)) {
+                rotas.add(new ListaSeparacao.Rota(anterior.getCidade(), anterior.getEstado(), anterior.getBairro(), itens));
+                itens = new ArrayList<>();
+            }
+            itens.add(item(linha));
+            anterior = linha;
+        }
+        if (anterior != null) {
+            rotas.add(new ListaSeparacao.Rota(anterior.getCidade(), anterior.getEstado(), anterior.getBairro(), itens));
+        }
+        return rotas;
+    }
+
+    private static boolean mesmaRota(ItemVendaRepository.ItemSeparacaoRota a, ItemVendaRepository.ItemSeparacaoRota b) {
+        return Objects.equals(a.getCidade(), b.getCidade())
+                && Objects.equals(a.getEstado(), b.getEstado())
+                && Objects.equals(a.getBairro(), b.getBairro());
+    }
+
+    private static ListaSeparacao.Item item(ItemVendaRepository.ItemSeparacao linha) {
+        return new ListaSeparacao.Item(linha.getProdutoId(), linha.getProduto(), linha.getEmbalagem(),
+                linha.getQuantidade() != null ? linha.getQuantidade() : 0, linha.getVendas());
+    }
+}
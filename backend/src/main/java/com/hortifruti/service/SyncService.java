@@ -0,0 +1,177 @@
+package com.hortifruti.service;
+
+import com.hortifruti.model.Cliente;
+import com.hortifruti.model.Produto;
+import com.hortifruti.model.SyncExclusao;
+import com.hortifruti.repository.ClienteRepository;
+import com.hortifruti.repository.EstoqueShardRepository;
+import com.hortifruti.repository.ProdutoRepository;
+import com.hortifruti.repository.SyncExclusaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de sincronização incremental dos caixas.
+ *
+ * <p>Cada escrita em produtos e clientes recebe, por trigger, uma posição na sequência
+ * global {@code sync_seq} e o ID da transação que a gravou; exclusões geram tombstones
+ * com os mesmos dados. O caixa guarda o último cursor recebido ({@code transação:sequência})
+ * e pede apenas o que mudou depois dele, em ordem de transação e sequência.
+ *
+ * <p>A sequência é atribuída na escrita, não no commit, então só são entregues alterações de
+ * transações abaixo da menor transação ainda em andamento no banco: todas já encerradas, e
+ * qualquer transação que confirme depois tem ID maior que o de um cursor já entregue. Uma
+ * transação longa (importação, remarcação em lote) atrasa a entrega das alterações mais novas
+ * até terminar, sem que nenhuma se perca. As consultas rodam sempre no primário
+ * ({@code app.replicas.primario.rotas}).
+ *
+ * @author Hortifruti Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    /** Número máximo de alterações por página */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final ClienteRepository clienteRepository;
+    private final EstoqueShardRepository estoqueShardRepository;
+    private final SyncExclusaoRepository syncExclusaoRepository;
+
+    /**
+     * Construtor que recebe as dependências via injeção de dependência.
+     *
+     * @param produtoRepository Repository de produtos
+     * @param clienteRepository Repository de clientes
+     * @param estoqueShardRepository Repository dos shards de estoque
+     * @param syncExclusaoRepository Repository dos tombstones
+     */
+    @Autowired
+    public SyncService(ProdutoRepository produtoRepository,
+                       ClienteRepository clienteRepository,
+                       EstoqueShardRepository estoqueShardRepository,
+                       SyncExclusaoRepository syncExclusaoRepository) {
+        this.produtoRepository = produtoRepository;
+        this.clienteRepository = clienteRepository;
+        this.estoqueShardRepository = estoqueShardRepository;
+        this.syncExclusaoRepository = syncExclusaoRepository;
+    }
+
+    /**
+     * Lista as alterações de produtos e clientes posteriores ao cursor informado.
+     *
+     * @param desde Último cursor recebido pelo caixa ({@code transação:sequência}; "0" para a
+     *              carga inicial; um número sozinho é um cursor antigo, só com a sequência)
+     * @param limite Número máximo de alterações na página (1 a {@value #LIMITE_MAXIMO})
+     * @return Mapa com as alterações em ordem, o novo cursor e se há mais páginas
+     * @throws IllegalArgumentException Se os parâmetros forem inválidos
+     */
+    public Map<String, Object> buscarAlteracoes(String desde, int limite) {
+        long[] cursor = lerCursor(desde);
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        long xid = cursor[0];
+        long seq = cursor[1];
+        long xmin = syncExclusaoRepository.menorTransacaoAtiva();
+        List<Map<String, Object>> candidatas = new ArrayList<>();
+
+        for (Produto produto : produtoRepository.findAlteradosDesde(xid, seq, xmin, PageRequest.of(0, limite + 1))) {
+            candidatas.add(alteracao(produto.getXidAlteracao(), produto.getSeqAlteracao(), "UPSERT", "PRODUTO",
+                    produto.getId(), produto));
+        }
+        List<EstoqueShardRepository.AlteracaoShard> shards = estoqueShardRepository.findAlteradosDesde(xid, seq, xmin, limite + 1);
+        if (!shards.isEmpty()) {
+            Map<Long, Produto> produtos = produtoRepository.findAllById(
+                    shards.stream().map(EstoqueShardRepository.AlteracaoShard::getProdutoId).distinct().toList())
+                    .stream().collect(Collectors.toMap(Produto::getId, Function.identity()));
+            for (EstoqueShardRepository.AlteracaoShard shard : shards) {
+                Produto produto = produtos.get(shard.getProdutoId());
+                if (produto != null) {
+                    candidatas.add(alteracao(shard.getXid(), shard.getSeq(), "UPSERT", "PRODUTO", produto.getId(), produto));
+                }
+            }
+        }
+        for (Cliente cliente : clienteRepository.findAlteradosDesde(xid, seq, xmin, PageRequest.of(0, limite + 1))) {
+            candidatas.add(alteracao(cliente.getXidAlteracao(), cliente.getSeqAlteracao(), "UPSERT", "CLIENTE",
+                    cliente.getId(), cliente));
+        }
+        for (SyncExclusao exclusao : syncExclusaoRepository.findAlteradasDesde(xid, seq, xmin, limite + 1)) {
+            candidatas.add(alteracao(exclusao.getXid(), exclusao.getSeq(), "EXCLUSAO", exclusao.getEntidade(),
+                    exclusao.getEntidadeId(), null));
+        }
+
+        candidatas.sort(Comparator.<Map<String, Object>>comparingLong(a -> (Long) a.get("xid"))
+                .thenComparingLong(a -> (Long) a.get("seq")));
+        boolean temMais = candidatas.size() > limite;
+        List<Map<String, Object>> pagina = temMais ? candidatas.subList(0, limite) : candidatas;
+
+        if (!pagina.isEmpty()) {
+            Map<String, Object> ultima = pagina.get(pagina.size() - 1);
+            xid = (Long) ultima.get("xid");
+            seq = (Long) ultima.get("seq");
+        }
+
+        // Um mesmo registro alterado várias vezes na página é entregue uma única vez, na última posição
+        Map<String, Map<String, Object>> porRegistro = new LinkedHashMap<>();
+        for (Map<String, Object> alteracao : pagina) {
+            String chave = alteracao.get("entidade") + ":" + alteracao.get("id");
+            alteracao.remove("xid");
+            porRegistro.remove(chave);
+            porRegistro.put(chave, alteracao);
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("alteracoes", new ArrayList<>(porRegistro.values()));
+        resultado.put("cursor", xid + ":" + seq);
+        resultado.put("temMais", temMais);
+        return resultado;
+    }
+
+    /**
+     * Lê um cursor {@code transação:sequência}. Um número sozinho é um cursor do formato antigo
+     * (só a sequência) e vale como {@code 0:sequência}: as alterações gravadas antes da
+     * migração V13 têm transação 0.
+     */
+    private static long[] lerCursor(String cursor) {
+        String valor = cursor == null || cursor.isBlank() ? "0" : cursor.trim();
+        int separador = valor.indexOf(':');
+        try {
+            long xid = separador < 0 ? 0 : Long.parseLong(valor.substring(0, separador));
+            long seq = Long.parseLong(separador < 0 ? valor : valor.substring(separador + 1));
+            if (xid < 0 || seq < 0) {
+                throw new IllegalArgumentException("Cursor não pode ser negativo");
+            }
+            return new long[] {xid, seq};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private static Map<String, Object> alteracao(Long xid, Long seq, String tipo, String entidade, Long id, Object dados) {
+        Map<String, Object> alteracao = new LinkedHashMap<>();
+        alteracao.put("xid", xid);
+        alteracao.put("seq", seq);
+        alteracao.put("tipo", tipo);
+        alteracao.put("entidade", entidade);
+        alteracao.put("id", id);
+        if (dados != null) {
+            alteracao.put("dados", dados);
+        }
+        return alteracao;
+    }
+}
@@ -0,0 +1,336 @@
+package com.hortifruti.service;
+
+import com.hortifruti.event.ProdutoAlteradoEvent;
+import com.hortifruti.model.*;
+import com.hortifruti.repository.*;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Serviço para operações relacionadas a vendas.
+ */
+@Service
+public class VendaService {
+    
+    @Autowired
+    private VendaRepository vendaRepository;
+    
+    @Autowired
+    private ClienteRepository clienteRepository;
+    
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    
+    @Autowired
+    private MovimentacaoEstoqueRepository movimentacaoEstoqueRepository;
+    
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+    
+    @Autowired
+    private EstoqueShardService estoqueShardService;
+    
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Construtor padrão.
+     */
+    public VendaService() {
+    }
+
+    /**
+     * Cria uma nova venda.
+     * 
+     * <p>A venda é criada como PENDENTE e apenas reserva o estoque dos produtos;
+     * a baixa no estoque persistido acontece na finalização.
+     * @param venda A venda a ser criada.
+     * @return A venda criada.
+     */
+    @Transactional
+    public Venda criarVenda(Venda venda) {
+        // Validar cliente
+        Cliente cliente = clienteRepository.findById(venda.getCliente().getId())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+        
+        if (venda.getEnderecoEntrega() != null && venda.getEnderecoEntrega().getId() != null) {
+            Long enderecoId = venda.getEnderecoEntrega().getId();
+            Endereco endereco = enderecoRepository.findById(enderecoId)
+                    .orElseThrow(() -> new RuntimeException("Endereço de entrega não encontrado"));
+            if (!endereco.getCliente().getId().equals(cliente.getId())) {
+                throw new RuntimeException("Endereço de entrega não pertence ao cliente informado");
+            }
+            venda.setEnderecoEntrega(endereco);
+        } else {
+            // Fallback: se o front não enviar endereço, usar o principal do cliente (se existir).
+            // Só o ID é necessário para gravar a venda: a referência não dispara SELECT
+            enderecoRepository.findPrincipalIdByClienteId(cliente.getId())
+                    .map(enderecoRepository::getReferenceById)
+                    .ifPresent(venda::setEnderecoEntrega);
+        }
+        
+        // Gerar número da venda com o mesmo instante de data_venda: a data do número localiza a partição
+        LocalDateTime agora = LocalDateTime.now();
+        String numeroVenda = gerarNumeroVenda(agora);
+        venda.setVersao(null);
+        venda.setNumeroVenda(numeroVenda);
+        venda.setCliente(cliente);
+        venda.setDataVenda(agora);
+        venda.setStatus(Venda.StatusVenda.PENDENTE);
+        
+        // Validar e processar itens
+        if (venda.getItens() == null || venda.getItens().isEmpty()) {
+            throw new RuntimeException("A venda deve conter pelo menos um item");
+        }
+        
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        Map<Long, Double> quantidades = new HashMap<>();
+        Map<Long, Double> estoques = new HashMap<>();
+        
+        for (ItemVenda item : venda.getItens()) {
+            // Validar produto
+            Produto produto = produtoRepository.findById(item.getProduto().getId())
+                    .orElseThrow(() -> new RuntimeException("Produto não encontrado: " + item.getProduto().getId()));
+            
+            // Validar estoque disponível (estoque persistido menos reservas de vendas pendentes)
+            if (reservaEstoqueService.getDisponivel(produto) < item.getQuantidade()) {
+                throw new RuntimeException("Estoque insuficiente para o produto: " + produto.getNome());
+            }
+            
+            // Configurar item
+            item.setProduto(produto);
+            item.setVenda(venda);
+            item.setPrecoUnitario(BigDecimal.valueOf(produto.getPreco()));
+            item.setSubtotal(BigDecimal.valueOf(produto.getPreco()).multiply(BigDecimal.valueOf(item.getQuantidade())));
+            // Preencher totalItem para compatibilidade com coluna NOT NULL
+            item.setTotalItem(item.getSubtotal());
+            
+            valorTotal = valorTotal.add(item.getSubtotal());
+            
+            quantidades.merge(produto.getId(), item.getQuantidade().doubleValue(), Double::sum);
+            estoques.put(produto.getId(), produto.getEstoqueAtual());
+        }
+        
+        // Calcular valores finais
+        venda.setValorTotal(valorTotal);
+        
+        BigDecimal desconto = venda.getDesconto() != null ? venda.getDesconto() : BigDecimal.ZERO;
+        BigDecimal valorFinal = valorTotal.subtract(desconto);
+        venda.setValorFinal(valorFinal);
+        
+        // Salvar venda e reservar o estoque (a reserva é desfeita se a transação falhar)
+        Venda salva = vendaRepository.save(venda);
+        reservaEstoqueService.reservar(salva.getId(), quantidades, estoques);
+        return salva;
+    }
+    
+    /**
+     * Finaliza uma venda.
+     * @param vendaId O ID da venda.
+     * @param formaPagamento A forma de pagamento.
+     * @return A venda finalizada.
+     */
+    @Transactional
+    public Venda finalizarVenda(Long vendaId, String formaPagamento) {
+        Venda venda = vendaRepository.findById(vendaId)
+                .orElseThrow(() -> new RuntimeException("Venda não encontrada"));
+        
+        if (venda.getStatus() != Venda.StatusVenda.PENDENTE) {
+            throw new RuntimeException("Apenas vendas pendentes podem ser finalizadas");
+        }
+        
+        baixarEstoque(venda);
+        
+        venda.setStatus(Venda.StatusVenda.FINALIZADA);
+        venda.setFormaPagamento(formaPagamento);
+        
+        return vendaRepository.save(venda);
+    }
+
+    /**
+     * Finaliza uma venda pelo número.
+     * @param numeroVenda O número da venda.
+     * @param formaPagamento A forma de pagamento.
+     * @return A venda finalizada.
+     */
+    @Transactional
+    public Venda finalizarVendaPorNumero(String numeroVenda, String formaPagamento) {
+        Venda venda = buscarPorNumero(numeroVenda)
+                .orElseThrow(() -> new RuntimeException("Venda não encontrada"));
+
+        if (venda.getStatus() != Venda.StatusVenda.PENDENTE) {
+            throw new RuntimeException("Apenas vendas pendentes podem ser finalizadas");
+        }
+
+        baixarEstoque(venda);
+
+        venda.setStatus(Venda.StatusVenda.FINALIZADA);
+        venda.setFormaPagamento(formaPagamento);
+
+        return vendaRepository.save(venda);
+    }
+    
+    /**
+     * Cancela uma venda. Como vendas pendentes não baixam o estoque persistido,
+     * o cancelamento apenas libera a reserva.
+     * @param vendaId O ID da venda.
+     * @return A venda cancelada.
+     */
+    @Transactional
+    public Venda cancelarVenda(Long vendaId) {
+        Venda venda = vendaRepository.findById(vendaId)
+                .orElseThrow(() -> new RuntimeException("Venda não encontrada"));
+        
+        if (venda.getStatus() != Venda.StatusVenda.PENDENTE) {
+            throw new RuntimeException("Apenas vendas pendentes podem ser canceladas");
+        }
+        
+        reservaEstoqueService.liberarAposCommit(venda.getId());
+        
+        venda.setStatus(Venda.StatusVenda.CANCELADA);
+        return vendaRepository.save(venda);
+    }
+    
+    /**
+     * Lista todas as vendas.
+     * @return Uma lista de todas as vendas.
+     */
+    @Transactional(readOnly = true)
+    public List<Venda> listarTodas() {
+        return carregarAssociacoes(vendaRepository.findAllOrderByDataVendaDesc());
+    }
+    
+    /**
+     * Lista as vendas por cliente.
+     * <p>Sem período, a consulta percorre o índice de cliente de todas as partições de vendas.
+     * @param clienteId O ID do cliente.
+     * @return Uma lista de vendas do cliente.
+     */
+    @Transactional(readOnly = true)
+    public List<Venda> listarPorCliente(Long clienteId) {
+        return carregarAssociacoes(vendaRepository.findByClienteIdOrderByDataVendaDesc(clienteId));
+    }
+    
+    /**
+     * Lista as vendas por status.
+     * <p>Sem período, a consulta percorre o índice de status de todas as partições de vendas.
+     * @param status O status da venda.
+     * @return Uma lista de vendas com o status especificado.
+     */
+    @Transactional(readOnly = true)
+    public List<Venda> listarPorStatus(Venda.StatusVenda status) {
+        return carregarAssociacoes(vendaRepository.findByStatusOrderByDataVendaDesc(status));
+    }
+
+    /**
+     * Carrega os itens e o endereço de entrega das vendas ainda na transação, para que a
+     * serialização não os busque depois (fora dela, sempre no primário).
+     * @param vendas As vendas.
+     * @return As mesmas vendas.
+     */
+    private List<Venda> carregarAssociacoes(List<Venda> vendas) {
+        for (Venda venda : vendas) {
+            Hibernate.initialize(venda.getItens());
+            Hibernate.initialize(venda.getEnderecoEntrega());
+        }
+        return vendas;
+    }
+    
+    /**
+     * Busca uma venda por ID.
+     * <p>O ID não indica o mês da venda: a busca consulta o índice da chave em cada partição de
+     * vendas. Quando o número da venda estiver disponível, prefira {@link #buscarPorNumero(String)}.
+     * @param id O ID da venda.
+     * @return Uma Optional contendo a venda, se encontrada.
+     */
+    public Optional<Venda> buscarPorId(Long id) {
+        return vendaRepository.findById(id);
+    }
+    
+    /**
+     * Busca uma venda por número.
+     * @param numeroVenda O número da venda.
+     * @return Uma Optional contendo a venda, se encontrada.
+     */
+    public Optional<Venda> buscarPorNumero(String numeroVenda) {
+        LocalDate dia = extrairDia(numeroVenda);
+        if (dia != null) {
+            Optional<Venda> venda = vendaRepository.findByNumeroVendaAndDataVendaBetween(
+                    numeroVenda, dia.atStartOfDay(), dia.atTime(LocalTime.MAX));
+            if (venda.isPresent()) {
+                return venda;
+            }
+        }
+        // Números sem data válida ou gravados antes de número e data_venda usarem o mesmo instante
+        return vendaRepository.findByNumeroVenda(numeroVenda);
+    }
+
+    /**
+     * Extrai o dia da venda do número ("VND" seguido de yyyyMMdd...).
+     * @param numeroVenda O número da venda.
+     * @return O dia, ou null se o número não começar com uma data válida.
+     */
+    private static LocalDate extrairDia(String numeroVenda) {
+        if (numeroVenda == null || numeroVenda.length() < 11 || !numeroVenda.startsWith("VND")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(numeroVenda.substring(3, 11), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Baixa o estoque persistido dos itens de uma venda e libera a reserva após o commit.
+     * A baixa é condicional: falha se o estoque atual não comportar a quantidade.
+     */
+    private void baixarEstoque(Venda venda) {
+        for (ItemVenda item : venda.getItens()) {
+            Produto produto = item.getProduto();
+            double quantidade = item.getQuantidade().doubleValue();
+            
+            boolean baixado = estoqueShardService.isAtivo(produto.getId())
+                    ? estoqueShardService.consumir(produto.getId(), quantidade)
+                    : produtoRepository.incrementarSaidaSeDisponivel(produto.getId(), quantidade) == 1;
+            if (!baixado) {
+                throw new RuntimeException("Estoque insuficiente para o produto: " + produto.getNome());
+            }
+            
+            // Registrar movimentação de estoque
+            MovimentacaoEstoque movimentacao = new MovimentacaoEstoque();
+            movimentacao.setProdutoId(produto.getId());
+            movimentacao.setTipo(TipoMovimentacao.SAIDA.name());
+            movimentacao.setQuantidade(quantidade);
+            movimentacao.setData(LocalDateTime.now());
+            movimentacaoEstoqueRepository.save(movimentacao);
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(produto.getId(), ProdutoAlteradoEvent.Tipo.ESTOQUE));
+        }
+        reservaEstoqueService.liberarAposCommit(venda.getId());
+    }
+    
+    private String gerarNumeroVenda(LocalDateTime agora) {
+        String data = agora.toString().replaceAll("[^0-9]", "");
+        String uuid = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        return "VND" + data + uuid;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- Lista de separação das vendas pendentes.
+--
+-- A lista soma os itens de todas as vendas PENDENTE em um único GROUP BY. As vendas
+-- abertas são uma fração pequena da tabela: o índice parcial as encontra sem varrer o
+-- histórico de vendas finalizadas, e o índice de itens_venda por venda_id (com produto e
+-- quantidade incluídos) permite somar os itens sem ler as linhas da tabela.
+CREATE INDEX IF NOT EXISTS idx_vendas_pendentes ON vendas (data_venda, id) WHERE status = 'PENDENTE';
+CREATE INDEX IF NOT EXISTS idx_itens_venda_venda ON itens_venda (venda_id) INCLUDE (produto_id, quantidade);
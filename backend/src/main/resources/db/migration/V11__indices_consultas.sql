@@ -0,0 +1,25 @@
+-- Índices das consultas dos repositórios.
+--
+-- vendas:
+--   * (cliente_id, data_venda): vendas de um cliente, já na ordem da listagem (mais
+--     recentes primeiro), sem ordenar;
+--   * (status, data_venda): vendas por status, por status em um período e entregas do dia;
+--   * (data_venda): relatórios por período sem filtro de status.
+-- itens_venda (produto_id): itens de um produto e a verificação da chave estrangeira ao
+-- remover produtos; os itens por venda já usam idx_itens_venda_venda (V10).
+-- refresh_tokens: renovação pelo hash do token e revogação dos tokens ativos do usuário.
+-- movimentacoes_estoque (produto_id, data): histórico de um produto em ordem cronológica.
+-- produtos (nome): listagens ordenadas por nome.
+CREATE INDEX IF NOT EXISTS idx_vendas_cliente_data ON vendas (cliente_id, data_venda DESC);
+CREATE INDEX IF NOT EXISTS idx_vendas_status_data ON vendas (status, data_venda DESC);
+CREATE INDEX IF NOT EXISTS idx_vendas_data ON vendas (data_venda DESC);
+CREATE INDEX IF NOT EXISTS idx_itens_venda_produto ON itens_venda (produto_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_usuario_ativos ON refresh_tokens (user_id) WHERE revoked_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_estoque_produto_data ON movimentacoes_estoque (produto_id, data);
+CREATE INDEX IF NOT EXISTS idx_produtos_nome ON produtos (nome);
+
+ANALYZE vendas;
+ANALYZE itens_venda;
+ANALYZE refresh_tokens;
+ANALYZE movimentacoes_estoque;
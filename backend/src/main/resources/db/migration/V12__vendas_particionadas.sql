@@ -0,0 +1,139 @@
+-- Particionamento mensal de vendas e itens_venda por data_venda, com arquivamento dos meses antigos.
+--
+-- Cada mês tem uma partição em cada tabela (vendas_AAAA_MM e itens_venda_AAAA_MM, criadas por
+-- vendas_criar_particao). As consultas com período em data_venda leem só as partições do período.
+-- itens_venda recebe data_venda (a mesma da venda) para ser particionada pelo mesmo mês e
+-- referenciar a venda por (venda_id, data_venda); data_venda não muda depois de gravada.
+--
+-- Chaves: em tabelas particionadas, chaves primárias e índices únicos precisam incluir a coluna
+-- de partição. A chave passa a ser (id, data_venda), e o id continua único pela sequência;
+-- numero_venda deixa de ser UNIQUE e fica com índice comum (o número já contém data, hora e um
+-- sufixo aleatório).
+--
+-- Arquivamento (ArquivoVendasService): os meses anteriores a app.vendas.particoes.meses-quentes
+-- são desanexados, gravados compactados (CSV + gzip) em arquivo.vendas_meses e removidos. Um mês
+-- arquivado pode ser restaurado sob demanda nas tabelas arquivo.vendas e arquivo.itens_venda, e
+-- as visões vendas_historico e itens_venda_historico juntam as vendas atuais e as restauradas.
+--
+-- A migração copia todas as vendas com as tabelas bloqueadas: em bancos grandes, aplicar em
+-- janela de manutenção.
+ALTER TABLE itens_venda RENAME TO itens_venda_antiga;
+ALTER TABLE vendas RENAME TO vendas_antiga;
+
+CREATE SEQUENCE seq_vendas;
+CREATE SEQUENCE seq_itens_venda;
+SELECT setval('seq_vendas', COALESCE((SELECT max(id) FROM vendas_antiga), 0) + 1, false);
+SELECT setval('seq_itens_venda', COALESCE((SELECT max(id) FROM itens_venda_antiga), 0) + 1, false);
+
+CREATE TABLE vendas (
+    id               BIGINT        NOT NULL DEFAULT nextval('seq_vendas'),
+    cliente_id       BIGINT        NOT NULL REFERENCES clientes (id),
+    endereco_id      BIGINT        REFERENCES enderecos (id) ON DELETE SET NULL,
+    data_venda       TIMESTAMP     NOT NULL,
+    valor_total      NUMERIC(10,2) NOT NULL,
+    desconto         NUMERIC(10,2) NOT NULL,
+    valor_final      NUMERIC(10,2) NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    forma_pagamento  VARCHAR(255)  NOT NULL,
+    observacoes      VARCHAR(500),
+    numero_venda     VARCHAR(255),
+    versao           BIGINT        NOT NULL DEFAULT 0,
+    CONSTRAINT pk_vendas PRIMARY KEY (id, data_venda)
+) PARTITION BY RANGE (data_venda);
+
+CREATE TABLE itens_venda (
+    id              BIGINT           NOT NULL DEFAULT nextval('seq_itens_venda'),
+    venda_id        BIGINT           NOT NULL,
+    data_venda      TIMESTAMP        NOT NULL,
+    produto_id      BIGINT           NOT NULL REFERENCES produtos (id),
+    quantidade      DOUBLE PRECISION NOT NULL,
+    preco_unitario  NUMERIC(10,2)    NOT NULL,
+    subtotal        NUMERIC(10,2)    NOT NULL,
+    total_item      NUMERIC(10,2)    NOT NULL,
+    CONSTRAINT pk_itens_venda PRIMARY KEY (id, data_venda),
+    CONSTRAINT fk_itens_venda_venda FOREIGN KEY (venda_id, data_venda)
+        REFERENCES vendas (id, data_venda) ON DELETE CASCADE
+) PARTITION BY RANGE (data_venda);
+
+ALTER SEQUENCE seq_vendas OWNED BY vendas.id;
+ALTER SEQUENCE seq_itens_venda OWNED BY itens_venda.id;
+
+-- Cria (se ainda não existirem) as partições de vendas e itens_venda do mês de uma data
+CREATE OR REPLACE FUNCTION vendas_criar_particao(mes DATE) RETURNS void AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes::timestamp)::date;
+    fim    DATE := (date_trunc('month', mes::timestamp) + interval '1 month')::date;
+    sufixo TEXT := to_char(mes, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF vendas FOR VALUES FROM (%L) TO (%L)',
+                   'vendas_' || sufixo, inicio, fim);
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF itens_venda FOR VALUES FROM (%L) TO (%L)',
+                   'itens_venda_' || sufixo, inicio, fim);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições do mês da venda mais antiga até três meses à frente (a aplicação mantém as seguintes)
+SELECT vendas_criar_particao(m::date)
+FROM generate_series(date_trunc('month', LEAST(COALESCE((SELECT min(data_venda) FROM vendas_antiga), now()), now())),
+                     date_trunc('month', GREATEST(COALESCE((SELECT max(data_venda) FROM vendas_antiga), now()),
+                                                  now() + interval '3 months')),
+                     interval '1 month') m;
+
+INSERT INTO vendas (id, cliente_id, endereco_id, data_venda, valor_total, desconto, valor_final,
+                    status, forma_pagamento, observacoes, numero_venda, versao)
+SELECT id, cliente_id, endereco_id, data_venda, valor_total, desconto, valor_final,
+       status, forma_pagamento, observacoes, numero_venda, versao
+FROM vendas_antiga;
+
+INSERT INTO itens_venda (id, venda_id, data_venda, produto_id, quantidade, preco_unitario, subtotal, total_item)
+SELECT i.id, i.venda_id, v.data_venda, i.produto_id, i.quantidade, i.preco_unitario, i.subtotal, i.total_item
+FROM itens_venda_antiga i
+JOIN vendas_antiga v ON v.id = i.venda_id;
+
+DROP TABLE itens_venda_antiga;
+DROP TABLE vendas_antiga;
+
+-- Índices (V10 e V11), criados em todas as partições
+CREATE INDEX idx_vendas_cliente_data ON vendas (cliente_id, data_venda DESC);
+CREATE INDEX idx_vendas_status_data ON vendas (status, data_venda DESC);
+CREATE INDEX idx_vendas_data ON vendas (data_venda DESC);
+CREATE INDEX idx_vendas_pendentes ON vendas (data_venda, id) WHERE status = 'PENDENTE';
+CREATE INDEX idx_vendas_numero ON vendas (numero_venda);
+CREATE INDEX idx_itens_venda_venda ON itens_venda (venda_id) INCLUDE (produto_id, quantidade);
+CREATE INDEX idx_itens_venda_produto ON itens_venda (produto_id);
+
+ANALYZE vendas;
+ANALYZE itens_venda;
+
+-- Arquivo: meses compactados e tabelas para restaurá-los sob demanda
+CREATE SCHEMA IF NOT EXISTS arquivo;
+
+CREATE TABLE arquivo.vendas_meses (
+    mes              DATE      PRIMARY KEY,
+    vendas           BYTEA     NOT NULL,
+    itens            BYTEA     NOT NULL,
+    qtd_vendas       BIGINT    NOT NULL,
+    qtd_itens        BIGINT    NOT NULL,
+    bytes_originais  BIGINT    NOT NULL,
+    arquivado_em     TIMESTAMP NOT NULL DEFAULT now(),
+    restaurado_em    TIMESTAMP
+);
+-- Conteúdo já compactado: sem nova tentativa de compressão pelo TOAST
+ALTER TABLE arquivo.vendas_meses ALTER COLUMN vendas SET STORAGE EXTERNAL;
+ALTER TABLE arquivo.vendas_meses ALTER COLUMN itens SET STORAGE EXTERNAL;
+
+CREATE TABLE arquivo.vendas (LIKE vendas) PARTITION BY RANGE (data_venda);
+CREATE TABLE arquivo.itens_venda (LIKE itens_venda) PARTITION BY RANGE (data_venda);
+CREATE INDEX idx_arquivo_vendas_id ON arquivo.vendas (id);
+CREATE INDEX idx_arquivo_vendas_cliente_data ON arquivo.vendas (cliente_id, data_venda);
+CREATE INDEX idx_arquivo_itens_venda_venda ON arquivo.itens_venda (venda_id);
+
+CREATE VIEW vendas_historico AS
+    SELECT * FROM vendas
+    UNION ALL
+    SELECT * FROM arquivo.vendas;
+
+CREATE VIEW itens_venda_historico AS
+    SELECT * FROM itens_venda
+    UNION ALL
+    SELECT * FROM arquivo.itens_venda;
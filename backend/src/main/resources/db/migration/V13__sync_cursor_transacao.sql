@@ -0,0 +1,35 @@
+-- Cursor da sincronização incremental (/sync/changes) que não perde alterações de transações longas.
+--
+-- seq_alteracao é atribuída na escrita, não no commit: uma transação que confirma depois de
+-- outra pode tornar visível uma posição menor que um cursor já entregue, e essa alteração nunca
+-- chegaria aos caixas. Cada alteração passa a guardar também a transação que a gravou
+-- (xid_alteracao = txid_current()). O cursor vira o par (xid_alteracao, seq_alteracao), em
+-- ordem, e só são entregues alterações de transações abaixo do xmin do snapshot atual
+-- (txid_snapshot_xmin), todas já encerradas: qualquer transação em andamento ou futura tem
+-- xid maior que o de todo cursor entregue. Uma transação longa só atrasa a entrega das
+-- alterações feitas por transações mais novas que ela.
+--
+-- As linhas existentes ficam com xid 0, em ordem de sequência (um cursor antigo, só com a
+-- sequência, equivale a (0, sequência)).
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE produto_estoque_shards ADD COLUMN IF NOT EXISTS xid_alteracao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE sync_exclusoes ADD COLUMN IF NOT EXISTS xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE sync_exclusoes ALTER COLUMN xid SET DEFAULT txid_current();
+
+CREATE OR REPLACE FUNCTION sync_marcar_alteracao() RETURNS trigger AS $$
+BEGIN
+    NEW.seq_alteracao := nextval('sync_seq');
+    NEW.xid_alteracao := txid_current();
+    NEW.atualizado_em := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP INDEX IF EXISTS idx_produtos_seq_alteracao;
+DROP INDEX IF EXISTS idx_clientes_seq_alteracao;
+DROP INDEX IF EXISTS idx_produto_estoque_shards_seq_alteracao;
+CREATE INDEX IF NOT EXISTS idx_produtos_sync ON produtos (xid_alteracao, seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_clientes_sync ON clientes (xid_alteracao, seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_produto_estoque_shards_sync ON produto_estoque_shards (xid_alteracao, seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_sync_exclusoes_xid ON sync_exclusoes (xid, seq);
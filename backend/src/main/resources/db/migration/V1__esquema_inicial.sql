@@ -0,0 +1,94 @@
+-- Esquema inicial (tabelas anteriores às migrações versionadas).
+--
+-- Bancos criados antes do Flyway já têm estas tabelas e as migrações V2 a V10 aplicadas
+-- manualmente: são registrados na linha de base (spring.flyway.baseline-version=10) e
+-- recebem apenas as migrações seguintes. Em um banco vazio, este script cria as tabelas
+-- no formato de antes da V2, e as demais migrações as completam.
+CREATE TABLE IF NOT EXISTS users (
+    id             UUID         PRIMARY KEY,
+    name           VARCHAR(150) NOT NULL,
+    email          VARCHAR(150) NOT NULL UNIQUE,
+    password_hash  VARCHAR(255) NOT NULL,
+    user_role      VARCHAR(50)  NOT NULL DEFAULT 'USER',
+    is_active      BOOLEAN      NOT NULL DEFAULT true,
+    created_at     TIMESTAMPTZ  NOT NULL,
+    updated_at     TIMESTAMPTZ  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          UUID         PRIMARY KEY,
+    user_id     UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash  VARCHAR(255) NOT NULL,
+    expires_at  TIMESTAMPTZ  NOT NULL,
+    revoked_at  TIMESTAMPTZ,
+    user_agent  VARCHAR(255),
+    ip          VARCHAR(100),
+    created_at  TIMESTAMPTZ  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS produtos (
+    id               BIGSERIAL        PRIMARY KEY,
+    nome             VARCHAR(255)     NOT NULL,
+    preco            DOUBLE PRECISION NOT NULL,
+    embalagem        VARCHAR(255),
+    estoque_inicial  DOUBLE PRECISION DEFAULT 0,
+    entradas         DOUBLE PRECISION DEFAULT 0,
+    saidas           DOUBLE PRECISION DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS clientes (
+    id         BIGSERIAL    PRIMARY KEY,
+    nome       VARCHAR(255) NOT NULL,
+    cpf        VARCHAR(14)  NOT NULL UNIQUE,
+    estado     VARCHAR(255),
+    telefone   VARCHAR(255),
+    cnpj       VARCHAR(255),
+    ie         VARCHAR(255),
+    cond_pgto  VARCHAR(255),
+    banco      VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS enderecos (
+    id           BIGSERIAL    PRIMARY KEY,
+    cliente_id   BIGINT       NOT NULL REFERENCES clientes (id) ON DELETE CASCADE,
+    rua          VARCHAR(255),
+    numero       VARCHAR(255),
+    complemento  VARCHAR(255),
+    bairro       VARCHAR(255),
+    cidade       VARCHAR(255),
+    estado       VARCHAR(255),
+    cep          VARCHAR(255),
+    principal    BOOLEAN      NOT NULL DEFAULT false
+);
+
+CREATE TABLE IF NOT EXISTS vendas (
+    id               BIGSERIAL     PRIMARY KEY,
+    cliente_id       BIGINT        NOT NULL REFERENCES clientes (id),
+    endereco_id      BIGINT        REFERENCES enderecos (id) ON DELETE SET NULL,
+    data_venda       TIMESTAMP     NOT NULL,
+    valor_total      NUMERIC(10,2) NOT NULL,
+    desconto         NUMERIC(10,2) NOT NULL,
+    valor_final      NUMERIC(10,2) NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    forma_pagamento  VARCHAR(255)  NOT NULL,
+    observacoes      VARCHAR(500),
+    numero_venda     VARCHAR(255)  UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS itens_venda (
+    id              BIGSERIAL        PRIMARY KEY,
+    venda_id        BIGINT           NOT NULL REFERENCES vendas (id) ON DELETE CASCADE,
+    produto_id      BIGINT           NOT NULL REFERENCES produtos (id),
+    quantidade      DOUBLE PRECISION NOT NULL,
+    preco_unitario  NUMERIC(10,2)    NOT NULL,
+    subtotal        NUMERIC(10,2)    NOT NULL,
+    total_item      NUMERIC(10,2)    NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS movimentacoes_estoque (
+    id          BIGSERIAL        PRIMARY KEY,
+    produto_id  BIGINT           NOT NULL,
+    tipo        VARCHAR(20)      NOT NULL,
+    quantidade  DOUBLE PRECISION NOT NULL,
+    data        TIMESTAMP        NOT NULL
+);
@@ -0,0 +1,14 @@
+-- Contadores de estoque particionados (shards) para produtos de alta concorrência.
+--
+-- Um produto com linhas nesta tabela está em modo "shard": as saídas de venda são
+-- registradas em uma das N linhas (cada uma com uma cota do saldo disponível) em vez
+-- de disputarem o lock da linha em produtos. O estoque atual do produto passa a ser
+-- estoque_inicial + entradas - saidas - SUM(produto_estoque_shards.saidas).
+CREATE TABLE IF NOT EXISTS produto_estoque_shards (
+    id          BIGSERIAL PRIMARY KEY,
+    produto_id  BIGINT           NOT NULL REFERENCES produtos (id) ON DELETE CASCADE,
+    shard       INTEGER          NOT NULL,
+    cota        DOUBLE PRECISION NOT NULL DEFAULT 0,
+    saidas      DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT uk_produto_estoque_shards UNIQUE (produto_id, shard)
+);
@@ -0,0 +1,23 @@
+-- Reservas de estoque para vendas pendentes.
+--
+-- A partir desta versão, uma venda PENDENTE apenas reserva o estoque (em memória) e a
+-- baixa em produtos.saidas acontece na finalização. Este script devolve ao estoque as
+-- saídas das vendas que estavam pendentes no momento da atualização e registra a
+-- devolução no histórico, já que a finalização registrará a SAIDA novamente.
+-- Ao iniciar, a aplicação recria as reservas dessas vendas.
+-- Executar uma única vez.
+UPDATE produtos p
+SET saidas = COALESCE(p.saidas, 0) - r.qtd
+FROM (SELECT i.produto_id, SUM(i.quantidade) AS qtd
+      FROM itens_venda i
+      JOIN vendas v ON v.id = i.venda_id
+      WHERE v.status = 'PENDENTE'
+      GROUP BY i.produto_id) r
+WHERE p.id = r.produto_id;
+
+INSERT INTO movimentacoes_estoque (produto_id, tipo, quantidade, data)
+SELECT i.produto_id, 'ENTRADA', SUM(i.quantidade), now()
+FROM itens_venda i
+JOIN vendas v ON v.id = i.venda_id
+WHERE v.status = 'PENDENTE'
+GROUP BY i.produto_id;
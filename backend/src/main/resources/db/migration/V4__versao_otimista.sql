@@ -0,0 +1,6 @@
+-- Colunas de versão para controle de concorrência otimista (@Version).
+-- Atualizações cadastrais passam a ser um único UPDATE condicionado à versão lida
+-- pelo cliente (If-Match), evitando que edições simultâneas se sobrescrevam.
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vendas   ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
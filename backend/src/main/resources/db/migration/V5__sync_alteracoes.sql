@@ -0,0 +1,66 @@
+-- Rastreamento de alterações para a sincronização incremental dos caixas (/sync/changes).
+--
+-- Toda inserção ou atualização em produtos e clientes (inclusive os UPDATEs nativos de
+-- estoque) recebe um número de uma sequência global (seq_alteracao) e o instante da
+-- escrita (atualizado_em), atribuídos por trigger. Os shards de estoque também são
+-- marcados, pois alteram o estoque do produto sem tocar a linha em produtos.
+-- Exclusões ficam registradas em sync_exclusoes (tombstones) com a mesma sequência.
+CREATE SEQUENCE IF NOT EXISTS sync_seq;
+
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT;
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP;
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT;
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP;
+ALTER TABLE produto_estoque_shards ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT;
+ALTER TABLE produto_estoque_shards ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP;
+
+UPDATE produtos SET seq_alteracao = nextval('sync_seq'), atualizado_em = now() WHERE seq_alteracao IS NULL;
+UPDATE clientes SET seq_alteracao = nextval('sync_seq'), atualizado_em = now() WHERE seq_alteracao IS NULL;
+UPDATE produto_estoque_shards SET seq_alteracao = nextval('sync_seq'), atualizado_em = now() WHERE seq_alteracao IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_produtos_seq_alteracao ON produtos (seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_clientes_seq_alteracao ON clientes (seq_alteracao);
+CREATE INDEX IF NOT EXISTS idx_produto_estoque_shards_seq_alteracao ON produto_estoque_shards (seq_alteracao);
+
+CREATE OR REPLACE FUNCTION sync_marcar_alteracao() RETURNS trigger AS $$
+BEGIN
+    NEW.seq_alteracao := nextval('sync_seq');
+    NEW.atualizado_em := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_produtos_sync ON produtos;
+CREATE TRIGGER trg_produtos_sync BEFORE INSERT OR UPDATE ON produtos
+    FOR EACH ROW EXECUTE FUNCTION sync_marcar_alteracao();
+
+DROP TRIGGER IF EXISTS trg_clientes_sync ON clientes;
+CREATE TRIGGER trg_clientes_sync BEFORE INSERT OR UPDATE ON clientes
+    FOR EACH ROW EXECUTE FUNCTION sync_marcar_alteracao();
+
+DROP TRIGGER IF EXISTS trg_produto_estoque_shards_sync ON produto_estoque_shards;
+CREATE TRIGGER trg_produto_estoque_shards_sync BEFORE INSERT OR UPDATE ON produto_estoque_shards
+    FOR EACH ROW EXECUTE FUNCTION sync_marcar_alteracao();
+
+-- Tombstones
+CREATE TABLE IF NOT EXISTS sync_exclusoes (
+    seq          BIGINT      PRIMARY KEY DEFAULT nextval('sync_seq'),
+    entidade     VARCHAR(20) NOT NULL,
+    entidade_id  BIGINT      NOT NULL,
+    excluido_em  TIMESTAMP   NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE OR REPLACE FUNCTION sync_registrar_exclusao() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_exclusoes (entidade, entidade_id) VALUES (TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_produtos_exclusao ON produtos;
+CREATE TRIGGER trg_produtos_exclusao AFTER DELETE ON produtos
+    FOR EACH ROW EXECUTE FUNCTION sync_registrar_exclusao('PRODUTO');
+
+DROP TRIGGER IF EXISTS trg_clientes_exclusao ON clientes;
+CREATE TRIGGER trg_clientes_exclusao AFTER DELETE ON clientes
+    FOR EACH ROW EXECUTE FUNCTION sync_registrar_exclusao('CLIENTE');
@@ -0,0 +1,45 @@
+-- Busca de clientes por nome, CPF, CNPJ e telefone (/clientes/busca).
+--
+-- Colunas normalizadas mantidas por trigger: nome sem acentos, minúsculo e só com letras,
+-- dígitos e espaços (mesma regra de NormalizadorTexto), e os documentos/telefone apenas
+-- com dígitos. As colunas usam a collation "C" (ordem por bytes), então a busca por prefixo
+-- vira um intervalo (>= 'abc' AND < 'abc{') atendido pelo btree mesmo em planos genéricos
+-- de comandos preparados. Índices:
+--   * btree: igualdade e prefixo, já na ordem do resultado;
+--   * GIN pg_trgm: substring (LIKE '%abc%') e similaridade de palavras (<%), para erros
+--     de digitação no nome e trechos do telefone sem DDD.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS nome_busca TEXT COLLATE "C";
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS cpf_digitos VARCHAR(14) COLLATE "C";
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS cnpj_digitos VARCHAR(14) COLLATE "C";
+ALTER TABLE clientes ADD COLUMN IF NOT EXISTS telefone_digitos VARCHAR(20) COLLATE "C";
+
+CREATE OR REPLACE FUNCTION clientes_normalizar_busca() RETURNS trigger AS $$
+BEGIN
+    NEW.nome_busca := btrim(regexp_replace(lower(unaccent(coalesce(NEW.nome, ''))), '[^a-z0-9]+', ' ', 'g'));
+    NEW.cpf_digitos := nullif(regexp_replace(coalesce(NEW.cpf, ''), '\D', '', 'g'), '');
+    NEW.cnpj_digitos := nullif(regexp_replace(coalesce(NEW.cnpj, ''), '\D', '', 'g'), '');
+    NEW.telefone_digitos := nullif(regexp_replace(coalesce(NEW.telefone, ''), '\D', '', 'g'), '');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_clientes_busca ON clientes;
+CREATE TRIGGER trg_clientes_busca BEFORE INSERT OR UPDATE OF nome, cpf, cnpj, telefone ON clientes
+    FOR EACH ROW EXECUTE FUNCTION clientes_normalizar_busca();
+
+-- Preenche as linhas existentes sem gerar uma nova posição de sincronização para cada cliente
+ALTER TABLE clientes DISABLE TRIGGER trg_clientes_sync;
+UPDATE clientes SET nome = nome WHERE nome_busca IS NULL;
+ALTER TABLE clientes ENABLE TRIGGER trg_clientes_sync;
+
+CREATE INDEX IF NOT EXISTS idx_clientes_nome_busca ON clientes (nome_busca);
+CREATE INDEX IF NOT EXISTS idx_clientes_nome_busca_trgm ON clientes USING gin (nome_busca gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clientes_cpf_digitos ON clientes (cpf_digitos);
+CREATE INDEX IF NOT EXISTS idx_clientes_cnpj_digitos ON clientes (cnpj_digitos);
+CREATE INDEX IF NOT EXISTS idx_clientes_telefone_digitos ON clientes (telefone_digitos);
+CREATE INDEX IF NOT EXISTS idx_clientes_telefone_digitos_trgm ON clientes USING gin (telefone_digitos gin_trgm_ops);
+
+ANALYZE clientes;
@@ -0,0 +1,3 @@
+-- Paginação por chave da listagem de clientes (/clientes/pagina): ordem (nome, id).
+-- Cada página lê apenas as linhas seguintes à chave no índice, sem OFFSET.
+CREATE INDEX IF NOT EXISTS idx_clientes_nome_id ON clientes (nome, id);
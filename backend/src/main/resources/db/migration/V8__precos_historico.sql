@@ -0,0 +1,39 @@
+-- Histórico de preços dos produtos (consulta de preço em uma data, /produtos/{id}/preco?em=).
+--
+-- Cada mudança de preço, venha do PUT /produtos/{id} ou da atualização em lote
+-- (/produtos/precos), gera uma linha por trigger, com o instante da escrita no mesmo
+-- referencial de atualizado_em. O preço vigente em um instante é o da linha mais recente
+-- com vigente_desde <= instante. Não há chave estrangeira para produtos: o histórico
+-- continua disponível para relatórios após a remoção do produto.
+CREATE TABLE IF NOT EXISTS precos_historico (
+    id              BIGSERIAL        PRIMARY KEY,
+    produto_id      BIGINT           NOT NULL,
+    preco           DOUBLE PRECISION NOT NULL,
+    preco_anterior  DOUBLE PRECISION,
+    vigente_desde   TIMESTAMP        NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_precos_historico_produto_vigencia
+    ON precos_historico (produto_id, vigente_desde DESC, id DESC);
+
+CREATE OR REPLACE FUNCTION produtos_registrar_preco() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.preco IS DISTINCT FROM OLD.preco THEN
+        INSERT INTO precos_historico (produto_id, preco, preco_anterior)
+        VALUES (NEW.id, NEW.preco, CASE WHEN TG_OP = 'UPDATE' THEN OLD.preco END);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_produtos_preco ON produtos;
+CREATE TRIGGER trg_produtos_preco AFTER INSERT OR UPDATE OF preco ON produtos
+    FOR EACH ROW EXECUTE FUNCTION produtos_registrar_preco();
+
+-- O histórico começa com o preço atual de cada produto, vigente desde a última alteração conhecida
+INSERT INTO precos_historico (produto_id, preco, vigente_desde)
+SELECT p.id, p.preco, COALESCE(p.atualizado_em, clock_timestamp())
+FROM produtos p
+WHERE NOT EXISTS (SELECT 1 FROM precos_historico h WHERE h.produto_id = p.id);
+
+ANALYZE precos_historico;
@@ -0,0 +1,59 @@
+-- Endereço principal (entrega padrão) dos clientes.
+--
+-- Todo cliente com endereços tem exatamente um principal:
+--   * no máximo um: índice único parcial (cliente_id) WHERE principal, que também atende
+--     a busca do principal de um cliente por um único acesso ao índice;
+--   * pelo menos um: constraint trigger adiada para o commit, para que trocar o principal
+--     (desmarcar o atual e marcar o novo) possa ser feito em dois comandos.
+CREATE TABLE IF NOT EXISTS enderecos (
+    id           BIGSERIAL    PRIMARY KEY,
+    cliente_id   BIGINT       NOT NULL REFERENCES clientes (id) ON DELETE CASCADE,
+    rua          VARCHAR(255),
+    numero       VARCHAR(255),
+    complemento  VARCHAR(255),
+    bairro       VARCHAR(255),
+    cidade       VARCHAR(255),
+    estado       VARCHAR(255),
+    cep          VARCHAR(255),
+    principal    BOOLEAN      NOT NULL DEFAULT false
+);
+
+-- Correção dos dados existentes: vale o principal de menor id; sem principal, o endereço de menor id
+UPDATE enderecos SET principal = false WHERE principal IS NULL;
+ALTER TABLE enderecos ALTER COLUMN principal SET DEFAULT false;
+ALTER TABLE enderecos ALTER COLUMN principal SET NOT NULL;
+
+UPDATE enderecos e SET principal = false
+WHERE e.principal
+  AND EXISTS (SELECT 1 FROM enderecos o WHERE o.cliente_id = e.cliente_id AND o.principal AND o.id < e.id);
+
+UPDATE enderecos SET principal = true
+WHERE id IN (SELECT min(id) FROM enderecos GROUP BY cliente_id HAVING NOT bool_or(principal));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_enderecos_cliente_principal ON enderecos (cliente_id) WHERE principal;
+CREATE INDEX IF NOT EXISTS idx_enderecos_cliente ON enderecos (cliente_id);
+
+CREATE OR REPLACE FUNCTION enderecos_verificar_principal() RETURNS trigger AS $$
+DECLARE
+    cliente BIGINT;
+BEGIN
+    FOREACH cliente IN ARRAY ARRAY[CASE WHEN TG_OP <> 'DELETE' THEN NEW.cliente_id END,
+                                   CASE WHEN TG_OP <> 'INSERT' THEN OLD.cliente_id END] LOOP
+        IF cliente IS NOT NULL
+           AND EXISTS (SELECT 1 FROM enderecos WHERE cliente_id = cliente)
+           AND NOT EXISTS (SELECT 1 FROM enderecos WHERE cliente_id = cliente AND principal) THEN
+            RAISE EXCEPTION 'Cliente % ficaria sem endereço principal', cliente
+                USING ERRCODE = 'check_violation';
+        END IF;
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_enderecos_principal ON enderecos;
+CREATE CONSTRAINT TRIGGER trg_enderecos_principal
+    AFTER INSERT OR UPDATE OF principal, cliente_id OR DELETE ON enderecos
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION enderecos_verificar_principal();
+
+ANALYZE enderecos;